@@ -89,6 +89,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "inprogressrepository":
         case "inProgressRepository": target.setInProgressRepository(property(camelContext, org.apache.camel.spi.IdempotentRepository.class, value)); return true;
         case "include": target.setInclude(property(camelContext, java.lang.String.class, value)); return true;
+        case "incrementalscan":
+        case "incrementalScan": target.setIncrementalScan(property(camelContext, boolean.class, value)); return true;
         case "initialdelay":
         case "initialDelay": target.setInitialDelay(property(camelContext, long.class, value)); return true;
         case "jailstartingdirectory":
@@ -115,6 +117,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "noop": target.setNoop(property(camelContext, boolean.class, value)); return true;
         case "oncompletionexceptionhandler":
         case "onCompletionExceptionHandler": target.setOnCompletionExceptionHandler(property(camelContext, org.apache.camel.spi.ExceptionHandler.class, value)); return true;
+        case "parallelscan":
+        case "parallelScan": target.setParallelScan(property(camelContext, boolean.class, value)); return true;
         case "pollstrategy":
         case "pollStrategy": target.setPollStrategy(property(camelContext, org.apache.camel.spi.PollingConsumerPollStrategy.class, value)); return true;
         case "premove":
@@ -261,6 +265,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "inprogressrepository":
         case "inProgressRepository": return org.apache.camel.spi.IdempotentRepository.class;
         case "include": return java.lang.String.class;
+        case "incrementalscan":
+        case "incrementalScan": return boolean.class;
         case "initialdelay":
         case "initialDelay": return long.class;
         case "jailstartingdirectory":
@@ -287,6 +293,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "noop": return boolean.class;
         case "oncompletionexceptionhandler":
         case "onCompletionExceptionHandler": return org.apache.camel.spi.ExceptionHandler.class;
+        case "parallelscan":
+        case "parallelScan": return boolean.class;
         case "pollstrategy":
         case "pollStrategy": return org.apache.camel.spi.PollingConsumerPollStrategy.class;
         case "premove":
@@ -434,6 +442,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "inprogressrepository":
         case "inProgressRepository": return target.getInProgressRepository();
         case "include": return target.getInclude();
+        case "incrementalscan":
+        case "incrementalScan": return target.isIncrementalScan();
         case "initialdelay":
         case "initialDelay": return target.getInitialDelay();
         case "jailstartingdirectory":
@@ -460,6 +470,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "noop": return target.isNoop();
         case "oncompletionexceptionhandler":
         case "onCompletionExceptionHandler": return target.getOnCompletionExceptionHandler();
+        case "parallelscan":
+        case "parallelScan": return target.isParallelScan();
         case "pollstrategy":
         case "pollStrategy": return target.getPollStrategy();
         case "premove":
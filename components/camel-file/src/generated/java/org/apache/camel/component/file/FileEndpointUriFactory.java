@@ -20,7 +20,7 @@ public class FileEndpointUriFactory extends org.apache.camel.support.component.E
     private static final Set<String> PROPERTY_NAMES;
     private static final Set<String> SECRET_PROPERTY_NAMES;
     static {
-        Set<String> props = new HashSet<>(92);
+        Set<String> props = new HashSet<>(94);
         props.add("renameUsingCopy");
         props.add("moveExistingFileStrategy");
         props.add("fileName");
@@ -113,6 +113,8 @@ public class FileEndpointUriFactory extends org.apache.camel.support.component.E
         props.add("chmodDirectory");
         props.add("bufferSize");
         props.add("filterDirectory");
+        props.add("parallelScan");
+        props.add("incrementalScan");
         PROPERTY_NAMES = Collections.unmodifiableSet(props);
         SECRET_PROPERTY_NAMES = Collections.emptySet();
     }
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Keeps track of the files in a directory tree using a {@link WatchService}, so the file consumer only has to check the
+ * files which have been found, instead of listing all the directories on every poll.
+ * <p/>
+ * The directory tree is walked on the first update, and again if the watch service has lost events. The known files
+ * are kept until they are removed, so files which are not consumed by a poll are checked again by the next poll.
+ */
+final class DirectoryWatcher implements Closeable {
+
+    private final Path root;
+    private final boolean recursive;
+    private final int maxDepth;
+    private final Predicate<Path> directoryFilter;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> keys = new HashMap<>();
+    private final Set<Path> files = new LinkedHashSet<>();
+    private boolean initialized;
+
+    /**
+     * @param root            the starting directory
+     * @param recursive       whether to watch the sub directories
+     * @param maxDepth        the maximum depth of the sub directories to watch
+     * @param directoryFilter to filter which sub directories to watch
+     */
+    DirectoryWatcher(Path root, boolean recursive, int maxDepth, Predicate<Path> directoryFilter) throws IOException {
+        this.root = root;
+        this.recursive = recursive;
+        this.maxDepth = maxDepth;
+        this.directoryFilter = directoryFilter;
+        this.watchService = root.getFileSystem().newWatchService();
+    }
+
+    /**
+     * Updates the known files with the changes since the last update.
+     *
+     * @return the known files, where the files which have been consumed can be removed with the iterator
+     */
+    Collection<Path> update() throws IOException {
+        boolean rescan = !initialized;
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            Path directory = keys.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    rescan = true;
+                } else if (directory != null && !rescan) {
+                    Path path = directory.resolve((Path) event.context());
+                    if (event.kind() == ENTRY_DELETE) {
+                        files.remove(path);
+                    } else if (Files.isDirectory(path)) {
+                        if (isWatchDirectory(path)) {
+                            walk(path);
+                        }
+                    } else {
+                        files.add(path);
+                    }
+                }
+            }
+            if (!key.reset()) {
+                // the directory is gone
+                keys.remove(key);
+            }
+        }
+        if (rescan) {
+            files.clear();
+            walk(root);
+            initialized = true;
+        }
+        return files;
+    }
+
+    @Override
+    public void close() throws IOException {
+        keys.clear();
+        files.clear();
+        watchService.close();
+    }
+
+    private boolean isWatchDirectory(Path directory) {
+        int depth = root.relativize(directory).getNameCount();
+        return recursive && depth < maxDepth && directoryFilter.test(directory);
+    }
+
+    private void walk(Path directory) throws IOException {
+        // register before listing so files created meanwhile are not missed
+        WatchKey key = directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        keys.put(key, directory);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                if (Files.isDirectory(path)) {
+                    if (isWatchDirectory(path)) {
+                        walk(path);
+                    }
+                } else {
+                    files.add(path);
+                }
+            }
+        }
+    }
+
+}
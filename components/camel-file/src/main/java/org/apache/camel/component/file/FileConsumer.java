@@ -18,20 +18,33 @@ package org.apache.camel.component.file;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.Processor;
+import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +57,10 @@ public class FileConsumer extends GenericFileConsumer<File> {
     private static final Logger LOG = LoggerFactory.getLogger(FileConsumer.class);
     private String endpointPath;
     private Set<String> extendedAttributes;
+    // to scan the sub directories in parallel
+    private ExecutorService scanPool;
+    // keeps track of the files when using incremental scan
+    private DirectoryWatcher watcher;
 
     public FileConsumer(FileEndpoint endpoint, Processor processor, GenericFileOperations<File> operations,
                         GenericFileProcessStrategy<File> processStrategy) {
@@ -60,117 +77,296 @@ public class FileConsumer extends GenericFileConsumer<File> {
     protected boolean pollDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
         LOG.trace("pollDirectory from fileName: {}", fileName);
 
+        if (depth == 0 && getEndpoint().isIncrementalScan()) {
+            return pollChanges(fileName, fileList);
+        } else if (depth == 0 && scanPool != null) {
+            return pollDirectoryParallel(fileName, fileList);
+        }
+
         depth++;
 
+        List<File> files = listDirectory(new File(fileName));
+        if (files == null) {
+            return true;
+        }
+
+        for (File file : files) {
+            // check if we can continue polling in files
+            if (!canPollMoreFiles(fileList)) {
+                return false;
+            }
+
+            BasicFileAttributes attributes = readAttributes(file);
+            if (attributes == null) {
+                continue;
+            }
+
+            // creates a generic file
+            GenericFile<File> gf = asGenericFile(endpointPath, file, attributes, getEndpoint().getCharset(),
+                    getEndpoint().isProbeContentType());
+
+            if (attributes.isDirectory()) {
+                if (isScanDirectory(gf, depth, files)) {
+                    // recursive scan and add the sub files and folders
+                    String subDirectory = fileName + File.separator + file.getName();
+                    boolean canPollMore = pollDirectory(subDirectory, fileList, depth);
+                    if (!canPollMore) {
+                        return false;
+                    }
+                }
+            } else if (isConsumeFile(gf, depth, files)) {
+                // matched file so add
+                fileList.add(gf);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Scans the sub directories in parallel, and adds the valid files in the same order as when scanning sequentially.
+     */
+    private boolean pollDirectoryParallel(String fileName, List<GenericFile<File>> fileList) {
+        List<GenericFile<File>> found = new ArrayList<>();
+        collectScanned(scanPool.submit(new DirectoryScanTask(scanPool, fileName, 0)), found);
+        for (int i = 0; i < found.size(); i++) {
+            if (!canPollMoreFiles(fileList)) {
+                // the files have been marked as in-progress while scanning
+                removeExcessiveInProgressFiles(found.subList(i, found.size()));
+                return false;
+            }
+            fileList.add(found.get(i));
+        }
+        return true;
+    }
+
+    /**
+     * Waits for the scan of a directory (and its sub directories) and adds the valid files in the order of the
+     * directory. Only the polling thread waits, so the scan tasks never block the threads of the pool.
+     */
+    @SuppressWarnings("unchecked")
+    private void collectScanned(Future<List<Object>> scan, List<GenericFile<File>> found) {
+        List<Object> entries;
+        try {
+            entries = scan.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenericFileOperationFailedException("Interrupted while scanning directories", e);
+        } catch (ExecutionException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e.getCause());
+        }
+        for (Object entry : entries) {
+            if (entry instanceof Future) {
+                collectScanned((Future<List<Object>>) entry, found);
+            } else {
+                found.add((GenericFile<File>) entry);
+            }
+        }
+    }
+
+    /**
+     * Checks the files which have been found by the directory watcher, instead of listing the directories again.
+     */
+    private boolean pollChanges(String fileName, List<GenericFile<File>> fileList) {
         File directory = new File(fileName);
+        if (!directory.isDirectory()) {
+            closeWatcher();
+            // fails if the directory must exist
+            listDirectory(directory);
+            return true;
+        }
+
+        Collection<Path> candidates;
+        try {
+            if (watcher == null) {
+                watcher = new DirectoryWatcher(
+                        directory.toPath(), getEndpoint().isRecursive(), getEndpoint().getMaxDepth(),
+                        this::isWatchDirectory);
+            }
+            candidates = watcher.update();
+        } catch (IOException e) {
+            closeWatcher();
+            throw new GenericFileOperationFailedException("Cannot watch directory: " + directory, e);
+        }
+
+        Iterator<Path> it = candidates.iterator();
+        while (it.hasNext()) {
+            if (!canPollMoreFiles(fileList)) {
+                return false;
+            }
+            File file = it.next().toFile();
+            BasicFileAttributes attributes = readAttributes(file);
+            if (attributes == null || attributes.isDirectory()) {
+                // the file is gone
+                it.remove();
+                continue;
+            }
+            GenericFile<File> gf = asGenericFile(endpointPath, file, attributes, getEndpoint().getCharset(),
+                    getEndpoint().isProbeContentType());
+            int depth = directory.toPath().relativize(file.toPath()).getNameCount();
+            if (isConsumeFile(gf, depth, null)) {
+                fileList.add(gf);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lists the files of the directory
+     *
+     * @return the files, or <tt>null</tt> if the directory does not exist or is empty
+     */
+    private List<File> listDirectory(File directory) {
         if (!directory.exists() || !directory.isDirectory()) {
             LOG.debug("Cannot poll as directory does not exists or its not a directory: {}", directory);
             if (getEndpoint().isDirectoryMustExist()) {
                 throw new GenericFileOperationFailedException("Directory does not exist: " + directory);
             }
-            return true;
+            return null;
         }
 
         if (LOG.isTraceEnabled()) {
             LOG.trace("Polling directory: {}, absolute path: {}", directory.getPath(), directory.getAbsolutePath());
         }
-        File[] dirFiles = directory.listFiles();
-        if (dirFiles == null || dirFiles.length == 0) {
+        List<File> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory.toPath())) {
+            for (Path path : stream) {
+                files.add(path.toFile());
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            LOG.debug("Cannot list directory: {} due {}", directory, e.getMessage());
+            return null;
+        }
+        if (files.isEmpty()) {
             // no files in this directory to poll
             if (LOG.isTraceEnabled()) {
                 LOG.trace("No files found in directory: {}", directory.getPath());
             }
-            return true;
+            return null;
         } else {
             // we found some files
             if (LOG.isTraceEnabled()) {
-                LOG.trace("Found {} in directory: {}", dirFiles.length, directory.getPath());
+                LOG.trace("Found {} in directory: {}", files.size(), directory.getPath());
             }
         }
-        List<File> files = Arrays.asList(dirFiles);
         if (getEndpoint().isPreSort()) {
             files.sort(Comparator.comparing(File::getAbsoluteFile));
         }
+        return files;
+    }
 
-        for (File file : dirFiles) {
-            // check if we can continue polling in files
-            if (!canPollMoreFiles(fileList)) {
-                return false;
-            }
-
-            // trace log as Windows/Unix can have different views what the file
-            // is?
+    /**
+     * Reads the basic attributes of the file at once, instead of accessing the file system for each attribute.
+     *
+     * @return the attributes, or <tt>null</tt> if the file is gone
+     */
+    private static BasicFileAttributes readAttributes(File file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            // trace log as Windows/Unix can have different views what the file is?
             if (LOG.isTraceEnabled()) {
                 LOG.trace("Found file: {} [isAbsolute: {}, isDirectory: {}, isFile: {}, isHidden: {}]", file, file.isAbsolute(),
-                        file.isDirectory(), file.isFile(),
-                        file.isHidden());
+                        attributes.isDirectory(), attributes.isRegularFile(), file.isHidden());
             }
+            return attributes;
+        } catch (IOException e) {
+            LOG.trace("Cannot read attributes of file: {} due {}", file, e.getMessage());
+            return null;
+        }
+    }
 
-            // creates a generic file
-            GenericFile<File> gf
-                    = asGenericFile(endpointPath, file, getEndpoint().getCharset(), getEndpoint().isProbeContentType());
+    private boolean isScanDirectory(GenericFile<File> gf, int depth, List<File> files) {
+        return endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, files);
+    }
 
-            if (file.isDirectory()) {
-                if (endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, files)) {
-                    // recursive scan and add the sub files and folders
-                    String subDirectory = fileName + File.separator + file.getName();
-                    boolean canPollMore = pollDirectory(subDirectory, fileList, depth);
-                    if (!canPollMore) {
-                        return false;
-                    }
-                }
-            } else {
-                // Windows can report false to a file on a share so regard it
-                // always as a file (if its not a directory)
-                if (depth >= endpoint.minDepth && isValidFile(gf, false, files)) {
-                    LOG.trace("Adding valid file: {}", file);
-                    // matched file so add
-                    if (extendedAttributes != null) {
-                        Path path = file.toPath();
-                        Map<String, Object> allAttributes = new HashMap<>();
-                        for (String attribute : extendedAttributes) {
-                            try {
-                                String prefix = null;
-                                if (attribute.endsWith(":*")) {
-                                    prefix = attribute.substring(0, attribute.length() - 1);
-                                } else if (attribute.equals("*")) {
-                                    prefix = "basic:";
-                                }
-
-                                if (ObjectHelper.isNotEmpty(prefix)) {
-                                    Map<String, Object> attributes = Files.readAttributes(path, attribute);
-                                    if (attributes != null) {
-                                        for (Map.Entry<String, Object> entry : attributes.entrySet()) {
-                                            allAttributes.put(prefix + entry.getKey(), entry.getValue());
-                                        }
-                                    }
-                                } else if (!attribute.contains(":")) {
-                                    allAttributes.put("basic:" + attribute, Files.getAttribute(path, attribute));
-                                } else {
-                                    allAttributes.put(attribute, Files.getAttribute(path, attribute));
-                                }
-                            } catch (IOException e) {
-                                if (LOG.isDebugEnabled()) {
-                                    LOG.debug("Unable to read attribute {} on file {}", attribute, file, e);
-                                }
-                            }
-                        }
+    private boolean isWatchDirectory(Path directory) {
+        GenericFile<File> gf = asGenericFile(endpointPath, directory.toFile(), getEndpoint().getCharset(), false);
+        return isValidFile(gf, true, null);
+    }
 
-                        gf.setExtendedAttributes(allAttributes);
-                    }
+    private boolean isConsumeFile(GenericFile<File> gf, int depth, List<File> files) {
+        // Windows can report false to a file on a share so regard it
+        // always as a file (if its not a directory)
+        if (depth >= endpoint.minDepth && isValidFile(gf, false, files)) {
+            LOG.trace("Adding valid file: {}", gf.getFile());
+            if (extendedAttributes != null) {
+                gf.setExtendedAttributes(readExtendedAttributes(gf.getFile()));
+            }
+            return true;
+        }
+        return false;
+    }
 
-                    fileList.add(gf);
+    private Map<String, Object> readExtendedAttributes(File file) {
+        Path path = file.toPath();
+        Map<String, Object> allAttributes = new HashMap<>();
+        for (String attribute : extendedAttributes) {
+            try {
+                String prefix = null;
+                if (attribute.endsWith(":*")) {
+                    prefix = attribute.substring(0, attribute.length() - 1);
+                } else if (attribute.equals("*")) {
+                    prefix = "basic:";
                 }
 
+                if (ObjectHelper.isNotEmpty(prefix)) {
+                    Map<String, Object> attributes = Files.readAttributes(path, attribute);
+                    if (attributes != null) {
+                        for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+                            allAttributes.put(prefix + entry.getKey(), entry.getValue());
+                        }
+                    }
+                } else if (!attribute.contains(":")) {
+                    allAttributes.put("basic:" + attribute, Files.getAttribute(path, attribute));
+                } else {
+                    allAttributes.put(attribute, Files.getAttribute(path, attribute));
+                }
+            } catch (IOException e) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Unable to read attribute {} on file {}", attribute, file, e);
+                }
             }
         }
+        return allAttributes;
+    }
 
-        return true;
+    private void closeWatcher() {
+        if (watcher != null) {
+            IOHelper.close(watcher);
+            watcher = null;
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        if (getEndpoint().isParallelScan() && getEndpoint().isRecursive()) {
+            scanPool = getEndpoint().getCamelContext().getExecutorServiceManager().newFixedThreadPool(this,
+                    "FileConsumerScan", Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        closeWatcher();
+        if (scanPool != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(scanPool);
+            scanPool = null;
+        }
     }
 
     @Override
     protected boolean isMatched(GenericFile<File> file, String doneFileName, List<File> files) {
         String onlyName = FileUtil.stripPath(doneFileName);
+        if (files == null) {
+            // the directory has not been listed so check for the done file directly
+            if (new File(file.getFile().getParentFile(), onlyName).exists()) {
+                return true;
+            }
+            LOG.trace("Done file: {} does not exist", doneFileName);
+            return false;
+        }
         // the done file name must be among the files
         for (File f : files) {
             if (f.getName().equals(onlyName)) {
@@ -190,6 +386,32 @@ public class FileConsumer extends GenericFileConsumer<File> {
      * @return                  wrapped as a GenericFile
      */
     public static GenericFile<File> asGenericFile(String endpointPath, File file, String charset, boolean probeContentType) {
+        GenericFile<File> answer = newGenericFile(endpointPath, file, charset, probeContentType);
+        answer.setFileLength(file.length());
+        answer.setDirectory(file.isDirectory());
+        answer.setLastModified(file.lastModified());
+        return answer;
+    }
+
+    /**
+     * Creates a new GenericFile<File> based on the given file and its attributes which have already been read.
+     *
+     * @param  endpointPath     the starting directory the endpoint was configured with
+     * @param  file             the source file
+     * @param  attributes       the attributes of the file
+     * @param  probeContentType whether to probe the content type of the file or not
+     * @return                  wrapped as a GenericFile
+     */
+    public static GenericFile<File> asGenericFile(
+            String endpointPath, File file, BasicFileAttributes attributes, String charset, boolean probeContentType) {
+        GenericFile<File> answer = newGenericFile(endpointPath, file, charset, probeContentType);
+        answer.setFileLength(attributes.size());
+        answer.setDirectory(attributes.isDirectory());
+        answer.setLastModified(attributes.lastModifiedTime().toMillis());
+        return answer;
+    }
+
+    private static GenericFile<File> newGenericFile(String endpointPath, File file, String charset, boolean probeContentType) {
         GenericFile<File> answer = new GenericFile<>(probeContentType);
         // use file specific binding
         answer.setBinding(new FileBinding());
@@ -198,8 +420,6 @@ public class FileConsumer extends GenericFileConsumer<File> {
         answer.setEndpointPath(endpointPath);
         answer.setFile(file);
         answer.setFileNameOnly(file.getName());
-        answer.setFileLength(file.length());
-        answer.setDirectory(file.isDirectory());
         // must use FileUtil.isAbsolute to have consistent check for whether the
         // file is
         // absolute or not. As windows do not consider \ paths as absolute where
@@ -211,7 +431,6 @@ public class FileConsumer extends GenericFileConsumer<File> {
         // to return a consistent answer for all OS platforms.
         answer.setAbsolute(FileUtil.isAbsolute(file));
         answer.setAbsoluteFilePath(file.getAbsolutePath());
-        answer.setLastModified(file.lastModified());
 
         // compute the file path as relative to the starting directory
         File path;
@@ -264,4 +483,51 @@ public class FileConsumer extends GenericFileConsumer<File> {
         // underlying file is not
         return !file.getFile().getAbsolutePath().equals(file.getAbsoluteFilePath());
     }
+
+    /**
+     * Lists a directory, and submits the scans of its sub directories to the pool without waiting for them. The result
+     * is the valid files and the futures of the scans of the sub directories, in the order of the directory.
+     * <p/>
+     * The files are validated by the pool threads, so the filters must be thread safe.
+     */
+    private final class DirectoryScanTask implements Callable<List<Object>> {
+
+        private final ExecutorService pool;
+        private final String fileName;
+        private final int depth;
+
+        DirectoryScanTask(ExecutorService pool, String fileName, int depth) {
+            this.pool = pool;
+            this.fileName = fileName;
+            this.depth = depth + 1;
+        }
+
+        @Override
+        public List<Object> call() {
+            List<File> files = listDirectory(new File(fileName));
+            if (files == null) {
+                return Collections.emptyList();
+            }
+
+            List<Object> entries = new ArrayList<>(files.size());
+            for (File file : files) {
+                BasicFileAttributes attributes = readAttributes(file);
+                if (attributes == null) {
+                    continue;
+                }
+                GenericFile<File> gf = asGenericFile(endpointPath, file, attributes, getEndpoint().getCharset(),
+                        getEndpoint().isProbeContentType());
+                if (attributes.isDirectory()) {
+                    if (isScanDirectory(gf, depth, files)) {
+                        entries.add(pool.submit(
+                                new DirectoryScanTask(pool, fileName + File.separator + file.getName(), depth)));
+                    }
+                } else if (isConsumeFile(gf, depth, files)) {
+                    entries.add(gf);
+                }
+            }
+
+            return entries;
+        }
+    }
 }
@@ -75,6 +75,10 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     private boolean probeContentType;
     @UriParam(label = "consumer,advanced")
     private String extendedAttributes;
+    @UriParam(label = "consumer,advanced")
+    private boolean parallelScan;
+    @UriParam(label = "consumer,advanced")
+    private boolean incrementalScan;
     @UriParam(label = "producer,advanced", defaultValue = "true")
     private boolean forceWrites = true;
     @UriParam(label = "producer,advanced")
@@ -120,6 +124,9 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         if (isDelete() && getMove() != null) {
             throw new IllegalArgumentException("You cannot set both delete=true and move options");
         }
+        if (isParallelScan() && isIncrementalScan()) {
+            throw new IllegalArgumentException("You cannot set both parallelScan=true and incrementalScan=true");
+        }
 
         // if noop=true then idempotent should also be configured
         if (isNoop() && !isIdempotentSet()) {
@@ -348,6 +355,34 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         this.probeContentType = probeContentType;
     }
 
+    public boolean isParallelScan() {
+        return parallelScan;
+    }
+
+    /**
+     * Whether to scan the sub directories in parallel when recursive is enabled. This can speedup polling directory
+     * trees with many sub directories, where the files are still consumed in the same order. Notice that the files are
+     * then filtered concurrently by the threads scanning the directories, so any custom filter, filterDirectory,
+     * filterFile, idempotentRepository and inProgressRepository must be thread safe.
+     */
+    public void setParallelScan(boolean parallelScan) {
+        this.parallelScan = parallelScan;
+    }
+
+    public boolean isIncrementalScan() {
+        return incrementalScan;
+    }
+
+    /**
+     * Whether to keep track of the files using a file system watch service, instead of listing all the directories on
+     * every poll. The directories are listed on the first poll, and again if the watch service has lost any events.
+     * This is most useful with large directories where the consumed files are moved or deleted. Notice that preSort is
+     * not in use, as the directories are not listed on every poll.
+     */
+    public void setIncrementalScan(boolean incrementalScan) {
+        this.incrementalScan = incrementalScan;
+    }
+
     public String getExtendedAttributes() {
         return extendedAttributes;
     }
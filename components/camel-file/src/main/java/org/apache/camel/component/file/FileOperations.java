@@ -29,7 +29,6 @@ import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
@@ -40,6 +39,7 @@ import java.util.Set;
 import org.apache.camel.Exchange;
 import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.WrappedFile;
+import org.apache.camel.converter.stream.ByteBufferInputStreamCache;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
@@ -433,12 +433,30 @@ public class FileOperations implements GenericFileOperations<File> {
         if (channel != null) {
             try (FileChannel out = new FileOutputStream(target).getChannel()) {
                 LOG.trace("writeFileByFile using FileChannel: {} -> {}", source, target);
-                channel.transferTo(0, channel.size(), out);
+                transferFile(channel, out);
             }
         } else {
-            // use regular file copy
-            LOG.trace("writeFileByFile using Files.copy: {} -> {}", source, target);
-            Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            // transfer the file within the operating system (zero-copy) instead of copying it through a buffer
+            LOG.trace("writeFileByFile using FileChannel.transferTo: {} -> {}", source, target);
+            try (FileChannel in = FileChannel.open(source.toPath(), StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(target.toPath(), StandardOpenOption.WRITE,
+                         StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.CREATE)) {
+                transferFile(in, out);
+            }
+        }
+    }
+
+    private static void transferFile(FileChannel in, FileChannel out) throws IOException {
+        long size = in.size();
+        long position = 0;
+        // transferTo may transfer less than requested so keep going until the entire file is transferred
+        while (position < size) {
+            long transferred = in.transferTo(position, size - position, out);
+            if (transferred <= 0) {
+                // the file has been truncated meanwhile
+                break;
+            }
+            position += transferred;
         }
     }
 
@@ -446,26 +464,43 @@ public class FileOperations implements GenericFileOperations<File> {
         boolean exists = target.exists();
         try (SeekableByteChannel out = prepareOutputFileChannel(target)) {
 
-            LOG.debug("Using InputStream to write file: {}", target);
-            int size = endpoint.getBufferSize();
-            byte[] buffer = new byte[size];
-            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
-            int bytesRead;
-            while ((bytesRead = in.read(buffer)) != -1) {
-                if (bytesRead < size) {
+            if (in instanceof ByteBufferInputStreamCache) {
+                // off-heap stream cache so write its direct buffers to the file channel without copying them to the heap
+                LOG.debug("Using off-heap stream cache to write file: {}", target);
+                ByteBufferInputStreamCache cache = (ByteBufferInputStreamCache) in;
+                // retain the buffers while writing so they are not released back to the pool in the meantime
+                cache.retain();
+                try {
+                    for (ByteBuffer byteBuffer : cache.getByteBuffers()) {
+                        while (byteBuffer.hasRemaining()) {
+                            out.write(byteBuffer);
+                        }
+                    }
+                } finally {
+                    cache.releaseRetained();
+                }
+            } else {
+                LOG.debug("Using InputStream to write file: {}", target);
+                int size = endpoint.getBufferSize();
+                byte[] buffer = new byte[size];
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+                int bytesRead;
+                while ((bytesRead = in.read(buffer)) != -1) {
+                    if (bytesRead < size) {
+                        // to be compatible with java 8
+                        Buffer buf = byteBuffer;
+                        buf.limit(bytesRead);
+                    }
+                    out.write(byteBuffer);
                     // to be compatible with java 8
                     Buffer buf = byteBuffer;
-                    buf.limit(bytesRead);
+                    buf.clear();
                 }
-                out.write(byteBuffer);
-                // to be compatible with java 8
-                Buffer buf = byteBuffer;
-                buf.clear();
             }
 
             boolean append = endpoint.getFileExist() == GenericFileExist.Append;
             if (append && exists && endpoint.getAppendChars() != null) {
-                byteBuffer = ByteBuffer.wrap(endpoint.getAppendChars().getBytes());
+                ByteBuffer byteBuffer = ByteBuffer.wrap(endpoint.getAppendChars().getBytes());
                 out.write(byteBuffer);
                 // to be compatible with java 8
                 Buffer buf = byteBuffer;
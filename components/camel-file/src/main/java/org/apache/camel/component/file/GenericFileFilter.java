@@ -18,6 +18,9 @@ package org.apache.camel.component.file;
 
 /**
  * A filter for {@link GenericFile}.
+ * <p/>
+ * The filter is called concurrently when the file consumer scans the directories in parallel (parallelScan=true), so
+ * the filter must then be thread safe.
  */
 public interface GenericFileFilter<T> {
 
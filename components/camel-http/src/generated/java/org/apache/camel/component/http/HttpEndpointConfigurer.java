@@ -64,6 +64,8 @@ public class HttpEndpointConfigurer extends PropertyConfigurerSupport implements
         case "getWithBody": target.setGetWithBody(property(camelContext, boolean.class, value)); return true;
         case "headerfilterstrategy":
         case "headerFilterStrategy": target.setHeaderFilterStrategy(property(camelContext, org.apache.camel.spi.HeaderFilterStrategy.class, value)); return true;
+        case "httpasyncclient":
+        case "httpAsyncClient": target.setHttpAsyncClient(property(camelContext, org.apache.http.nio.client.HttpAsyncClient.class, value)); return true;
         case "httpbinding":
         case "httpBinding": target.setHttpBinding(property(camelContext, org.apache.camel.http.common.HttpBinding.class, value)); return true;
         case "httpclient":
@@ -119,6 +121,8 @@ public class HttpEndpointConfigurer extends PropertyConfigurerSupport implements
         case "throwExceptionOnFailure": target.setThrowExceptionOnFailure(property(camelContext, boolean.class, value)); return true;
         case "transferexception":
         case "transferException": target.setTransferException(property(camelContext, boolean.class, value)); return true;
+        case "useasyncclient":
+        case "useAsyncClient": target.setUseAsyncClient(property(camelContext, boolean.class, value)); return true;
         case "usesystemproperties":
         case "useSystemProperties": target.setUseSystemProperties(property(camelContext, boolean.class, value)); return true;
         case "x509hostnameverifier":
@@ -173,6 +177,8 @@ public class HttpEndpointConfigurer extends PropertyConfigurerSupport implements
         case "getWithBody": return boolean.class;
         case "headerfilterstrategy":
         case "headerFilterStrategy": return org.apache.camel.spi.HeaderFilterStrategy.class;
+        case "httpasyncclient":
+        case "httpAsyncClient": return org.apache.http.nio.client.HttpAsyncClient.class;
         case "httpbinding":
         case "httpBinding": return org.apache.camel.http.common.HttpBinding.class;
         case "httpclient":
@@ -228,6 +234,8 @@ public class HttpEndpointConfigurer extends PropertyConfigurerSupport implements
         case "throwExceptionOnFailure": return boolean.class;
         case "transferexception":
         case "transferException": return boolean.class;
+        case "useasyncclient":
+        case "useAsyncClient": return boolean.class;
         case "usesystemproperties":
         case "useSystemProperties": return boolean.class;
         case "x509hostnameverifier":
@@ -283,6 +291,8 @@ public class HttpEndpointConfigurer extends PropertyConfigurerSupport implements
         case "getWithBody": return target.isGetWithBody();
         case "headerfilterstrategy":
         case "headerFilterStrategy": return target.getHeaderFilterStrategy();
+        case "httpasyncclient":
+        case "httpAsyncClient": return target.getHttpAsyncClient();
         case "httpbinding":
         case "httpBinding": return target.getHttpBinding();
         case "httpclient":
@@ -338,6 +348,8 @@ public class HttpEndpointConfigurer extends PropertyConfigurerSupport implements
         case "throwExceptionOnFailure": return target.isThrowExceptionOnFailure();
         case "transferexception":
         case "transferException": return target.isTransferException();
+        case "useasyncclient":
+        case "useAsyncClient": return target.isUseAsyncClient();
         case "usesystemproperties":
         case "useSystemProperties": return target.isUseSystemProperties();
         case "x509hostnameverifier":
@@ -21,7 +21,7 @@ public class HttpEndpointUriFactory extends org.apache.camel.support.component.E
     private static final Set<String> PROPERTY_NAMES;
     private static final Set<String> SECRET_PROPERTY_NAMES;
     static {
-        Set<String> props = new HashSet<>(53);
+        Set<String> props = new HashSet<>(55);
         props.add("clientBuilder");
         props.add("authMethodPriority");
         props.add("synchronous");
@@ -68,6 +68,8 @@ public class HttpEndpointUriFactory extends org.apache.camel.support.component.E
         props.add("httpClientOptions");
         props.add("connectionsPerRoute");
         props.add("useSystemProperties");
+        props.add("useAsyncClient");
+        props.add("httpAsyncClient");
         props.add("okStatusCodeRange");
         props.add("proxyAuthHost");
         props.add("authUsername");
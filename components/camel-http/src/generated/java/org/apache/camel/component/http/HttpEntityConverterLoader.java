@@ -31,6 +31,8 @@ public final class HttpEntityConverterLoader implements TypeConverterLoader {
             (type, exchange, value) -> org.apache.camel.component.http.HttpEntityConverter.toHttpEntity((java.io.InputStream) value, exchange));
         addTypeConverter(registry, org.apache.http.HttpEntity.class, java.lang.String.class, false,
             (type, exchange, value) -> org.apache.camel.component.http.HttpEntityConverter.toHttpEntity((java.lang.String) value, exchange));
+        addTypeConverter(registry, org.apache.http.HttpEntity.class, org.apache.camel.converter.stream.ByteBufferInputStreamCache.class, false,
+            (type, exchange, value) -> org.apache.camel.component.http.HttpEntityConverter.toHttpEntity((org.apache.camel.converter.stream.ByteBufferInputStreamCache) value, exchange));
     }
 
     private static void addTypeConverter(TypeConverterRegistry registry, Class<?> toType, Class<?> fromType, boolean allowNull, SimpleTypeConverter.ConversionMethod method) { 
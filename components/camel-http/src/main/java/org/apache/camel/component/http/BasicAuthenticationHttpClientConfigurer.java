@@ -20,8 +20,10 @@ import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.Credentials;
 import org.apache.http.auth.NTCredentials;
 import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CredentialsProvider;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 
 public class BasicAuthenticationHttpClientConfigurer implements HttpClientConfigurer {
     private final String username;
@@ -38,6 +40,15 @@ public class BasicAuthenticationHttpClientConfigurer implements HttpClientConfig
 
     @Override
     public void configureHttpClient(HttpClientBuilder clientBuilder) {
+        clientBuilder.setDefaultCredentialsProvider(createCredentialsProvider());
+    }
+
+    @Override
+    public void configureHttpAsyncClient(HttpAsyncClientBuilder clientBuilder) {
+        clientBuilder.setDefaultCredentialsProvider(createCredentialsProvider());
+    }
+
+    private CredentialsProvider createCredentialsProvider() {
         Credentials defaultcreds;
         if (domain != null) {
             defaultcreds = new NTCredentials(username, password, host, domain);
@@ -46,7 +57,7 @@ public class BasicAuthenticationHttpClientConfigurer implements HttpClientConfig
         }
         BasicCredentialsProvider credentialsProvider = new BasicCredentialsProvider();
         credentialsProvider.setCredentials(AuthScope.ANY, defaultcreds);
-        clientBuilder.setDefaultCredentialsProvider(credentialsProvider);
+        return credentialsProvider;
     }
 
 }
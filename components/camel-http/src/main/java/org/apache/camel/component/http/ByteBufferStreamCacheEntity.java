@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import org.apache.camel.converter.stream.ByteBufferInputStreamCache;
+import org.apache.http.entity.AbstractHttpEntity;
+
+/**
+ * A repeatable {@link org.apache.http.HttpEntity} with a known content length, which writes the off-heap buffers of
+ * a {@link ByteBufferInputStreamCache} directly to the connection.
+ * <p/>
+ * The buffers are retained while they are being read, so they are not released back to the pool (and reused) if the
+ * exchange is done in the meantime. The retain taken by {@link #writeTo(OutputStream)} is released when it returns, and
+ * the retain taken by {@link #getContent()} is released as soon as the returned stream has been fully read or is
+ * closed, whichever comes first, so a consumer which reads the content to the end without closing the stream does not
+ * keep the buffers out of the pool.
+ */
+final class ByteBufferStreamCacheEntity extends AbstractHttpEntity {
+
+    private final ByteBufferInputStreamCache cache;
+
+    ByteBufferStreamCacheEntity(ByteBufferInputStreamCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return cache.length();
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        // the buffers are retained until the stream is fully read or closed
+        cache.retain();
+        return new RetainedInputStream(cache);
+    }
+
+    @Override
+    public void writeTo(OutputStream os) throws IOException {
+        cache.retain();
+        try {
+            WritableByteChannel channel = Channels.newChannel(os);
+            for (ByteBuffer buffer : cache.getByteBuffers()) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        } finally {
+            cache.releaseRetained();
+        }
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    /**
+     * A stream which reads its own views of the retained buffers, and releases the buffers when fully read or closed
+     */
+    private static final class RetainedInputStream extends InputStream {
+
+        private final ByteBufferInputStreamCache cache;
+        private final ByteBuffer[] buffers;
+        private int index;
+        private boolean closed;
+        private boolean released;
+
+        RetainedInputStream(ByteBufferInputStreamCache cache) {
+            this.cache = cache;
+            this.buffers = cache.getByteBuffers();
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            if (len == 0) {
+                return 0;
+            }
+            while (index < buffers.length && !buffers[index].hasRemaining()) {
+                index++;
+            }
+            if (index == buffers.length) {
+                // the end of the content has been reached, so the buffers are no longer needed
+                release();
+                return -1;
+            }
+            int n = Math.min(len, buffers[index].remaining());
+            buffers[index].get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+            release();
+        }
+
+        private void release() {
+            if (!released) {
+                released = true;
+                cache.releaseRetained();
+            }
+        }
+    }
+}
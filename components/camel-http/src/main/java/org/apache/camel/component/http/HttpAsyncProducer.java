@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.http;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProducer;
+import org.apache.camel.CamelExchangeException;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.spi.AsyncProcessorAwaitManager;
+import org.apache.camel.spi.ExecutorServiceManager;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.support.AsyncCallbackToCompletableFutureAdapter;
+import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A producer which sends the request using a non-blocking {@link HttpAsyncClient}, so the calling thread is not
+ * blocked while waiting for the response of the remote server.
+ * <p/>
+ * The request is created, and the response is populated, the same way as the {@link HttpProducer} does. The response
+ * is read fully into memory by the client before the exchange is continued. The exchange is continued by a thread from
+ * the executor service of the producer, so the routing does not block the I/O threads of the client.
+ */
+public class HttpAsyncProducer extends HttpProducer implements AsyncProducer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpAsyncProducer.class);
+
+    private HttpAsyncClient httpAsyncClient;
+    private volatile ExecutorService executorService;
+    private boolean shutdownExecutorService;
+
+    public HttpAsyncProducer(HttpEndpoint endpoint) {
+        super(endpoint);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        if (httpAsyncClient == null) {
+            httpAsyncClient = getEndpoint().getOrCreateHttpAsyncClient();
+        }
+        if (executorService == null) {
+            // the exchanges rejected by the pool are continued by the I/O thread, as the caller runs policy of the
+            // default profile silently discards the tasks when the pool is shutting down
+            ExecutorServiceManager manager = getEndpoint().getCamelContext().getExecutorServiceManager();
+            ThreadPoolProfile profile = manager.getDefaultThreadPoolProfile().clone();
+            profile.setId("HttpAsyncProducer");
+            profile.setDefaultProfile(false);
+            profile.setRejectedPolicy(ThreadPoolRejectedPolicy.Abort);
+            executorService = manager.newThreadPool(this, "HttpAsyncProducer", profile);
+            shutdownExecutorService = true;
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executorService != null && shutdownExecutorService) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdown(executorService);
+            executorService = null;
+        }
+        super.doStop();
+    }
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        AsyncProcessorAwaitManager awaitManager
+                = exchange.getContext().adapt(ExtendedCamelContext.class).getAsyncProcessorAwaitManager();
+        awaitManager.process(this, exchange);
+    }
+
+    @Override
+    public CompletableFuture<Exchange> processAsync(Exchange exchange) {
+        AsyncCallbackToCompletableFutureAdapter<Exchange> callback = new AsyncCallbackToCompletableFutureAdapter<>(exchange);
+        process(exchange, callback);
+        return callback.getFuture();
+    }
+
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        final HttpRequestBase httpRequest;
+        try {
+            httpRequest = createRequest(exchange);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Executing http {} method: {}", httpRequest.getMethod(), httpRequest.getURI());
+            }
+            httpAsyncClient.execute(httpRequest, createLocalContext(), new FutureCallback<HttpResponse>() {
+                @Override
+                public void completed(HttpResponse httpResponse) {
+                    continueRouting(() -> {
+                        try {
+                            handleResponse(exchange, httpRequest, httpResponse);
+                        } catch (Exception e) {
+                            exchange.setException(e);
+                        } finally {
+                            releaseResponse(exchange, httpResponse);
+                            callback.done(false);
+                        }
+                    });
+                }
+
+                @Override
+                public void failed(Exception e) {
+                    continueRouting(() -> {
+                        exchange.setException(e);
+                        callback.done(false);
+                    });
+                }
+
+                @Override
+                public void cancelled() {
+                    continueRouting(() -> {
+                        exchange.setException(new CamelExchangeException("The http request was cancelled", exchange));
+                        callback.done(false);
+                    });
+                }
+            });
+        } catch (Exception e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+        return false;
+    }
+
+    private void continueRouting(Runnable task) {
+        ExecutorService executor = executorService;
+        if (executor != null) {
+            try {
+                executor.execute(task);
+                return;
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Continue routing on the I/O thread as the executor service rejected the task", e);
+            }
+        }
+        task.run();
+    }
+
+    public HttpAsyncClient getHttpAsyncClient() {
+        return httpAsyncClient;
+    }
+
+    public void setHttpAsyncClient(HttpAsyncClient httpAsyncClient) {
+        this.httpAsyncClient = httpAsyncClient;
+    }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * To use a custom executor service for continuing the routing of the exchanges when the responses are received.
+     * Camel does not shutdown this executor service when the producer is stopped.
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+}
@@ -17,6 +17,7 @@
 package org.apache.camel.component.http;
 
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 
 /**
  * A pluggable strategy for configuring the HttpClient used by this component
@@ -29,4 +30,13 @@ public interface HttpClientConfigurer {
      * @param clientBuilder the client
      */
     void configureHttpClient(HttpClientBuilder clientBuilder);
+
+    /**
+     * Configure the HttpAsyncClient used by asynchronous producers such as setting the authentication or proxying
+     * details
+     *
+     * @param clientBuilder the client
+     */
+    default void configureHttpAsyncClient(HttpAsyncClientBuilder clientBuilder) {
+    }
 }
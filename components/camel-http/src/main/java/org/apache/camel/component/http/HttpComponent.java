@@ -250,19 +250,23 @@ public class HttpComponent extends HttpCommonComponent implements RestProducerFa
         final Map<String, Object> httpClientOptions = new HashMap<>();
 
         // timeout values can be configured on both component and endpoint level, where endpoint take priority
-        int val = getAndRemoveParameter(parameters, "connectionRequestTimeout", int.class, connectionRequestTimeout);
-        if (val != -1) {
-            httpClientOptions.put("connectionRequestTimeout", val);
+        int requestTimeout = getAndRemoveParameter(parameters, "connectionRequestTimeout", int.class, connectionRequestTimeout);
+        if (requestTimeout != -1) {
+            httpClientOptions.put("connectionRequestTimeout", requestTimeout);
         }
-        val = getAndRemoveParameter(parameters, "connectTimeout", int.class, connectTimeout);
-        if (val != -1) {
-            httpClientOptions.put("connectTimeout", val);
+        int connTimeout = getAndRemoveParameter(parameters, "connectTimeout", int.class, connectTimeout);
+        if (connTimeout != -1) {
+            httpClientOptions.put("connectTimeout", connTimeout);
         }
-        val = getAndRemoveParameter(parameters, "socketTimeout", int.class, socketTimeout);
-        if (val != -1) {
-            httpClientOptions.put("socketTimeout", val);
+        int soTimeout = getAndRemoveParameter(parameters, "socketTimeout", int.class, socketTimeout);
+        if (soTimeout != -1) {
+            httpClientOptions.put("socketTimeout", soTimeout);
         }
 
+        // keep a copy of the httpClient options for the async client, as they are removed when bound to the client builder
+        final Map<String, Object> asyncClientOptions = new HashMap<>(httpClientOptions);
+        asyncClientOptions.putAll(PropertiesHelper.extractProperties(new HashMap<>(parameters), "httpClient."));
+
         final HttpClientBuilder clientBuilder = createHttpClientBuilder(uri, parameters, httpClientOptions);
 
         HttpBinding httpBinding = resolveAndRemoveReferenceParameter(parameters, "httpBinding", HttpBinding.class);
@@ -324,6 +328,11 @@ public class HttpComponent extends HttpCommonComponent implements RestProducerFa
         LOG.debug("Creating endpoint uri {}", endpointUriString);
         final HttpClientConnectionManager localConnectionManager = createConnectionManager(parameters, sslContextParameters);
         HttpEndpoint endpoint = new HttpEndpoint(endpointUriString, this, clientBuilder, localConnectionManager, configurer);
+        // keep the resolved timeouts and ssl configuration on the endpoint, as they are needed to create the async client
+        endpoint.setConnectionRequestTimeout(requestTimeout);
+        endpoint.setConnectTimeout(connTimeout);
+        endpoint.setSocketTimeout(soTimeout);
+        endpoint.setSslContextParameters(sslContextParameters);
 
         // configure the endpoint with the common configuration from the component
         if (getHttpConfiguration() != null) {
@@ -369,7 +378,7 @@ public class HttpComponent extends HttpCommonComponent implements RestProducerFa
         if (endpoint.getCookieStore() == null) {
             endpoint.setCookieStore(getCookieStore());
         }
-        endpoint.setHttpClientOptions(httpClientOptions);
+        endpoint.setHttpClientOptions(asyncClientOptions);
 
         return endpoint;
     }
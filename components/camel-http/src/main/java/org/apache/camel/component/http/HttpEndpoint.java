@@ -19,6 +19,7 @@ package org.apache.camel.component.http;
 import java.io.Closeable;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.HashMap;
 import java.util.Map;
 
 import javax.net.ssl.HostnameVerifier;
@@ -36,6 +37,8 @@ import org.apache.camel.http.common.HttpCommonEndpoint;
 import org.apache.camel.spi.Metadata;
 import org.apache.camel.spi.UriEndpoint;
 import org.apache.camel.spi.UriParam;
+import org.apache.camel.support.PropertyBindingSupport;
+import org.apache.camel.support.SynchronousDelegateProducer;
 import org.apache.camel.support.jsse.SSLContextParameters;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
@@ -47,6 +50,9 @@ import org.apache.http.conn.HttpClientConnectionManager;
 import org.apache.http.conn.ssl.DefaultHostnameVerifier;
 import org.apache.http.impl.client.BasicCookieStore;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.nio.client.HttpAsyncClient;
 import org.apache.http.pool.ConnPoolControl;
 import org.apache.http.pool.PoolStats;
 import org.apache.http.protocol.HttpContext;
@@ -86,6 +92,16 @@ public class HttpEndpoint extends HttpCommonEndpoint {
     @UriParam(label = "advanced", defaultValue = "false",
               description = "To use System Properties as fallback for configuration")
     private boolean useSystemProperties;
+    @UriParam(label = "producer,advanced",
+              description = "Whether the producer should send the requests using a non-blocking HttpAsyncClient, instead of the blocking HttpClient."
+                            + " The producer is then asynchronous and does not block the calling thread while waiting for the response,"
+                            + " which allows many concurrent requests to be in flight using only a few I/O threads."
+                            + " The response is read fully into memory before the exchange is continued by a thread pool of the producer.")
+    private boolean useAsyncClient;
+    @UriParam(label = "producer,advanced",
+              description = "Sets a custom HttpAsyncClient to be used by the producer when useAsyncClient is enabled")
+    private HttpAsyncClient httpAsyncClient;
+    private boolean createdHttpAsyncClient;
 
     // timeout
     @Metadata(label = "timeout", defaultValue = "-1",
@@ -167,6 +183,13 @@ public class HttpEndpoint extends HttpCommonEndpoint {
 
     @Override
     public Producer createProducer() throws Exception {
+        if (useAsyncClient) {
+            Producer answer = new HttpAsyncProducer(this);
+            if (isSynchronous()) {
+                return new SynchronousDelegateProducer(answer);
+            }
+            return answer;
+        }
         return new HttpProducer(this);
     }
 
@@ -214,20 +237,8 @@ public class HttpEndpoint extends HttpCommonEndpoint {
         }
 
         if (!useSystemProperties) {
-            // configure http proxy from camelContext
-            if (ObjectHelper.isNotEmpty(getCamelContext().getGlobalOption("http.proxyHost"))
-                    && ObjectHelper.isNotEmpty(getCamelContext().getGlobalOption("http.proxyPort"))) {
-                String host = getCamelContext().getGlobalOption("http.proxyHost");
-                int port = Integer.parseInt(getCamelContext().getGlobalOption("http.proxyPort"));
-                String scheme = getCamelContext().getGlobalOption("http.proxyScheme");
-                // fallback and use either http or https depending on secure
-                if (scheme == null) {
-                    scheme = HttpHelper.isSecureConnection(getEndpointUri()) ? "https" : "http";
-                }
-                LOG.debug(
-                        "CamelContext properties http.proxyHost, http.proxyPort, and http.proxyScheme detected. Using http proxy host: {} port: {} scheme: {}",
-                        host, port, scheme);
-                HttpHost proxy = new HttpHost(host, port, scheme);
+            HttpHost proxy = getGlobalProxy();
+            if (proxy != null) {
                 clientBuilder.setProxy(proxy);
             }
         } else {
@@ -253,6 +264,129 @@ public class HttpEndpoint extends HttpCommonEndpoint {
         return clientBuilder.build();
     }
 
+    /**
+     * Gets the {@link HttpAsyncClient} to be used by asynchronous producers, which is created on first use, and
+     * started if not already running.
+     */
+    public synchronized HttpAsyncClient getOrCreateHttpAsyncClient() throws Exception {
+        if (httpAsyncClient == null) {
+            httpAsyncClient = createHttpAsyncClient();
+            createdHttpAsyncClient = true;
+        }
+        if (httpAsyncClient instanceof CloseableHttpAsyncClient) {
+            CloseableHttpAsyncClient client = (CloseableHttpAsyncClient) httpAsyncClient;
+            if (!client.isRunning()) {
+                client.start();
+            }
+        }
+        return httpAsyncClient;
+    }
+
+    /**
+     * Factory method to create a new {@link HttpAsyncClient} instance, with its own pool of connections sized the same
+     * as the pool used by the {@link HttpClient}.
+     * <p/>
+     * The <tt>httpClient.</tt> options are applied when the {@link HttpAsyncClientBuilder} or the {@link RequestConfig}
+     * support them, and the other options are ignored. The connection pool of the async client does not use the
+     * <tt>clientConnectionManager</tt>, so the <tt>connectionTimeToLive</tt> of the component is ignored, and expired or
+     * idle connections are not evicted. Use {@link HttpClientConfigurer#configureHttpAsyncClient(HttpAsyncClientBuilder)}
+     * to set a custom connection manager if that is needed.
+     * <p/>
+     * Producers should use the {@link #getOrCreateHttpAsyncClient()} method instead.
+     */
+    protected HttpAsyncClient createHttpAsyncClient() throws Exception {
+        HttpAsyncClientBuilder asyncClientBuilder = HttpAsyncClientBuilder.create();
+        RequestConfig.Builder requestConfigBuilder = RequestConfig.custom()
+                .setConnectionRequestTimeout((int) connectionRequestTimeout)
+                .setConnectTimeout((int) connectTimeout)
+                .setSocketTimeout((int) socketTimeout);
+
+        // apply the httpClient options which are supported by the async client builder or the request config
+        if (httpClientOptions != null && !httpClientOptions.isEmpty()) {
+            Map<String, Object> options = new HashMap<>(httpClientOptions);
+            PropertyBindingSupport.bindProperties(getCamelContext(), asyncClientBuilder, options);
+            PropertyBindingSupport.bindProperties(getCamelContext(), requestConfigBuilder, options);
+            if (!options.isEmpty()) {
+                LOG.warn("The httpClient options {} are not supported by the HttpAsyncClient and are ignored",
+                        options.keySet());
+            }
+        }
+
+        // need to use noop cookiestore when bridging as we do not want to keep cookies in memory
+        asyncClientBuilder.setDefaultCookieStore(isBridgeEndpoint() ? new NoopCookieStore() : cookieStore);
+
+        // the connection pool uses the same limits as the pool of the blocking client
+        int maxTotal = getComponent() != null ? getComponent().getMaxTotalConnections() : 0;
+        int maxPerRoute = getComponent() != null ? getComponent().getConnectionsPerRoute() : 0;
+        if (clientConnectionManager instanceof ConnPoolControl) {
+            ConnPoolControl<?> pool = (ConnPoolControl<?>) clientConnectionManager;
+            maxTotal = pool.getMaxTotal();
+            maxPerRoute = pool.getDefaultMaxPerRoute();
+        }
+        if (maxTotal > 0) {
+            asyncClientBuilder.setMaxConnTotal(maxTotal);
+        }
+        if (maxPerRoute > 0) {
+            asyncClientBuilder.setMaxConnPerRoute(maxPerRoute);
+        }
+
+        asyncClientBuilder.setDefaultRequestConfig(requestConfigBuilder.build());
+
+        if (sslContextParameters != null) {
+            asyncClientBuilder.setSSLContext(sslContextParameters.createSSLContext(getCamelContext()));
+        }
+        HostnameVerifier hostnameVerifier = x509HostnameVerifier;
+        if (hostnameVerifier == null && getComponent() != null) {
+            hostnameVerifier = getComponent().getX509HostnameVerifier();
+        }
+        if (hostnameVerifier != null) {
+            asyncClientBuilder.setSSLHostnameVerifier(hostnameVerifier);
+        }
+
+        if (!useSystemProperties) {
+            HttpHost proxy = getGlobalProxy();
+            if (proxy != null) {
+                asyncClientBuilder.setProxy(proxy);
+            }
+        } else {
+            asyncClientBuilder.useSystemProperties();
+        }
+
+        if (isAuthenticationPreemptive()) {
+            // setup the PreemptiveAuthInterceptor here
+            asyncClientBuilder.addInterceptorFirst(new PreemptiveAuthInterceptor());
+        }
+
+        HttpClientConfigurer configurer = getHttpClientConfigurer();
+        if (configurer != null) {
+            configurer.configureHttpAsyncClient(asyncClientBuilder);
+        }
+
+        LOG.debug("Setup the HttpAsyncClientBuilder {}", asyncClientBuilder);
+        return asyncClientBuilder.build();
+    }
+
+    /**
+     * Gets the http proxy configured on the CamelContext, or <tt>null</tt> if no proxy is configured
+     */
+    private HttpHost getGlobalProxy() {
+        if (ObjectHelper.isNotEmpty(getCamelContext().getGlobalOption("http.proxyHost"))
+                && ObjectHelper.isNotEmpty(getCamelContext().getGlobalOption("http.proxyPort"))) {
+            String host = getCamelContext().getGlobalOption("http.proxyHost");
+            int port = Integer.parseInt(getCamelContext().getGlobalOption("http.proxyPort"));
+            String scheme = getCamelContext().getGlobalOption("http.proxyScheme");
+            // fallback and use either http or https depending on secure
+            if (scheme == null) {
+                scheme = HttpHelper.isSecureConnection(getEndpointUri()) ? "https" : "http";
+            }
+            LOG.debug(
+                    "CamelContext properties http.proxyHost, http.proxyPort, and http.proxyScheme detected. Using http proxy host: {} port: {} scheme: {}",
+                    host, port, scheme);
+            return new HttpHost(host, port, scheme);
+        }
+        return null;
+    }
+
     @Override
     public HttpComponent getComponent() {
         return (HttpComponent) super.getComponent();
@@ -267,6 +401,14 @@ public class HttpEndpoint extends HttpCommonEndpoint {
         if (httpClient instanceof Closeable) {
             IOHelper.close((Closeable) httpClient);
         }
+        if (createdHttpAsyncClient) {
+            if (httpAsyncClient instanceof Closeable) {
+                IOHelper.close((Closeable) httpAsyncClient);
+            }
+            // a closed client cannot be started again so create a new client if restarted
+            httpAsyncClient = null;
+            createdHttpAsyncClient = false;
+        }
     }
 
     // Properties
@@ -401,6 +543,31 @@ public class HttpEndpoint extends HttpCommonEndpoint {
         this.httpClientOptions = httpClientOptions;
     }
 
+    public boolean isUseAsyncClient() {
+        return useAsyncClient;
+    }
+
+    /**
+     * Whether the producer should send the requests using a non-blocking {@link HttpAsyncClient}, instead of the
+     * blocking {@link HttpClient}. The producer is then asynchronous and does not block the calling thread while
+     * waiting for the response, which allows many concurrent requests to be in flight using only a few I/O threads.
+     * The response is read fully into memory before the exchange is continued by a thread pool of the producer.
+     */
+    public void setUseAsyncClient(boolean useAsyncClient) {
+        this.useAsyncClient = useAsyncClient;
+    }
+
+    public HttpAsyncClient getHttpAsyncClient() {
+        return httpAsyncClient;
+    }
+
+    /**
+     * Sets a custom HttpAsyncClient to be used by the producer when useAsyncClient is enabled
+     */
+    public void setHttpAsyncClient(HttpAsyncClient httpAsyncClient) {
+        this.httpAsyncClient = httpAsyncClient;
+    }
+
     public boolean isUseSystemProperties() {
         return useSystemProperties;
     }
@@ -22,6 +22,7 @@ import java.io.InputStream;
 
 import org.apache.camel.Converter;
 import org.apache.camel.Exchange;
+import org.apache.camel.converter.stream.ByteBufferInputStreamCache;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.GZIPHelper;
 import org.apache.http.HttpEntity;
@@ -48,6 +49,21 @@ public final class HttpEntityConverter {
         return asHttpEntity(inStream, exchange);
     }
 
+    @Converter
+    public static HttpEntity toHttpEntity(ByteBufferInputStreamCache cache, Exchange exchange) throws Exception {
+        if (exchange != null && !exchange.getProperty(Exchange.SKIP_GZIP_ENCODING, Boolean.FALSE, Boolean.class)
+                && GZIPHelper.isGzip(exchange.getIn())) {
+            return asHttpEntity(cache, exchange);
+        }
+        // write the off-heap buffers directly without reading them as a stream of unknown length
+        AbstractHttpEntity entity = new ByteBufferStreamCacheEntity(cache);
+        if (exchange != null) {
+            entity.setContentEncoding(exchange.getIn().getHeader(Exchange.CONTENT_ENCODING, String.class));
+            entity.setContentType(ExchangeHelper.getContentType(exchange));
+        }
+        return entity;
+    }
+
     @Converter
     public static HttpEntity toHttpEntity(String str, Exchange exchange) throws Exception {
         if (exchange != null && GZIPHelper.isGzip(exchange.getIn())) {
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedExchange;
+import org.apache.camel.converter.stream.ByteBufferInputStreamCache;
+import org.apache.camel.converter.stream.CachedOutputStream;
+import org.apache.camel.converter.stream.DirectByteBufferPool;
+import org.apache.camel.impl.engine.DefaultUnitOfWork;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.test.junit5.CamelTestSupport;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ByteBufferStreamCacheEntityTest extends CamelTestSupport {
+    private static final String TEST_STRING = "This is a test string which is larger than the buffer size";
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setOffHeap(true);
+        context.getStreamCachingStrategy().setBufferSize(16);
+        context.getStreamCachingStrategy().setSpoolThreshold(128);
+        return context;
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testContentReleasedWhenFullyReadWithoutClose() throws Exception {
+        DirectByteBufferPool pool = context.getExtension(DirectByteBufferPool.class);
+        Exchange exchange = createExchange();
+        ByteBufferStreamCacheEntity entity = new ByteBufferStreamCacheEntity(createCache(exchange));
+
+        // the entity is repeatable so the content can be requested more than once
+        InputStream first = entity.getContent();
+        InputStream second = entity.getContent();
+
+        // the buffers are retained by the streams when the exchange is done
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, pool.getPooledBuffers());
+
+        // the streams are read to the end but never closed
+        assertEquals(TEST_STRING, readFully(first));
+        assertEquals(0, pool.getPooledBuffers());
+        assertEquals(TEST_STRING, readFully(second));
+
+        // the buffers are returned to the pool once the last stream has been fully read
+        assertEquals(4, pool.getPooledBuffers());
+
+        // reading again or closing the streams afterwards does not release the buffers twice
+        assertEquals(-1, first.read());
+        first.close();
+        second.close();
+        assertEquals(4, pool.getPooledBuffers());
+    }
+
+    @Test
+    public void testWriteToReleased() throws Exception {
+        DirectByteBufferPool pool = context.getExtension(DirectByteBufferPool.class);
+        Exchange exchange = createExchange();
+        ByteBufferStreamCacheEntity entity = new ByteBufferStreamCacheEntity(createCache(exchange));
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        entity.writeTo(bos);
+        assertEquals(TEST_STRING, bos.toString("UTF-8"));
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(4, pool.getPooledBuffers());
+    }
+
+    private Exchange createExchange() {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.adapt(ExtendedExchange.class).setUnitOfWork(new DefaultUnitOfWork(exchange));
+        return exchange;
+    }
+
+    private static ByteBufferInputStreamCache createCache(Exchange exchange) throws Exception {
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+        return (ByteBufferInputStreamCache) cos.newStreamCache();
+    }
+
+    private static String readFully(InputStream is) throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[5];
+        int n;
+        while ((n = is.read(buffer)) != -1) {
+            bos.write(buffer, 0, n);
+        }
+        return bos.toString("UTF-8");
+    }
+}
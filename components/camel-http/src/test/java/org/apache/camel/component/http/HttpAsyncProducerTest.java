@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.http;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.camel.AsyncProducer;
+import org.apache.camel.Exchange;
+import org.apache.camel.Producer;
+import org.apache.camel.http.common.HttpOperationFailedException;
+import org.apache.camel.support.SynchronousDelegateProducer;
+import org.apache.http.HttpStatus;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.bootstrap.HttpServer;
+import org.apache.http.impl.bootstrap.ServerBootstrap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.apache.camel.test.junit5.TestSupport.assertIsInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpAsyncProducerTest extends BaseHttpTest {
+
+    private static final int CONCURRENT = 10;
+
+    private final CountDownLatch inFlight = new CountDownLatch(CONCURRENT);
+
+    private HttpServer localServer;
+
+    private String baseUrl;
+
+    @BeforeEach
+    @Override
+    public void setUp() throws Exception {
+        localServer = ServerBootstrap.bootstrap().setHttpProcessor(getBasicHttpProcessor())
+                .setConnectionReuseStrategy(getConnectionReuseStrategy()).setResponseFactory(getHttpResponseFactory())
+                .setExpectationVerifier(getHttpExpectationVerifier()).setSslContext(getSSLContext())
+                .registerHandler("/concurrent", (request, response, context) -> {
+                    // only respond when all the requests are in flight at the same time
+                    inFlight.countDown();
+                    try {
+                        inFlight.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        // ignore
+                    }
+                    response.setStatusCode(HttpStatus.SC_OK);
+                    response.setEntity(new StringEntity(request.getFirstHeader("id").getValue()));
+                })
+                .registerHandler("/headers", (request, response, context) -> {
+                    response.setStatusCode(HttpStatus.SC_OK);
+                    response.setHeader("foo", request.getFirstHeader("foo").getValue());
+                    response.setHeader("leaked", String.valueOf(request.containsHeader("CamelSecret")));
+                    response.setEntity(new StringEntity("Hello " + request.getRequestLine().getMethod()));
+                })
+                .registerHandler("/useragent", (request, response, context) -> {
+                    response.setStatusCode(HttpStatus.SC_OK);
+                    response.setEntity(new StringEntity(request.getFirstHeader("User-Agent").getValue()));
+                })
+                .registerHandler("/notfound", (request, response, context) -> {
+                    response.setStatusCode(HttpStatus.SC_NOT_FOUND);
+                    response.setEntity(new StringEntity("Not here"));
+                }).create();
+        localServer.start();
+
+        baseUrl = "http://" + localServer.getInetAddress().getHostName() + ":" + localServer.getLocalPort();
+
+        super.setUp();
+    }
+
+    @AfterEach
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+
+        if (localServer != null) {
+            localServer.stop();
+        }
+    }
+
+    @Test
+    public void testAsyncProducer() throws Exception {
+        Producer producer = context.getEndpoint(baseUrl + "/headers?useAsyncClient=true").createProducer();
+        assertIsInstanceOf(HttpAsyncProducer.class, producer);
+    }
+
+    @Test
+    public void testSynchronousAsyncProducer() throws Exception {
+        Producer producer = context.getEndpoint(baseUrl + "/headers?useAsyncClient=true&synchronous=true").createProducer();
+        assertIsInstanceOf(SynchronousDelegateProducer.class, producer);
+        producer.start();
+        try {
+            Exchange exchange = producer.getEndpoint().createExchange();
+            exchange.getIn().setHeader("foo", "bar");
+            producer.process(exchange);
+
+            // the producer waits for the response
+            assertNull(exchange.getException());
+            assertEquals(200, exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE));
+        } finally {
+            producer.stop();
+        }
+    }
+
+    @Test
+    public void testConcurrentRequestsFromSingleThread() throws Exception {
+        AsyncProducer producer
+                = context.getEndpoint(baseUrl + "/concurrent?useAsyncClient=true").createAsyncProducer();
+        producer.start();
+        try {
+            // all the requests are sent from this thread, which is not blocked while waiting for the responses
+            List<CompletableFuture<Exchange>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT; i++) {
+                Exchange exchange = producer.getEndpoint().createExchange();
+                exchange.getIn().setHeader("id", i);
+                futures.add(producer.processAsync(exchange));
+            }
+
+            Set<String> unique = new HashSet<>();
+            for (CompletableFuture<Exchange> future : futures) {
+                Exchange exchange = future.get(20, TimeUnit.SECONDS);
+                assertNull(exchange.getException());
+                assertEquals(200, exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE));
+                unique.add(exchange.getMessage().getBody(String.class));
+            }
+            assertEquals(CONCURRENT, unique.size());
+        } finally {
+            producer.stop();
+        }
+    }
+
+    @Test
+    public void testContinueRoutingOnProducerThreadPool() throws Exception {
+        AsyncProducer producer
+                = context.getEndpoint(baseUrl + "/headers?useAsyncClient=true").createAsyncProducer();
+        producer.start();
+        try {
+            Exchange exchange = producer.getEndpoint().createExchange();
+            exchange.getIn().setHeader("foo", "bar");
+            AtomicReference<String> threadName = new AtomicReference<>();
+            CountDownLatch done = new CountDownLatch(1);
+            producer.process(exchange, doneSync -> {
+                threadName.set(Thread.currentThread().getName());
+                done.countDown();
+            });
+
+            assertTrue(done.await(20, TimeUnit.SECONDS));
+            assertNull(exchange.getException());
+            // the exchange must not continue on the I/O thread of the client
+            assertTrue(threadName.get().contains("HttpAsyncProducer"), "Thread name: " + threadName.get());
+        } finally {
+            producer.stop();
+        }
+    }
+
+    @Test
+    public void testHttpClientOptions() throws Exception {
+        String out = template.requestBody(baseUrl + "/useragent?useAsyncClient=true&httpClient.userAgent=MyAsyncAgent",
+                null, String.class);
+
+        assertEquals("MyAsyncAgent", out);
+    }
+
+    @Test
+    public void testHeaderFilterStrategy() throws Exception {
+        Exchange exchange = template.request(baseUrl + "/headers?useAsyncClient=true", e -> {
+            e.getIn().setHeader("foo", "bar");
+            e.getIn().setHeader("CamelSecret", "123");
+        });
+
+        assertNull(exchange.getException());
+        assertEquals(200, exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE));
+        assertEquals("bar", exchange.getMessage().getHeader("foo"));
+        assertEquals("false", exchange.getMessage().getHeader("leaked"));
+        assertEquals("Hello GET", exchange.getMessage().getBody(String.class));
+    }
+
+    @Test
+    public void testPostWithBody() throws Exception {
+        Exchange exchange = template.request(baseUrl + "/headers?useAsyncClient=true", e -> {
+            e.getIn().setHeader("foo", "bar");
+            e.getIn().setBody("Camel");
+        });
+
+        assertNull(exchange.getException());
+        assertEquals("Hello POST", exchange.getMessage().getBody(String.class));
+    }
+
+    @Test
+    public void testThrowExceptionOnFailure() throws Exception {
+        Exchange exchange = template.request(baseUrl + "/notfound?useAsyncClient=true", e -> {
+        });
+
+        Exception e = exchange.getException();
+        assertNotNull(e, "Should have thrown an exception");
+        HttpOperationFailedException cause = assertIsInstanceOf(HttpOperationFailedException.class, e);
+        assertEquals(404, cause.getStatusCode());
+        assertEquals("Not here", cause.getResponseBody());
+    }
+}
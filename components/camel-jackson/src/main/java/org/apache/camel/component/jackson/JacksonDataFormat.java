@@ -26,12 +26,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.type.CollectionType;
 import org.apache.camel.CamelContext;
@@ -80,6 +84,12 @@ public class JacksonDataFormat extends ServiceSupport
     private boolean contentTypeHeader = true;
     private TimeZone timezone;
     private boolean autoDiscoverObjectMapper;
+    private boolean usingIterator;
+
+    // the readers and writer are immutable and thread-safe, so they are created once and reused for every message
+    private volatile ObjectWriter writer;
+    private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, ObjectReader> collectionReaders = new ConcurrentHashMap<>();
 
     /**
      * Use the default Jackson {@link ObjectMapper} and {@link Object}
@@ -150,7 +160,7 @@ public class JacksonDataFormat extends ServiceSupport
 
     @Override
     public void marshal(Exchange exchange, Object graph, OutputStream stream) throws Exception {
-        this.objectMapper.writerWithView(jsonView).writeValue(stream, graph);
+        getWriter().writeValue(stream, graph);
 
         if (contentTypeHeader) {
             if (exchange.hasOut()) {
@@ -176,23 +186,62 @@ public class JacksonDataFormat extends ServiceSupport
         if (type != null) {
             clazz = exchange.getContext().getClassResolver().resolveMandatoryClass(type);
         }
-        if (collectionType != null) {
-            CollectionType collType = objectMapper.getTypeFactory().constructCollectionType(collectionType, clazz);
-            return this.objectMapper.readValue(stream, collType);
+        if (usingIterator) {
+            // iterate the elements of the array one by one, the iterator closes the stream when done
+            return getReader(clazz).readValues(stream);
+        } else if (collectionType != null) {
+            return getCollectionReader(clazz).readValue(stream);
         } else {
-            return this.objectMapper.readValue(stream, clazz);
+            return getReader(clazz).readValue(stream);
+        }
+    }
+
+    private ObjectWriter getWriter() {
+        ObjectWriter answer = writer;
+        if (answer == null) {
+            answer = objectMapper.writerWithView(jsonView);
+            writer = answer;
         }
+        return answer;
+    }
+
+    private ObjectReader getReader(Class<?> clazz) {
+        return readers.computeIfAbsent(clazz, objectMapper::readerFor);
+    }
+
+    private ObjectReader getCollectionReader(Class<?> clazz) {
+        return collectionReaders.computeIfAbsent(clazz, c -> {
+            CollectionType collType = objectMapper.getTypeFactory().constructCollectionType(collectionType, c);
+            return objectMapper.readerFor(collType);
+        });
+    }
+
+    /**
+     * Clears the {@link ObjectReader}s and {@link ObjectWriter} which are created from the {@link ObjectMapper} the first
+     * time they are used. This must be called after the mapper returned by {@link #getObjectMapper()} has been
+     * configured once the data format is in use, as the cached readers and writer keep the configuration of the mapper
+     * at the time they were created.
+     */
+    public void clearReadersAndWriter() {
+        writer = null;
+        readers.clear();
+        collectionReaders.clear();
     }
 
     // Properties
     // -------------------------------------------------------------------------
 
+    /**
+     * Gets the mapper. Notice that the readers and writer are created from the mapper and cached, so any change made to
+     * the mapper once the data format is in use is ignored until {@link #clearReadersAndWriter()} is called.
+     */
     public ObjectMapper getObjectMapper() {
         return this.objectMapper;
     }
 
     public void setObjectMapper(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
+        clearReadersAndWriter();
     }
 
     public boolean isUseDefaultObjectMapper() {
@@ -209,6 +258,7 @@ public class JacksonDataFormat extends ServiceSupport
 
     public void setUnmarshalType(Class<?> unmarshalType) {
         this.unmarshalType = unmarshalType;
+        clearReadersAndWriter();
     }
 
     public String getUnmarshalTypeName() {
@@ -225,6 +275,7 @@ public class JacksonDataFormat extends ServiceSupport
 
     public void setCollectionType(Class<? extends Collection> collectionType) {
         this.collectionType = collectionType;
+        clearReadersAndWriter();
     }
 
     public String getCollectionTypeName() {
@@ -241,6 +292,7 @@ public class JacksonDataFormat extends ServiceSupport
 
     public void setJsonView(Class<?> jsonView) {
         this.jsonView = jsonView;
+        clearReadersAndWriter();
     }
 
     public String getInclude() {
@@ -402,6 +454,21 @@ public class JacksonDataFormat extends ServiceSupport
         this.autoDiscoverObjectMapper = autoDiscoverObjectMapper;
     }
 
+    public boolean isUsingIterator() {
+        return usingIterator;
+    }
+
+    /**
+     * If enabled then unmarshalling returns an {@link Iterator} which reads the elements of a JSON array one by one
+     * from the stream, instead of reading the entire array into memory. This can be used to split very large arrays
+     * with the splitter in streaming mode.
+     * <p/>
+     * This cannot be used together with the collectionType or useList options.
+     */
+    public void setUsingIterator(boolean usingIterator) {
+        this.usingIterator = usingIterator;
+    }
+
     public String getEnableFeatures() {
         return enableFeatures;
     }
@@ -615,11 +682,20 @@ public class JacksonDataFormat extends ServiceSupport
         } else {
             LOG.info("The objectMapper was already found in the registry, no customizations will be applied");
         }
+
+        if (usingIterator && collectionType != null) {
+            // the iterator returns the elements of the array, so the array cannot be unmarshalled as a collection
+            throw new IllegalArgumentException(
+                    "The option usingIterator cannot be used together with collectionType or useList");
+        }
+
+        // the mapper has been configured, so any reader or writer created before is outdated
+        clearReadersAndWriter();
     }
 
     @Override
     protected void doStop() throws Exception {
-        // noop
+        clearReadersAndWriter();
     }
 
 }
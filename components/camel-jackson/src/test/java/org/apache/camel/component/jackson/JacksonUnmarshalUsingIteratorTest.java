@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jackson;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit5.CamelTestSupport;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JacksonUnmarshalUsingIteratorTest extends CamelTestSupport {
+
+    @Test
+    public void testSplitStreaming() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(3);
+        mock.expectedBodiesReceived(pojo("Camel"), pojo("Donkey"), pojo("Tiger"));
+        mock.allMessages().body().isInstanceOf(TestPojo.class);
+
+        template.sendBody("direct:start", "[{\"name\":\"Camel\"},{\"name\":\"Donkey\"},{\"name\":\"Tiger\"}]");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testIteratorReadsLazily() throws Exception {
+        JacksonDataFormat format = new JacksonDataFormat(TestPojo.class);
+        format.setUsingIterator(true);
+        format.setCamelContext(context);
+        format.start();
+
+        TrackingInputStream stream
+                = new TrackingInputStream("[{\"name\":\"Camel\"},{\"name\":\"Donkey\"}]".getBytes());
+        Object body = format.unmarshal(createExchangeWithBody(null), stream);
+        assertTrue(body instanceof Iterator);
+
+        Iterator<?> it = (Iterator<?>) body;
+        assertTrue(it.hasNext());
+        assertEquals(pojo("Camel"), it.next());
+        assertTrue(it.hasNext());
+        assertEquals(pojo("Donkey"), it.next());
+        assertFalse(stream.closed);
+        assertFalse(it.hasNext());
+        // the stream is closed when the end of the array has been read
+        assertTrue(stream.closed);
+
+        ((Closeable) it).close();
+        format.stop();
+    }
+
+    @Test
+    public void testReuseReaderForUnmarshalType() throws Exception {
+        JacksonDataFormat format = new JacksonDataFormat(TestPojo.class);
+        format.setCamelContext(context);
+        format.start();
+
+        for (int i = 0; i < 3; i++) {
+            Object body = format.unmarshal(createExchangeWithBody(null),
+                    new ByteArrayInputStream(("{\"name\":\"Camel" + i + "\"}").getBytes()));
+            assertEquals(pojo("Camel" + i), body);
+        }
+
+        // changing the unmarshal type must not use the previous reader
+        format.setUnmarshalType(TestOtherPojo.class);
+        Object body = format.unmarshal(createExchangeWithBody(null),
+                new ByteArrayInputStream("{\"name\":\"Camel\"}".getBytes()));
+        assertTrue(body instanceof TestOtherPojo);
+
+        format.stop();
+    }
+
+    @Test
+    public void testUsingIteratorWithCollectionType() throws Exception {
+        JacksonDataFormat format = new JacksonDataFormat(TestPojo.class);
+        format.setUsingIterator(true);
+        format.setUseList(true);
+        format.setCamelContext(context);
+
+        assertThrows(IllegalArgumentException.class, format::start);
+    }
+
+    @Test
+    public void testClearWriterAfterObjectMapperChanged() throws Exception {
+        JacksonDataFormat format = new JacksonDataFormat(TestPojo.class);
+        format.setCamelContext(context);
+        format.start();
+
+        assertEquals("{\"name\":\"Camel\"}", marshal(format, pojo("Camel")));
+
+        // the cached writer does not see the change until it is cleared
+        format.getObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        assertEquals("{\"name\":\"Camel\"}", marshal(format, pojo("Camel")));
+        format.clearReadersAndWriter();
+        assertTrue(marshal(format, pojo("Camel")).contains("\n"));
+
+        format.stop();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                JacksonDataFormat format = new JacksonDataFormat(TestPojo.class);
+                format.setUsingIterator(true);
+
+                from("direct:start").unmarshal(format).split(body()).streaming().to("mock:result");
+            }
+        };
+    }
+
+    private String marshal(JacksonDataFormat format, Object graph) throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        format.marshal(createExchangeWithBody(null), graph, bos);
+        return bos.toString();
+    }
+
+    private static TestPojo pojo(String name) {
+        TestPojo pojo = new TestPojo();
+        pojo.setName(name);
+        return pojo;
+    }
+
+    private static final class TrackingInputStream extends ByteArrayInputStream {
+        private boolean closed;
+
+        TrackingInputStream(byte[] buf) {
+            super(buf);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
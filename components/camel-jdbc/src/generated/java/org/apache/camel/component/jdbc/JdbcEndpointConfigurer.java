@@ -38,6 +38,8 @@ public class JdbcEndpointConfigurer extends PropertyConfigurerSupport implements
         case "readSize": target.setReadSize(property(camelContext, int.class, value)); return true;
         case "resetautocommit":
         case "resetAutoCommit": target.setResetAutoCommit(property(camelContext, boolean.class, value)); return true;
+        case "streamlistchunksize":
+        case "streamListChunkSize": target.setStreamListChunkSize(property(camelContext, int.class, value)); return true;
         case "synchronous": target.setSynchronous(property(camelContext, boolean.class, value)); return true;
         case "transacted": target.setTransacted(property(camelContext, boolean.class, value)); return true;
         case "usegetbytesforblob":
@@ -70,6 +72,8 @@ public class JdbcEndpointConfigurer extends PropertyConfigurerSupport implements
         case "readSize": return int.class;
         case "resetautocommit":
         case "resetAutoCommit": return boolean.class;
+        case "streamlistchunksize":
+        case "streamListChunkSize": return int.class;
         case "synchronous": return boolean.class;
         case "transacted": return boolean.class;
         case "usegetbytesforblob":
@@ -103,6 +107,8 @@ public class JdbcEndpointConfigurer extends PropertyConfigurerSupport implements
         case "readSize": return target.getReadSize();
         case "resetautocommit":
         case "resetAutoCommit": return target.isResetAutoCommit();
+        case "streamlistchunksize":
+        case "streamListChunkSize": return target.getStreamListChunkSize();
         case "synchronous": return target.isSynchronous();
         case "transacted": return target.isTransacted();
         case "usegetbytesforblob":
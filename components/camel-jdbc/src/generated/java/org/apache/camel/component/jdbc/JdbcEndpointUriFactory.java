@@ -20,7 +20,7 @@ public class JdbcEndpointUriFactory extends org.apache.camel.support.component.E
     private static final Set<String> PROPERTY_NAMES;
     private static final Set<String> SECRET_PROPERTY_NAMES;
     static {
-        Set<String> props = new HashSet<>(15);
+        Set<String> props = new HashSet<>(16);
         props.add("resetAutoCommit");
         props.add("synchronous");
         props.add("outputType");
@@ -34,6 +34,7 @@ public class JdbcEndpointUriFactory extends org.apache.camel.support.component.E
         props.add("beanRowMapper");
         props.add("useGetBytesForBlob");
         props.add("outputClass");
+        props.add("streamListChunkSize");
         props.add("parameters");
         props.add("readSize");
         PROPERTY_NAMES = Collections.unmodifiableSet(props);
@@ -65,6 +65,8 @@ public class JdbcEndpoint extends DefaultEndpoint {
     private JdbcOutputType outputType = JdbcOutputType.SelectList;
     @UriParam
     private String outputClass;
+    @UriParam
+    private int streamListChunkSize;
     @UriParam(label = "advanced")
     private BeanRowMapper beanRowMapper = new DefaultBeanRowMapper();
 
@@ -154,7 +156,8 @@ public class JdbcEndpoint extends DefaultEndpoint {
     /**
      * Optional parameters to the {@link java.sql.Statement}.
      * <p/>
-     * For example to set maxRows, fetchSize etc.
+     * For example to set maxRows, fetchSize etc. The fetchSize should be set when streaming large results with
+     * outputType=StreamList, as some JDBC drivers otherwise load the entire result into memory.
      *
      * @param parameters parameters which will be set using reflection
      */
@@ -239,6 +242,19 @@ public class JdbcEndpoint extends DefaultEndpoint {
         this.outputClass = outputClass;
     }
 
+    public int getStreamListChunkSize() {
+        return streamListChunkSize;
+    }
+
+    /**
+     * If set greater than zero, then the rows of outputType=StreamList are grouped into a List of this number of rows,
+     * so the Splitter EIP in streaming mode processes the ResultSet in chunks instead of row by row. Use the
+     * statement.fetchSize option to control how many rows the JDBC driver fetches from the database at once.
+     */
+    public void setStreamListChunkSize(int streamListChunkSize) {
+        this.streamListChunkSize = streamListChunkSize;
+    }
+
     public BeanRowMapper getBeanRowMapper() {
         return beanRowMapper;
     }
@@ -34,6 +34,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.ExtendedExchange;
 import org.apache.camel.spi.Synchronization;
 import org.apache.camel.support.DefaultProducer;
+import org.apache.camel.support.GroupIterator;
 import org.apache.camel.support.PropertyBindingSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -157,6 +158,11 @@ public class JdbcProducer extends DefaultProducer {
                 ps = conn.prepareStatement(preparedQuery);
             }
 
+            if (parameters != null && !parameters.isEmpty()) {
+                Map<String, Object> copy = new HashMap<>(parameters);
+                PropertyBindingSupport.bindProperties(exchange.getContext(), ps, copy);
+            }
+
             int expectedCount = ps.getParameterMetaData().getParameterCount();
 
             if (expectedCount > 0) {
@@ -326,10 +332,14 @@ public class JdbcProducer extends DefaultProducer {
         JdbcOutputType outputType = getEndpoint().getOutputType();
         exchange.getMessage().setHeader(JdbcConstants.JDBC_COLUMN_NAMES, iterator.getColumnNames());
         if (outputType == JdbcOutputType.StreamList) {
-            exchange.getMessage()
-                    .setBody(new StreamListIterator(
-                            getEndpoint().getCamelContext(), getEndpoint().getOutputClass(), getEndpoint().getBeanRowMapper(),
-                            iterator));
+            Iterator<?> data = new StreamListIterator(
+                    getEndpoint().getCamelContext(), getEndpoint().getOutputClass(), getEndpoint().getBeanRowMapper(),
+                    iterator);
+            if (getEndpoint().getStreamListChunkSize() > 0) {
+                // group the rows into chunks
+                data = new GroupIterator(exchange, data, getEndpoint().getStreamListChunkSize());
+            }
+            exchange.getMessage().setBody(data);
             exchange.adapt(ExtendedExchange.class).addOnCompletion(new ResultSetIteratorCompletion(iterator));
             // do not close resources as we are in streaming mode
             answer = false;
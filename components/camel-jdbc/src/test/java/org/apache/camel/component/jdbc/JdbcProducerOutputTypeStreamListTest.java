@@ -17,6 +17,7 @@
 package org.apache.camel.component.jdbc;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.camel.EndpointInject;
@@ -25,6 +26,7 @@ import org.apache.camel.component.mock.MockEndpoint;
 import org.junit.jupiter.api.Test;
 
 import static org.apache.camel.test.junit5.TestSupport.assertIsInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class JdbcProducerOutputTypeStreamListTest extends AbstractJdbcTestSupport {
     private static final String QUERY = "select * from customer";
@@ -54,12 +56,25 @@ public class JdbcProducerOutputTypeStreamListTest extends AbstractJdbcTestSuppor
         assertIsInstanceOf(Map.class, resultBodyAt(2));
     }
 
+    @Test
+    public void shouldStreamResultRowsInChunks() throws Exception {
+        result.expectedMessageCount(2);
+
+        template.sendBody("direct:withChunks", QUERY);
+
+        result.assertIsSatisfied();
+        assertEquals(2, assertIsInstanceOf(List.class, resultBodyAt(0)).size());
+        assertEquals(1, assertIsInstanceOf(List.class, resultBodyAt(1)).size());
+    }
+
     @Override
     protected RouteBuilder createRouteBuilder() throws Exception {
         return new RouteBuilder() {
             public void configure() throws Exception {
                 from("direct:start").to("jdbc:testdb?outputType=StreamList").to("mock:result");
                 from("direct:withSplit").to("jdbc:testdb?outputType=StreamList").split(body()).to("mock:result");
+                from("direct:withChunks").to("jdbc:testdb?outputType=StreamList&streamListChunkSize=2&statement.fetchSize=2")
+                        .split(body()).streaming().to("mock:result");
             }
         };
     }
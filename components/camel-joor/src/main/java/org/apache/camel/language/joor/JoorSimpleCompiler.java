@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.joor;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.language.simple.SimpleCompiler;
+import org.apache.camel.spi.annotations.JdkService;
+import org.joor.Reflect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * jOOR based {@link SimpleCompiler} which compiles the simple language expressions in compiled mode.
+ */
+@JdkService(SimpleCompiler.FACTORY)
+public class JoorSimpleCompiler implements SimpleCompiler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JoorSimpleCompiler.class);
+
+    @Override
+    public Class<?> compile(CamelContext camelContext, String className, String code) throws Exception {
+        try {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Compiling code:\n\n" + code + "\n");
+            }
+            return Reflect.compile(className, code).type();
+        } catch (Exception e) {
+            throw new JoorCompilationException(className, code, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "jOOR";
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.joor;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.language.simple.CompiledSimpleExpression;
+import org.apache.camel.language.simple.SimpleLanguage;
+import org.apache.camel.spi.Language;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.test.junit5.CamelTestSupport;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JoorSimpleCompilerTest extends CamelTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        SimpleLanguage simple = new SimpleLanguage();
+        simple.setCompiled(true);
+        context.getRegistry().bind("simple", simple);
+        return context;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                        .choice()
+                        .when(simple("${header.foo} > 10 && ${body.age} >= 18"))
+                        .transform(simple("Hello ${body.name} (${header.foo})"))
+                        .to("mock:high")
+                        .otherwise()
+                        .to("mock:low");
+            }
+        };
+    }
+
+    @Test
+    public void testCompiled() throws Exception {
+        Language simple = context.resolveLanguage("simple");
+        assertTrue(simple.createPredicate("${header.foo} > 10") instanceof CompiledSimpleExpression);
+        assertTrue(simple.createExpression("${body.name}") instanceof CompiledSimpleExpression);
+        assertTrue(simple.createExpression("${header.foo} is ${body?.name}") instanceof CompiledSimpleExpression);
+        // regex operator and date functions are not compiled
+        assertFalse(simple.createPredicate("${header.foo} regex '\\d+'") instanceof CompiledSimpleExpression);
+        assertFalse(simple.createExpression("${date:now}") instanceof CompiledSimpleExpression);
+    }
+
+    @Test
+    public void testCompiledRoute() throws Exception {
+        getMockEndpoint("mock:high").expectedBodiesReceived("Hello Donald (20)");
+        getMockEndpoint("mock:low").expectedMessageCount(2);
+
+        template.sendBodyAndHeader("direct:start", createUser("Donald", 70), "foo", 20);
+        template.sendBodyAndHeader("direct:start", createUser("Goofy", 12), "foo", 20);
+        template.sendBodyAndHeader("direct:start", createUser("Mickey", 90), "foo", 5);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testCompiledSeveralCamelContexts() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(createUser("Donald", 70));
+        exchange.getIn().setHeader("foo", 20);
+        assertEquals("20", context.resolveLanguage("simple").createExpression("${header.foo}")
+                .evaluate(exchange, String.class));
+
+        // the expressions of another CamelContext must not clash with the classes already compiled
+        CamelContext other = new DefaultCamelContext();
+        other.start();
+        try {
+            SimpleLanguage simple = (SimpleLanguage) other.resolveLanguage("simple");
+            // turn on compiled mode after the language has been initialized
+            simple.setCompiled(true);
+            assertTrue(simple.createExpression("${body.name}") instanceof CompiledSimpleExpression);
+            assertEquals("Donald", simple.createExpression("${body.name}").evaluate(exchange, String.class));
+            assertEquals("70", simple.createExpression("${body.age}").evaluate(exchange, String.class));
+        } finally {
+            other.stop();
+        }
+    }
+
+    private static MyUser createUser(String name, int age) {
+        MyUser user = new MyUser();
+        user.setName(name);
+        user.setAge(age);
+        return user;
+    }
+
+}
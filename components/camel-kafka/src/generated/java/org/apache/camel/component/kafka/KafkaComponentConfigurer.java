@@ -42,6 +42,7 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "autoOffsetReset": getOrCreateConfiguration(target).setAutoOffsetReset(property(camelContext, java.lang.String.class, value)); return true;
         case "autowiredenabled":
         case "autowiredEnabled": target.setAutowiredEnabled(property(camelContext, boolean.class, value)); return true;
+        case "batching": getOrCreateConfiguration(target).setBatching(property(camelContext, java.lang.String.class, value)); return true;
         case "breakonfirsterror":
         case "breakOnFirstError": getOrCreateConfiguration(target).setBreakOnFirstError(property(camelContext, boolean.class, value)); return true;
         case "bridgeerrorhandler":
@@ -127,6 +128,12 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "noOfMetricsSample": getOrCreateConfiguration(target).setNoOfMetricsSample(property(camelContext, java.lang.Integer.class, value)); return true;
         case "offsetrepository":
         case "offsetRepository": getOrCreateConfiguration(target).setOffsetRepository(property(camelContext, org.apache.camel.spi.StateRepository.class, value)); return true;
+        case "parallelmaxinflight":
+        case "parallelMaxInflight": getOrCreateConfiguration(target).setParallelMaxInflight(property(camelContext, int.class, value)); return true;
+        case "parallelmaxpendingrecords":
+        case "parallelMaxPendingRecords": getOrCreateConfiguration(target).setParallelMaxPendingRecords(property(camelContext, int.class, value)); return true;
+        case "parallelpartitions":
+        case "parallelPartitions": getOrCreateConfiguration(target).setParallelPartitions(property(camelContext, boolean.class, value)); return true;
         case "partitionassignor":
         case "partitionAssignor": getOrCreateConfiguration(target).setPartitionAssignor(property(camelContext, java.lang.String.class, value)); return true;
         case "partitionkey":
@@ -238,6 +245,7 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "autoOffsetReset": return java.lang.String.class;
         case "autowiredenabled":
         case "autowiredEnabled": return boolean.class;
+        case "batching": return java.lang.String.class;
         case "breakonfirsterror":
         case "breakOnFirstError": return boolean.class;
         case "bridgeerrorhandler":
@@ -323,6 +331,12 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "noOfMetricsSample": return java.lang.Integer.class;
         case "offsetrepository":
         case "offsetRepository": return org.apache.camel.spi.StateRepository.class;
+        case "parallelmaxinflight":
+        case "parallelMaxInflight": return int.class;
+        case "parallelmaxpendingrecords":
+        case "parallelMaxPendingRecords": return int.class;
+        case "parallelpartitions":
+        case "parallelPartitions": return boolean.class;
         case "partitionassignor":
         case "partitionAssignor": return java.lang.String.class;
         case "partitionkey":
@@ -435,6 +449,7 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "autoOffsetReset": return getOrCreateConfiguration(target).getAutoOffsetReset();
         case "autowiredenabled":
         case "autowiredEnabled": return target.isAutowiredEnabled();
+        case "batching": return getOrCreateConfiguration(target).getBatching();
         case "breakonfirsterror":
         case "breakOnFirstError": return getOrCreateConfiguration(target).isBreakOnFirstError();
         case "bridgeerrorhandler":
@@ -520,6 +535,12 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "noOfMetricsSample": return getOrCreateConfiguration(target).getNoOfMetricsSample();
         case "offsetrepository":
         case "offsetRepository": return getOrCreateConfiguration(target).getOffsetRepository();
+        case "parallelmaxinflight":
+        case "parallelMaxInflight": return getOrCreateConfiguration(target).getParallelMaxInflight();
+        case "parallelmaxpendingrecords":
+        case "parallelMaxPendingRecords": return getOrCreateConfiguration(target).getParallelMaxPendingRecords();
+        case "parallelpartitions":
+        case "parallelPartitions": return getOrCreateConfiguration(target).isParallelPartitions();
         case "partitionassignor":
         case "partitionAssignor": return getOrCreateConfiguration(target).getPartitionAssignor();
         case "partitionkey":
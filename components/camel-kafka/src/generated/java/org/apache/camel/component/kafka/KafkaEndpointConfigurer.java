@@ -33,6 +33,7 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "autoCommitOnStop": target.getConfiguration().setAutoCommitOnStop(property(camelContext, java.lang.String.class, value)); return true;
         case "autooffsetreset":
         case "autoOffsetReset": target.getConfiguration().setAutoOffsetReset(property(camelContext, java.lang.String.class, value)); return true;
+        case "batching": target.getConfiguration().setBatching(property(camelContext, java.lang.String.class, value)); return true;
         case "breakonfirsterror":
         case "breakOnFirstError": target.getConfiguration().setBreakOnFirstError(property(camelContext, boolean.class, value)); return true;
         case "bridgeerrorhandler":
@@ -119,6 +120,12 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "noOfMetricsSample": target.getConfiguration().setNoOfMetricsSample(property(camelContext, java.lang.Integer.class, value)); return true;
         case "offsetrepository":
         case "offsetRepository": target.getConfiguration().setOffsetRepository(property(camelContext, org.apache.camel.spi.StateRepository.class, value)); return true;
+        case "parallelmaxinflight":
+        case "parallelMaxInflight": target.getConfiguration().setParallelMaxInflight(property(camelContext, int.class, value)); return true;
+        case "parallelmaxpendingrecords":
+        case "parallelMaxPendingRecords": target.getConfiguration().setParallelMaxPendingRecords(property(camelContext, int.class, value)); return true;
+        case "parallelpartitions":
+        case "parallelPartitions": target.getConfiguration().setParallelPartitions(property(camelContext, boolean.class, value)); return true;
         case "partitionassignor":
         case "partitionAssignor": target.getConfiguration().setPartitionAssignor(property(camelContext, java.lang.String.class, value)); return true;
         case "partitionkey":
@@ -227,6 +234,7 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "autoCommitOnStop": return java.lang.String.class;
         case "autooffsetreset":
         case "autoOffsetReset": return java.lang.String.class;
+        case "batching": return java.lang.String.class;
         case "breakonfirsterror":
         case "breakOnFirstError": return boolean.class;
         case "bridgeerrorhandler":
@@ -313,6 +321,12 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "noOfMetricsSample": return java.lang.Integer.class;
         case "offsetrepository":
         case "offsetRepository": return org.apache.camel.spi.StateRepository.class;
+        case "parallelmaxinflight":
+        case "parallelMaxInflight": return int.class;
+        case "parallelmaxpendingrecords":
+        case "parallelMaxPendingRecords": return int.class;
+        case "parallelpartitions":
+        case "parallelPartitions": return boolean.class;
         case "partitionassignor":
         case "partitionAssignor": return java.lang.String.class;
         case "partitionkey":
@@ -422,6 +436,7 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "autoCommitOnStop": return target.getConfiguration().getAutoCommitOnStop();
         case "autooffsetreset":
         case "autoOffsetReset": return target.getConfiguration().getAutoOffsetReset();
+        case "batching": return target.getConfiguration().getBatching();
         case "breakonfirsterror":
         case "breakOnFirstError": return target.getConfiguration().isBreakOnFirstError();
         case "bridgeerrorhandler":
@@ -508,6 +523,12 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "noOfMetricsSample": return target.getConfiguration().getNoOfMetricsSample();
         case "offsetrepository":
         case "offsetRepository": return target.getConfiguration().getOffsetRepository();
+        case "parallelmaxinflight":
+        case "parallelMaxInflight": return target.getConfiguration().getParallelMaxInflight();
+        case "parallelmaxpendingrecords":
+        case "parallelMaxPendingRecords": return target.getConfiguration().getParallelMaxPendingRecords();
+        case "parallelpartitions":
+        case "parallelPartitions": return target.getConfiguration().isParallelPartitions();
         case "partitionassignor":
         case "partitionAssignor": return target.getConfiguration().getPartitionAssignor();
         case "partitionkey":
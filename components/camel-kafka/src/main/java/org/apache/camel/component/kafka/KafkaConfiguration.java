@@ -139,6 +139,14 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
     @UriParam(label = "consumer")
     private boolean breakOnFirstError;
     @UriParam(label = "consumer")
+    private boolean parallelPartitions;
+    @UriParam(label = "consumer", defaultValue = "1")
+    private int parallelMaxInflight = 1;
+    @UriParam(label = "consumer", defaultValue = "500")
+    private int parallelMaxPendingRecords = 500;
+    @UriParam(label = "consumer", defaultValue = "none", enums = "none,poll,partition")
+    private String batching = "none";
+    @UriParam(label = "consumer")
     private StateRepository<String, String> offsetRepository;
 
     // Producer configuration properties
@@ -775,6 +783,65 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
         this.breakOnFirstError = breakOnFirstError;
     }
 
+    public boolean isParallelPartitions() {
+        return parallelPartitions;
+    }
+
+    /**
+     * Whether to process the records of the assigned partitions in parallel. Each partition is processed in order on
+     * its own lane, using a thread pool from the default thread pool profile, so a slow partition does not hold back
+     * the other partitions. The poll loop is not blocked while the records are processed, and a partition is paused
+     * when too many of its records are pending. Only the contiguous offsets of the completed records are committed. The
+     * kafka auto commit is turned off in this mode, and if auto commit is enabled then the completed offsets are
+     * committed asynchronously by the consumer instead. With manual commits the commit is performed when all the
+     * previous records of the partition have been completed.
+     */
+    public void setParallelPartitions(boolean parallelPartitions) {
+        this.parallelPartitions = parallelPartitions;
+    }
+
+    public int getParallelMaxInflight() {
+        return parallelMaxInflight;
+    }
+
+    /**
+     * The maximum number of records per partition which can be processed at the same time when using parallel
+     * partitions. The default value of 1 processes the records of a partition in order. A higher value processes the
+     * records with different keys concurrently, while the records with the same key are still processed in order.
+     */
+    public void setParallelMaxInflight(int parallelMaxInflight) {
+        this.parallelMaxInflight = parallelMaxInflight;
+    }
+
+    public int getParallelMaxPendingRecords() {
+        return parallelMaxPendingRecords;
+    }
+
+    /**
+     * The maximum number of records per partition which can be pending for processing when using parallel partitions.
+     * When this limit is hit the partition is paused, and it is resumed when half of the pending records has been
+     * processed.
+     */
+    public void setParallelMaxPendingRecords(int parallelMaxPendingRecords) {
+        this.parallelMaxPendingRecords = parallelMaxPendingRecords;
+    }
+
+    public String getBatching() {
+        return batching;
+    }
+
+    /**
+     * Whether to route the polled records as batches instead of one exchange per record. With poll, then one exchange
+     * per poll is routed with the ConsumerRecords as message body. With partition, then one exchange per partition of
+     * each poll is routed with the List of ConsumerRecord as message body. The Kafka headers of the records are not
+     * propagated to the exchange, but are kept on each record. The offsets are committed when the batch exchange has
+     * been processed. This option cannot be used together with parallel partitions. The possible values are: none,
+     * poll, or partition. And none is the default value.
+     */
+    public void setBatching(String batching) {
+        this.batching = batching;
+    }
+
     public String getBrokers() {
         return brokers;
     }
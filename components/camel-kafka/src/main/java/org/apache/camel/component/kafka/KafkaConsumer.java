@@ -21,7 +21,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -33,15 +35,19 @@ import java.util.regex.Pattern;
 import java.util.stream.StreamSupport;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.Message;
 import org.apache.camel.Processor;
 import org.apache.camel.component.kafka.serde.KafkaHeaderDeserializer;
+import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.HeaderFilterStrategy;
 import org.apache.camel.spi.StateRepository;
+import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.support.DefaultConsumer;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -58,10 +64,17 @@ public class KafkaConsumer extends DefaultConsumer {
 
     private static final Logger LOG = LoggerFactory.getLogger(KafkaConsumer.class);
 
+    // poll timeout to use while records are processed in parallel, so offsets are committed and partitions resumed in time
+    private static final long PARALLEL_POLL_TIMEOUT_MS = 100;
+
     protected ExecutorService executor;
+    // the worker threads processing the records when using parallel partitions
+    private ExecutorService parallelExecutor;
     private final KafkaEndpoint endpoint;
     private final Processor processor;
     private final Long pollTimeoutMs;
+    // whether the records are routed as batches instead of one exchange per record
+    private final boolean batching;
     // This list helps working around the infinite loop of KAFKA-1894
     private final List<KafkaFetchRecords> tasks = new ArrayList<>();
     private volatile boolean stopOffsetRepo;
@@ -71,11 +84,16 @@ public class KafkaConsumer extends DefaultConsumer {
         this.endpoint = endpoint;
         this.processor = processor;
         this.pollTimeoutMs = endpoint.getConfiguration().getPollTimeoutMs();
+        this.batching = endpoint.getConfiguration().getBatching() != null
+                && !"none".equals(endpoint.getConfiguration().getBatching());
 
         String brokers = endpoint.getConfiguration().getBrokers();
         if (ObjectHelper.isEmpty(brokers)) {
             throw new IllegalArgumentException("Brokers must be configured");
         }
+        if (batching && endpoint.getConfiguration().isParallelPartitions()) {
+            throw new IllegalArgumentException("The batching option cannot be used together with parallelPartitions");
+        }
     }
 
     @Override
@@ -103,6 +121,10 @@ public class KafkaConsumer extends DefaultConsumer {
             props.put(ConsumerConfig.GROUP_ID_CONFIG, randomGroupId);
             LOG.debug("Kafka consumer groupId is {} (generated)", randomGroupId);
         }
+        if (endpoint.getConfiguration().isParallelPartitions()) {
+            // the polled records are not yet processed, so the consumer must only commit the completed offsets
+            props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        }
         return props;
     }
 
@@ -125,6 +147,17 @@ public class KafkaConsumer extends DefaultConsumer {
         }
 
         executor = endpoint.createExecutor();
+        if (endpoint.getConfiguration().isParallelPartitions()) {
+            // the records rejected by the pool are dispatched again by the lanes, as running them in the polling thread
+            // (the caller runs policy of the default profile) can exceed the max poll interval of the kafka consumer
+            ExecutorServiceManager manager = endpoint.getCamelContext().getExecutorServiceManager();
+            ThreadPoolProfile profile = manager.getDefaultThreadPoolProfile().clone();
+            profile.setId("KafkaConsumerWorker");
+            profile.setDefaultProfile(false);
+            profile.setRejectedPolicy(ThreadPoolRejectedPolicy.Abort);
+            parallelExecutor = manager.newThreadPool(this,
+                    "KafkaConsumer[" + endpoint.getConfiguration().getTopic() + "]Worker", profile);
+        }
 
         String topic = endpoint.getConfiguration().getTopic();
         Pattern pattern = null;
@@ -162,6 +195,12 @@ public class KafkaConsumer extends DefaultConsumer {
         tasks.clear();
         executor = null;
 
+        if (parallelExecutor != null) {
+            // the consumer threads have waited for the records in flight, so the workers are idle
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(parallelExecutor);
+            parallelExecutor = null;
+        }
+
         if (stopOffsetRepo) {
             StateRepository<String, String> repo = endpoint.getConfiguration().getOffsetRepository();
             LOG.debug("Stopping OffsetRepository: {}", repo);
@@ -179,6 +218,8 @@ public class KafkaConsumer extends DefaultConsumer {
         private final String threadId;
         private final Properties kafkaProps;
         private final Map<String, Long> lastProcessedOffset = new ConcurrentHashMap<>();
+        // the lanes of the assigned partitions when using parallel partitions (only accessed by the polling thread)
+        private final Map<TopicPartition, KafkaPartitionLane> lanes = new HashMap<>();
 
         KafkaFetchRecords(String topicName, Pattern topicPattern, String id, Properties kafkaProps) {
             this.topicName = topicName;
@@ -306,11 +347,26 @@ public class KafkaConsumer extends DefaultConsumer {
 
                 while (isRunAllowed() && !reConnect && !isStoppingOrStopped() && !isSuspendingOrSuspended()) {
 
+                    if (parallelExecutor != null) {
+                        // the records are processed by the partition lanes
+                        pollParallel(offsetRepository);
+                        continue;
+                    }
+
                     // flag to break out processing on the first exception
                     boolean breakOnErrorHit = false;
                     LOG.trace("Polling {} from topic: {} with timeout: {}", threadId, topicName, pollTimeoutMs);
                     ConsumerRecords<Object, Object> allRecords = consumer.poll(pollTimeoutMs);
 
+                    if (batching) {
+                        // the records are routed as batches
+                        if (!processBatches(allRecords, offsetRepository)) {
+                            // force re-connect
+                            reConnect = true;
+                        }
+                        continue;
+                    }
+
                     Iterator<TopicPartition> partitionIterator = allRecords.partitions().iterator();
                     while (partitionIterator.hasNext()) {
                         TopicPartition partition = partitionIterator.next();
@@ -404,7 +460,11 @@ public class KafkaConsumer extends DefaultConsumer {
                     }
                 }
 
-                if (!reConnect) {
+                if (parallelExecutor != null) {
+                    // wait for the records in flight and commit their offsets
+                    drainLanes(offsetRepository, new ArrayList<>(lanes.values()));
+                    lanes.clear();
+                } else if (!reConnect) {
                     if (isAutoCommitEnabled()) {
                         if ("async".equals(endpoint.getConfiguration().getAutoCommitOnStop())) {
                             LOG.info("Auto commitAsync on stop {} from topic {}", threadId, topicName);
@@ -439,6 +499,13 @@ public class KafkaConsumer extends DefaultConsumer {
             } catch (Exception e) {
                 getExceptionHandler().handleException("Error consuming " + threadId + " from kafka topic", e);
             } finally {
+                if (!lanes.isEmpty()) {
+                    // the consumer is re-connecting so the records of the lanes are fetched again from the committed offsets
+                    for (KafkaPartitionLane lane : lanes.values()) {
+                        lane.clearPending();
+                    }
+                    lanes.clear();
+                }
                 LOG.debug("Closing {}", threadId);
                 IOHelper.close(consumer);
             }
@@ -461,6 +528,255 @@ public class KafkaConsumer extends DefaultConsumer {
             }
         }
 
+        /**
+         * Routes the polled records as batch exchanges, and commits the offsets of each batch when its exchange has
+         * been processed.
+         *
+         * @return <tt>false</tt> if processing failed and the consumer should break out and re-connect
+         */
+        private boolean processBatches(
+                ConsumerRecords<Object, Object> allRecords, StateRepository<String, String> offsetRepository) {
+            if (allRecords.isEmpty()) {
+                return true;
+            }
+            if ("poll".equals(endpoint.getConfiguration().getBatching())) {
+                LOG.debug("Records count {} received for partitions {}", allRecords.count(), allRecords.partitions());
+                if (!processBatch(allRecords, allRecords, allRecords.partitions(), offsetRepository, true)) {
+                    seekToFirstOffsets(allRecords, allRecords.partitions());
+                    return false;
+                }
+                return true;
+            }
+            Iterator<TopicPartition> partitionIterator = allRecords.partitions().iterator();
+            while (partitionIterator.hasNext()) {
+                TopicPartition partition = partitionIterator.next();
+                List<ConsumerRecord<Object, Object>> records = allRecords.records(partition);
+                LOG.debug("Records count {} received for partition {}", records.size(), partition);
+                if (!processBatch(records, allRecords, Collections.singleton(partition), offsetRepository,
+                        !partitionIterator.hasNext())) {
+                    // the failed batch and the batches of the partitions not yet routed must be polled again
+                    Set<TopicPartition> unprocessed = new LinkedHashSet<>();
+                    unprocessed.add(partition);
+                    partitionIterator.forEachRemaining(unprocessed::add);
+                    seekToFirstOffsets(allRecords, unprocessed);
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Seeks the partitions back to the first offset of their polled records, so the consumer position (which is
+         * committed when auto commit is enabled and the consumer is closed) does not move past records that have not
+         * been processed.
+         */
+        private void seekToFirstOffsets(ConsumerRecords<Object, Object> allRecords, Set<TopicPartition> partitions) {
+            for (TopicPartition partition : partitions) {
+                long offset = allRecords.records(partition).get(0).offset();
+                LOG.info("Seeking {} partition {} back to offset: {} after error during processing", threadId, partition,
+                        offset);
+                consumer.seek(partition, offset);
+            }
+        }
+
+        private boolean processBatch(
+                Object body, ConsumerRecords<Object, Object> allRecords, Set<TopicPartition> partitions,
+                StateRepository<String, String> offsetRepository, boolean lastPollBatch) {
+            KafkaConfiguration configuration = endpoint.getConfiguration();
+            Exchange exchange = endpoint.createExchange();
+            Message message = exchange.getIn();
+            // the headers of the records are not propagated as they are kept on each record
+            message.setBody(body);
+            if (partitions.size() == 1) {
+                TopicPartition partition = partitions.iterator().next();
+                message.setHeader(KafkaConstants.TOPIC, partition.topic());
+                message.setHeader(KafkaConstants.PARTITION, partition.partition());
+                message.setHeader(KafkaConstants.OFFSET, lastOffset(allRecords, partition));
+            }
+            if (!isAutoCommitEnabled()) {
+                message.setHeader(KafkaConstants.LAST_RECORD_BEFORE_COMMIT, true);
+            }
+            if (configuration.isAllowManualCommit()) {
+                List<KafkaManualCommit> commits = new ArrayList<>(partitions.size());
+                for (TopicPartition partition : partitions) {
+                    commits.add(endpoint.getComponent().getKafkaManualCommitFactory()
+                            .newInstance(exchange, consumer, topicName, threadId, offsetRepository, partition,
+                                    lastOffset(allRecords, partition)));
+                }
+                KafkaManualCommit manual
+                        = commits.size() == 1 ? commits.get(0) : () -> commits.forEach(KafkaManualCommit::commitSync);
+                message.setHeader(KafkaConstants.MANUAL_COMMIT, manual);
+            }
+            if (!isAutoCommitEnabled() || configuration.isAllowManualCommit()) {
+                message.setHeader(KafkaConstants.LAST_POLL_RECORD, lastPollBatch);
+            }
+
+            try {
+                processor.process(exchange);
+            } catch (Exception e) {
+                exchange.setException(e);
+            }
+
+            if (exchange.getException() != null) {
+                if (configuration.isBreakOnFirstError()) {
+                    LOG.warn(
+                            "Error during processing {} from topic: {}. Will seek consumer back to the batch and re-connect.",
+                            exchange, topicName, exchange.getException());
+                    return false;
+                } else {
+                    getExceptionHandler().handleException("Error during processing", exchange, exchange.getException());
+                }
+            }
+
+            Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+            for (TopicPartition partition : partitions) {
+                long offset = lastOffset(allRecords, partition);
+                lastProcessedOffset.put(serializeOffsetKey(partition), offset);
+                offsets.put(partition, new OffsetAndMetadata(offset + 1));
+            }
+            if (!configuration.isAllowManualCommit()) {
+                // the whole batch has been processed so its offsets can be committed
+                commitOffsets(offsetRepository, offsets, false);
+            }
+            return true;
+        }
+
+        private long lastOffset(ConsumerRecords<Object, Object> allRecords, TopicPartition partition) {
+            List<ConsumerRecord<Object, Object>> records = allRecords.records(partition);
+            return records.get(records.size() - 1).offset();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void pollParallel(StateRepository<String, String> offsetRepository) {
+            KafkaConfiguration configuration = endpoint.getConfiguration();
+
+            long timeout = pollTimeoutMs;
+            for (KafkaPartitionLane lane : lanes.values()) {
+                if (lane.isPaused() || !lane.isIdle() || lane.getPendingSize() > 0) {
+                    timeout = Math.min(pollTimeoutMs, PARALLEL_POLL_TIMEOUT_MS);
+                    break;
+                }
+            }
+            LOG.trace("Polling {} from topic: {} with timeout: {}", threadId, topicName, timeout);
+            ConsumerRecords<Object, Object> allRecords = consumer.poll(timeout);
+
+            for (TopicPartition partition : allRecords.partitions()) {
+                KafkaPartitionLane lane = lanes.computeIfAbsent(partition,
+                        p -> new KafkaPartitionLane(
+                                p, configuration.getParallelMaxInflight(), configuration.isAllowManualCommit(),
+                                parallelExecutor, this::processRecord));
+                List<ConsumerRecord<Object, Object>> records = allRecords.records(partition);
+                LOG.debug("Records count {} received for partition {}", records.size(), partition);
+                lane.add(records);
+                if (!lane.isPaused() && lane.getPendingSize() >= configuration.getParallelMaxPendingRecords()) {
+                    // backpressure so we keep polling (to stay in the group) without fetching more records
+                    LOG.debug("Pausing partition {} with {} pending records", partition, lane.getPendingSize());
+                    consumer.pause(Collections.singleton(partition));
+                    lane.setPaused(true);
+                }
+            }
+
+            Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+            for (KafkaPartitionLane lane : lanes.values()) {
+                TopicPartition partition = lane.getPartition();
+                if (lane.getFailedOffset() != -1 && lane.isIdle()) {
+                    long offset = lane.reset();
+                    LOG.info("Seeking {} partition {} back to offset: {} after error during processing", threadId, partition,
+                            offset);
+                    consumer.seek(partition, offset);
+                }
+                // dispatch again the records which were rejected by the executor
+                lane.dispatch();
+                long offset = lane.takeCommittableOffset();
+                if (offset != -1) {
+                    offsets.put(partition, new OffsetAndMetadata(offset + 1));
+                }
+                if (lane.isPaused() && lane.getPendingSize() <= configuration.getParallelMaxPendingRecords() / 2) {
+                    LOG.debug("Resuming partition {} with {} pending records", partition, lane.getPendingSize());
+                    consumer.resume(Collections.singleton(partition));
+                    lane.setPaused(false);
+                }
+            }
+            commitOffsets(offsetRepository, offsets, false);
+        }
+
+        private void processRecord(KafkaPartitionLane lane, ConsumerRecord<Object, Object> record) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Partition = {}, offset = {}, key = {}, value = {}", record.partition(),
+                        record.offset(), record.key(), record.value());
+            }
+            Exchange exchange = endpoint.createKafkaExchange(record);
+            propagateHeaders(record, exchange, endpoint.getConfiguration());
+            if (endpoint.getConfiguration().isAllowManualCommit()) {
+                // the commit is performed by the polling thread as the kafka consumer is not thread safe
+                exchange.getIn().setHeader(KafkaConstants.MANUAL_COMMIT, lane.newManualCommit(record.offset()));
+            }
+
+            getAsyncProcessor().process(exchange, doneSync -> {
+                boolean failed = false;
+                if (exchange.getException() != null) {
+                    if (endpoint.getConfiguration().isBreakOnFirstError()) {
+                        LOG.warn(
+                                "Error during processing {} from topic: {}. Will seek consumer to offset: {} and start polling again.",
+                                exchange, topicName, record.offset(), exchange.getException());
+                        failed = true;
+                    } else {
+                        getExceptionHandler().handleException("Error during processing", exchange, exchange.getException());
+                    }
+                }
+                lane.done(record, failed);
+            });
+        }
+
+        private void drainLanes(StateRepository<String, String> offsetRepository, List<KafkaPartitionLane> drained) {
+            Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+            for (KafkaPartitionLane lane : drained) {
+                lane.clearPending();
+            }
+            for (KafkaPartitionLane lane : drained) {
+                try {
+                    if (!lane.awaitIdle(endpoint.getConfiguration().getShutdownTimeout())) {
+                        LOG.warn("Timeout waiting for the records in flight to complete on {}", lane);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                long offset = lane.takeCommittableOffset();
+                if (offset != -1) {
+                    offsets.put(lane.getPartition(), new OffsetAndMetadata(offset + 1));
+                }
+            }
+            commitOffsets(offsetRepository, offsets, true);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void commitOffsets(
+                StateRepository<String, String> offsetRepository, Map<TopicPartition, OffsetAndMetadata> offsets,
+                boolean sync) {
+            if (offsets.isEmpty()) {
+                return;
+            }
+            if (offsetRepository != null) {
+                for (Map.Entry<TopicPartition, OffsetAndMetadata> entry : offsets.entrySet()) {
+                    long offset = entry.getValue().offset() - 1;
+                    LOG.debug("Saving offset repository state {} from topic {} with offset: {}", threadId, topicName, offset);
+                    offsetRepository.setState(serializeOffsetKey(entry.getKey()), serializeOffsetValue(offset));
+                }
+            } else if (endpoint.getConfiguration().isAllowManualCommit() || isAutoCommitEnabled()) {
+                if (sync) {
+                    LOG.debug("CommitSync {} from topic {} with offsets: {}", threadId, topicName, offsets);
+                    consumer.commitSync(offsets);
+                } else {
+                    LOG.trace("CommitAsync {} from topic {} with offsets: {}", threadId, topicName, offsets);
+                    consumer.commitAsync(offsets, (committed, e) -> {
+                        if (e != null) {
+                            LOG.warn("Error committing offsets {} from topic {} due {}", committed, topicName, e.getMessage());
+                        }
+                    });
+                }
+            }
+        }
+
         private void shutdown() {
             // As advised in the KAFKA-1894 ticket, calling this wakeup method
             // breaks the infinite loop
@@ -472,6 +788,18 @@ public class KafkaConsumer extends DefaultConsumer {
             LOG.debug("onPartitionsRevoked: {} from topic {}", threadId, topicName);
 
             StateRepository<String, String> offsetRepository = endpoint.getConfiguration().getOffsetRepository();
+            if (parallelExecutor != null) {
+                // wait for the records in flight of the revoked partitions and commit their offsets
+                List<KafkaPartitionLane> revoked = new ArrayList<>();
+                for (TopicPartition partition : partitions) {
+                    KafkaPartitionLane lane = lanes.remove(partition);
+                    if (lane != null) {
+                        revoked.add(lane);
+                    }
+                }
+                drainLanes(offsetRepository, revoked);
+                return;
+            }
             for (TopicPartition partition : partitions) {
                 String offsetKey = serializeOffsetKey(partition);
                 Long offset = lastProcessedOffset.get(offsetKey);
@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An ordered lane which processes the records of a single partition when the Kafka consumer is using parallel
+ * partitions.
+ * <p/>
+ * The records are processed in the order of the partition. If more than one record can be in flight, then records with
+ * different keys are processed concurrently, while the records with the same key are still processed in order.
+ * <p/>
+ * The lane tracks the offsets of the records, so only the contiguous offsets which have been completed are committed.
+ * The records are processed by the worker threads, which complete the lane, while the offsets are committed by the
+ * thread polling the Kafka consumer.
+ */
+final class KafkaPartitionLane {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KafkaPartitionLane.class);
+
+    private final TopicPartition partition;
+    private final int maxInflight;
+    private final boolean manualCommit;
+    private final Executor executor;
+    private final BiConsumer<KafkaPartitionLane, ConsumerRecord<Object, Object>> processor;
+    private final Deque<ConsumerRecord<Object, Object>> pending = new ArrayDeque<>();
+    private final Set<Object> inflightKeys = new HashSet<>();
+    // the offsets of the records not yet committed, which are true when the record is completed
+    private final NavigableMap<Long, Boolean> offsets = new TreeMap<>();
+    private int inflight;
+    private long completedOffset = -1;
+    private long requestedOffset = -1;
+    private long committedOffset = -1;
+    private long failedOffset = -1;
+    private boolean paused;
+
+    KafkaPartitionLane(TopicPartition partition, int maxInflight, boolean manualCommit, Executor executor,
+                       BiConsumer<KafkaPartitionLane, ConsumerRecord<Object, Object>> processor) {
+        this.partition = partition;
+        this.maxInflight = Math.max(1, maxInflight);
+        this.manualCommit = manualCommit;
+        this.executor = executor;
+        this.processor = processor;
+    }
+
+    TopicPartition getPartition() {
+        return partition;
+    }
+
+    /**
+     * Adds the polled records of the partition to the lane, and dispatches as many records as allowed.
+     */
+    void add(List<ConsumerRecord<Object, Object>> records) {
+        synchronized (this) {
+            if (failedOffset != -1) {
+                // the records are fetched again after seeking back to the failed offset
+                return;
+            }
+            for (ConsumerRecord<Object, Object> record : records) {
+                pending.add(record);
+                offsets.put(record.offset(), Boolean.FALSE);
+            }
+        }
+        dispatch();
+    }
+
+    /**
+     * Completes a record which has been processed by the worker thread.
+     *
+     * @param record the record
+     * @param failed whether the record failed and the lane should stop processing so the record can be fetched again
+     */
+    void done(ConsumerRecord<Object, Object> record, boolean failed) {
+        synchronized (this) {
+            inflight--;
+            if (maxInflight > 1 && record.key() != null) {
+                inflightKeys.remove(record.key());
+            }
+            if (failed) {
+                if (failedOffset == -1 || record.offset() < failedOffset) {
+                    failedOffset = record.offset();
+                }
+                // do not process any further records until the consumer has been seeked back to the failed record
+                pending.clear();
+            } else if (offsets.containsKey(record.offset())) {
+                offsets.put(record.offset(), Boolean.TRUE);
+                // advance the contiguous completed offsets
+                while (!offsets.isEmpty() && offsets.firstEntry().getValue()) {
+                    completedOffset = offsets.pollFirstEntry().getKey();
+                }
+            }
+            if (inflight == 0) {
+                notifyAll();
+            }
+        }
+        dispatch();
+    }
+
+    /**
+     * Requests the given offset (and the offsets before) to be committed, which happens when all the records up to the
+     * offset are completed. Used with manual commits.
+     */
+    synchronized void requestCommit(long offset) {
+        if (offset > requestedOffset) {
+            requestedOffset = offset;
+        }
+    }
+
+    /**
+     * Takes the offset of the last record which can be committed (the contiguous completed offsets), or -1 if there is
+     * nothing new to commit.
+     */
+    synchronized long takeCommittableOffset() {
+        long offset = manualCommit ? Math.min(completedOffset, requestedOffset) : completedOffset;
+        if (offset > committedOffset) {
+            committedOffset = offset;
+            return offset;
+        }
+        return -1;
+    }
+
+    synchronized int getPendingSize() {
+        return pending.size();
+    }
+
+    synchronized boolean isIdle() {
+        return inflight == 0;
+    }
+
+    /**
+     * The offset of the first record which failed, or -1 if no record has failed
+     */
+    synchronized long getFailedOffset() {
+        return failedOffset;
+    }
+
+    /**
+     * Discards the records which are not yet dispatched, such as when the partition is revoked or the consumer is
+     * stopping.
+     */
+    synchronized void clearPending() {
+        pending.clear();
+    }
+
+    /**
+     * Waits for the records in flight to be completed.
+     *
+     * @return true if the lane is idle, false if the timeout was hit
+     */
+    synchronized boolean awaitIdle(long timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        while (inflight > 0) {
+            long delay = deadline - System.currentTimeMillis();
+            if (delay <= 0) {
+                return false;
+            }
+            wait(delay);
+        }
+        return true;
+    }
+
+    /**
+     * Resets the lane after a record has failed, so the consumer can seek back to the returned offset, which is the
+     * first offset not completed (the failed record or a record with another key which was not yet processed).
+     */
+    synchronized long reset() {
+        long offset = offsets.isEmpty() ? failedOffset : Math.min(failedOffset, offsets.firstKey());
+        pending.clear();
+        offsets.clear();
+        inflightKeys.clear();
+        completedOffset = offset - 1;
+        failedOffset = -1;
+        return offset;
+    }
+
+    boolean isPaused() {
+        return paused;
+    }
+
+    void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    /**
+     * Creates a {@link KafkaManualCommit} which requests the offset of the record to be committed by the lane.
+     */
+    KafkaManualCommit newManualCommit(long offset) {
+        return () -> requestCommit(offset);
+    }
+
+    /**
+     * Dispatches as many pending records as allowed to the executor. The records which are rejected by the executor are
+     * kept pending (in order) so they are dispatched again on the next call.
+     */
+    void dispatch() {
+        List<ConsumerRecord<Object, Object>> ready = null;
+        synchronized (this) {
+            Iterator<ConsumerRecord<Object, Object>> it = pending.iterator();
+            while (inflight < maxInflight && it.hasNext()) {
+                ConsumerRecord<Object, Object> record = it.next();
+                if (maxInflight > 1 && record.key() != null && !inflightKeys.add(record.key())) {
+                    // a record with the same key is in flight, so keep the order of the key
+                    continue;
+                }
+                it.remove();
+                inflight++;
+                if (ready == null) {
+                    ready = new ArrayList<>(maxInflight);
+                }
+                ready.add(record);
+            }
+        }
+        if (ready != null) {
+            // submit the records outside the lock, as the executor may run the task in the current thread
+            for (int i = 0; i < ready.size(); i++) {
+                ConsumerRecord<Object, Object> record = ready.get(i);
+                try {
+                    executor.execute(() -> processor.accept(this, record));
+                } catch (RejectedExecutionException e) {
+                    LOG.debug("Cannot process record from partition {} with offset {} as the executor rejected the task."
+                              + " Will dispatch the record again.",
+                            partition, record.offset());
+                    undispatch(ready.subList(i, ready.size()));
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Puts back the records which could not be submitted in front of the pending records, so they are dispatched again
+     * in the same order.
+     */
+    private synchronized void undispatch(List<ConsumerRecord<Object, Object>> records) {
+        for (int i = records.size() - 1; i >= 0; i--) {
+            ConsumerRecord<Object, Object> record = records.get(i);
+            inflight--;
+            if (maxInflight > 1 && record.key() != null) {
+                inflightKeys.remove(record.key());
+            }
+            if (failedOffset == -1) {
+                pending.addFirst(record);
+            }
+        }
+        if (inflight == 0) {
+            notifyAll();
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "KafkaPartitionLane[" + partition + ", pending: " + pending.size() + ", inflight: " + inflight
+               + ", completedOffset: " + completedOffset + "]";
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.EndpointInject;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KafkaConsumerBatchingTest extends BaseEmbeddedKafkaTest {
+
+    public static final String TOPIC = "batching";
+    public static final String ERROR_TOPIC = "batchingError";
+
+    @EndpointInject("kafka:" + TOPIC + "?groupId=group1&autoOffsetReset=earliest&batching=partition")
+    private Endpoint from;
+
+    @EndpointInject("mock:result")
+    private MockEndpoint to;
+
+    @EndpointInject("kafka:" + ERROR_TOPIC
+                    + "?groupId=group2&autoOffsetReset=earliest&batching=partition&breakOnFirstError=true")
+    private Endpoint fromError;
+
+    private final List<String> received = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> receivedAfterError = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicBoolean failed = new AtomicBoolean();
+
+    private org.apache.kafka.clients.producer.KafkaProducer<String, String> producer;
+
+    @BeforeEach
+    public void before() {
+        Properties props = getDefaultProperties();
+        producer = new org.apache.kafka.clients.producer.KafkaProducer<>(props);
+    }
+
+    @AfterEach
+    public void after() {
+        if (producer != null) {
+            producer.close();
+        }
+        // clean all test topics
+        kafkaAdminClient.deleteTopics(Arrays.asList(TOPIC, ERROR_TOPIC));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public void configure() throws Exception {
+                from(from).routeId("foo")
+                        .process(exchange -> {
+                            List<ConsumerRecord<String, String>> records = exchange.getIn().getBody(List.class);
+                            for (ConsumerRecord<String, String> record : records) {
+                                received.add(record.value());
+                            }
+                        })
+                        .to(to);
+
+                from(fromError).routeId("bar")
+                        .process(exchange -> {
+                            List<ConsumerRecord<String, String>> records = exchange.getIn().getBody(List.class);
+                            if (failed.compareAndSet(false, true)) {
+                                throw new IllegalStateException("Forced error on the first batch");
+                            }
+                            for (ConsumerRecord<String, String> record : records) {
+                                receivedAfterError.add(record.value());
+                            }
+                        });
+            }
+        };
+    }
+
+    @Test
+    public void kafkaRecordsAreConsumedInBatches() throws Exception {
+        to.expectedMinimumMessageCount(1);
+        to.expectedHeaderReceived(KafkaConstants.TOPIC, TOPIC);
+
+        for (int k = 1; k <= 10; k++) {
+            producer.send(new ProducerRecord<>(TOPIC, "1", "m" + k));
+        }
+
+        to.assertIsSatisfied(5000);
+
+        // the records have the same key so they are in the same partition and kept in order
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (received.size() < 10 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(10, received.size());
+        for (int k = 1; k <= 10; k++) {
+            assertEquals("m" + k, received.get(k - 1));
+        }
+        assertTrue(to.getReceivedCounter() <= 10);
+        List<?> body = to.getReceivedExchanges().get(0).getIn().getBody(List.class);
+        assertTrue(body.get(0) instanceof ConsumerRecord);
+    }
+
+    @Test
+    public void kafkaFailedBatchIsConsumedAgain() throws Exception {
+        for (int k = 1; k <= 10; k++) {
+            producer.send(new ProducerRecord<>(ERROR_TOPIC, "1", "m" + k));
+        }
+
+        // the failed batch is not skipped but polled again after re-connecting
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (receivedAfterError.size() < 10 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(failed.get());
+        assertEquals(10, receivedAfterError.size());
+        for (int k = 1; k <= 10; k++) {
+            assertEquals("m" + k, receivedAfterError.get(k - 1));
+        }
+    }
+}
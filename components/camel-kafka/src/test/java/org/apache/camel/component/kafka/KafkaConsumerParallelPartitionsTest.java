@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.EndpointInject;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class KafkaConsumerParallelPartitionsTest extends BaseEmbeddedKafkaTest {
+
+    public static final String TOPIC = "parallel";
+
+    @EndpointInject("kafka:" + TOPIC
+                    + "?groupId=group1&autoOffsetReset=earliest&parallelPartitions=true&parallelMaxInflight=4")
+    private Endpoint from;
+
+    @EndpointInject("mock:result")
+    private MockEndpoint to;
+
+    private org.apache.kafka.clients.producer.KafkaProducer<String, String> producer;
+
+    @BeforeEach
+    public void before() {
+        Properties props = getDefaultProperties();
+        producer = new org.apache.kafka.clients.producer.KafkaProducer<>(props);
+    }
+
+    @AfterEach
+    public void after() {
+        if (producer != null) {
+            producer.close();
+        }
+        // clean all test topics
+        kafkaAdminClient.deleteTopics(Collections.singletonList(TOPIC));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(from).routeId("foo").to(to);
+            }
+        };
+    }
+
+    @Test
+    public void kafkaRecordsAreConsumedInParallel() throws Exception {
+        to.expectedMessageCount(20);
+
+        for (int k = 1; k <= 20; k++) {
+            producer.send(new ProducerRecord<>(TOPIC, "key" + (k % 2), "m" + k));
+        }
+
+        to.assertIsSatisfied(10000);
+
+        // the records with the same key are still processed in order
+        List<String> even = new ArrayList<>();
+        List<String> odd = new ArrayList<>();
+        to.getReceivedExchanges().forEach(e -> {
+            if ("key0".equals(e.getIn().getHeader(KafkaConstants.KEY))) {
+                even.add(e.getIn().getBody(String.class));
+            } else {
+                odd.add(e.getIn().getBody(String.class));
+            }
+        });
+        assertEquals(10, even.size());
+        assertEquals(10, odd.size());
+        for (int k = 1; k <= 10; k++) {
+            assertEquals("m" + (k * 2), even.get(k - 1));
+            assertEquals("m" + (k * 2 - 1), odd.get(k - 1));
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KafkaPartitionLaneTest {
+
+    private final TopicPartition partition = new TopicPartition("test", 0);
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<ConsumerRecord<Object, Object>> processed = new ArrayList<>();
+
+    private KafkaPartitionLane createLane(int maxInflight, boolean manualCommit) {
+        return new KafkaPartitionLane(partition, maxInflight, manualCommit, tasks::add, (lane, record) -> processed.add(record));
+    }
+
+    private static ConsumerRecord<Object, Object> record(long offset, String key) {
+        return new ConsumerRecord<>("test", 0, offset, key, "value" + offset);
+    }
+
+    private void runTasks() {
+        List<Runnable> copy = new ArrayList<>(tasks);
+        tasks.clear();
+        copy.forEach(Runnable::run);
+    }
+
+    @Test
+    public void processInOrder() {
+        KafkaPartitionLane lane = createLane(1, false);
+        ConsumerRecord<Object, Object> r0 = record(0, "a");
+        ConsumerRecord<Object, Object> r1 = record(1, "b");
+        ConsumerRecord<Object, Object> r2 = record(2, "c");
+        lane.add(Arrays.asList(r0, r1, r2));
+
+        runTasks();
+        assertEquals(Arrays.asList(r0), processed);
+        assertEquals(2, lane.getPendingSize());
+        assertEquals(-1, lane.takeCommittableOffset());
+
+        lane.done(r0, false);
+        assertEquals(0, lane.takeCommittableOffset());
+        assertEquals(-1, lane.takeCommittableOffset());
+
+        runTasks();
+        lane.done(r1, false);
+        runTasks();
+        lane.done(r2, false);
+        assertEquals(Arrays.asList(r0, r1, r2), processed);
+        assertEquals(2, lane.takeCommittableOffset());
+        assertTrue(lane.isIdle());
+    }
+
+    @Test
+    public void processKeysConcurrently() {
+        KafkaPartitionLane lane = createLane(3, false);
+        ConsumerRecord<Object, Object> r0 = record(0, "a");
+        ConsumerRecord<Object, Object> r1 = record(1, "a");
+        ConsumerRecord<Object, Object> r2 = record(2, "b");
+        lane.add(Arrays.asList(r0, r1, r2));
+
+        // the second record of key a must wait for the first record
+        runTasks();
+        assertEquals(Arrays.asList(r0, r2), processed);
+
+        // only contiguous offsets can be committed
+        lane.done(r2, false);
+        assertEquals(-1, lane.takeCommittableOffset());
+        lane.done(r0, false);
+        assertEquals(0, lane.takeCommittableOffset());
+
+        runTasks();
+        assertEquals(Arrays.asList(r0, r2, r1), processed);
+        lane.done(r1, false);
+        assertEquals(2, lane.takeCommittableOffset());
+    }
+
+    @Test
+    public void seekBackOnFailure() {
+        KafkaPartitionLane lane = createLane(1, false);
+        ConsumerRecord<Object, Object> r0 = record(0, "a");
+        ConsumerRecord<Object, Object> r1 = record(1, "a");
+        ConsumerRecord<Object, Object> r2 = record(2, "a");
+        lane.add(Arrays.asList(r0, r1, r2));
+
+        runTasks();
+        lane.done(r0, false);
+        runTasks();
+        lane.done(r1, true);
+        runTasks();
+
+        // the pending records are discarded and no more records are accepted until the lane is reset
+        assertEquals(Arrays.asList(r0, r1), processed);
+        assertEquals(1, lane.getFailedOffset());
+        lane.add(Arrays.asList(record(3, "a")));
+        assertEquals(0, lane.getPendingSize());
+
+        assertEquals(1, lane.reset());
+        assertEquals(-1, lane.getFailedOffset());
+        assertEquals(0, lane.takeCommittableOffset());
+
+        lane.add(Arrays.asList(r1, r2));
+        runTasks();
+        lane.done(r1, false);
+        runTasks();
+        lane.done(r2, false);
+        assertEquals(2, lane.takeCommittableOffset());
+    }
+
+    @Test
+    public void manualCommit() {
+        KafkaPartitionLane lane = createLane(2, true);
+        ConsumerRecord<Object, Object> r0 = record(0, "a");
+        ConsumerRecord<Object, Object> r1 = record(1, "b");
+        lane.add(Arrays.asList(r0, r1));
+        runTasks();
+
+        // the commit of the second record must wait for the first record to complete
+        lane.newManualCommit(1).commitSync();
+        lane.done(r1, false);
+        assertEquals(-1, lane.takeCommittableOffset());
+        lane.done(r0, false);
+        assertEquals(1, lane.takeCommittableOffset());
+        assertFalse(lane.isPaused());
+    }
+
+    @Test
+    public void dispatchAgainWhenRejected() {
+        AtomicBoolean reject = new AtomicBoolean(true);
+        KafkaPartitionLane lane = new KafkaPartitionLane(partition, 2, false, task -> {
+            if (reject.get()) {
+                throw new RejectedExecutionException("Pool is full");
+            }
+            tasks.add(task);
+        }, (l, record) -> processed.add(record));
+        ConsumerRecord<Object, Object> r0 = record(0, "a");
+        ConsumerRecord<Object, Object> r1 = record(1, "b");
+        lane.add(Arrays.asList(r0, r1));
+
+        // the rejected records are kept pending in order and do not block the lane
+        assertEquals(2, lane.getPendingSize());
+        assertTrue(lane.isIdle());
+        assertEquals(-1, lane.takeCommittableOffset());
+
+        reject.set(false);
+        lane.dispatch();
+        runTasks();
+        assertEquals(Arrays.asList(r0, r1), processed);
+        lane.done(r0, false);
+        lane.done(r1, false);
+        assertEquals(1, lane.takeCommittableOffset());
+    }
+}
@@ -20,7 +20,7 @@ public class NettyHttpEndpointUriFactory extends org.apache.camel.support.compon
     private static final Set<String> PROPERTY_NAMES;
     private static final Set<String> SECRET_PROPERTY_NAMES;
     static {
-        Set<String> props = new HashSet<>(83);
+        Set<String> props = new HashSet<>(84);
         props.add("usingExecutorService");
         props.add("disconnect");
         props.add("enabledProtocols");
@@ -28,6 +28,7 @@ public class NettyHttpEndpointUriFactory extends org.apache.camel.support.compon
         props.add("nettySharedHttpServer");
         props.add("keyStoreFormat");
         props.add("producerPoolMinIdle");
+        props.add("producerPoolMultiplexed");
         props.add("ssl");
         props.add("bossGroup");
         props.add("path");
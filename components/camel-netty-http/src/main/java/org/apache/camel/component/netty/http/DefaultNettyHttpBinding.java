@@ -133,9 +133,26 @@ public class DefaultNettyHttpBinding implements NettyHttpBinding, Cloneable {
         }
 
         answer.setBody(request.getInputStream());
+        addStreamOnCompletion(request.getInputStream(), exchange);
         return answer;
     }
 
+    /**
+     * Adds an on completion which closes the stream when the exchange is done, so the chunks that have not been read
+     * are released and the channel resumes reading. The stream is kept open when it is sent back as the message body,
+     * as it is then closed when it has been written.
+     */
+    protected void addStreamOnCompletion(final InputStream is, Exchange exchange) {
+        exchange.adapt(ExtendedExchange.class).addOnCompletion(new SynchronizationAdapter() {
+            @Override
+            public void onDone(Exchange exchange) {
+                if (exchange.getMessage().getBody() != is) {
+                    IOHelper.close(is);
+                }
+            }
+        });
+    }
+
     @Override
     public void populateCamelHeaders(
             HttpRequest request, Map<String, Object> headers, Exchange exchange, NettyHttpConfiguration configuration)
@@ -347,6 +364,7 @@ public class DefaultNettyHttpBinding implements NettyHttpBinding, Cloneable {
         }
 
         answer.setBody(response.getInputStream());
+        addStreamOnCompletion(response.getInputStream(), exchange);
         return answer;
     }
 
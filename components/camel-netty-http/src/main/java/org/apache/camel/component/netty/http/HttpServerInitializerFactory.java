@@ -115,7 +115,7 @@ public class HttpServerInitializerFactory extends ServerInitializerFactory {
             pipeline.addLast("encoder-" + x, encoder);
         }
         if (configuration.isDisableStreamCache()) {
-            pipeline.addLast("inbound-streamer", new HttpInboundStreamHandler());
+            pipeline.addLast("inbound-streamer", new HttpInboundStreamHandler(configuration.getChunkedMaxContentLength()));
         }
         pipeline.addLast("aggregator", new HttpObjectAggregator(configuration.getChunkedMaxContentLength()));
         pipeline.addLast("outbound-streamer", new HttpOutboundStreamHandler());
@@ -87,7 +87,7 @@ public class HttpServerSharedInitializerFactory extends HttpServerInitializerFac
         pipeline.addLast("decoder", new HttpRequestDecoder(4096, configuration.getMaxHeaderSize(), 8192));
         pipeline.addLast("encoder", new HttpResponseEncoder());
         if (configuration.isChunked()) {
-            pipeline.addLast("inbound-streamer", new HttpInboundStreamHandler());
+            pipeline.addLast("inbound-streamer", new HttpInboundStreamHandler(configuration.getChunkedMaxContentLength()));
             pipeline.addLast("aggregator", new HttpObjectAggregator(configuration.getChunkedMaxContentLength()));
             pipeline.addLast("outbound-streamer", new HttpOutboundStreamHandler());
         }
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+
+/**
+ * An {@link InputStream} which exposes the content of a streamed HTTP message while the chunks are still being
+ * received by Netty.
+ * <p/>
+ * Each received {@link ByteBuf} is retained and queued as-is (without copying), and released as soon as it has been
+ * read. When more than the given number of bytes are waiting to be read, then the channel stops reading from the
+ * socket until the reader has caught up, so the memory used per message stays bounded regardless of the size of the
+ * message.
+ * <p/>
+ * The stream must not be read from the event loop of the channel, as the chunks are delivered by that same thread.
+ */
+public final class NettyChunkedInputStream extends InputStream {
+
+    private final Channel channel;
+    private final int highWaterMark;
+    private final int lowWaterMark;
+    private final Deque<ByteBuf> chunks = new ArrayDeque<>();
+    private int buffered;
+    private boolean suspended;
+    private boolean complete;
+    private boolean closed;
+    private Throwable failure;
+
+    public NettyChunkedInputStream(Channel channel, int maxBufferSize) {
+        this.channel = channel;
+        this.highWaterMark = Math.max(maxBufferSize, 1);
+        this.lowWaterMark = highWaterMark / 2;
+    }
+
+    /**
+     * Adds the next chunk of the content, which is retained until it has been read.
+     */
+    public synchronized void offer(ByteBuf content) {
+        if (closed || complete || !content.isReadable()) {
+            return;
+        }
+        chunks.addLast(content.retain());
+        buffered += content.readableBytes();
+        if (!suspended && buffered >= highWaterMark) {
+            suspended = true;
+            channel.config().setAutoRead(false);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Marks the end of the content, after the last chunk has been added.
+     */
+    public synchronized void complete() {
+        complete = true;
+        notifyAll();
+    }
+
+    /**
+     * Marks the content as failed, the reader gets an {@link IOException} once the received chunks have been read.
+     */
+    public synchronized void fail(Throwable cause) {
+        if (!complete) {
+            failure = cause;
+            complete = true;
+            notifyAll();
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int len = read(b, 0, 1);
+        return len == -1 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        ByteBuf chunk = awaitChunk();
+        if (chunk == null) {
+            return -1;
+        }
+        int answer = Math.min(len, chunk.readableBytes());
+        chunk.readBytes(b, off, answer);
+        consumed(chunk, answer);
+        return answer;
+    }
+
+    @Override
+    public synchronized long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n) {
+            ByteBuf chunk = awaitChunk();
+            if (chunk == null) {
+                break;
+            }
+            int len = (int) Math.min(n - skipped, chunk.readableBytes());
+            chunk.skipBytes(len);
+            consumed(chunk, len);
+            skipped += len;
+        }
+        return skipped;
+    }
+
+    @Override
+    public synchronized int available() {
+        return buffered;
+    }
+
+    /**
+     * Releases the chunks which have not been read, and resumes reading from the channel so the rest of the message
+     * can be discarded.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        ByteBuf chunk;
+        while ((chunk = chunks.pollFirst()) != null) {
+            chunk.release();
+        }
+        buffered = 0;
+        resume();
+        notifyAll();
+    }
+
+    private ByteBuf awaitChunk() throws IOException {
+        while (chunks.isEmpty() && !complete && !closed) {
+            if (channel.eventLoop().inEventLoop()) {
+                throw new IOException(
+                        "Cannot wait for more content on the event loop of " + channel
+                                      + " as it would never be received. Read the stream from another thread.");
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for more content from " + channel, e);
+            }
+        }
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (chunks.isEmpty()) {
+            if (failure != null) {
+                throw new IOException("Failed to receive the content from " + channel, failure);
+            }
+            return null;
+        }
+        return chunks.peekFirst();
+    }
+
+    private void consumed(ByteBuf chunk, int len) {
+        buffered -= len;
+        if (!chunk.isReadable()) {
+            chunks.pollFirst();
+            chunk.release();
+        }
+        if (buffered <= lowWaterMark) {
+            resume();
+        }
+    }
+
+    private void resume() {
+        if (suspended) {
+            suspended = false;
+            channel.config().setAutoRead(true);
+        }
+    }
+
+}
@@ -171,6 +171,10 @@ public class NettyHttpComponent extends NettyComponent
 
         // validate config
         config.validateConfiguration();
+        if (config.isProducerPoolMultiplexed()) {
+            // http replies have no correlation id so the channels cannot be shared by concurrent requests
+            throw new IllegalArgumentException("The producerPoolMultiplexed option is not supported by netty-http");
+        }
 
         // create the address uri which includes the remainder parameters (which
         // is not configuration parameters for this component)
@@ -17,44 +17,61 @@
 
 package org.apache.camel.component.netty.http.handlers;
 
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
+import java.io.IOException;
 import java.util.List;
 
-import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.HttpContent;
-import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpMessage;
 import io.netty.handler.codec.http.HttpObject;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http.LastHttpContent;
 import org.apache.camel.component.netty.http.InboundStreamHttpRequest;
 import org.apache.camel.component.netty.http.InboundStreamHttpResponse;
+import org.apache.camel.component.netty.http.NettyChunkedInputStream;
 
-import static io.netty.handler.codec.http.HttpHeaderNames.TRANSFER_ENCODING;
-import static io.netty.handler.codec.http.HttpHeaderValues.CHUNKED;
-
+/**
+ * Turns HTTP messages with a chunked or large body into {@link InboundStreamHttpRequest} or
+ * {@link InboundStreamHttpResponse}, so the body can be read as a stream while the chunks are still being received,
+ * instead of being aggregated into a full message first.
+ * <p/>
+ * Messages with a known content length up to the max content length are passed on as-is, to be aggregated.
+ */
 public class HttpInboundStreamHandler extends MessageToMessageDecoder<HttpObject> {
-    private PipedInputStream is;
-    private PipedOutputStream os;
-    private boolean isChunked;
+    private final int maxContentLength;
+    private NettyChunkedInputStream is;
+    private boolean isStreaming;
 
-    @Override
-    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
-        super.handlerAdded(ctx);
-        os = new PipedOutputStream();
-        is = new PipedInputStream(os);
-        isChunked = false;
+    public HttpInboundStreamHandler() {
+        this(1024 * 1024);
+    }
+
+    public HttpInboundStreamHandler(int maxContentLength) {
+        this.maxContentLength = maxContentLength;
     }
 
     @Override
     public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
         super.handlerRemoved(ctx);
-        os.close();
-        is.close();
+        if (is != null) {
+            is.close();
+            is = null;
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (is != null) {
+            is.fail(new IOException("Connection closed before the end of the HTTP message was received"));
+            is = null;
+        }
+        super.channelInactive(ctx);
     }
 
     @Override
@@ -64,16 +81,27 @@ public class HttpInboundStreamHandler extends MessageToMessageDecoder<HttpObject
         }
 
         if (msg instanceof HttpMessage) {
-            HttpHeaders headers = ((HttpMessage) msg).headers();
-            return isChunked = headers.contains(TRANSFER_ENCODING, CHUNKED, true);
+            HttpMessage message = (HttpMessage) msg;
+            return isStreaming = HttpUtil.isTransferEncodingChunked(message)
+                    || HttpUtil.getContentLength(message, -1L) > maxContentLength;
         } else {
-            return (msg instanceof HttpContent) && isChunked;
+            return (msg instanceof HttpContent) && isStreaming;
         }
     }
 
     @Override
     protected void decode(ChannelHandlerContext ctx, HttpObject msg, List<Object> out) throws Exception {
+        if (msg instanceof HttpMessage) {
+            // a new stream per message as the channel may be kept alive for further messages
+            is = new NettyChunkedInputStream(ctx.channel(), maxContentLength);
+        }
+
         if (msg instanceof HttpRequest) {
+            if (HttpUtil.is100ContinueExpected((HttpRequest) msg)) {
+                // the aggregator is bypassed, so we must tell the client to send the body
+                HttpUtil.set100ContinueExpected((HttpRequest) msg, false);
+                ctx.writeAndFlush(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE));
+            }
             InboundStreamHttpRequest request = new InboundStreamHttpRequest((HttpRequest) msg, is);
             out.add(request);
         }
@@ -83,14 +111,19 @@ public class HttpInboundStreamHandler extends MessageToMessageDecoder<HttpObject
             out.add(response);
         }
 
-        if (msg instanceof HttpContent) {
-            ByteBuf body = ((HttpContent) msg).content();
-            if (body.readableBytes() > 0) {
-                body.readBytes(os, body.readableBytes());
+        if (msg instanceof HttpContent && is != null) {
+            if (msg.decoderResult().isFailure()) {
+                is.fail(msg.decoderResult().cause());
+                is = null;
+                return;
             }
+            // the stream retains the content, as it is released by this decoder when we return
+            is.offer(((HttpContent) msg).content());
 
             if (msg instanceof LastHttpContent) {
-                os.close();
+                is.complete();
+                is = null;
+                isStreaming = false;
             }
         }
     }
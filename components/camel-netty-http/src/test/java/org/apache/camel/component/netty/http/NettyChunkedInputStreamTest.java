@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty.http;
+
+import java.io.IOException;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NettyChunkedInputStreamTest {
+
+    @Test
+    public void testReadChunks() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettyChunkedInputStream is = new NettyChunkedInputStream(channel, 1024);
+
+        ByteBuf hello = Unpooled.copiedBuffer("Hello ".getBytes());
+        ByteBuf world = Unpooled.copiedBuffer("World".getBytes());
+        is.offer(hello);
+        is.offer(world);
+        is.complete();
+        // the stream has retained the chunks
+        assertEquals(2, hello.refCnt());
+        hello.release();
+        world.release();
+
+        assertEquals(11, is.available());
+        byte[] buffer = new byte[64];
+        // a read never spans more than one chunk
+        assertEquals(6, is.read(buffer, 0, buffer.length));
+        assertEquals(5, is.read(buffer, 6, buffer.length - 6));
+        assertEquals("Hello World", new String(buffer, 0, 11));
+        assertEquals(-1, is.read());
+
+        // the chunks are released once they have been read
+        assertEquals(0, hello.refCnt());
+        assertEquals(0, world.refCnt());
+    }
+
+    @Test
+    public void testSuspendReadingWhenFull() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettyChunkedInputStream is = new NettyChunkedInputStream(channel, 8);
+
+        is.offer(Unpooled.wrappedBuffer(new byte[6]));
+        assertTrue(channel.config().isAutoRead());
+        is.offer(Unpooled.wrappedBuffer(new byte[6]));
+        assertFalse(channel.config().isAutoRead());
+
+        // still above the low water mark
+        assertEquals(6, is.read(new byte[6]));
+        assertFalse(channel.config().isAutoRead());
+
+        assertEquals(2, is.read(new byte[2]));
+        assertTrue(channel.config().isAutoRead());
+
+        is.complete();
+        assertEquals(4, is.read(new byte[10]));
+        assertEquals(-1, is.read(new byte[10]));
+    }
+
+    @Test
+    public void testCloseReleasesChunks() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettyChunkedInputStream is = new NettyChunkedInputStream(channel, 4);
+
+        ByteBuf chunk = Unpooled.wrappedBuffer(new byte[16]);
+        is.offer(chunk);
+        chunk.release();
+        assertFalse(channel.config().isAutoRead());
+
+        is.close();
+        assertEquals(0, chunk.refCnt());
+        assertTrue(channel.config().isAutoRead());
+        assertThrows(IOException.class, () -> is.read());
+
+        // chunks received after the stream is closed are discarded
+        ByteBuf late = Unpooled.wrappedBuffer(new byte[16]);
+        is.offer(late);
+        assertEquals(1, late.refCnt());
+        late.release();
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettyChunkedInputStream is = new NettyChunkedInputStream(channel, 1024);
+
+        is.offer(Unpooled.copiedBuffer("Bye".getBytes()));
+        is.fail(new IOException("Connection reset"));
+
+        // the received content can be read before the failure is reported
+        assertEquals(3, is.read(new byte[10]));
+        IOException e = assertThrows(IOException.class, () -> is.read(new byte[10]));
+        assertEquals("Connection reset", e.getCause().getMessage());
+    }
+
+    @Test
+    public void testCannotWaitOnEventLoop() throws Exception {
+        // the embedded channel runs everything on the calling thread, which is its event loop
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettyChunkedInputStream is = new NettyChunkedInputStream(channel, 1024);
+
+        assertThrows(IOException.class, () -> is.read());
+        is.close();
+    }
+}
@@ -67,6 +67,23 @@ public class NettyHttpStreamTest extends BaseNettyTest {
         assertEquals(SIZE, response.getIn().getBody(Long.class).longValue(), "response size not matching.");
     }
 
+    @Test
+    public void testUploadLargeContentLength() {
+        // larger than the max content length, so it must be streamed instead of aggregated
+        byte[] body = new byte[64 * 1024];
+
+        for (int i = 0; i < 2; i++) {
+            Exchange response = template.request("direct:large-upstream-call", e -> e.getIn().setBody(body));
+            assertFalse(response.isFailed(), "ups");
+        }
+
+        MockEndpoint mock = context.getEndpoint("mock:large-stream-size", MockEndpoint.class);
+        assertEquals(2, mock.getReceivedCounter());
+        for (Exchange exchange : mock.getExchanges()) {
+            assertEquals(body.length, exchange.getIn().getBody(Long.class).longValue(), "request size not matching.");
+        }
+    }
+
     @Override
     protected RouteBuilder createRouteBuilder() throws Exception {
         return new RouteBuilder() {
@@ -86,6 +103,13 @@ public class NettyHttpStreamTest extends BaseNettyTest {
                         .bean(Helper.class, "processStream")
                         .to("mock:stream-size");
 
+                from("direct:large-upstream-call")
+                        .to("netty-http:http://localhost:{{port}}/large-upstream");
+
+                from("netty-http:http://0.0.0.0:{{port}}/large-upstream?disableStreamCache=true&chunkedMaxContentLength=4096")
+                        .bean(Helper.class, "processStream")
+                        .to("mock:large-stream-size");
+
                 from("netty-http:http://0.0.0.0:{{port}}/downstream?disableStreamCache=true")
                         .bean(Helper.class, "prepareStream");
             }
@@ -104,6 +104,8 @@ public class NettyComponentConfigurer extends PropertyConfigurerSupport implemen
         case "producerPoolMinEvictableIdle": getOrCreateConfiguration(target).setProducerPoolMinEvictableIdle(property(camelContext, long.class, value)); return true;
         case "producerpoolminidle":
         case "producerPoolMinIdle": getOrCreateConfiguration(target).setProducerPoolMinIdle(property(camelContext, int.class, value)); return true;
+        case "producerpoolmultiplexed":
+        case "producerPoolMultiplexed": getOrCreateConfiguration(target).setProducerPoolMultiplexed(property(camelContext, boolean.class, value)); return true;
         case "receivebuffersize":
         case "receiveBufferSize": getOrCreateConfiguration(target).setReceiveBufferSize(property(camelContext, int.class, value)); return true;
         case "receivebuffersizepredictor":
@@ -241,6 +243,8 @@ public class NettyComponentConfigurer extends PropertyConfigurerSupport implemen
         case "producerPoolMinEvictableIdle": return long.class;
         case "producerpoolminidle":
         case "producerPoolMinIdle": return int.class;
+        case "producerpoolmultiplexed":
+        case "producerPoolMultiplexed": return boolean.class;
         case "receivebuffersize":
         case "receiveBufferSize": return int.class;
         case "receivebuffersizepredictor":
@@ -379,6 +383,8 @@ public class NettyComponentConfigurer extends PropertyConfigurerSupport implemen
         case "producerPoolMinEvictableIdle": return getOrCreateConfiguration(target).getProducerPoolMinEvictableIdle();
         case "producerpoolminidle":
         case "producerPoolMinIdle": return getOrCreateConfiguration(target).getProducerPoolMinIdle();
+        case "producerpoolmultiplexed":
+        case "producerPoolMultiplexed": return getOrCreateConfiguration(target).isProducerPoolMultiplexed();
         case "receivebuffersize":
         case "receiveBufferSize": return getOrCreateConfiguration(target).getReceiveBufferSize();
         case "receivebuffersizepredictor":
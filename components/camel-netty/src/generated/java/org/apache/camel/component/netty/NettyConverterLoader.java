@@ -31,6 +31,8 @@ public final class NettyConverterLoader implements TypeConverterLoader {
             (type, exchange, value) -> org.apache.camel.component.netty.NettyConverter.toByteBuffer((byte[]) value));
         addTypeConverter(registry, io.netty.buffer.ByteBuf.class, java.lang.String.class, false,
             (type, exchange, value) -> org.apache.camel.component.netty.NettyConverter.toByteBuffer((java.lang.String) value, exchange));
+        addTypeConverter(registry, io.netty.buffer.ByteBuf.class, org.apache.camel.converter.stream.ByteBufferInputStreamCache.class, false,
+            (type, exchange, value) -> org.apache.camel.component.netty.NettyConverter.toByteBuffer((org.apache.camel.converter.stream.ByteBufferInputStreamCache) value));
         addTypeConverter(registry, java.io.InputStream.class, io.netty.buffer.ByteBuf.class, false,
             (type, exchange, value) -> org.apache.camel.component.netty.NettyConverter.toInputStream((io.netty.buffer.ByteBuf) value, exchange));
         addTypeConverter(registry, java.io.ObjectInput.class, io.netty.buffer.ByteBuf.class, false,
@@ -94,6 +94,8 @@ public class NettyEndpointConfigurer extends PropertyConfigurerSupport implement
         case "producerPoolMinEvictableIdle": target.getConfiguration().setProducerPoolMinEvictableIdle(property(camelContext, long.class, value)); return true;
         case "producerpoolminidle":
         case "producerPoolMinIdle": target.getConfiguration().setProducerPoolMinIdle(property(camelContext, int.class, value)); return true;
+        case "producerpoolmultiplexed":
+        case "producerPoolMultiplexed": target.getConfiguration().setProducerPoolMultiplexed(property(camelContext, boolean.class, value)); return true;
         case "receivebuffersize":
         case "receiveBufferSize": target.getConfiguration().setReceiveBufferSize(property(camelContext, int.class, value)); return true;
         case "receivebuffersizepredictor":
@@ -227,6 +229,8 @@ public class NettyEndpointConfigurer extends PropertyConfigurerSupport implement
         case "producerPoolMinEvictableIdle": return long.class;
         case "producerpoolminidle":
         case "producerPoolMinIdle": return int.class;
+        case "producerpoolmultiplexed":
+        case "producerPoolMultiplexed": return boolean.class;
         case "receivebuffersize":
         case "receiveBufferSize": return int.class;
         case "receivebuffersizepredictor":
@@ -361,6 +365,8 @@ public class NettyEndpointConfigurer extends PropertyConfigurerSupport implement
         case "producerPoolMinEvictableIdle": return target.getConfiguration().getProducerPoolMinEvictableIdle();
         case "producerpoolminidle":
         case "producerPoolMinIdle": return target.getConfiguration().getProducerPoolMinIdle();
+        case "producerpoolmultiplexed":
+        case "producerPoolMultiplexed": return target.getConfiguration().isProducerPoolMultiplexed();
         case "receivebuffersize":
         case "receiveBufferSize": return target.getConfiguration().getReceiveBufferSize();
         case "receivebuffersizepredictor":
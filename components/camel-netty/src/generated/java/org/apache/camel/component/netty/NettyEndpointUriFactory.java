@@ -20,13 +20,14 @@ public class NettyEndpointUriFactory extends org.apache.camel.support.component.
     private static final Set<String> PROPERTY_NAMES;
     private static final Set<String> SECRET_PROPERTY_NAMES;
     static {
-        Set<String> props = new HashSet<>(73);
+        Set<String> props = new HashSet<>(74);
         props.add("usingExecutorService");
         props.add("disconnect");
         props.add("enabledProtocols");
         props.add("synchronous");
         props.add("keyStoreFormat");
         props.add("producerPoolMinIdle");
+        props.add("producerPoolMultiplexed");
         props.add("ssl");
         props.add("bossGroup");
         props.add("protocol");
@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.pool.ObjectPool;
+import org.apache.commons.pool.PoolableObjectFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link org.apache.commons.pool.ObjectPool} which does not use locks, so concurrent producers do not contend when
+ * borrowing and returning objects.
+ * <p/>
+ * The idle objects are kept in a {@link ConcurrentLinkedDeque} where the most recently returned object is borrowed
+ * first. Objects are validated when they are borrowed, and when {@link #evict()} is invoked, which also evicts the
+ * objects that have been idle too long and creates objects to keep the minimum number of idle objects. When the pool is
+ * exhausted then {@link #borrowObject()} fails with a {@link NoSuchElementException}.
+ */
+public class ConcurrentObjectPool<T> implements ObjectPool<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConcurrentObjectPool.class);
+
+    private final PoolableObjectFactory<T> factory;
+    private final int maxActive;
+    private final int maxIdle;
+    private final int minIdle;
+    private final long minEvictableIdleTimeMillis;
+    private final Deque<IdleObject<T>> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger numIdle = new AtomicInteger();
+    private final AtomicInteger numActive = new AtomicInteger();
+    // the number of objects created by the pool which are not destroyed yet
+    private final AtomicInteger numTotal = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Creates a new pool.
+     *
+     * @param factory                    the factory to create, validate and destroy objects
+     * @param maxActive                  the maximum number of objects (negative for no limit)
+     * @param maxIdle                    the maximum number of idle objects (negative for no limit)
+     * @param minIdle                    the minimum number of idle objects to keep when evicting
+     * @param minEvictableIdleTimeMillis the time an object may be idle before it is evicted (zero or negative to not
+     *                                   evict idle objects)
+     */
+    public ConcurrentObjectPool(PoolableObjectFactory<T> factory, int maxActive, int maxIdle, int minIdle,
+                                long minEvictableIdleTimeMillis) {
+        this.factory = factory;
+        this.maxActive = maxActive;
+        this.maxIdle = maxIdle;
+        this.minIdle = minIdle;
+        this.minEvictableIdleTimeMillis = minEvictableIdleTimeMillis;
+    }
+
+    @Override
+    public T borrowObject() throws Exception, NoSuchElementException, IllegalStateException {
+        assertOpen();
+
+        IdleObject<T> entry;
+        while ((entry = idle.pollFirst()) != null) {
+            numIdle.decrementAndGet();
+            T t = entry.object;
+            boolean valid;
+            try {
+                factory.activateObject(t);
+                valid = factory.validateObject(t);
+            } catch (Exception e) {
+                LOG.debug("Error activating object: {}. This exception will be ignored.", t, e);
+                valid = false;
+            }
+            if (valid) {
+                numActive.incrementAndGet();
+                return t;
+            }
+            destroy(t);
+        }
+
+        // no idle objects so create a new object if we have not hit the limit
+        if (!reserve()) {
+            throw new NoSuchElementException("Pool exhausted");
+        }
+        T t;
+        try {
+            t = factory.makeObject();
+            factory.activateObject(t);
+        } catch (Exception e) {
+            numTotal.decrementAndGet();
+            throw e;
+        }
+        numActive.incrementAndGet();
+        return t;
+    }
+
+    @Override
+    public void returnObject(T obj) throws Exception {
+        numActive.decrementAndGet();
+        if (closed) {
+            destroy(obj);
+            return;
+        }
+        try {
+            factory.passivateObject(obj);
+        } catch (Exception e) {
+            LOG.debug("Error passivating object: {}. This exception will be ignored.", obj, e);
+            destroy(obj);
+            return;
+        }
+        if (maxIdle >= 0 && numIdle.get() >= maxIdle) {
+            destroy(obj);
+        } else {
+            numIdle.incrementAndGet();
+            idle.addFirst(new IdleObject<>(obj));
+        }
+    }
+
+    @Override
+    public void invalidateObject(T obj) throws Exception {
+        numActive.decrementAndGet();
+        destroy(obj);
+    }
+
+    @Override
+    public void addObject() throws Exception, IllegalStateException, UnsupportedOperationException {
+        assertOpen();
+        if (!reserve()) {
+            return;
+        }
+        T t;
+        try {
+            t = factory.makeObject();
+            factory.passivateObject(t);
+        } catch (Exception e) {
+            numTotal.decrementAndGet();
+            throw e;
+        }
+        numIdle.incrementAndGet();
+        idle.addLast(new IdleObject<>(t));
+    }
+
+    /**
+     * Destroys the idle objects which are no longer valid, or have been idle longer than the minimum evictable idle
+     * time, and then creates new objects to keep the minimum number of idle objects.
+     * <p/>
+     * This is intended to be invoked periodically.
+     */
+    public void evict() {
+        if (closed) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        // start with the oldest objects which are at the end
+        Iterator<IdleObject<T>> it = idle.descendingIterator();
+        while (it.hasNext()) {
+            IdleObject<T> entry = it.next();
+            boolean evict = minEvictableIdleTimeMillis > 0 && now - entry.timestamp > minEvictableIdleTimeMillis;
+            if (!evict) {
+                try {
+                    evict = !factory.validateObject(entry.object);
+                } catch (Exception e) {
+                    evict = true;
+                }
+            }
+            // the object may have been borrowed meanwhile in which case it cannot be removed
+            if (evict && idle.removeFirstOccurrence(entry)) {
+                LOG.trace("Evicting idle object: {}", entry.object);
+                numIdle.decrementAndGet();
+                destroy(entry.object);
+            }
+        }
+
+        while (!closed && numIdle.get() < minIdle) {
+            try {
+                int before = numTotal.get();
+                addObject();
+                if (numTotal.get() == before) {
+                    // hit the limit
+                    break;
+                }
+            } catch (Exception e) {
+                LOG.warn("Error creating idle object for pool. This exception will be ignored.", e);
+                break;
+            }
+        }
+    }
+
+    @Override
+    public int getNumIdle() throws UnsupportedOperationException {
+        return numIdle.get();
+    }
+
+    @Override
+    public int getNumActive() throws UnsupportedOperationException {
+        return numActive.get();
+    }
+
+    @Override
+    public void clear() throws Exception, UnsupportedOperationException {
+        IdleObject<T> entry;
+        while ((entry = idle.pollFirst()) != null) {
+            numIdle.decrementAndGet();
+            destroy(entry.object);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        closed = true;
+        clear();
+    }
+
+    @Override
+    public void setFactory(PoolableObjectFactory<T> factory) throws IllegalStateException, UnsupportedOperationException {
+        throw new UnsupportedOperationException("Cannot change the factory of " + this);
+    }
+
+    @Override
+    public String toString() {
+        return "ConcurrentObjectPool[active=" + numActive.get() + ", idle=" + numIdle.get() + "]";
+    }
+
+    private boolean reserve() {
+        for (;;) {
+            int total = numTotal.get();
+            if (maxActive >= 0 && total >= maxActive) {
+                return false;
+            }
+            if (numTotal.compareAndSet(total, total + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void destroy(T obj) {
+        numTotal.decrementAndGet();
+        try {
+            factory.destroyObject(obj);
+        } catch (Exception e) {
+            LOG.debug("Error destroying object: {}. This exception will be ignored.", obj, e);
+        }
+    }
+
+    private void assertOpen() {
+        if (closed) {
+            throw new IllegalStateException("Pool not open");
+        }
+    }
+
+    private static final class IdleObject<T> {
+        private final T object;
+        private final long timestamp = System.currentTimeMillis();
+
+        private IdleObject(T object) {
+            this.object = object;
+        }
+    }
+}
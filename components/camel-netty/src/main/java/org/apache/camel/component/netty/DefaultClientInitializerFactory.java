@@ -28,6 +28,7 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.component.netty.codec.FileRegionEncoder;
 import org.apache.camel.component.netty.handlers.ClientChannelHandler;
 import org.apache.camel.component.netty.ssl.SSLEngineFactory;
 import org.slf4j.Logger;
@@ -71,6 +72,11 @@ public class DefaultClientInitializerFactory extends ClientInitializerFactory {
             addToPipeline("decoder-" + x, channelPipeline, decoder);
         }
 
+        if (sslHandler == null && "tcp".equalsIgnoreCase(producer.getConfiguration().getProtocol())) {
+            // send files which are not encoded by the encoders with zero-copy
+            addToPipeline("file-region", channelPipeline, new FileRegionEncoder());
+        }
+
         List<ChannelHandler> encoders = producer.getConfiguration().getEncoders();
         for (int x = 0; x < encoders.size(); x++) {
             ChannelHandler encoder = encoders.get(x);
@@ -81,8 +87,8 @@ public class DefaultClientInitializerFactory extends ClientInitializerFactory {
             addToPipeline("encoder-" + x, channelPipeline, encoder);
         }
 
-        // do we use request timeout?
-        if (producer.getConfiguration().getRequestTimeout() > 0) {
+        // do we use request timeout? (a multiplexed channel tracks the timeout per correlation id instead)
+        if (producer.getConfiguration().getRequestTimeout() > 0 && !producer.isMultiplexed()) {
             if (LOG.isTraceEnabled()) {
                 LOG.trace("Using request timeout {} millis", producer.getConfiguration().getRequestTimeout());
             }
@@ -28,6 +28,7 @@ import io.netty.handler.ssl.SslHandler;
 import io.netty.util.concurrent.EventExecutorGroup;
 import org.apache.camel.CamelContext;
 import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.component.netty.codec.FileRegionEncoder;
 import org.apache.camel.component.netty.handlers.ServerChannelHandler;
 import org.apache.camel.component.netty.ssl.SSLEngineFactory;
 import org.slf4j.Logger;
@@ -79,6 +80,11 @@ public class DefaultServerInitializerFactory extends ServerInitializerFactory {
             addToPipeline("ssl", channelPipeline, sslHandler);
         }
 
+        if (sslHandler == null && "tcp".equalsIgnoreCase(consumer.getConfiguration().getProtocol())) {
+            // send files which are not encoded by the encoders with zero-copy
+            addToPipeline("file-region", channelPipeline, new FileRegionEncoder());
+        }
+
         List<ChannelHandler> encoders = consumer.getConfiguration().getEncoders();
         for (int x = 0; x < encoders.size(); x++) {
             ChannelHandler encoder = encoders.get(x);
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.commons.pool.ObjectPool;
+import org.apache.commons.pool.PoolableObjectFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link org.apache.commons.pool.ObjectPool} which shares a fixed number of instances between all borrowers, which
+ * are handed out in round robin order.
+ * <p/>
+ * Like {@link SharedSingletonObjectPool} the instances are not checked out, so an instance is used concurrently by many
+ * borrowers, and {@link #returnObject(Object)} is a noop. An instance is recreated when it is no longer valid.
+ */
+public class MultiplexedObjectPool<T> implements ObjectPool<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MultiplexedObjectPool.class);
+
+    private final PoolableObjectFactory<T> factory;
+    private final AtomicReferenceArray<T> instances;
+    private final AtomicInteger counter = new AtomicInteger();
+    private volatile boolean closed;
+
+    public MultiplexedObjectPool(PoolableObjectFactory<T> factory, int size) {
+        this.factory = factory;
+        this.instances = new AtomicReferenceArray<>(Math.max(size, 1));
+    }
+
+    @Override
+    public T borrowObject() throws Exception, NoSuchElementException, IllegalStateException {
+        if (closed) {
+            throw new IllegalStateException("Pool not open");
+        }
+
+        int index = (counter.getAndIncrement() & Integer.MAX_VALUE) % instances.length();
+        for (;;) {
+            T t = instances.get(index);
+            if (t != null) {
+                // ensure the object is validate before we borrow it
+                if (factory.validateObject(t)) {
+                    factory.activateObject(t);
+                    return t;
+                }
+                if (instances.compareAndSet(index, t, null)) {
+                    LOG.info("Recreating new connection as current connection is invalid: {}", t);
+                    destroy(t);
+                }
+                continue;
+            }
+
+            T created = factory.makeObject();
+            if (instances.compareAndSet(index, null, created)) {
+                factory.activateObject(created);
+                return created;
+            }
+            // another borrower created the instance meanwhile
+            destroy(created);
+        }
+    }
+
+    @Override
+    public void returnObject(T obj) throws Exception {
+        // noop
+    }
+
+    @Override
+    public void invalidateObject(T obj) throws Exception {
+        for (int i = 0; i < instances.length(); i++) {
+            if (instances.compareAndSet(i, obj, null)) {
+                destroy(obj);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void addObject() throws Exception, IllegalStateException, UnsupportedOperationException {
+        // noop
+    }
+
+    @Override
+    public int getNumIdle() throws UnsupportedOperationException {
+        return 0;
+    }
+
+    @Override
+    public int getNumActive() throws UnsupportedOperationException {
+        int answer = 0;
+        for (int i = 0; i < instances.length(); i++) {
+            if (instances.get(i) != null) {
+                answer++;
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public void clear() throws Exception, UnsupportedOperationException {
+        for (int i = 0; i < instances.length(); i++) {
+            T t = instances.getAndSet(i, null);
+            if (t != null) {
+                destroy(t);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        closed = true;
+        clear();
+    }
+
+    @Override
+    public void setFactory(PoolableObjectFactory<T> factory) throws IllegalStateException, UnsupportedOperationException {
+        // noop
+    }
+
+    private void destroy(T obj) {
+        try {
+            factory.destroyObject(obj);
+        } catch (Exception e) {
+            LOG.debug("Error destroying object: {}. This exception will be ignored.", obj, e);
+        }
+    }
+}
@@ -30,10 +30,16 @@ public final class NettyCamelState {
 
     private final Exchange exchange;
     private final AsyncCallback callback;
+    private final long timeout;
 
     public NettyCamelState(AsyncCallback callback, Exchange exchange) {
+        this(callback, exchange, 0);
+    }
+
+    public NettyCamelState(AsyncCallback callback, Exchange exchange, long timeout) {
         this.callback = callback;
         this.exchange = exchange;
+        this.timeout = timeout;
     }
 
     public AsyncCallback getCallback() {
@@ -43,4 +49,11 @@ public final class NettyCamelState {
     public Exchange getExchange() {
         return exchange;
     }
+
+    /**
+     * The request timeout in millis of this exchange, or <tt>0</tt> to use the timeout of the correlation manager.
+     */
+    public long getTimeout() {
+        return timeout;
+    }
 }
@@ -98,6 +98,8 @@ public class NettyConfiguration extends NettyServerBootstrapConfiguration implem
     @UriParam(label = "producer,advanced", defaultValue = "true")
     private boolean producerPoolEnabled = true;
     @UriParam(label = "producer,advanced")
+    private boolean producerPoolMultiplexed;
+    @UriParam(label = "producer,advanced")
     private boolean udpConnectionlessSending;
     @UriParam(label = "consumer")
     private boolean clientMode;
@@ -626,6 +628,25 @@ public class NettyConfiguration extends NettyServerBootstrapConfiguration implem
         this.producerPoolEnabled = producerPoolEnabled;
     }
 
+    public boolean isProducerPoolMultiplexed() {
+        return producerPoolMultiplexed;
+    }
+
+    /**
+     * Whether the channels in the producer pool are shared by concurrent exchanges, instead of being used by one
+     * exchange at a time. The producer then opens up to <tt>producerPoolMaxActive</tt> channels (one if unbounded) which
+     * are used in round robin order, and sends the next request without waiting for the reply of the previous request.
+     * <p/>
+     * Important: When doing request/reply you need to have a correlation id in both the request and reply messages, and
+     * implement {@link NettyCamelStateCorrelationManager} as correlation manager and configure it via the
+     * <tt>correlationManager</tt> option, so the replies can be correlated to the right exchanges. The
+     * <tt>requestTimeout</tt> is then tracked per correlation id, which requires the correlation manager to extend
+     * {@link TimeoutCorrelationManagerSupport}. This option is not supported by netty-http.
+     */
+    public void setProducerPoolMultiplexed(boolean producerPoolMultiplexed) {
+        this.producerPoolMultiplexed = producerPoolMultiplexed;
+    }
+
     public boolean isUdpConnectionlessSending() {
         return udpConnectionlessSending;
     }
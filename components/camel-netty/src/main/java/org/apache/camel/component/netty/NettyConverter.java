@@ -21,6 +21,7 @@ import java.io.InputStream;
 import java.io.ObjectInput;
 import java.io.ObjectInputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.sax.SAXSource;
@@ -32,8 +33,12 @@ import org.w3c.dom.Document;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import org.apache.camel.Converter;
 import org.apache.camel.Exchange;
+import org.apache.camel.converter.stream.ByteBufferInputStreamCache;
 
 /**
  * A set of converter methods for working with Netty types
@@ -101,6 +106,26 @@ public final class NettyConverter {
         return toByteBuffer(bytes);
     }
 
+    @Converter
+    public static ByteBuf toByteBuffer(final ByteBufferInputStreamCache cache) throws IOException {
+        // the buffers must be retained, as the exchange may be done (and the buffers released back to the pool)
+        // before the channel has written the data, so the buffers are released when netty releases the ByteBuf
+        cache.retain();
+        // wrap the off-heap buffers of the stream cache, so the data is written to the channel without being copied
+        ByteBuffer[] views = cache.getByteBuffers();
+        ByteBuf[] components = new ByteBuf[views.length];
+        for (int i = 0; i < views.length; i++) {
+            components[i] = Unpooled.wrappedBuffer(views[i]);
+        }
+        return new CompositeByteBuf(UnpooledByteBufAllocator.DEFAULT, true, Math.max(1, components.length), components) {
+            @Override
+            protected void deallocate() {
+                super.deallocate();
+                cache.releaseRetained();
+            }
+        };
+    }
+
     @Converter
     public static Document toDocument(ByteBuf buffer, Exchange exchange) {
         InputStream is = toInputStream(buffer, exchange);
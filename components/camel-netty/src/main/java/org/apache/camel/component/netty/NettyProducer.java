@@ -19,6 +19,7 @@ package org.apache.camel.component.netty;
 import java.net.ConnectException;
 import java.net.InetSocketAddress;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import io.netty.bootstrap.Bootstrap;
@@ -52,7 +53,6 @@ import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.IOHelper;
 import org.apache.commons.pool.ObjectPool;
 import org.apache.commons.pool.PoolableObjectFactory;
-import org.apache.commons.pool.impl.GenericObjectPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,6 +67,7 @@ public class NettyProducer extends DefaultAsyncProducer {
     private CamelLogger noReplyLogger;
     private EventLoopGroup workerGroup;
     private volatile ObjectPool<ChannelFuture> pool;
+    private ScheduledFuture<?> poolEvictionTask;
     private NettyCamelStateCorrelationManager correlationManager;
 
     public NettyProducer(NettyEndpoint nettyEndpoint, NettyConfiguration configuration) {
@@ -93,28 +94,44 @@ public class NettyProducer extends DefaultAsyncProducer {
         return configuration.getProtocol().equalsIgnoreCase("tcp");
     }
 
+    protected boolean isMultiplexed() {
+        return configuration.isProducerPoolEnabled() && configuration.isProducerPoolMultiplexed();
+    }
+
     @Override
     protected void doStart() throws Exception {
-        if (configuration.isProducerPoolEnabled()) {
+        if (isMultiplexed()) {
+            if (configuration.isSync() && configuration.getCorrelationManager() == null) {
+                throw new IllegalArgumentException(
+                        "A custom correlationManager must be configured to correlate the replies"
+                        + " when using producerPoolMultiplexed");
+            }
+            // a read timeout on the shared channel cannot tell which request timed out,
+            // so the correlation manager must keep track of the timeout of each correlation id
+            if (configuration.isSync() && configuration.getRequestTimeout() > 0
+                    && !(configuration.getCorrelationManager() instanceof TimeoutCorrelationManagerSupport)) {
+                throw new IllegalArgumentException(
+                        "The correlationManager must extend TimeoutCorrelationManagerSupport to use requestTimeout"
+                        + " when using producerPoolMultiplexed");
+            }
+            // share a fixed number of channels between all the concurrent exchanges
+            int size = Math.max(configuration.getProducerPoolMaxActive(), 1);
+            pool = new MultiplexedObjectPool<>(new NettyProducerPoolableObjectFactory(this), size);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Created NettyProducer multiplexed pool[size={}] -> {}", size, pool);
+            }
+        } else if (configuration.isProducerPoolEnabled()) {
             // setup pool where we want an unbounded pool, which allows the pool to shrink on no demand
-            GenericObjectPool.Config config = new GenericObjectPool.Config();
-            config.maxActive = configuration.getProducerPoolMaxActive();
-            config.minIdle = configuration.getProducerPoolMinIdle();
-            config.maxIdle = configuration.getProducerPoolMaxIdle();
-            // we should test on borrow to ensure the channel is still valid
-            config.testOnBorrow = true;
-            // only evict channels which are no longer valid
-            config.testWhileIdle = true;
-            // run eviction every 30th second
-            config.timeBetweenEvictionRunsMillis = 30 * 1000L;
-            config.minEvictableIdleTimeMillis = configuration.getProducerPoolMinEvictableIdle();
-            config.whenExhaustedAction = GenericObjectPool.WHEN_EXHAUSTED_FAIL;
-            pool = new GenericObjectPool<>(new NettyProducerPoolableObjectFactory(this), config);
+            pool = new ConcurrentObjectPool<>(
+                    new NettyProducerPoolableObjectFactory(this), configuration.getProducerPoolMaxActive(),
+                    configuration.getProducerPoolMaxIdle(), configuration.getProducerPoolMinIdle(),
+                    configuration.getProducerPoolMinEvictableIdle());
 
             if (LOG.isDebugEnabled()) {
                 LOG.debug(
                         "Created NettyProducer pool[maxActive={}, minIdle={}, maxIdle={}, minEvictableIdleTimeMillis={}] -> {}",
-                        config.maxActive, config.minIdle, config.maxIdle, config.minEvictableIdleTimeMillis, pool);
+                        configuration.getProducerPoolMaxActive(), configuration.getProducerPoolMinIdle(),
+                        configuration.getProducerPoolMaxIdle(), configuration.getProducerPoolMinEvictableIdle(), pool);
             }
         } else {
             pool = new SharedSingletonObjectPool<>(new NettyProducerPoolableObjectFactory(this));
@@ -131,6 +148,12 @@ public class NettyProducer extends DefaultAsyncProducer {
                     .withName("NettyClientTCPWorker").build();
         }
 
+        if (pool instanceof ConcurrentObjectPool) {
+            // evict channels which are no longer valid or have been idle too long every 30th second
+            final ConcurrentObjectPool<ChannelFuture> concurrentPool = (ConcurrentObjectPool<ChannelFuture>) pool;
+            poolEvictionTask = getWorkerGroup().next().scheduleAtFixedRate(concurrentPool::evict, 30, 30, TimeUnit.SECONDS);
+        }
+
         // setup pipeline factory
         ClientInitializerFactory factory = configuration.getClientInitializerFactory();
         if (factory != null) {
@@ -169,6 +192,11 @@ public class NettyProducer extends DefaultAsyncProducer {
     @Override
     protected void doStop() throws Exception {
         LOG.debug("Stopping producer at address: {}", configuration.getAddress());
+        if (poolEvictionTask != null) {
+            poolEvictionTask.cancel(false);
+            poolEvictionTask = null;
+        }
+
         // close all channels
         LOG.trace("Closing {} channels", allChannels.size());
         ChannelGroupFuture future = allChannels.close();
@@ -298,7 +326,12 @@ public class NettyProducer extends DefaultAsyncProducer {
             });
         }
 
-        if (exchange.getIn().getHeader(NettyConstants.NETTY_REQUEST_TIMEOUT) != null) {
+        // the request timeout of a multiplexed channel is tracked per correlation id by the correlation manager
+        long requestTimeout = 0;
+        if (isMultiplexed()) {
+            requestTimeout = exchange.getIn().getHeader(NettyConstants.NETTY_REQUEST_TIMEOUT,
+                    configuration.getRequestTimeout(), Long.class);
+        } else if (exchange.getIn().getHeader(NettyConstants.NETTY_REQUEST_TIMEOUT) != null) {
             long timeoutInMs = exchange.getIn().getHeader(NettyConstants.NETTY_REQUEST_TIMEOUT, Long.class);
             ChannelHandler oldHandler = channel.pipeline().get("timeout");
             ReadTimeoutHandler newHandler = new ReadTimeoutHandler(timeoutInMs, TimeUnit.MILLISECONDS);
@@ -321,7 +354,7 @@ public class NettyProducer extends DefaultAsyncProducer {
         }
 
         // setup state as attachment on the channel, so we can access the state later when needed
-        correlationManager.putState(channel, new NettyCamelState(producerCallback, exchange));
+        correlationManager.putState(channel, new NettyCamelState(producerCallback, exchange, requestTimeout));
         // here we need to setup the remote address information here
         InetSocketAddress remoteAddress = null;
         if (!isTcp()) {
@@ -616,7 +649,9 @@ public class NettyProducer extends DefaultAsyncProducer {
         public void activateObject(ChannelFuture channelFuture) {
             LOG.trace("activateObject channel request: {}", channelFuture);
 
-            if (channelFuture.isSuccess() && producer.getConfiguration().getRequestTimeout() > 0) {
+            // a multiplexed channel is shared by many requests so the timeouts are tracked per correlation id instead
+            if (channelFuture.isSuccess() && producer.getConfiguration().getRequestTimeout() > 0
+                    && !producer.isMultiplexed()) {
                 LOG.trace("reset the request timeout as we activate the channel");
                 Channel channel = channelFuture.channel();
 
@@ -31,6 +31,7 @@ import org.apache.camel.TimeoutMap;
 import org.apache.camel.TimeoutMap.Listener.Type;
 import org.apache.camel.spi.CamelLogger;
 import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.support.HashedWheelTimeoutMap;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.ObjectHelper;
@@ -55,6 +56,7 @@ public abstract class TimeoutCorrelationManagerSupport extends ServiceSupport
     private CamelContext camelContext;
     private long timeout = 30000;
     private long timeoutChecker = 1000;
+    private int timeoutWheelSize;
     private LoggingLevel timeoutLoggingLevel = LoggingLevel.DEBUG;
 
     @Override
@@ -90,6 +92,19 @@ public abstract class TimeoutCorrelationManagerSupport extends ServiceSupport
         this.timeoutChecker = timeoutChecker;
     }
 
+    public int getTimeoutWheelSize() {
+        return timeoutWheelSize;
+    }
+
+    /**
+     * If set to a positive number then a hashed timing wheel with this number of buckets is used to keep track of
+     * timeouts, instead of scanning all the pending requests every time the timeout checker runs. The timeoutChecker
+     * is used as the duration of each bucket. This is recommended when there are many concurrent requests in flight.
+     */
+    public void setTimeoutWheelSize(int timeoutWheelSize) {
+        this.timeoutWheelSize = timeoutWheelSize;
+    }
+
     public LoggingLevel getTimeoutLoggingLevel() {
         return timeoutLoggingLevel;
     }
@@ -144,7 +159,8 @@ public abstract class TimeoutCorrelationManagerSupport extends ServiceSupport
             throw new IllegalArgumentException("CorrelationID is missing");
         }
         LOG.debug("putState({}) on channel: {}", cid, channel.id());
-        map.put(cid, state, timeout);
+        // the producer can set a request timeout per exchange
+        map.put(cid, state, getTimeout(state));
     }
 
     @Override
@@ -184,7 +200,11 @@ public abstract class TimeoutCorrelationManagerSupport extends ServiceSupport
             workerPool = camelContext.getExecutorServiceManager().newDefaultThreadPool(this, "NettyTimeoutWorkerPool");
         }
 
-        map = new DefaultTimeoutMap<>(scheduledExecutorService, timeoutChecker);
+        if (timeoutWheelSize > 0) {
+            map = new HashedWheelTimeoutMap<>(scheduledExecutorService, timeoutChecker, timeoutWheelSize);
+        } else {
+            map = new DefaultTimeoutMap<>(scheduledExecutorService, timeoutChecker);
+        }
         map.addListener(this::onEviction);
 
         ServiceHelper.startService(map);
@@ -218,6 +238,10 @@ public abstract class TimeoutCorrelationManagerSupport extends ServiceSupport
         }
     }
 
+    private long getTimeout(NettyCamelState state) {
+        return state.getTimeout() > 0 ? state.getTimeout() : timeout;
+    }
+
     private void onEviction(Type type, String key, NettyCamelState value) {
         if (type != Type.Evict) {
             return;
@@ -233,7 +257,7 @@ public abstract class TimeoutCorrelationManagerSupport extends ServiceSupport
                 if (timeoutBody != null) {
                     exchange.getMessage().setBody(timeoutBody);
                 } else {
-                    exchange.setException(new ExchangeTimedOutException(exchange, timeout));
+                    exchange.setException(new ExchangeTimedOutException(exchange, getTimeout(value)));
                 }
                 callback.done(false);
             }
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty.codec;
+
+import java.io.File;
+import java.util.List;
+
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.handler.codec.MessageToMessageEncoder;
+import org.apache.camel.WrappedFile;
+
+/**
+ * Encodes file bodies which have not been encoded by any other encoder as a {@link DefaultFileRegion}, so the file is
+ * transferred to the socket without copying it into memory (zero-copy).
+ * <p/>
+ * This encoder must be added before the other encoders in the pipeline, so it sees the messages last.
+ */
+@Sharable
+public class FileRegionEncoder extends MessageToMessageEncoder<Object> {
+
+    @Override
+    public boolean acceptOutboundMessage(Object msg) throws Exception {
+        return asFile(msg) != null;
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, Object msg, List<Object> out) throws Exception {
+        File file = asFile(msg);
+        // the file is opened when the region is transferred, and closed when released
+        out.add(new DefaultFileRegion(file, 0, file.length()));
+    }
+
+    private static File asFile(Object msg) {
+        Object body = msg instanceof WrappedFile ? ((WrappedFile<?>) msg).getFile() : msg;
+        return body instanceof File ? (File) body : null;
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty;
+
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.pool.PoolableObjectFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConcurrentObjectPoolTest {
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger destroyed = new AtomicInteger();
+    private final Set<Object> invalid = ConcurrentHashMap.newKeySet();
+
+    private final PoolableObjectFactory<Object> factory = new PoolableObjectFactory<Object>() {
+        @Override
+        public Object makeObject() {
+            created.incrementAndGet();
+            return new Object();
+        }
+
+        @Override
+        public void destroyObject(Object obj) {
+            destroyed.incrementAndGet();
+        }
+
+        @Override
+        public boolean validateObject(Object obj) {
+            return !invalid.contains(obj);
+        }
+
+        @Override
+        public void activateObject(Object obj) {
+            // noop
+        }
+
+        @Override
+        public void passivateObject(Object obj) {
+            // noop
+        }
+    };
+
+    @Test
+    public void testBorrowAndReturn() throws Exception {
+        ConcurrentObjectPool<Object> pool = new ConcurrentObjectPool<>(factory, 2, 1, 0, 0);
+
+        Object one = pool.borrowObject();
+        Object two = pool.borrowObject();
+        assertEquals(2, pool.getNumActive());
+        assertThrows(NoSuchElementException.class, pool::borrowObject);
+
+        pool.returnObject(one);
+        // exceeds max idle so its destroyed
+        pool.returnObject(two);
+        assertEquals(0, pool.getNumActive());
+        assertEquals(1, pool.getNumIdle());
+        assertEquals(1, destroyed.get());
+
+        assertSame(one, pool.borrowObject());
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    public void testInvalidObjectNotBorrowed() throws Exception {
+        ConcurrentObjectPool<Object> pool = new ConcurrentObjectPool<>(factory, -1, 10, 0, 0);
+
+        Object one = pool.borrowObject();
+        pool.returnObject(one);
+        invalid.add(one);
+
+        assertNotSame(one, pool.borrowObject());
+        assertEquals(1, destroyed.get());
+    }
+
+    @Test
+    public void testEvict() throws Exception {
+        ConcurrentObjectPool<Object> pool = new ConcurrentObjectPool<>(factory, -1, 10, 1, 0);
+
+        Object one = pool.borrowObject();
+        Object two = pool.borrowObject();
+        pool.returnObject(one);
+        pool.returnObject(two);
+        invalid.add(one);
+        invalid.add(two);
+
+        pool.evict();
+        assertEquals(2, destroyed.get());
+        // creates a new idle object to keep the minimum idle
+        assertEquals(1, pool.getNumIdle());
+        assertEquals(3, created.get());
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import org.apache.camel.BindToRegistry;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangeTimedOutException;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NettyProducerPoolMultiplexedTest extends BaseNettyTest {
+
+    @BindToRegistry("myManager")
+    private final MyCorrelationManager myManager = new MyCorrelationManager();
+
+    @BindToRegistry("myTimeoutManager")
+    private final MyTimeoutCorrelationManager myTimeoutManager = new MyTimeoutCorrelationManager();
+
+    @Test
+    public void testMultiplexed() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(20);
+        // check that the request and reply are correlated correctly
+        mock.allMessages().predicate(exchange -> {
+            String request = exchange.getMessage().getHeader("request", String.class);
+            String reply = exchange.getMessage().getBody(String.class);
+            return reply.equals("Bye " + request);
+        });
+
+        for (int i = 0; i < 20; i++) {
+            template.sendBodyAndHeader("seda:start", "Message " + i, "request", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        // the concurrent requests should share at most 2 channels
+        assertTrue(myManager.channels.size() <= 2, "Should use at most 2 channels, was: " + myManager.channels.size());
+    }
+
+    @Test
+    public void testMultiplexedRequestTimeout() throws Exception {
+        // the server never replies to the slow request
+        Future<Exchange> slow = template.asyncSend("direct:timeout", exchange -> exchange.getIn().setBody("Slow"));
+
+        // the other requests on the same channel must not be affected by the timeout of the slow request
+        for (int i = 0; i < 5; i++) {
+            assertEquals("Bye Message " + i, template.requestBody("direct:timeout", "Message " + i, String.class));
+        }
+
+        Exchange exchange = slow.get(10, TimeUnit.SECONDS);
+        assertTrue(exchange.getException() instanceof ExchangeTimedOutException,
+                "Should time out, was: " + exchange.getException());
+        assertEquals("Bye Message 5", template.requestBody("direct:timeout", "Message 5", String.class));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:start?concurrentConsumers=10")
+                        .to("netty:tcp://localhost:{{port}}?textline=true&sync=true&producerPoolMultiplexed=true"
+                            + "&producerPoolMaxActive=2&correlationManager=#myManager")
+                        .to("mock:result");
+
+                from("direct:timeout")
+                        .to("netty:tcp://localhost:{{port}}?textline=true&sync=true&producerPoolMultiplexed=true"
+                            + "&producerPoolMaxActive=1&requestTimeout=1000&correlationManager=#myTimeoutManager");
+
+                from("netty:tcp://localhost:{{port}}?textline=true&sync=true&disconnectOnNoReply=false")
+                        .choice()
+                            .when(body().isEqualTo("Slow")).setBody(constant(null))
+                            .otherwise().transform(body().prepend("Bye "));
+            }
+        };
+    }
+
+    private static final class MyCorrelationManager implements NettyCamelStateCorrelationManager {
+
+        private final Map<String, NettyCamelState> states = new ConcurrentHashMap<>();
+        private final Set<Channel> channels = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void putState(Channel channel, NettyCamelState state) {
+            channels.add(channel);
+            states.put(state.getExchange().getMessage().getBody(String.class), state);
+        }
+
+        @Override
+        public void removeState(ChannelHandlerContext ctx, Channel channel) {
+            // noop
+        }
+
+        @Override
+        public NettyCamelState getState(ChannelHandlerContext ctx, Channel channel, Object msg) {
+            // the reply is the request prepended with Bye
+            return states.remove(msg.toString().substring(4));
+        }
+
+        @Override
+        public NettyCamelState getState(ChannelHandlerContext ctx, Channel channel, Throwable cause) {
+            // noop
+            return null;
+        }
+    }
+
+    private static final class MyTimeoutCorrelationManager extends TimeoutCorrelationManagerSupport {
+
+        private MyTimeoutCorrelationManager() {
+            setTimeoutChecker(100);
+        }
+
+        @Override
+        public String getRequestCorrelationId(Object request) {
+            return request.toString();
+        }
+
+        @Override
+        public String getResponseCorrelationId(Object response) {
+            // the reply is the request prepended with Bye
+            return response.toString().substring(4);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty;
+
+import org.apache.camel.BindToRegistry;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangeTimedOutException;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NettyTimeoutCorrelationManagerWheelTest extends BaseNettyTest {
+
+    @BindToRegistry("myManager")
+    private final MyCorrelationManager myManager = new MyCorrelationManager();
+
+    @Test
+    public void testRequestTimeoutWithSmallWheel() throws Exception {
+        // the timeout is longer than one round of the wheel (4 buckets of 100 millis)
+        long start = System.currentTimeMillis();
+        Exchange exchange = template.request("direct:start", e -> e.getIn().setBody("Slow"));
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertTrue(exchange.getException() instanceof ExchangeTimedOutException,
+                "Should time out, was: " + exchange.getException());
+        assertTrue(elapsed >= 900, "Should not time out before one second, was: " + elapsed);
+    }
+
+    @Test
+    public void testRepliesWithSmallWheel() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("Bye Message " + i, template.requestBody("direct:start", "Message " + i, String.class));
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                        .to("netty:tcp://localhost:{{port}}?textline=true&sync=true&correlationManager=#myManager");
+
+                from("netty:tcp://localhost:{{port}}?textline=true&sync=true&disconnectOnNoReply=false")
+                        .choice()
+                            .when(body().isEqualTo("Slow")).setBody(constant(null))
+                            .otherwise().transform(body().prepend("Bye "));
+            }
+        };
+    }
+
+    private static final class MyCorrelationManager extends TimeoutCorrelationManagerSupport {
+
+        private MyCorrelationManager() {
+            setTimeout(1000);
+            setTimeoutChecker(100);
+            setTimeoutWheelSize(4);
+        }
+
+        @Override
+        public String getRequestCorrelationId(Object request) {
+            return request.toString();
+        }
+
+        @Override
+        public String getResponseCorrelationId(Object response) {
+            // the reply is the request prepended with Bye
+            return response.toString().substring(4);
+        }
+    }
+}
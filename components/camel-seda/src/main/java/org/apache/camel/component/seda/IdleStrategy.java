@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Strategy used by {@link RingBufferBlockingQueue} while a producer waits for free space or a consumer waits for new
+ * elements.
+ */
+public enum IdleStrategy {
+
+    /**
+     * Spins in a busy loop, which gives the lowest latency but burns a CPU core per waiting thread.
+     */
+    BusySpin {
+        @Override
+        public void idle(int attempt) {
+            // noop
+        }
+    },
+    /**
+     * Yields the CPU to other threads in between the attempts.
+     */
+    Yield {
+        @Override
+        public void idle(int attempt) {
+            Thread.yield();
+        }
+    },
+    /**
+     * Parks the thread for a short while in between the attempts.
+     */
+    Park {
+        @Override
+        public void idle(int attempt) {
+            LockSupport.parkNanos(MIN_PARK_NANOS);
+        }
+    },
+    /**
+     * Spins at first, then yields, and then parks the thread with an increasing period of up to 1 millis.
+     */
+    Backoff {
+        @Override
+        public void idle(int attempt) {
+            if (attempt < MAX_SPINS) {
+                // noop
+            } else if (attempt < MAX_SPINS + MAX_YIELDS) {
+                Thread.yield();
+            } else {
+                int shift = Math.min(attempt - MAX_SPINS - MAX_YIELDS, 10);
+                LockSupport.parkNanos(Math.min(MIN_PARK_NANOS << shift, MAX_PARK_NANOS));
+            }
+        }
+    };
+
+    private static final int MAX_SPINS = 100;
+    private static final int MAX_YIELDS = 100;
+    private static final long MIN_PARK_NANOS = 1000;
+    private static final long MAX_PARK_NANOS = 1000000;
+
+    /**
+     * Idles the current thread.
+     *
+     * @param attempt the number of attempts the current thread has already been idle (starting from 0)
+     */
+    public abstract void idle(int attempt);
+}
@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded {@link BlockingQueue} backed by a lock-free multi-producer multi-consumer ring buffer.
+ * <p/>
+ * Each slot of the ring buffer has a sequence number, which tells the producers and consumers whether the slot is free
+ * or holds an element. A producer or consumer claims a slot with a single compare-and-set on the tail or head counter,
+ * so there is no lock taken on {@link #offer(Object)} and {@link #poll()}, which would otherwise be contended by the
+ * producers and consumers of a busy SEDA queue. The blocking methods use the configured {@link IdleStrategy} while
+ * waiting for free space or new elements.
+ * <p/>
+ * The capacity is rounded up to the next power of two. Removing an arbitrary element with {@link #remove(Object)} only
+ * marks its slot as removed, and the slot is released when a consumer reaches it. Until then the removed element still
+ * takes room in the ring buffer and is counted by {@link #size()}. The iterator is a weakly consistent snapshot of the
+ * elements.
+ *
+ * @param <E> Element type, usually {@link org.apache.camel.Exchange}
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    /**
+     * The maximum capacity of the ring buffer
+     */
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    // marks the slot of an element removed by remove(Object), which is skipped by the consumers
+    private static final Object REMOVED = new Object();
+
+    private final AtomicReferenceArray<Object> buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final IdleStrategy idleStrategy;
+    // the next position to poll from
+    private final AtomicLong head = new AtomicLong();
+    // the next position to offer to
+    private final AtomicLong tail = new AtomicLong();
+
+    public RingBufferBlockingQueue(int capacity) {
+        this(capacity, IdleStrategy.Backoff);
+    }
+
+    public RingBufferBlockingQueue(int capacity, IdleStrategy idleStrategy) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY + ", was: " + capacity);
+        }
+        if (idleStrategy == null) {
+            throw new IllegalArgumentException("IdleStrategy must be specified");
+        }
+        // the slot sequences require at least two slots
+        int size = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.idleStrategy = idleStrategy;
+    }
+
+    public int getCapacity() {
+        return buffer.length();
+    }
+
+    public IdleStrategy getIdleStrategy() {
+        return idleStrategy;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        long pos = tail.get();
+        for (;;) {
+            int index = (int) pos & mask;
+            long dif = sequences.get(index) - pos;
+            if (dif == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer.lazySet(index, e);
+                    // publish the element to the consumers
+                    sequences.lazySet(index, pos + 1);
+                    return true;
+                }
+            } else if (dif < 0) {
+                // the slot has not been consumed yet so the ring buffer is full
+                return false;
+            }
+            pos = tail.get();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long pos = head.get();
+        for (;;) {
+            int index = (int) pos & mask;
+            long dif = sequences.get(index) - (pos + 1);
+            if (dif == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    Object answer = buffer.getAndSet(index, null);
+                    // release the slot to the producers of the next lap
+                    sequences.lazySet(index, pos + mask + 1);
+                    if (answer != REMOVED) {
+                        return (E) answer;
+                    }
+                }
+            } else if (dif < 0) {
+                // the slot has not been published yet so the ring buffer is empty
+                return null;
+            }
+            pos = head.get();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        for (;;) {
+            long pos = head.get();
+            int index = (int) pos & mask;
+            if (sequences.get(index) != pos + 1) {
+                return null;
+            }
+            Object answer = buffer.get(index);
+            if (answer == REMOVED) {
+                // release the slot of the removed element like a consumer would
+                if (head.compareAndSet(pos, pos + 1)) {
+                    buffer.set(index, null);
+                    sequences.lazySet(index, pos + mask + 1);
+                }
+            } else if (answer != null && head.get() == pos) {
+                return (E) answer;
+            }
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        int attempt = 0;
+        while (!offer(e)) {
+            checkInterrupted();
+            attempt = idle(attempt);
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempt = 0;
+        while (!offer(e)) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            checkInterrupted();
+            attempt = idle(attempt);
+        }
+        return true;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        int attempt = 0;
+        E answer;
+        while ((answer = poll()) == null) {
+            checkInterrupted();
+            attempt = idle(attempt);
+        }
+        return answer;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempt = 0;
+        E answer;
+        while ((answer = poll()) == null) {
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            checkInterrupted();
+            attempt = idle(attempt);
+        }
+        return answer;
+    }
+
+    @Override
+    public int size() {
+        for (;;) {
+            long before = head.get();
+            long end = tail.get();
+            long after = head.get();
+            if (before == after) {
+                return (int) Math.max(0, Math.min(end - after, buffer.length()));
+            }
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return buffer.length() - size();
+    }
+
+    /**
+     * Removes a single instance of the element, by marking its slot as removed. The slot is released when a consumer
+     * reaches it, so the removed element is counted by {@link #size()} until then.
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        long end = tail.get();
+        for (long pos = head.get(); pos < end; pos++) {
+            int index = (int) pos & mask;
+            if (sequences.get(index) == pos + 1) {
+                Object e = buffer.get(index);
+                // the element is only removed if it has not been polled meanwhile
+                if (e != null && e != REMOVED && o.equals(e) && buffer.compareAndSet(index, e, REMOVED)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == null) {
+            throw new NullPointerException();
+        }
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain the queue to itself");
+        }
+        int answer = 0;
+        E e;
+        while (answer < maxElements && (e = poll()) != null) {
+            c.add(e);
+            answer++;
+        }
+        return answer;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        List<E> answer = new ArrayList<>();
+        long end = tail.get();
+        for (long pos = head.get(); pos < end; pos++) {
+            int index = (int) pos & mask;
+            long sequence = sequences.get(index);
+            if (sequence == pos + 1) {
+                Object e = buffer.get(index);
+                // only include the element if it was not polled or removed meanwhile
+                if (e != null && e != REMOVED && sequences.get(index) == sequence) {
+                    answer.add((E) e);
+                }
+            }
+        }
+        return Collections.unmodifiableList(answer).iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "RingBufferBlockingQueue[capacity=" + buffer.length() + ", size=" + size() + ", idleStrategy=" + idleStrategy
+               + "]";
+    }
+
+    private int idle(int attempt) {
+        idleStrategy.idle(attempt);
+        return attempt == Integer.MAX_VALUE ? attempt : attempt + 1;
+    }
+
+    private static void checkInterrupted() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
@@ -55,10 +56,15 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
     private volatile boolean forceShutdown;
     private ExecutorService executor;
     private final int pollTimeout;
+    private final int maxMessagesPerPoll;
+    // the exchanges drained from the queue which are not yet being processed
+    private final AtomicInteger drainedCount = new AtomicInteger();
 
     public SedaConsumer(SedaEndpoint endpoint, Processor processor) {
         super(endpoint, processor);
         this.pollTimeout = endpoint.getPollTimeout();
+        int max = endpoint.getMaxMessagesPerPoll();
+        this.maxMessagesPerPoll = max > 0 ? max : Integer.MAX_VALUE;
     }
 
     @Override
@@ -80,7 +86,7 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
         if (getEndpoint().isPurgeWhenStopping()) {
             getEndpoint().purgeQueue();
         }
-        return getEndpoint().getQueue().size();
+        return getEndpoint().getQueue().size() + drainedCount.get();
     }
 
     @Override
@@ -137,6 +143,8 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
 
     protected void doRun() {
         BlockingQueue<Exchange> queue = getEndpoint().getQueue();
+        // the exchanges drained from the queue in a single poll (only used in batch mode)
+        List<Exchange> batch = maxMessagesPerPoll > 1 ? new ArrayList<>() : null;
         // loop while we are allowed, or if we are stopping loop until the queue is empty
         while (queue != null && isRunAllowed()) {
 
@@ -180,25 +188,31 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
                             exchange);
                 }
                 if (exchange != null) {
-                    try {
-                        // send a new copied exchange with new camel context
-                        Exchange newExchange = prepareExchange(exchange);
-                        // process the exchange
-                        sendToConsumers(newExchange);
-                        // copy the message back
-                        if (newExchange.hasOut()) {
-                            exchange.setOut(newExchange.getOut().copy());
-                        } else {
-                            exchange.setIn(newExchange.getIn());
-                        }
-                        // log exception if an exception occurred and was not handled
-                        if (newExchange.getException() != null) {
-                            exchange.setException(newExchange.getException());
-                            getExceptionHandler().handleException("Error processing exchange", exchange,
-                                    exchange.getException());
+                    if (batch == null) {
+                        processPolledExchange(exchange, -1, 0);
+                    } else {
+                        // drain the other exchanges which are available at once to reduce contention on the queue
+                        batch.add(exchange);
+                        queue.drainTo(batch, maxMessagesPerPoll - 1);
+                        int total = batch.size();
+                        LOG.trace("Drained {} exchanges from queue {}", total, ObjectHelper.getIdentityHashCode(queue));
+                        // the drained exchanges are pending until they are processed (then they are inflight)
+                        drainedCount.addAndGet(total - 1);
+                        int index = 0;
+                        try {
+                            for (; index < total; index++) {
+                                exchange = batch.get(index);
+                                if (index > 0) {
+                                    drainedCount.decrementAndGet();
+                                }
+                                processPolledExchange(exchange, index, total);
+                            }
+                        } finally {
+                            if (index < total - 1) {
+                                drainedCount.addAndGet(index - total + 1);
+                            }
+                            batch.clear();
                         }
-                    } catch (Exception e) {
-                        getExceptionHandler().handleException("Error processing exchange", exchange, e);
                     }
                 } else if (shutdownPending && queue.isEmpty()) {
                     LOG.trace("Shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
@@ -218,6 +232,42 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
         }
     }
 
+    /**
+     * Processes the exchange polled from the queue, and copies the result back to the exchange on the queue.
+     *
+     * @param exchange the exchange polled from the queue
+     * @param index    the index of the exchange in the batch, or <tt>-1</tt> if not polled as a batch
+     * @param total    the total number of exchanges in the batch
+     */
+    private void processPolledExchange(Exchange exchange, int index, int total) {
+        try {
+            // send a new copied exchange with new camel context
+            Exchange newExchange = prepareExchange(exchange);
+            if (index >= 0) {
+                // set the batch properties like the batch consumers do
+                newExchange.setProperty(Exchange.BATCH_INDEX, index);
+                newExchange.setProperty(Exchange.BATCH_SIZE, total);
+                newExchange.setProperty(Exchange.BATCH_COMPLETE, index == total - 1);
+            }
+            // process the exchange
+            sendToConsumers(newExchange);
+            // copy the message back
+            if (newExchange.hasOut()) {
+                exchange.setOut(newExchange.getOut().copy());
+            } else {
+                exchange.setIn(newExchange.getIn());
+            }
+            // log exception if an exception occurred and was not handled
+            if (newExchange.getException() != null) {
+                exchange.setException(newExchange.getException());
+                getExceptionHandler().handleException("Error processing exchange", exchange,
+                        exchange.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", exchange, e);
+        }
+    }
+
     /**
      * Strategy to prepare exchange for being processed by this consumer
      *
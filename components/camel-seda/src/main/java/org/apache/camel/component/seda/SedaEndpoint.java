@@ -70,7 +70,7 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     @Metadata(required = true)
     private String name;
     @UriParam(label = "advanced", description = "Define the queue instance which will be used by the endpoint")
-    private BlockingQueue queue;
+    private volatile BlockingQueue queue;
     @UriParam(defaultValue = "" + SedaConstants.QUEUE_SIZE)
     private int size = SedaConstants.QUEUE_SIZE;
 
@@ -84,6 +84,8 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     private boolean purgeWhenStopping;
     @UriParam(label = "consumer,advanced", defaultValue = "1000")
     private int pollTimeout = 1000;
+    @UriParam(label = "consumer,advanced", defaultValue = "1")
+    private int maxMessagesPerPoll = 1;
 
     @UriParam(label = "producer", defaultValue = "IfReplyExpected")
     private WaitForTaskToComplete waitForTaskToComplete = WaitForTaskToComplete.IfReplyExpected;
@@ -174,7 +176,16 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         return answer;
     }
 
-    public synchronized BlockingQueue<Exchange> getQueue() {
+    public BlockingQueue<Exchange> getQueue() {
+        // fast path without locking as the queue is used by the consumers and producers for every exchange
+        BlockingQueue<Exchange> answer = queue;
+        if (answer != null) {
+            return answer;
+        }
+        return doGetQueue();
+    }
+
+    private synchronized BlockingQueue<Exchange> doGetQueue() {
         if (queue == null) {
             // prefer to lookup queue from component, so if this endpoint is re-created or re-started
             // then the existing queue from the component can be used, so new producers and consumers
@@ -219,7 +230,18 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         return ref;
     }
 
-    protected synchronized AsyncProcessor getConsumerMulticastProcessor() throws Exception {
+    protected AsyncProcessor getConsumerMulticastProcessor() throws Exception {
+        // fast path without locking when the multicast processor has been started
+        if (multicastStarted) {
+            AsyncProcessor answer = consumerMulticastProcessor;
+            if (answer != null) {
+                return answer;
+            }
+        }
+        return doGetConsumerMulticastProcessor();
+    }
+
+    private synchronized AsyncProcessor doGetConsumerMulticastProcessor() throws Exception {
         if (!multicastStarted && consumerMulticastProcessor != null) {
             // only start it on-demand to avoid starting it during stopping
             ServiceHelper.startService(consumerMulticastProcessor);
@@ -234,7 +256,8 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
             return;
         }
 
-        // stop old before we create a new
+        // stop old before we create a new (and ensure consumers no longer use the old)
+        multicastStarted = false;
         if (consumerMulticastProcessor != null) {
             ServiceHelper.stopService(consumerMulticastProcessor);
             consumerMulticastProcessor = null;
@@ -253,8 +276,6 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
                 processors.add(consumer.getProcessor());
             }
             // create multicast processor
-            multicastStarted = false;
-
             consumerMulticastProcessor = (AsyncProcessor) getCamelContext().adapt(ExtendedCamelContext.class)
                     .getProcessorFactory().createProcessor(getCamelContext(), "MulticastProcessor",
                             new Object[] { processors, multicastExecutor, false });
@@ -440,6 +461,22 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         this.pollTimeout = pollTimeout;
     }
 
+    @ManagedAttribute
+    public int getMaxMessagesPerPoll() {
+        return maxMessagesPerPoll;
+    }
+
+    /**
+     * The maximum number of messages the consumer takes from the queue at each poll. The consumer waits for the first
+     * message, and then drains the other messages which are available on the queue at once, which reduces the contention
+     * on the queue. The messages are processed one by one as a batch, with the batch properties (CamelBatchIndex,
+     * CamelBatchSize and CamelBatchComplete) set on the exchanges. Use 0 or a negative number to take all the messages
+     * available on the queue. Is default 1 which takes one message at a time.
+     */
+    public void setMaxMessagesPerPoll(int maxMessagesPerPoll) {
+        this.maxMessagesPerPoll = maxMessagesPerPoll;
+    }
+
     @ManagedAttribute
     public boolean isPurgeWhenStopping() {
         return purgeWhenStopping;
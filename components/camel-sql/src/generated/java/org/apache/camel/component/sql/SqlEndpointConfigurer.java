@@ -25,6 +25,10 @@ public class SqlEndpointConfigurer extends PropertyConfigurerSupport implements
         case "allowNamedParameters": target.setAllowNamedParameters(property(camelContext, boolean.class, value)); return true;
         case "alwayspopulatestatement":
         case "alwaysPopulateStatement": target.setAlwaysPopulateStatement(property(camelContext, boolean.class, value)); return true;
+        case "autobatchsize":
+        case "autoBatchSize": target.setAutoBatchSize(property(camelContext, int.class, value)); return true;
+        case "autobatchtimeout":
+        case "autoBatchTimeout": target.setAutoBatchTimeout(property(camelContext, long.class, value)); return true;
         case "backofferrorthreshold":
         case "backoffErrorThreshold": target.setBackoffErrorThreshold(property(camelContext, int.class, value)); return true;
         case "backoffidlethreshold":
@@ -92,6 +96,8 @@ public class SqlEndpointConfigurer extends PropertyConfigurerSupport implements
         case "separator": target.setSeparator(property(camelContext, char.class, value)); return true;
         case "startscheduler":
         case "startScheduler": target.setStartScheduler(property(camelContext, boolean.class, value)); return true;
+        case "streamlistchunksize":
+        case "streamListChunkSize": target.setStreamListChunkSize(property(camelContext, int.class, value)); return true;
         case "synchronous": target.setSynchronous(property(camelContext, boolean.class, value)); return true;
         case "templateoptions":
         case "templateOptions": target.setTemplateOptions(property(camelContext, java.util.Map.class, value)); return true;
@@ -117,6 +123,10 @@ public class SqlEndpointConfigurer extends PropertyConfigurerSupport implements
         case "allowNamedParameters": return boolean.class;
         case "alwayspopulatestatement":
         case "alwaysPopulateStatement": return boolean.class;
+        case "autobatchsize":
+        case "autoBatchSize": return int.class;
+        case "autobatchtimeout":
+        case "autoBatchTimeout": return long.class;
         case "backofferrorthreshold":
         case "backoffErrorThreshold": return int.class;
         case "backoffidlethreshold":
@@ -184,6 +194,8 @@ public class SqlEndpointConfigurer extends PropertyConfigurerSupport implements
         case "separator": return char.class;
         case "startscheduler":
         case "startScheduler": return boolean.class;
+        case "streamlistchunksize":
+        case "streamListChunkSize": return int.class;
         case "synchronous": return boolean.class;
         case "templateoptions":
         case "templateOptions": return java.util.Map.class;
@@ -210,6 +222,10 @@ public class SqlEndpointConfigurer extends PropertyConfigurerSupport implements
         case "allowNamedParameters": return target.isAllowNamedParameters();
         case "alwayspopulatestatement":
         case "alwaysPopulateStatement": return target.isAlwaysPopulateStatement();
+        case "autobatchsize":
+        case "autoBatchSize": return target.getAutoBatchSize();
+        case "autobatchtimeout":
+        case "autoBatchTimeout": return target.getAutoBatchTimeout();
         case "backofferrorthreshold":
         case "backoffErrorThreshold": return target.getBackoffErrorThreshold();
         case "backoffidlethreshold":
@@ -277,6 +293,8 @@ public class SqlEndpointConfigurer extends PropertyConfigurerSupport implements
         case "separator": return target.getSeparator();
         case "startscheduler":
         case "startScheduler": return target.isStartScheduler();
+        case "streamlistchunksize":
+        case "streamListChunkSize": return target.getStreamListChunkSize();
         case "synchronous": return target.isSynchronous();
         case "templateoptions":
         case "templateOptions": return target.getTemplateOptions();
@@ -20,7 +20,7 @@ public class SqlEndpointUriFactory extends org.apache.camel.support.component.En
     private static final Set<String> PROPERTY_NAMES;
     private static final Set<String> SECRET_PROPERTY_NAMES;
     static {
-        Set<String> props = new HashSet<>(48);
+        Set<String> props = new HashSet<>(51);
         props.add("backoffMultiplier");
         props.add("breakBatchOnConsumeFail");
         props.add("onConsume");
@@ -67,6 +67,9 @@ public class SqlEndpointUriFactory extends org.apache.camel.support.component.En
         props.add("startScheduler");
         props.add("expectedUpdateCount");
         props.add("outputClass");
+        props.add("streamListChunkSize");
+        props.add("autoBatchSize");
+        props.add("autoBatchTimeout");
         props.add("dataSource");
         props.add("exceptionHandler");
         PROPERTY_NAMES = Collections.unmodifiableSet(props);
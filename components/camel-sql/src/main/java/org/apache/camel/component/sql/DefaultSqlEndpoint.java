@@ -103,10 +103,25 @@ public abstract class DefaultSqlEndpoint extends DefaultPollingEndpoint {
     private SqlOutputType outputType = SqlOutputType.SelectList;
     @UriParam(description = "Specify the full package and class name to use as conversion when outputType=SelectOne.")
     private String outputClass;
+    @UriParam(label = "producer",
+              description = "If set greater than zero, then the rows of outputType=StreamList are grouped into a List of this number of rows,"
+                            + " so the Splitter EIP in streaming mode processes the ResultSet in chunks instead of row by row."
+                            + " Use the template.fetchSize option to control how many rows the JDBC driver fetches from the database at once.")
+    private int streamListChunkSize;
     @UriParam(label = "advanced",
               description = "If set greater than zero, then Camel will use this count value of parameters to replace instead of"
                             + " querying via JDBC metadata API. This is useful if the JDBC vendor could not return correct parameters count, then user may override instead.")
     private int parametersCount;
+    @UriParam(label = "producer",
+              description = "If set greater than zero, then the producer collects the exchanges which are sent concurrently to the same SQL"
+                            + " statement, and executes them together as one JDBC batch when this number of exchanges has been collected, or"
+                            + " the autoBatchTimeout has elapsed. Each exchange gets its own update count or error. This is intended for"
+                            + " insert, update and delete statements, and cannot be used together with batch=true, outputType=StreamList or"
+                            + " transactions.")
+    private int autoBatchSize;
+    @UriParam(label = "producer", defaultValue = "10",
+              description = "The maximum time in millis an exchange waits for its batch to be executed when using autoBatchSize.")
+    private long autoBatchTimeout = 10;
     @UriParam(label = "producer",
               description = "If set, will ignore the results of the SQL query and use the existing IN message as the OUT message for the continuation of processing")
     private boolean noop;
@@ -319,6 +334,44 @@ public abstract class DefaultSqlEndpoint extends DefaultPollingEndpoint {
         this.parametersCount = parametersCount;
     }
 
+    public int getStreamListChunkSize() {
+        return streamListChunkSize;
+    }
+
+    /**
+     * If set greater than zero, then the rows of outputType=StreamList are grouped into a List of this number of rows,
+     * so the Splitter EIP in streaming mode processes the ResultSet in chunks instead of row by row. Use the
+     * template.fetchSize option to control how many rows the JDBC driver fetches from the database at once.
+     */
+    public void setStreamListChunkSize(int streamListChunkSize) {
+        this.streamListChunkSize = streamListChunkSize;
+    }
+
+    public int getAutoBatchSize() {
+        return autoBatchSize;
+    }
+
+    /**
+     * If set greater than zero, then the producer collects the exchanges which are sent concurrently to the same SQL
+     * statement, and executes them together as one JDBC batch when this number of exchanges has been collected, or the
+     * autoBatchTimeout has elapsed. Each exchange gets its own update count or error. This is intended for insert,
+     * update and delete statements, and cannot be used together with batch=true, outputType=StreamList or transactions.
+     */
+    public void setAutoBatchSize(int autoBatchSize) {
+        this.autoBatchSize = autoBatchSize;
+    }
+
+    public long getAutoBatchTimeout() {
+        return autoBatchTimeout;
+    }
+
+    /**
+     * The maximum time in millis an exchange waits for its batch to be executed when using autoBatchSize.
+     */
+    public void setAutoBatchTimeout(long autoBatchTimeout) {
+        this.autoBatchTimeout = autoBatchTimeout;
+    }
+
     public boolean isNoop() {
         return noop;
     }
@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.sql;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+
+/**
+ * Collects the exchanges which are sent concurrently to the same SQL statement, and executes them together as one JDBC
+ * batch when the batch is full or the timeout has elapsed. Each exchange is completed with its own update count or
+ * error.
+ */
+final class SqlAutoBatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SqlAutoBatcher.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlPrepareStatementStrategy sqlPrepareStatementStrategy;
+    private final boolean useMessageBodyForSql;
+    private final boolean alwaysPopulateStatement;
+    private final int parametersCount;
+    private final int batchSize;
+    private final long timeout;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService executorService;
+    // the batches being collected by their prepared query
+    private final Map<String, Batch> batches = new HashMap<>();
+
+    SqlAutoBatcher(JdbcTemplate jdbcTemplate, SqlPrepareStatementStrategy sqlPrepareStatementStrategy,
+                   boolean useMessageBodyForSql, boolean alwaysPopulateStatement, int parametersCount,
+                   int batchSize, long timeout, ScheduledExecutorService scheduler, ExecutorService executorService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sqlPrepareStatementStrategy = sqlPrepareStatementStrategy;
+        this.useMessageBodyForSql = useMessageBodyForSql;
+        this.alwaysPopulateStatement = alwaysPopulateStatement;
+        this.parametersCount = parametersCount;
+        this.batchSize = batchSize;
+        this.timeout = timeout;
+        this.scheduler = scheduler;
+        this.executorService = executorService;
+    }
+
+    /**
+     * Adds the exchange to the batch of its statement. The batch is executed by the calling thread if it is full, and
+     * otherwise by the executor service when the timeout has elapsed. The scheduler only triggers the timeout, so a slow
+     * batch does not hold back the timeouts of the other batches.
+     */
+    void add(String sql, String preparedQuery, Exchange exchange, AsyncCallback callback) {
+        Batch full = null;
+        synchronized (batches) {
+            Batch batch = batches.get(preparedQuery);
+            if (batch == null) {
+                batch = new Batch(sql, preparedQuery);
+                batches.put(preparedQuery, batch);
+                final Batch timed = batch;
+                batch.future = scheduler.schedule(() -> flush(timed), timeout, TimeUnit.MILLISECONDS);
+            }
+            batch.entries.add(new Entry(exchange, callback));
+            if (batch.entries.size() >= batchSize) {
+                batches.remove(preparedQuery);
+                batch.future.cancel(false);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            execute(full);
+        }
+    }
+
+    /**
+     * Executes all the batches being collected
+     */
+    void flushAll() {
+        List<Batch> pending;
+        synchronized (batches) {
+            pending = new ArrayList<>(batches.values());
+            batches.clear();
+        }
+        for (Batch batch : pending) {
+            batch.future.cancel(false);
+            execute(batch);
+        }
+    }
+
+    private void flush(Batch batch) {
+        synchronized (batches) {
+            if (!batches.remove(batch.preparedQuery, batch)) {
+                // the batch was full and has already been executed
+                return;
+            }
+        }
+        try {
+            executorService.execute(() -> execute(batch));
+        } catch (RejectedExecutionException e) {
+            // the executor service is shutting down, so execute the batch by the scheduler thread
+            LOG.debug("Executing batch by the scheduler thread as the executor service rejected it: {}", e.getMessage());
+            execute(batch);
+        }
+    }
+
+    private void execute(Batch batch) {
+        LOG.debug("Executing batch of {} exchanges: {}", batch.entries.size(), batch.preparedQuery);
+        List<Entry> pending = batch.entries;
+        while (!pending.isEmpty()) {
+            pending = executeBatch(batch, pending);
+        }
+    }
+
+    /**
+     * Executes the entries as a JDBC batch and completes them.
+     *
+     * @return the entries which have not been executed as the driver stopped at a failed entry, which should be
+     *         executed in a new batch
+     */
+    private List<Entry> executeBatch(Batch batch, List<Entry> entries) {
+        List<Entry> added = new ArrayList<>(entries.size());
+        List<Entry> skipped = new ArrayList<>();
+        BatchUpdateException[] failure = new BatchUpdateException[1];
+        int[] counts;
+        try {
+            counts = jdbcTemplate.execute(batch.preparedQuery, new PreparedStatementCallback<int[]>() {
+                public int[] doInPreparedStatement(PreparedStatement ps) throws SQLException {
+                    int expected = parametersCount > 0 ? parametersCount : ps.getParameterMetaData().getParameterCount();
+                    for (Entry entry : entries) {
+                        if (populateStatement(batch, ps, expected, entry)) {
+                            ps.addBatch();
+                            added.add(entry);
+                        } else {
+                            skipped.add(entry);
+                        }
+                    }
+                    if (added.isEmpty()) {
+                        return new int[0];
+                    }
+                    try {
+                        return ps.executeBatch();
+                    } catch (BatchUpdateException e) {
+                        failure[0] = e;
+                        return e.getUpdateCounts() != null ? e.getUpdateCounts() : new int[0];
+                    }
+                }
+            });
+        } catch (Exception e) {
+            // the batch could not be executed at all
+            for (Entry entry : entries) {
+                if (entry.exchange.getException() == null) {
+                    entry.exchange.setException(e);
+                }
+                entry.done();
+            }
+            return Collections.emptyList();
+        }
+
+        Exception cause = failure[0] != null
+                ? jdbcTemplate.getExceptionTranslator().translate("executeBatch", batch.preparedQuery, failure[0]) : null;
+        List<Entry> remaining = Collections.emptyList();
+        for (int i = 0; i < added.size(); i++) {
+            Entry entry = added.get(i);
+            if (i < counts.length) {
+                if (counts[i] == Statement.EXECUTE_FAILED) {
+                    entry.exchange.setException(cause);
+                } else {
+                    entry.exchange.getIn().setHeader(SqlConstants.SQL_UPDATE_COUNT, counts[i]);
+                }
+            } else if (cause == null) {
+                // the driver did not report the update count
+                entry.exchange.getIn().setHeader(SqlConstants.SQL_UPDATE_COUNT, Statement.SUCCESS_NO_INFO);
+            } else if (i == counts.length) {
+                // the driver stopped processing the batch at this entry
+                entry.exchange.setException(cause);
+            } else {
+                // not executed so try again in a new batch
+                if (remaining.isEmpty()) {
+                    remaining = new ArrayList<>();
+                }
+                remaining.add(entry);
+                continue;
+            }
+            entry.done();
+        }
+        // the entries which could not be populated have already failed
+        for (Entry entry : skipped) {
+            entry.done();
+        }
+        return remaining;
+    }
+
+    private boolean populateStatement(Batch batch, PreparedStatement ps, int expected, Entry entry) {
+        Exchange exchange = entry.exchange;
+        try {
+            // only populate if really needed
+            if (alwaysPopulateStatement || expected > 0) {
+                Object value;
+                if (useMessageBodyForSql) {
+                    value = exchange.getIn().getHeader(SqlConstants.SQL_PARAMETERS);
+                } else {
+                    value = exchange.getIn().getBody();
+                }
+                Iterator<?> i = sqlPrepareStatementStrategy.createPopulateIterator(batch.sql, batch.preparedQuery, expected,
+                        exchange, value);
+                sqlPrepareStatementStrategy.populateStatement(ps, i, expected);
+            }
+            return true;
+        } catch (Exception e) {
+            // fail only this exchange and continue with the rest of the batch
+            exchange.setException(e);
+            try {
+                ps.clearParameters();
+            } catch (SQLException ex) {
+                LOG.debug("Error clearing parameters due {}. This exception is ignored.", ex.getMessage(), ex);
+            }
+            return false;
+        }
+    }
+
+    private static final class Batch {
+        private final String sql;
+        private final String preparedQuery;
+        private final List<Entry> entries = new ArrayList<>();
+        private ScheduledFuture<?> future;
+
+        private Batch(String sql, String preparedQuery) {
+            this.sql = sql;
+            this.preparedQuery = preparedQuery;
+        }
+    }
+
+    private static final class Entry {
+        private final Exchange exchange;
+        private final AsyncCallback callback;
+
+        private Entry(Exchange exchange, AsyncCallback callback) {
+            this.exchange = exchange;
+            this.callback = callback;
+        }
+
+        private void done() {
+            callback.done(false);
+        }
+    }
+
+}
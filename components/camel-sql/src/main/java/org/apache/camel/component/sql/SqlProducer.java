@@ -25,11 +25,18 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 
+import org.apache.camel.AsyncCallback;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExtendedExchange;
-import org.apache.camel.support.DefaultProducer;
+import org.apache.camel.spi.ExecutorServiceManager;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.support.DefaultAsyncProducer;
+import org.apache.camel.support.GroupIterator;
 import org.apache.camel.support.ResourceHelper;
+import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -40,7 +47,7 @@ import static org.springframework.jdbc.support.JdbcUtils.closeConnection;
 import static org.springframework.jdbc.support.JdbcUtils.closeResultSet;
 import static org.springframework.jdbc.support.JdbcUtils.closeStatement;
 
-public class SqlProducer extends DefaultProducer {
+public class SqlProducer extends DefaultAsyncProducer {
 
     private static final Logger LOG = LoggerFactory.getLogger(SqlProducer.class);
 
@@ -52,6 +59,9 @@ public class SqlProducer extends DefaultProducer {
     private final SqlPrepareStatementStrategy sqlPrepareStatementStrategy;
     private final boolean useMessageBodyForSql;
     private int parametersCount;
+    private ScheduledExecutorService autoBatchScheduler;
+    private ExecutorService autoBatchExecutorService;
+    private SqlAutoBatcher autoBatcher;
 
     public SqlProducer(SqlEndpoint endpoint, String query, JdbcTemplate jdbcTemplate,
                        SqlPrepareStatementStrategy sqlPrepareStatementStrategy,
@@ -88,17 +98,84 @@ public class SqlProducer extends DefaultProducer {
             String placeholder = getEndpoint().isUsePlaceholder() ? getEndpoint().getPlaceholder() : null;
             resolvedQuery = SqlHelper.resolveQuery(getEndpoint().getCamelContext(), query, placeholder);
         }
+
+        if (getEndpoint().getAutoBatchSize() > 0) {
+            if (batch || getEndpoint().getOutputType() == SqlOutputType.StreamList) {
+                throw new IllegalArgumentException("Cannot use autoBatchSize together with batch=true or outputType=StreamList");
+            }
+            ExecutorServiceManager manager = getEndpoint().getCamelContext().getExecutorServiceManager();
+            autoBatchScheduler = manager.newSingleThreadScheduledExecutor(this, "SqlAutoBatch");
+            // the batches rejected by the pool are executed by the scheduler thread, as the caller runs policy of the
+            // default profile silently discards the tasks when the pool is shutting down
+            ThreadPoolProfile profile = manager.getDefaultThreadPoolProfile().clone();
+            profile.setId("SqlAutoBatchWorker");
+            profile.setDefaultProfile(false);
+            profile.setRejectedPolicy(ThreadPoolRejectedPolicy.Abort);
+            autoBatchExecutorService = manager.newThreadPool(this, "SqlAutoBatchWorker", profile);
+            autoBatcher = new SqlAutoBatcher(
+                    jdbcTemplate, sqlPrepareStatementStrategy, useMessageBodyForSql, alwaysPopulateStatement, parametersCount,
+                    getEndpoint().getAutoBatchSize(), getEndpoint().getAutoBatchTimeout(), autoBatchScheduler,
+                    autoBatchExecutorService);
+        }
     }
 
     @Override
-    public void process(final Exchange exchange) throws Exception {
-        final String sql;
+    protected void doStop() throws Exception {
+        if (autoBatcher != null) {
+            // execute the exchanges which are waiting for their batch to complete
+            autoBatcher.flushAll();
+            autoBatcher = null;
+        }
+        if (autoBatchScheduler != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdown(autoBatchScheduler);
+            autoBatchScheduler = null;
+        }
+        if (autoBatchExecutorService != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdown(autoBatchExecutorService);
+            autoBatchExecutorService = null;
+        }
+        super.doStop();
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        SqlAutoBatcher batcher = autoBatcher;
+        // generated keys cannot be retrieved per exchange from a batch
+        if (batcher != null && !exchange.getIn().getHeader(SqlConstants.SQL_RETRIEVE_GENERATED_KEYS, false, Boolean.class)) {
+            try {
+                String sql = resolveSql(exchange);
+                String preparedQuery
+                        = sqlPrepareStatementStrategy.prepareQuery(sql, getEndpoint().isAllowNamedParameters(), exchange);
+                batcher.add(sql, preparedQuery, exchange, callback);
+                return false;
+            } catch (Exception e) {
+                exchange.setException(e);
+                callback.done(true);
+                return true;
+            }
+        }
+
+        try {
+            process(exchange);
+        } catch (Exception e) {
+            exchange.setException(e);
+        }
+        callback.done(true);
+        return true;
+    }
+
+    private String resolveSql(Exchange exchange) {
         if (useMessageBodyForSql) {
-            sql = exchange.getIn().getBody(String.class);
+            return exchange.getIn().getBody(String.class);
         } else {
             String queryHeader = exchange.getIn().getHeader(SqlConstants.SQL_QUERY, String.class);
-            sql = queryHeader != null ? queryHeader : resolvedQuery;
+            return queryHeader != null ? queryHeader : resolvedQuery;
         }
+    }
+
+    @Override
+    public void process(final Exchange exchange) throws Exception {
+        final String sql = resolveSql(exchange);
         final String preparedQuery
                 = sqlPrepareStatementStrategy.prepareQuery(sql, getEndpoint().isAllowNamedParameters(), exchange);
 
@@ -271,6 +348,7 @@ public class SqlProducer extends DefaultProducer {
         try {
             con = jdbcTemplate.getDataSource().getConnection();
             ps = statementCreator.createPreparedStatement(con);
+            applyStatementSettings(ps);
 
             int expected = parametersCount > 0 ? parametersCount : ps.getParameterMetaData().getParameterCount();
 
@@ -308,6 +386,11 @@ public class SqlProducer extends DefaultProducer {
             if (isResultSet) {
                 rs = ps.getResultSet();
                 ResultSetIterator iterator = getEndpoint().queryForStreamList(con, ps, rs);
+                Iterator<?> data = iterator;
+                if (getEndpoint().getStreamListChunkSize() > 0) {
+                    // group the rows into chunks
+                    data = new GroupIterator(exchange, iterator, getEndpoint().getStreamListChunkSize());
+                }
                 //pass through all headers
                 exchange.getOut().getHeaders().putAll(exchange.getIn().getHeaders());
 
@@ -315,9 +398,9 @@ public class SqlProducer extends DefaultProducer {
                     exchange.getOut().setBody(exchange.getIn().getBody());
                 } else if (getEndpoint().getOutputHeader() != null) {
                     exchange.getOut().setBody(exchange.getIn().getBody());
-                    exchange.getOut().setHeader(getEndpoint().getOutputHeader(), iterator);
+                    exchange.getOut().setHeader(getEndpoint().getOutputHeader(), data);
                 } else {
-                    exchange.getOut().setBody(iterator);
+                    exchange.getOut().setBody(data);
                 }
                 // we do not know the row count so we cannot set a ROW_COUNT header
                 // defer closing the iterator when the exchange is complete
@@ -332,6 +415,24 @@ public class SqlProducer extends DefaultProducer {
         }
     }
 
+    /**
+     * Applies the settings of the jdbcTemplate, such as the fetch size, as the jdbcTemplate is not used for streaming
+     */
+    private void applyStatementSettings(PreparedStatement ps) throws SQLException {
+        int fetchSize = jdbcTemplate.getFetchSize();
+        if (fetchSize != -1) {
+            ps.setFetchSize(fetchSize);
+        }
+        int maxRows = jdbcTemplate.getMaxRows();
+        if (maxRows != -1) {
+            ps.setMaxRows(maxRows);
+        }
+        int queryTimeout = jdbcTemplate.getQueryTimeout();
+        if (queryTimeout != -1) {
+            ps.setQueryTimeout(queryTimeout);
+        }
+    }
+
     public void setParametersCount(int parametersCount) {
         this.parametersCount = parametersCount;
     }
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit5.CamelTestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SqlProducerAutoBatchTest extends CamelTestSupport {
+
+    private EmbeddedDatabase db;
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.DERBY).addScript("sql/createAndPopulateDatabase.sql").build();
+
+        super.setUp();
+    }
+
+    @Override
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+
+        db.shutdown();
+    }
+
+    @Test
+    public void testConcurrentInserts() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(20);
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<Future<Exchange>> responses = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final int id = 10 + i;
+            responses.add(executor.submit(() -> template.request("direct:insert", e -> {
+                e.getIn().setHeader("id", id);
+                e.getIn().setHeader("project", "Project" + id);
+            })));
+        }
+
+        assertMockEndpointsSatisfied();
+        for (Future<Exchange> response : responses) {
+            Exchange out = response.get();
+            assertNull(out.getException());
+            assertEquals(1, out.getMessage().getHeader(SqlConstants.SQL_UPDATE_COUNT));
+        }
+        executor.shutdownNow();
+
+        assertEquals(23, new JdbcTemplate(db).queryForObject("select count(*) from projects", Integer.class).intValue());
+    }
+
+    @Test
+    public void testFailedStatementInBatch() throws Exception {
+        // id 1 already exists so only that exchange should fail
+        Exchange duplicate = template.request("direct:insert", e -> {
+            e.getIn().setHeader("id", 1);
+            e.getIn().setHeader("project", "Duplicate");
+        });
+        Exchange other = template.request("direct:insert", e -> {
+            e.getIn().setHeader("id", 4);
+            e.getIn().setHeader("project", "Other");
+        });
+
+        assertNotNull(duplicate.getException());
+        assertNull(other.getException());
+        assertEquals(1, other.getMessage().getHeader(SqlConstants.SQL_UPDATE_COUNT));
+    }
+
+    @Test
+    public void testTimeoutBatchExecutedByWorkerThread() throws Exception {
+        Exchange out = template.request("direct:insert", e -> {
+            e.getIn().setHeader("id", 5);
+            e.getIn().setHeader("project", "Timeout");
+        });
+
+        assertNull(out.getException());
+        assertEquals(1, out.getMessage().getHeader(SqlConstants.SQL_UPDATE_COUNT));
+        // the batch is executed, and the exchange continued, by the worker pool and not the scheduler thread
+        String thread = out.getMessage().getHeader("thread", String.class);
+        assertTrue(thread.contains("SqlAutoBatchWorker"), "Thread name: " + thread);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() {
+                getContext().getComponent("sql", SqlComponent.class).setDataSource(db);
+
+                from("direct:insert")
+                        .to("sql:insert into projects (id, project, license) values (:#id, :#project, 'ASF')"
+                            + "?autoBatchSize=5&autoBatchTimeout=50")
+                        .process(e -> e.getMessage().setHeader("thread", Thread.currentThread().getName()))
+                        .to("mock:result");
+            }
+        };
+    }
+}
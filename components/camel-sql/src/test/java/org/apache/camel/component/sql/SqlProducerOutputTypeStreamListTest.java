@@ -17,6 +17,7 @@
 package org.apache.camel.component.sql;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.camel.builder.RouteBuilder;
@@ -31,6 +32,7 @@ import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class SqlProducerOutputTypeStreamListTest extends CamelTestSupport {
 
@@ -101,6 +103,18 @@ public class SqlProducerOutputTypeStreamListTest extends CamelTestSupport {
         assertThat(resultBodyAt(mock, 2), instanceOf(ProjectModel.class));
     }
 
+    @Test
+    public void testSplitWithChunks() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(2);
+
+        template.sendBody("direct:withSplitChunks", "testmsg");
+
+        mock.assertIsSatisfied();
+        assertEquals(2, mock.getReceivedExchanges().get(0).getIn().getBody(List.class).size());
+        assertEquals(1, mock.getReceivedExchanges().get(1).getIn().getBody(List.class).size());
+    }
+
     private Object resultBodyAt(MockEndpoint result, int index) {
         return result.assertExchangeReceived(index).getIn().getBody();
     }
@@ -131,6 +145,13 @@ public class SqlProducerOutputTypeStreamListTest extends CamelTestSupport {
                         .to("log:row")
                         .to("mock:result")
                         .end();
+
+                from("direct:withSplitChunks")
+                        .to("sql:select * from projects order by id?outputType=StreamList&streamListChunkSize=2&template.fetchSize=2")
+                        .split(body()).streaming()
+                        .to("log:chunk")
+                        .to("mock:result")
+                        .end();
             }
         };
     }
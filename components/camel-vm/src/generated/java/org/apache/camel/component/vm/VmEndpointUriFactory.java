@@ -20,7 +20,7 @@ public class VmEndpointUriFactory extends org.apache.camel.support.component.End
     private static final Set<String> PROPERTY_NAMES;
     private static final Set<String> SECRET_PROPERTY_NAMES;
     static {
-        Set<String> props = new HashSet<>(20);
+        Set<String> props = new HashSet<>(21);
         props.add("synchronous");
         props.add("exchangePattern");
         props.add("pollTimeout");
@@ -41,6 +41,7 @@ public class VmEndpointUriFactory extends org.apache.camel.support.component.End
         props.add("purgeWhenStopping");
         props.add("multipleConsumers");
         props.add("queue");
+        props.add("maxMessagesPerPoll");
         PROPERTY_NAMES = Collections.unmodifiableSet(props);
         SECRET_PROPERTY_NAMES = Collections.emptySet();
     }
@@ -163,6 +163,20 @@ public interface StreamCachingStrategy extends StaticService {
 
     int getBufferSize();
 
+    /**
+     * Sets whether in-memory stream caches should keep their data off the heap in pooled direct {@link java.nio.ByteBuffer}s
+     * instead of byte arrays. Streams spooled to disk are then read back using memory-mapped files (when no spool cipher
+     * is in use).
+     * <p/>
+     * This reduces the pressure on the garbage collector when caching large payloads, and allows components to read the
+     * cached data without copying it to the heap.
+     * <p/>
+     * The default value is <tt>false</tt>
+     */
+    void setOffHeap(boolean offHeap);
+
+    boolean isOffHeap();
+
     /**
      * Sets a cipher name to use when spooling to disk to write with encryption.
      * <p/>
@@ -27,6 +27,7 @@ import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.DirectByteBufferPool;
 import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.FilePathResolver;
@@ -52,6 +53,8 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
     private SpoolUsedHeapMemoryLimit spoolUsedHeapMemoryLimit;
     private String spoolCipher;
     private int bufferSize = IOHelper.DEFAULT_BUFFER_SIZE;
+    private boolean offHeap;
+    private DirectByteBufferPool bufferPool;
     private boolean removeSpoolDirectoryWhenStopping = true;
     private final UtilizationStatistics statistics = new UtilizationStatistics();
     private final Set<SpoolRule> spoolRules = new LinkedHashSet<>();
@@ -142,6 +145,16 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         this.bufferSize = bufferSize;
     }
 
+    @Override
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    @Override
+    public void setOffHeap(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
     @Override
     public boolean isRemoveSpoolDirectoryWhenStopping() {
         return removeSpoolDirectoryWhenStopping;
@@ -323,6 +336,12 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             }
         }
 
+        if (offHeap) {
+            // the off-heap stream caches use a shared pool of direct buffers
+            bufferPool = new DirectByteBufferPool(bufferSize);
+            camelContext.setExtension(DirectByteBufferPool.class, bufferPool);
+        }
+
         LOG.debug("StreamCaching configuration {}", this);
 
         if (spoolDirectory != null) {
@@ -343,6 +362,11 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             LOG.debug("Stopping StreamCachingStrategy with statistics: {}", statistics);
         }
 
+        if (bufferPool != null) {
+            LOG.debug("Stopping StreamCachingStrategy with off-heap buffer pool: {}", bufferPool);
+            bufferPool.clear();
+        }
+
         statistics.reset();
     }
 
@@ -354,6 +378,7 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
                + ", spoolThreshold=" + spoolThreshold
                + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
                + ", bufferSize=" + bufferSize
+               + ", offHeap=" + offHeap
                + ", anySpoolRules=" + anySpoolRules + "]";
     }
 
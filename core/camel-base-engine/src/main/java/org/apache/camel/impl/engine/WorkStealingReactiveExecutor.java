@@ -0,0 +1,404 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.StaticService;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.apache.camel.support.service.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ReactiveExecutor} which runs the tasks in the same order as {@link DefaultReactiveExecutor}, but which
+ * reuses the task queues and allows idle threads to steal work from busy threads.
+ * <p/>
+ * When a task is scheduled with {@link #scheduleMain(Runnable)} while the current thread is busy, then the pending
+ * tasks of the thread are put aside until the new task (and the tasks it schedules) has completed. These pending
+ * tasks can be stolen by another thread which is idle, that is a thread which has just run all its own tasks and is
+ * leaving the executor. The oldest pending tasks are stolen first, as these would otherwise be run last by the busy
+ * thread. The tasks of a queue are always stolen together, so they are still run in order by the same thread.
+ * <p/>
+ * A thread waiting for an asynchronous task to complete (see {@link #executeFromQueue()}) never steals work, and its
+ * pending tasks are not stolen either, as these tasks may depend on the state bound to the thread (such as a
+ * transaction or the MDC logging context). Work stealing can also be turned off with {@link #setWorkStealing(boolean)}
+ * in which case the tasks are always run by the thread which scheduled them, like {@link DefaultReactiveExecutor}.
+ * <p/>
+ * This executor is not used by default, and must be configured explicitly on the {@link org.apache.camel.CamelContext}
+ * with {@link org.apache.camel.ExtendedCamelContext#setReactiveExecutor(ReactiveExecutor)}.
+ * <p/>
+ * The task queues are pooled per thread, and the statistics are kept with {@link LongAdder}s to avoid contention
+ * between the threads. The pending tasks of a thread are kept in an array based stack, which is guarded by a state
+ * changed with compare-and-set, so a thread cannot start waiting while its tasks are being stolen.
+ */
+@ManagedResource(description = "Managed ReactiveExecutor")
+public class WorkStealingReactiveExecutor extends ServiceSupport implements ReactiveExecutor, StaticService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WorkStealingReactiveExecutor.class);
+
+    private static final int MAX_POOLED_QUEUES = 16;
+
+    // the states of a worker, which guard the pending tasks of the worker
+    private static final int FREE = 0;
+    private static final int AWAITING = 1;
+    private static final int LOCKED = 2;
+
+    private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(this::createWorker);
+
+    // workers which have pending tasks that can be stolen
+    private final Queue<Worker> stealable = new ConcurrentLinkedQueue<>();
+
+    // use for statistics so we have insights at runtime
+    private final AtomicInteger createdWorkers = new AtomicInteger();
+    private final LongAdder runningWorkers = new LongAdder();
+    private final LongAdder pendingTasks = new LongAdder();
+    private final LongAdder stolenTasks = new LongAdder();
+
+    private volatile boolean workStealing = true;
+
+    @Override
+    public void schedule(Runnable runnable) {
+        workers.get().schedule(runnable, false, false, false);
+    }
+
+    @Override
+    public void scheduleMain(Runnable runnable) {
+        workers.get().schedule(runnable, true, true, false);
+    }
+
+    @Override
+    public void scheduleSync(Runnable runnable) {
+        workers.get().schedule(runnable, false, true, true);
+    }
+
+    @Override
+    public boolean executeFromQueue() {
+        return workers.get().executeFromQueue();
+    }
+
+    @ManagedAttribute(description = "Whether idle workers steal pending tasks from busy workers")
+    public boolean isWorkStealing() {
+        return workStealing;
+    }
+
+    /**
+     * Whether idle workers steal pending tasks from busy workers. This is enabled by default.
+     */
+    public void setWorkStealing(boolean workStealing) {
+        this.workStealing = workStealing;
+    }
+
+    @ManagedAttribute(description = "Number of created workers")
+    public int getCreatedWorkers() {
+        return createdWorkers.get();
+    }
+
+    @ManagedAttribute(description = "Number of running workers")
+    public int getRunningWorkers() {
+        return runningWorkers.intValue();
+    }
+
+    @ManagedAttribute(description = "Number of pending tasks")
+    public int getPendingTasks() {
+        return pendingTasks.intValue();
+    }
+
+    @ManagedAttribute(description = "Number of tasks stolen by idle workers")
+    public long getStolenTasks() {
+        return stolenTasks.sum();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(
+                    "Stopping WorkStealingReactiveExecutor [createdWorkers: {}, runningWorkers: {}, pendingTasks: {}, stolenTasks: {}]",
+                    getCreatedWorkers(), getRunningWorkers(), getPendingTasks(), getStolenTasks());
+        }
+    }
+
+    private Worker createWorker() {
+        int number = createdWorkers.incrementAndGet();
+        return new Worker(number, this);
+    }
+
+    /**
+     * Steals the oldest pending tasks from one of the busy workers
+     */
+    private Deque<Runnable> steal(Worker thief) {
+        if (!workStealing) {
+            return null;
+        }
+        Worker victim;
+        while ((victim = stealable.poll()) != null) {
+            victim.listed.set(false);
+            if (victim == thief) {
+                continue;
+            }
+            Deque<Runnable> stolen = victim.stealBack();
+            if (stolen != null) {
+                stolenTasks.add(stolen.size());
+                return stolen;
+            }
+        }
+        return null;
+    }
+
+    private static class Worker {
+
+        private final int number;
+        private final WorkStealingReactiveExecutor executor;
+        // the queue of the task currently being run, only accessed by the owner thread
+        private Deque<Runnable> queue = new ArrayDeque<>();
+        // the queues put aside by scheduleMain, the owner takes from the head and thieves from the tail,
+        // only accessed while holding the LOCKED state, or by the owner thread in the AWAITING state
+        private final Deque<Deque<Runnable>> back = new ArrayDeque<>();
+        // empty queues which can be reused, only accessed by the owner thread
+        private final Deque<Deque<Runnable>> pool = new ArrayDeque<>();
+        private final AtomicBoolean listed = new AtomicBoolean();
+        // FREE, AWAITING while the owner thread is waiting for an asynchronous task to complete,
+        // or LOCKED while the owner thread or a thief is changing the pending tasks
+        private final AtomicInteger state = new AtomicInteger(FREE);
+        // the number of tasks being run while waiting, only accessed by the owner thread
+        private int awaitDepth;
+        private boolean running;
+
+        Worker(int number, WorkStealingReactiveExecutor executor) {
+            this.number = number;
+            this.executor = executor;
+        }
+
+        void schedule(Runnable runnable, boolean first, boolean main, boolean sync) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Schedule [first={}, main={}, sync={}]: {}", first, main, sync, runnable);
+            }
+            resume();
+            if (main) {
+                if (!queue.isEmpty()) {
+                    pushBack(queue);
+                    queue = acquire();
+                    list();
+                }
+            }
+            if (first) {
+                queue.addFirst(runnable);
+            } else {
+                queue.addLast(runnable);
+            }
+            executor.pendingTasks.increment();
+            if (!running) {
+                run();
+                // the thread has run all its tasks and is idle so it can help the busy threads
+                runStolen();
+            } else if (sync) {
+                run();
+            } else {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Queuing reactive work: {}", runnable);
+                }
+            }
+        }
+
+        boolean executeFromQueue() {
+            // the thread is waiting for an asynchronous task, so it must not steal and its tasks must not be stolen
+            await();
+            Runnable polled = queue.pollFirst();
+            if (polled == null) {
+                return false;
+            }
+            awaitDepth++;
+            try {
+                executor.pendingTasks.decrement();
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Running: {}", polled);
+                }
+                polled.run();
+            } catch (Throwable t) {
+                // should not happen
+                LOG.warn("Error executing reactive work due to {}. This exception is ignored.", t.getMessage(), t);
+            } finally {
+                awaitDepth--;
+            }
+            return true;
+        }
+
+        private void run() {
+            boolean wasRunning = running;
+            running = true;
+            executor.runningWorkers.increment();
+            try {
+                for (;;) {
+                    resume();
+                    final Runnable polled = queue.pollFirst();
+                    if (polled == null) {
+                        Deque<Runnable> next = pollBack();
+                        if (next != null) {
+                            release(queue);
+                            queue = next;
+                            continue;
+                        } else {
+                            break;
+                        }
+                    }
+                    try {
+                        executor.pendingTasks.decrement();
+                        if (LOG.isTraceEnabled()) {
+                            LOG.trace("Worker #{} running: {}", number, polled);
+                        }
+                        polled.run();
+                    } catch (Throwable t) {
+                        LOG.warn("Error executing reactive work due to {}. This exception is ignored.",
+                                t.getMessage(), t);
+                    }
+                }
+            } finally {
+                running = wasRunning;
+                executor.runningWorkers.decrement();
+            }
+        }
+
+        private void runStolen() {
+            if (state.get() == AWAITING) {
+                return;
+            }
+            Deque<Runnable> stolen = executor.steal(this);
+            if (stolen != null) {
+                LOG.trace("Worker #{} stole {} tasks", number, stolen.size());
+                release(queue);
+                queue = stolen;
+                // we must run all the stolen tasks as nobody else will run them
+                run();
+            }
+        }
+
+        private void resume() {
+            if (awaitDepth == 0 && state.get() == AWAITING) {
+                // the thread is no longer waiting so its pending tasks can be stolen again
+                boolean pending = !back.isEmpty();
+                state.set(FREE);
+                if (pending) {
+                    list();
+                }
+            }
+        }
+
+        /**
+         * Changes the state to AWAITING, after any thief currently stealing from this worker is done
+         */
+        private void await() {
+            for (;;) {
+                int current = state.get();
+                if (current == AWAITING || (current == FREE && state.compareAndSet(FREE, AWAITING))) {
+                    return;
+                }
+                Thread.yield();
+            }
+        }
+
+        /**
+         * Changes the state to LOCKED, unless the owner thread is waiting in which case it has exclusive access anyway
+         *
+         * @return whether the state must be set back to FREE with {@link #unlock(boolean)}
+         */
+        private boolean lock() {
+            for (;;) {
+                int current = state.get();
+                if (current == AWAITING) {
+                    return false;
+                }
+                if (current == FREE && state.compareAndSet(FREE, LOCKED)) {
+                    return true;
+                }
+                Thread.yield();
+            }
+        }
+
+        private void unlock(boolean locked) {
+            if (locked) {
+                state.set(FREE);
+            }
+        }
+
+        private void pushBack(Deque<Runnable> pending) {
+            boolean locked = lock();
+            try {
+                back.addFirst(pending);
+            } finally {
+                unlock(locked);
+            }
+        }
+
+        private Deque<Runnable> pollBack() {
+            boolean locked = lock();
+            try {
+                return back.pollFirst();
+            } finally {
+                unlock(locked);
+            }
+        }
+
+        /**
+         * Called by a thief to steal the oldest pending tasks, which is never done while the owner thread is waiting
+         */
+        private Deque<Runnable> stealBack() {
+            if (!lock()) {
+                // the worker is listed again when it is no longer waiting
+                return null;
+            }
+            Deque<Runnable> stolen;
+            boolean more;
+            try {
+                stolen = back.pollLast();
+                more = !back.isEmpty();
+            } finally {
+                unlock(true);
+            }
+            if (more) {
+                // the victim has more pending tasks that can be stolen
+                list();
+            }
+            return stolen;
+        }
+
+        private void list() {
+            if (executor.workStealing && listed.compareAndSet(false, true)) {
+                executor.stealable.add(this);
+            }
+        }
+
+        private Deque<Runnable> acquire() {
+            Deque<Runnable> answer = pool.pollFirst();
+            return answer != null ? answer : new ArrayDeque<>();
+        }
+
+        private void release(Deque<Runnable> empty) {
+            if (pool.size() < MAX_POOLED_QUEUES) {
+                pool.addFirst(empty);
+            }
+        }
+    }
+
+}
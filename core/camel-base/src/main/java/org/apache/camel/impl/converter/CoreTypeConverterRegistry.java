@@ -66,6 +66,8 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
     protected final List<FallbackTypeConverter> fallbackConverters = new CopyOnWriteArrayList<>();
     // special enum converter for optional performance
     protected final TypeConverter enumTypeConverter = new EnumTypeConverter();
+    // the converters resolved per from/to type (and the misses) so the converters are not scanned for every conversion
+    private final TypeConverterCache resolvedConverters = new TypeConverterCache();
 
     protected final Statistics statistics = new UtilizationStatistics();
     protected final LongAdder noopCounter = new LongAdder();
@@ -448,28 +450,58 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
             attemptCounter.increment();
         }
 
+        final Class<?> fromType = value.getClass();
+
+        // use the converter which has already been resolved for these types
+        TypeConverter resolved = resolvedConverters.get(type, fromType);
+        if (resolved == MISS_CONVERTER) {
+            // known to not be convertible so do not scan all the converters again
+            return TypeConverter.MISS_VALUE;
+        } else if (resolved != null) {
+            if (trace) {
+                LOG.trace("Using resolved converter: {} to convert [{}=>{}]", resolved, fromType, type);
+            }
+            Object rc;
+            if (tryConvert) {
+                rc = resolved.tryConvertTo(type, exchange, value);
+            } else {
+                rc = resolved.convertTo(type, exchange, value);
+            }
+            if (rc != null) {
+                return rc;
+            } else if (resolved.allowNull()) {
+                return null;
+            }
+            // this value could not be converted by the resolved converter so try all the converters
+        }
+
         // attempt bulk first which is the fastest
+        boolean bulkSupported = false;
         for (BulkTypeConverters bulk : bulkTypeConverters) {
             if (trace) {
-                LOG.trace("Using bulk converter: {} to convert [{}=>{}]", bulk.getClass().getSimpleName(), value.getClass(),
+                LOG.trace("Using bulk converter: {} to convert [{}=>{}]", bulk.getClass().getSimpleName(), fromType,
                         type);
             }
             Object rc;
             if (tryConvert) {
-                rc = bulk.convertTo(value.getClass(), type, exchange, value);
+                rc = bulk.convertTo(fromType, type, exchange, value);
             } else {
-                rc = bulk.convertTo(value.getClass(), type, exchange, value);
+                rc = bulk.convertTo(fromType, type, exchange, value);
             }
             if (rc != null) {
+                resolvedConverters.put(type, fromType, bulk);
                 return rc;
+            } else if (!bulkSupported) {
+                // the conversion may depend on the value, so this is not a miss for the types
+                bulkSupported = bulk.lookup(type, fromType) != null;
             }
         }
 
         // try to find a suitable type converter
-        TypeConverter converter = getOrFindTypeConverter(type, value.getClass());
+        TypeConverter converter = getOrFindTypeConverter(type, fromType);
         if (converter != null) {
             if (trace) {
-                LOG.trace("Using converter: {} to convert [{}=>{}]", converter, value.getClass(), type);
+                LOG.trace("Using converter: {} to convert [{}=>{}]", converter, fromType, type);
             }
             Object rc;
             if (tryConvert) {
@@ -478,6 +510,9 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
                 rc = converter.convertTo(type, exchange, value);
             }
             if (rc != null) {
+                if (!bulkSupported) {
+                    resolvedConverters.put(type, fromType, converter);
+                }
                 return rc;
             } else if (converter.allowNull()) {
                 return null;
@@ -488,7 +523,6 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         if (type.isPrimitive()) {
             Class<?> primitiveType = ObjectHelper.convertPrimitiveTypeToWrapperType(type);
             if (primitiveType != type) {
-                Class<?> fromType = value.getClass();
                 TypeConverter tc = getOrFindTypeConverter(primitiveType, fromType);
                 if (tc != null) {
                     // add the type as a known type converter as we can convert from primitive to object converter
@@ -537,6 +571,9 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
                                 fallback.getFallbackTypeConverter());
                     }
                     addTypeConverter(type, value.getClass(), fallback.getFallbackTypeConverter());
+                    if (!bulkSupported) {
+                        resolvedConverters.put(type, fromType, fallback.getFallbackTypeConverter());
+                    }
                 }
 
                 if (LOG.isTraceEnabled()) {
@@ -552,7 +589,12 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         if (!tryConvert) {
             // Could not find suitable conversion, so remember it
             // do not register misses for try conversions
-            typeMappings.put(type, value.getClass(), MISS_CONVERTER);
+            if (bulkSupported) {
+                typeMappings.put(type, fromType, MISS_CONVERTER);
+            } else {
+                // the resolved misses are invalidated when a converter which can convert the types is added
+                resolvedConverters.put(type, fromType, MISS_CONVERTER);
+            }
         }
 
         // Could not find suitable conversion, so return Void to indicate not found
@@ -574,6 +616,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
                 this.bulkTypeConverters.add(bulkTypeConverters);
             }
             sumBulkTypeConverters += bulkTypeConverters.size();
+            resolvedConverters.clear();
         }
     }
 
@@ -605,12 +648,15 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
 
             if (add) {
                 typeMappings.put(toType, fromType, typeConverter);
+                // the new converter may be a better match for some of the types already resolved
+                resolvedConverters.invalidate(toType, fromType);
             }
         }
     }
 
     public boolean removeTypeConverter(Class<?> toType, Class<?> fromType) {
         LOG.trace("Removing type converter from: {} to: {}", fromType, toType);
+        resolvedConverters.invalidate(toType, fromType);
         return typeMappings.remove(toType, fromType);
     }
 
@@ -625,6 +671,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         // add in top of fallback as the toString() fallback will nearly always be able to convert
         // the last one which is add to the FallbackTypeConverter will be called at the first place
         fallbackConverters.add(0, new FallbackTypeConverter(typeConverter, canPromote));
+        resolvedConverters.clear();
     }
 
     public TypeConverter lookup(Class<?> toType, Class<?> fromType) {
@@ -753,17 +800,18 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         // log utilization statistics when stopping, including mappings
         if (statistics.isStatisticsEnabled()) {
             String info = statistics.toString();
-            AtomicInteger misses = new AtomicInteger();
+            AtomicInteger misses = new AtomicInteger(resolvedConverters.count(MISS_CONVERTER));
             typeMappings.forEach((k1, k2, v) -> {
                 if (v == MISS_CONVERTER) {
                     misses.incrementAndGet();
                 }
             });
-            info += String.format(" mappings[total=%s, misses=%s]", size(), misses);
+            info += String.format(" mappings[total=%s, misses=%s, resolved=%s]", size(), misses, resolvedConverters.size());
             LOG.info(info);
         }
 
         typeMappings.clear();
+        resolvedConverters.clear();
         statistics.reset();
     }
 
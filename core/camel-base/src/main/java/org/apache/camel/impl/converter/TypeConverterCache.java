@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.camel.TypeConverter;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A cache of the type converters which have been resolved for converting from one type to another, including the
+ * misses for the types which cannot be converted.
+ * <p/>
+ * The converters are grouped per from type in immutable maps, which are replaced with a new snapshot when a converter
+ * is added, so the lookups are lock-free and only cost two identity based map lookups.
+ */
+final class TypeConverterCache {
+
+    // from type -> (to type -> converter), the maps are never changed once published
+    private final AtomicReference<Map<Class<?>, Map<Class<?>, TypeConverter>>> snapshot
+            = new AtomicReference<>(Collections.emptyMap());
+
+    TypeConverter get(Class<?> toType, Class<?> fromType) {
+        Map<Class<?>, TypeConverter> converters = snapshot.get().get(fromType);
+        return converters != null ? converters.get(toType) : null;
+    }
+
+    void put(Class<?> toType, Class<?> fromType, TypeConverter converter) {
+        for (;;) {
+            Map<Class<?>, Map<Class<?>, TypeConverter>> current = snapshot.get();
+            Map<Class<?>, TypeConverter> converters = current.get(fromType);
+            if (converters != null && converters.get(toType) == converter) {
+                return;
+            }
+            Map<Class<?>, TypeConverter> newConverters
+                    = converters != null ? new IdentityHashMap<>(converters) : new IdentityHashMap<>();
+            newConverters.put(toType, converter);
+            Map<Class<?>, Map<Class<?>, TypeConverter>> next = new IdentityHashMap<>(current);
+            next.put(fromType, newConverters);
+            if (snapshot.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes the resolved converters which may resolve to another converter, when a converter for the given types has
+     * been added or removed. These are the converters to the to type (or its super types), from the from type (or its
+     * sub types), as the converters are looked up by the super types of the from type.
+     */
+    void invalidate(Class<?> toType, Class<?> fromType) {
+        for (;;) {
+            Map<Class<?>, Map<Class<?>, TypeConverter>> current = snapshot.get();
+            Map<Class<?>, Map<Class<?>, TypeConverter>> next = null;
+            for (Map.Entry<Class<?>, Map<Class<?>, TypeConverter>> entry : current.entrySet()) {
+                if (!fromType.isAssignableFrom(entry.getKey())) {
+                    continue;
+                }
+                Map<Class<?>, TypeConverter> converters = entry.getValue();
+                Map<Class<?>, TypeConverter> newConverters = null;
+                for (Class<?> to : converters.keySet()) {
+                    if (isAssignableFrom(to, toType)) {
+                        if (newConverters == null) {
+                            newConverters = new IdentityHashMap<>(converters);
+                        }
+                        newConverters.remove(to);
+                    }
+                }
+                if (newConverters != null) {
+                    if (next == null) {
+                        next = new IdentityHashMap<>(current);
+                    }
+                    if (newConverters.isEmpty()) {
+                        next.remove(entry.getKey());
+                    } else {
+                        next.put(entry.getKey(), newConverters);
+                    }
+                }
+            }
+            if (next == null || snapshot.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private static boolean isAssignableFrom(Class<?> resolvedType, Class<?> toType) {
+        // a primitive type is converted with the converters of its wrapper type
+        Class<?> type = ObjectHelper.convertPrimitiveTypeToWrapperType(resolvedType);
+        return resolvedType.isAssignableFrom(toType) || type.isAssignableFrom(toType);
+    }
+
+    void clear() {
+        snapshot.set(Collections.emptyMap());
+    }
+
+    int count(TypeConverter converter) {
+        int count = 0;
+        for (Map<Class<?>, TypeConverter> converters : snapshot.get().values()) {
+            for (TypeConverter value : converters.values()) {
+                if (value == converter) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    int size() {
+        int size = 0;
+        for (Map<Class<?>, TypeConverter> converters : snapshot.get().values()) {
+            size += converters.size();
+        }
+        return size;
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Message;
+import org.apache.camel.Predicate;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * Base class for the classes generated when the simple language is in compiled mode.
+ * <p/>
+ * The generated class evaluates the whole expression (or predicate) in a single method, without the layers of
+ * {@link Expression} wrappers which are used when the simple language is interpreted.
+ *
+ * @see SimpleLanguage#setCompiled(boolean)
+ */
+public abstract class CompiledSimpleExpression implements Expression, Predicate {
+
+    private final String text;
+
+    protected CompiledSimpleExpression(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Evaluates the compiled expression.
+     *
+     * @param  context   the camel context
+     * @param  exchange  the exchange
+     * @param  message   the message (in)
+     * @param  body      the message body
+     * @return           the result
+     * @throws Exception can be thrown if error evaluating the expression
+     */
+    public abstract Object evaluate(CamelContext context, Exchange exchange, Message message, Object body)
+            throws Exception;
+
+    @Override
+    public void init(CamelContext context) {
+        // noop
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T evaluate(Exchange exchange, Class<T> type) {
+        Object value = doEvaluate(exchange);
+        if (type == Object.class) {
+            return (T) value;
+        }
+        return exchange.getContext().getTypeConverter().convertTo(type, exchange, value);
+    }
+
+    @Override
+    public boolean matches(Exchange exchange) {
+        Object value = doEvaluate(exchange);
+        return ObjectHelper.evaluateValuePredicate(value);
+    }
+
+    private Object doEvaluate(Exchange exchange) {
+        Message message = exchange.getIn();
+        try {
+            return evaluate(exchange.getContext(), exchange, message, message.getBody());
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw CamelExecutionException.wrapCamelExecutionException(exchange, e);
+        }
+    }
+
+    /**
+     * The simple language expression which has been compiled
+     */
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
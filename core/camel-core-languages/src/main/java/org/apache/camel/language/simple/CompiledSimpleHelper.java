@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.support.ObjectHelper;
+import org.apache.camel.util.StringHelper;
+
+/**
+ * Helper methods used by the classes generated when the simple language is in compiled mode.
+ * <p/>
+ * The binary operators have the same semantics as the predicates from
+ * {@link org.apache.camel.support.builder.PredicateBuilder} used by the interpreted simple language.
+ */
+public final class CompiledSimpleHelper {
+
+    // marker for methods which does not exist, as the cache cannot hold null values
+    private static final Method NO_METHOD;
+
+    // the resolved methods per class, so the methods are only looked up once
+    private static final ClassValue<Map<String, Method>> METHODS = new ClassValue<Map<String, Method>>() {
+        @Override
+        protected Map<String, Method> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    static {
+        try {
+            NO_METHOD = Object.class.getMethod("toString");
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private CompiledSimpleHelper() {
+    }
+
+    /**
+     * Gets the header, and falls back to the exchange property if there is no such header
+     */
+    public static Object header(Exchange exchange, Message message, String name) {
+        Object answer = message.getHeader(name);
+        if (answer == null) {
+            answer = exchange.getProperty(name);
+        }
+        return answer;
+    }
+
+    /**
+     * Gets the header converted to the given type, and falls back to the exchange property if there is no such header
+     */
+    public static <T> T header(Exchange exchange, Message message, String name, Class<T> type) {
+        T answer = message.getHeader(name, type);
+        if (answer == null) {
+            answer = exchange.getProperty(name, type);
+        }
+        return answer;
+    }
+
+    /**
+     * Invokes the method (or getter) with the given name on the target, which is the compiled version of an OGNL
+     * expression such as <tt>${body.address.zip}</tt>.
+     *
+     * @param  exchange the exchange
+     * @param  target   the target to invoke the method on
+     * @param  name     the method name, or the property name of the getter
+     * @param  nullSafe whether to return <tt>null</tt> if the target is <tt>null</tt>, or to fail
+     * @return          the result of the method
+     */
+    public static Object invoke(Exchange exchange, Object target, String name, boolean nullSafe) {
+        if (target == null) {
+            if (nullSafe) {
+                return null;
+            }
+            throw new RuntimeExchangeException(
+                    "Cannot invoke method: " + name + " on null instance (use ?. for null safe navigation)", exchange);
+        }
+        Method method = findMethod(target.getClass(), name);
+        if (method == null) {
+            throw new RuntimeExchangeException(
+                    "Cannot find method: " + name + " on type: " + target.getClass().getName(), exchange);
+        }
+        try {
+            return method.invoke(target);
+        } catch (InvocationTargetException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    /**
+     * Concatenates the values as a String, where <tt>null</tt> values are skipped
+     */
+    public static String concat(Exchange exchange, Object... values) {
+        TypeConverter converter = exchange.getContext().getTypeConverter();
+        StringBuilder sb = new StringBuilder();
+        for (Object value : values) {
+            String text = value instanceof String ? (String) value : converter.convertTo(String.class, exchange, value);
+            if (text != null) {
+                sb.append(text);
+            }
+        }
+        return sb.toString();
+    }
+
+    public static boolean predicate(boolean value) {
+        return value;
+    }
+
+    public static boolean predicate(Object value) {
+        return org.apache.camel.util.ObjectHelper.evaluateValuePredicate(value);
+    }
+
+    public static boolean isEqualTo(Exchange exchange, Object left, Object right) {
+        if (left == null && right == null) {
+            return true;
+        } else if (left == null || right == null) {
+            return false;
+        }
+        return ObjectHelper.typeCoerceEquals(exchange.getContext().getTypeConverter(), left, right);
+    }
+
+    public static boolean isEqualToIgnoreCase(Exchange exchange, Object left, Object right) {
+        if (left == null && right == null) {
+            return true;
+        } else if (left == null || right == null) {
+            return false;
+        }
+        return ObjectHelper.typeCoerceEquals(exchange.getContext().getTypeConverter(), left, right, true);
+    }
+
+    public static boolean isNotEqualTo(Exchange exchange, Object left, Object right) {
+        if (left == null && right == null) {
+            return false;
+        } else if (left == null || right == null) {
+            return true;
+        }
+        return ObjectHelper.typeCoerceNotEquals(exchange.getContext().getTypeConverter(), left, right);
+    }
+
+    public static boolean isLessThan(Exchange exchange, Object left, Object right) {
+        if (left == null && right == null) {
+            return true;
+        } else if (left == null || right == null) {
+            return false;
+        }
+        return ObjectHelper.typeCoerceCompare(exchange.getContext().getTypeConverter(), left, right) < 0;
+    }
+
+    public static boolean isLessThanOrEqualTo(Exchange exchange, Object left, Object right) {
+        if (left == null && right == null) {
+            return true;
+        } else if (left == null || right == null) {
+            return false;
+        }
+        return ObjectHelper.typeCoerceCompare(exchange.getContext().getTypeConverter(), left, right) <= 0;
+    }
+
+    public static boolean isGreaterThan(Exchange exchange, Object left, Object right) {
+        if (left == null || right == null) {
+            return false;
+        }
+        return ObjectHelper.typeCoerceCompare(exchange.getContext().getTypeConverter(), left, right) > 0;
+    }
+
+    public static boolean isGreaterThanOrEqualTo(Exchange exchange, Object left, Object right) {
+        if (left == null && right == null) {
+            return true;
+        } else if (left == null || right == null) {
+            return false;
+        }
+        return ObjectHelper.typeCoerceCompare(exchange.getContext().getTypeConverter(), left, right) >= 0;
+    }
+
+    public static boolean contains(Exchange exchange, Object left, Object right) {
+        if (left == null && right == null) {
+            return true;
+        } else if (left == null || right == null) {
+            return false;
+        }
+        return ObjectHelper.typeCoerceContains(exchange.getContext().getTypeConverter(), left, right, false);
+    }
+
+    public static boolean containsIgnoreCase(Exchange exchange, Object left, Object right) {
+        if (left == null && right == null) {
+            return true;
+        } else if (left == null || right == null) {
+            return false;
+        }
+        return ObjectHelper.typeCoerceContains(exchange.getContext().getTypeConverter(), left, right, true);
+    }
+
+    public static boolean startsWith(Exchange exchange, Object left, Object right) {
+        if (left == null && right == null) {
+            return true;
+        } else if (left == null || right == null) {
+            return false;
+        }
+        TypeConverter converter = exchange.getContext().getTypeConverter();
+        String leftStr = converter.convertTo(String.class, left);
+        String rightStr = converter.convertTo(String.class, right);
+        return leftStr != null && rightStr != null && leftStr.startsWith(rightStr);
+    }
+
+    public static boolean endsWith(Exchange exchange, Object left, Object right) {
+        if (left == null && right == null) {
+            return true;
+        } else if (left == null || right == null) {
+            return false;
+        }
+        TypeConverter converter = exchange.getContext().getTypeConverter();
+        String leftStr = converter.convertTo(String.class, left);
+        String rightStr = converter.convertTo(String.class, right);
+        return leftStr != null && rightStr != null && leftStr.endsWith(rightStr);
+    }
+
+    private static Method findMethod(Class<?> type, String name) {
+        Map<String, Method> methods = METHODS.get(type);
+        Method answer = methods.get(name);
+        if (answer == null) {
+            answer = doFindMethod(type, name);
+            methods.put(name, answer != null ? answer : NO_METHOD);
+        }
+        return answer != NO_METHOD ? answer : null;
+    }
+
+    private static Method doFindMethod(Class<?> type, String name) {
+        String capitalized = StringHelper.capitalize(name);
+        for (String candidate : new String[] { name, "get" + capitalized, "is" + capitalized }) {
+            try {
+                Method method = type.getMethod(candidate);
+                if (method.getReturnType() == void.class) {
+                    continue;
+                }
+                if (!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+                    // such as a public method from a private inner class
+                    method.setAccessible(true);
+                }
+                return method;
+            } catch (NoSuchMethodException e) {
+                // try the next candidate
+            } catch (RuntimeException e) {
+                // cannot make the method accessible
+                return null;
+            }
+        }
+        return null;
+    }
+
+}
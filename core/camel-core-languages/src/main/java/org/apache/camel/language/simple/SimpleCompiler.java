@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.CamelContext;
+
+/**
+ * Compiles the Java source code generated from a simple language expression or predicate into a class, when the
+ * simple language is in compiled mode.
+ *
+ * @see SimpleLanguage#setCompiled(boolean)
+ */
+public interface SimpleCompiler {
+
+    /**
+     * Service factory key.
+     */
+    String FACTORY = "simple-compiler";
+
+    /**
+     * Compiles the source code of the given class.
+     *
+     * @param  camelContext the camel context
+     * @param  className    the fully qualified name of the class
+     * @param  code         the Java source code of the class, which extends {@link CompiledSimpleExpression}
+     * @return              the compiled class
+     * @throws Exception    is thrown if the code cannot be compiled
+     */
+    Class<?> compile(CamelContext camelContext, String className, String code) throws Exception;
+
+}
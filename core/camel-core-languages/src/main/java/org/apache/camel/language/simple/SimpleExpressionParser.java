@@ -62,7 +62,64 @@ public class SimpleExpressionParser extends BaseSimpleParser {
         }
     }
 
+    /**
+     * Parses the expression and creates the Java source code to evaluate it.
+     *
+     * @return the code, or <tt>null</tt> if the expression uses functions which cannot be compiled
+     * @see    CompiledSimpleExpression
+     */
+    public String parseCode() {
+        clear();
+        try {
+            return doParseCode();
+        } catch (SimpleParserException e) {
+            // catch parser exception and turn that into a syntax exceptions
+            throw new SimpleIllegalSyntaxException(expression, e.getIndex(), e.getMessage(), e);
+        } catch (Exception e) {
+            // include exception in rethrown exception
+            throw new SimpleIllegalSyntaxException(expression, -1, e.getMessage(), e);
+        }
+    }
+
     protected Expression doParseExpression() {
+        doParseAstModel();
+
+        // create and return as a Camel expression
+        List<Expression> expressions = createExpressions();
+        if (expressions.isEmpty()) {
+            // return an empty string as response as there was nothing to parse
+            return ExpressionBuilder.constantExpression("");
+        } else if (expressions.size() == 1) {
+            return expressions.get(0);
+        } else {
+            // concat expressions as evaluating an expression is like a template language
+            return ExpressionBuilder.concatExpression(expressions, expression);
+        }
+    }
+
+    protected String doParseCode() {
+        doParseAstModel();
+
+        List<String> codes = new ArrayList<>();
+        for (SimpleNode node : nodes) {
+            String code = node.createCode(camelContext, expression);
+            if (code == null) {
+                // cannot compile so the expression must be evaluated dynamically
+                return null;
+            }
+            codes.add(code);
+        }
+        if (codes.isEmpty()) {
+            return "\"\"";
+        } else if (codes.size() == 1) {
+            return codes.get(0);
+        } else {
+            // concat values as evaluating an expression is like a template language
+            return "concat(exchange, " + String.join(", ", codes) + ")";
+        }
+    }
+
+    protected void doParseAstModel() {
         // parse the expression using the following grammar
         nextToken();
         while (!token.getType().isEol()) {
@@ -83,18 +140,6 @@ public class SimpleExpressionParser extends BaseSimpleParser {
         prepareBlocks();
         // compact and stack unary operators
         prepareUnaryExpressions();
-
-        // create and return as a Camel expression
-        List<Expression> expressions = createExpressions();
-        if (expressions.isEmpty()) {
-            // return an empty string as response as there was nothing to parse
-            return ExpressionBuilder.constantExpression("");
-        } else if (expressions.size() == 1) {
-            return expressions.get(0);
-        } else {
-            // concat expressions as evaluating an expression is like a template language
-            return ExpressionBuilder.concatExpression(expressions, expression);
-        }
     }
 
     protected void parseAndCreateAstModel() {
@@ -17,9 +17,13 @@
 package org.apache.camel.language.simple;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
+import org.apache.camel.ExtendedCamelContext;
 import org.apache.camel.Predicate;
 import org.apache.camel.StaticService;
 import org.apache.camel.spi.annotations.Language;
@@ -45,18 +49,57 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
     // singleton for expressions without a result type
     private static final SimpleLanguage SIMPLE = new SimpleLanguage();
 
+    // the package of the compiled expressions
+    private static final String COMPILED_PACKAGE = "org.apache.camel.language.simple.compiled";
+    // the compiled class names must be unique in the JVM as there can be several CamelContexts
+    private static final AtomicInteger UUID = new AtomicInteger();
+
     boolean allowEscape = true;
 
     // use caches to avoid re-parsing the same expressions over and over again
     private Map<String, Expression> cacheExpression;
     private Map<String, Predicate> cachePredicate;
 
+    // compiled mode
+    private boolean compiled;
+    private SimpleCompiler compiler;
+    private final AtomicInteger compiledCounter = new AtomicInteger();
+    private final AtomicLong compiledTime = new AtomicLong();
+
     /**
      * Default constructor.
      */
     public SimpleLanguage() {
     }
 
+    public boolean isCompiled() {
+        return compiled;
+    }
+
+    /**
+     * Whether to compile the simple expressions and predicates to Java bytecode when they are created, which avoids
+     * evaluating the parsed functions and operators for every message.
+     * <p/>
+     * This requires a {@link SimpleCompiler} such as provided by <tt>camel-joor</tt>. Expressions using functions or
+     * operators which cannot be compiled are evaluated as usual.
+     * <p/>
+     * This can also be turned on with the <tt>camel.language.simple.compiled</tt> property when using Camel Main.
+     */
+    public void setCompiled(boolean compiled) {
+        this.compiled = compiled;
+    }
+
+    public SimpleCompiler getCompiler() {
+        return compiler;
+    }
+
+    /**
+     * To use a custom {@link SimpleCompiler} when compiled mode is enabled.
+     */
+    public void setCompiler(SimpleCompiler compiler) {
+        this.compiler = compiler;
+    }
+
     @Override
     public void init() {
         // setup cache which requires CamelContext to be set first
@@ -81,6 +124,10 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
 
     @Override
     public void stop() {
+        if (compiledCounter.get() > 0) {
+            LOG.debug("Simple language compiled {} expressions in {} millis", compiledCounter.get(),
+                    TimeUnit.NANOSECONDS.toMillis(compiledTime.get()));
+        }
         if (cachePredicate instanceof LRUCache) {
             if (LOG.isDebugEnabled()) {
                 LRUCache cache = (LRUCache) cachePredicate;
@@ -131,9 +178,16 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
                 expression = loadResource(expression);
             }
 
-            SimplePredicateParser parser
-                    = new SimplePredicateParser(getCamelContext(), expression, allowEscape, cacheExpression);
-            answer = parser.parsePredicate();
+            if (compiled && isCompilerAvailable()) {
+                SimplePredicateParser parser
+                        = new SimplePredicateParser(getCamelContext(), expression, allowEscape, cacheExpression);
+                answer = doCompile(expression, parser.parseCode());
+            }
+            if (answer == null) {
+                SimplePredicateParser parser
+                        = new SimplePredicateParser(getCamelContext(), expression, allowEscape, cacheExpression);
+                answer = parser.parsePredicate();
+            }
 
             if (cachePredicate != null && answer != null) {
                 cachePredicate.put(expression, answer);
@@ -194,9 +248,16 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
                 expression = loadResource(expression);
             }
 
-            SimpleExpressionParser parser
-                    = new SimpleExpressionParser(getCamelContext(), expression, allowEscape, cacheExpression);
-            answer = parser.parseExpression();
+            if (compiled && isCompilerAvailable()) {
+                SimpleExpressionParser parser
+                        = new SimpleExpressionParser(getCamelContext(), expression, allowEscape, cacheExpression);
+                answer = doCompile(expression, parser.parseCode());
+            }
+            if (answer == null) {
+                SimpleExpressionParser parser
+                        = new SimpleExpressionParser(getCamelContext(), expression, allowEscape, cacheExpression);
+                answer = parser.parseExpression();
+            }
 
             if (cacheExpression != null && answer != null) {
                 cacheExpression.put(expression, answer);
@@ -206,6 +267,74 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
         return answer;
     }
 
+    /**
+     * Whether the expressions and predicates can be compiled. The {@link SimpleCompiler} is resolved on first use, as
+     * compiled mode may be turned on after this language has been initialized.
+     */
+    private synchronized boolean isCompilerAvailable() {
+        if (compiled && compiler == null && getCamelContext() != null) {
+            compiler = CamelContextHelper.findByType(getCamelContext(), SimpleCompiler.class);
+            if (compiler == null) {
+                compiler = getCamelContext().adapt(ExtendedCamelContext.class).getBootstrapFactoryFinder()
+                        .newInstance(SimpleCompiler.FACTORY, SimpleCompiler.class).orElse(null);
+            }
+            if (compiler == null) {
+                LOG.warn("Simple language compiled mode is enabled but no SimpleCompiler was found on the classpath"
+                         + " (add camel-joor). The simple expressions and predicates will not be compiled.");
+                compiled = false;
+            } else {
+                LOG.debug("Simple language compiled mode enabled using compiler: {}", compiler);
+            }
+        }
+        return compiled && compiler != null;
+    }
+
+    /**
+     * Compiles the code created by the parser as a {@link CompiledSimpleExpression}.
+     *
+     * @return the compiled expression, or <tt>null</tt> if the expression cannot be compiled
+     */
+    private CompiledSimpleExpression doCompile(String text, String code) {
+        if (code == null) {
+            LOG.debug("Cannot compile simple expression: {}", text);
+            return null;
+        }
+
+        compiledCounter.incrementAndGet();
+        String className = "SimpleScript" + UUID.incrementAndGet();
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("package ").append(COMPILED_PACKAGE).append(";\n\n");
+        sb.append("import org.apache.camel.*;\n");
+        sb.append("import org.apache.camel.language.simple.CompiledSimpleExpression;\n");
+        sb.append("import static org.apache.camel.language.simple.CompiledSimpleHelper.*;\n\n");
+        sb.append("public class ").append(className).append(" extends CompiledSimpleExpression {\n\n");
+        sb.append("    public ").append(className).append("(String text) {\n");
+        sb.append("        super(text);\n");
+        sb.append("    }\n\n");
+        sb.append("    @Override\n");
+        sb.append("    public Object evaluate(CamelContext context, Exchange exchange, Message message, Object body)");
+        sb.append(" throws Exception {\n");
+        sb.append("        return ").append(code).append(";\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+
+        long start = System.nanoTime();
+        try {
+            Class<?> clazz = compiler.compile(getCamelContext(), COMPILED_PACKAGE + "." + className, sb.toString());
+            CompiledSimpleExpression answer
+                    = (CompiledSimpleExpression) clazz.getConstructor(String.class).newInstance(text);
+            LOG.debug("Compiled simple expression: {} as class: {}", text, clazz.getName());
+            return answer;
+        } catch (Exception e) {
+            // should not happen, but then we can still evaluate the expression as usual
+            LOG.warn("Error compiling simple expression: {} due to {}. The expression will not be compiled.", text,
+                    e.getMessage(), e);
+            return null;
+        } finally {
+            compiledTime.addAndGet(System.nanoTime() - start);
+        }
+    }
+
     /**
      * Creates a new {@link Expression}.
      * <p/>
@@ -82,8 +82,60 @@ public class SimplePredicateParser extends BaseSimpleParser {
         }
     }
 
+    /**
+     * Parses the predicate and creates the Java source code to evaluate it.
+     *
+     * @return the code, or <tt>null</tt> if the predicate uses functions or operators which cannot be compiled
+     * @see    CompiledSimpleExpression
+     */
+    public String parseCode() {
+        clear();
+        try {
+            return doParseCode();
+        } catch (SimpleParserException e) {
+            // catch parser exception and turn that into a syntax exceptions
+            throw new SimpleIllegalSyntaxException(expression, e.getIndex(), e.getMessage(), e);
+        } catch (Exception e) {
+            // include exception in rethrown exception
+            throw new SimpleIllegalSyntaxException(expression, -1, e.getMessage(), e);
+        }
+    }
+
     protected Predicate doParsePredicate() {
+        doParseAstModel();
 
+        // create and return as a Camel predicate
+        List<Predicate> predicates = createPredicates();
+        if (predicates.isEmpty()) {
+            // return a false predicate as response as there was nothing to parse
+            return PredicateBuilder.constant(false);
+        } else if (predicates.size() == 1) {
+            return predicates.get(0);
+        } else {
+            return PredicateBuilder.and(predicates);
+        }
+    }
+
+    protected String doParseCode() {
+        doParseAstModel();
+
+        List<String> codes = new ArrayList<>();
+        for (SimpleNode node : nodes) {
+            String code = node.createCode(camelContext, expression);
+            if (code == null) {
+                // cannot compile so the predicate must be evaluated dynamically
+                return null;
+            }
+            codes.add("predicate(" + code + ")");
+        }
+        if (codes.isEmpty()) {
+            return "Boolean.FALSE";
+        } else {
+            return String.join(" && ", codes);
+        }
+    }
+
+    protected void doParseAstModel() {
         // parse using the following grammar
         nextToken();
         while (!token.getType().isEol()) {
@@ -123,17 +175,6 @@ public class SimplePredicateParser extends BaseSimpleParser {
         prepareBinaryExpressions();
         // compact and stack logical expressions
         prepareLogicalExpressions();
-
-        // create and return as a Camel predicate
-        List<Predicate> predicates = createPredicates();
-        if (predicates.isEmpty()) {
-            // return a false predicate as response as there was nothing to parse
-            return PredicateBuilder.constant(false);
-        } else if (predicates.size() == 1) {
-            return predicates.get(0);
-        } else {
-            return PredicateBuilder.and(predicates);
-        }
     }
 
     /**
@@ -124,6 +124,57 @@ public class BinaryExpression extends BaseSimpleNode {
         throw new SimpleParserException("Unknown binary operator " + operator, token.getIndex());
     }
 
+    @Override
+    public String createCode(CamelContext camelContext, String expression) {
+        org.apache.camel.util.ObjectHelper.notNull(left, "left node", this);
+        org.apache.camel.util.ObjectHelper.notNull(right, "right node", this);
+
+        String method;
+        boolean not = false;
+        if (operator == BinaryOperatorType.EQ) {
+            method = "isEqualTo";
+        } else if (operator == BinaryOperatorType.EQ_IGNORE) {
+            method = "isEqualToIgnoreCase";
+        } else if (operator == BinaryOperatorType.GT) {
+            method = "isGreaterThan";
+        } else if (operator == BinaryOperatorType.GTE) {
+            method = "isGreaterThanOrEqualTo";
+        } else if (operator == BinaryOperatorType.LT) {
+            method = "isLessThan";
+        } else if (operator == BinaryOperatorType.LTE) {
+            method = "isLessThanOrEqualTo";
+        } else if (operator == BinaryOperatorType.NOT_EQ) {
+            method = "isNotEqualTo";
+        } else if (operator == BinaryOperatorType.NOT_EQ_IGNORE) {
+            method = "isEqualToIgnoreCase";
+            not = true;
+        } else if (operator == BinaryOperatorType.CONTAINS) {
+            method = "contains";
+        } else if (operator == BinaryOperatorType.NOT_CONTAINS) {
+            method = "contains";
+            not = true;
+        } else if (operator == BinaryOperatorType.CONTAINS_IGNORECASE) {
+            method = "containsIgnoreCase";
+        } else if (operator == BinaryOperatorType.NOT_CONTAINS_IGNORECASE) {
+            method = "containsIgnoreCase";
+            not = true;
+        } else if (operator == BinaryOperatorType.STARTS_WITH) {
+            method = "startsWith";
+        } else if (operator == BinaryOperatorType.ENDS_WITH) {
+            method = "endsWith";
+        } else {
+            // the other operators are evaluated dynamically so they cannot be compiled
+            return null;
+        }
+
+        String leftCode = left.createCode(camelContext, expression);
+        String rightCode = right.createCode(camelContext, expression);
+        if (leftCode == null || rightCode == null) {
+            return null;
+        }
+        return (not ? "!" : "") + method + "(exchange, " + leftCode + ", " + rightCode + ")";
+    }
+
     private Expression createIsExpression(
             final CamelContext camelContext, final String expression, final Expression leftExp, final Expression rightExp) {
         return new Expression() {
@@ -51,4 +51,9 @@ public class BooleanExpression extends BaseSimpleNode {
             }
         };
     }
+
+    @Override
+    public String createCode(CamelContext camelContext, String expression) {
+        return value ? "Boolean.TRUE" : "Boolean.FALSE";
+    }
 }
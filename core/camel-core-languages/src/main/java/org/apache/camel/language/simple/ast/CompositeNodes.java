@@ -67,4 +67,22 @@ public class CompositeNodes extends BaseSimpleNode {
         }
     }
 
+    @Override
+    public String createCode(CamelContext camelContext, String expression) {
+        if (children.isEmpty()) {
+            return null;
+        } else if (children.size() == 1) {
+            return children.get(0).createCode(camelContext, expression);
+        } else {
+            StringBuilder sb = new StringBuilder("concat(exchange");
+            for (SimpleNode child : children) {
+                String code = child.createCode(camelContext, expression);
+                if (code == null) {
+                    return null;
+                }
+                sb.append(", ").append(code);
+            }
+            return sb.append(")").toString();
+        }
+    }
 }
@@ -59,4 +59,9 @@ public class LiteralExpression extends BaseSimpleNode implements LiteralNode {
     public Expression createExpression(CamelContext camelContext, String expression) {
         return ExpressionBuilder.constantExpression(getText());
     }
+
+    @Override
+    public String createCode(CamelContext camelContext, String expression) {
+        return quoteCode(getText());
+    }
 }
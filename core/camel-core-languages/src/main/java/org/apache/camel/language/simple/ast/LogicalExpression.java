@@ -77,6 +77,25 @@ public class LogicalExpression extends BaseSimpleNode {
         throw new SimpleParserException("Unknown logical operator " + operator, token.getIndex());
     }
 
+    @Override
+    public String createCode(CamelContext camelContext, String expression) {
+        ObjectHelper.notNull(left, "left node", this);
+        ObjectHelper.notNull(right, "right node", this);
+
+        final String leftCode = left.createCode(camelContext, expression);
+        final String rightCode = right.createCode(camelContext, expression);
+        if (leftCode == null || rightCode == null) {
+            return null;
+        }
+
+        if (operator == LogicalOperatorType.AND) {
+            return "(predicate(" + leftCode + ") && predicate(" + rightCode + "))";
+        } else if (operator == LogicalOperatorType.OR) {
+            return "(predicate(" + leftCode + ") || predicate(" + rightCode + "))";
+        }
+        return null;
+    }
+
     private Expression createAndExpression(final Expression leftExp, final Expression rightExp) {
         return new Expression() {
             @Override
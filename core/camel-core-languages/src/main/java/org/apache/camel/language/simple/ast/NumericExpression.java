@@ -66,4 +66,15 @@ public class NumericExpression extends BaseSimpleNode {
             }
         };
     }
+
+    @Override
+    public String createCode(CamelContext camelContext, String expression) {
+        if (number instanceof Integer) {
+            return "Integer.valueOf(" + number + ")";
+        } else if (number instanceof Long) {
+            return "Long.valueOf(" + number + "L)";
+        } else {
+            return "Double.valueOf(" + number + "d)";
+        }
+    }
 }
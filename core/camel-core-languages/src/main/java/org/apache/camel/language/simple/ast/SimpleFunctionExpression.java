@@ -16,8 +16,11 @@
  */
 package org.apache.camel.language.simple.ast;
 
+import java.lang.reflect.Modifier;
 import java.net.URISyntaxException;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Expression;
@@ -37,6 +40,8 @@ import org.apache.camel.util.URISupport;
  */
 public class SimpleFunctionExpression extends LiteralExpression {
 
+    private static final Pattern OGNL_PROPERTY = Pattern.compile("(\\?)?\\.([a-zA-Z_$][a-zA-Z0-9_$]*)");
+
     // use caches to avoid re-parsing the same expressions over and over again
     private Map<String, Expression> cacheExpression;
 
@@ -67,6 +72,157 @@ public class SimpleFunctionExpression extends LiteralExpression {
         return answer;
     }
 
+    /**
+     * Creates the Java source code for this function, or <tt>null</tt> if the function cannot be compiled.
+     *
+     * @param expression not in use
+     */
+    @Override
+    public String createCode(CamelContext camelContext, String expression) {
+        String function = text.toString();
+
+        String answer = createCodeDirectly(function);
+        if (answer != null) {
+            return answer;
+        }
+
+        // bodyAs without OGNL
+        String remainder = ifStartsWithReturnRemainder("bodyAs(", function);
+        if (remainder != null) {
+            String type = StringHelper.before(remainder, ")");
+            if (type == null || ObjectHelper.isNotEmpty(StringHelper.after(remainder, ")"))) {
+                return null;
+            }
+            type = createTypeCode(camelContext, StringHelper.removeQuotes(type));
+            return type != null ? "message.getBody(" + type + ")" : null;
+        }
+
+        // body OGNL
+        remainder = ifStartsWithReturnRemainder("body", function);
+        if (remainder == null) {
+            remainder = ifStartsWithReturnRemainder("in.body", function);
+        }
+        if (remainder != null) {
+            return createOgnlCode("body", remainder);
+        }
+
+        // headerAs
+        remainder = ifStartsWithReturnRemainder("headerAs(", function);
+        if (remainder != null) {
+            String keyAndType = StringHelper.before(remainder, ")");
+            if (keyAndType == null) {
+                return null;
+            }
+            String key = StringHelper.before(keyAndType, ",");
+            String type = StringHelper.after(keyAndType, ",");
+            if (ObjectHelper.isEmpty(key) || ObjectHelper.isEmpty(type)
+                    || ObjectHelper.isNotEmpty(StringHelper.after(remainder, ")"))) {
+                return null;
+            }
+            key = StringHelper.removeQuotes(key);
+            type = createTypeCode(camelContext, StringHelper.removeQuotes(type));
+            if (type == null || isDynamicKey(key)) {
+                return null;
+            }
+            return "header(exchange, message, " + quoteCode(key) + ", " + type + ")";
+        }
+
+        // headers function
+        if ("in.headers".equals(function) || "headers".equals(function)) {
+            return "message.getHeaders()";
+        }
+
+        // in header function
+        remainder = ifStartsWithReturnRemainder("in.headers", function);
+        if (remainder == null) {
+            remainder = ifStartsWithReturnRemainder("in.header", function);
+        }
+        if (remainder == null) {
+            remainder = ifStartsWithReturnRemainder("headers", function);
+        }
+        if (remainder == null) {
+            remainder = ifStartsWithReturnRemainder("header", function);
+        }
+        if (remainder != null) {
+            String key = createKey(remainder);
+            if (OgnlHelper.isValidOgnlExpression(key) || isDynamicKey(key)) {
+                return null;
+            }
+            return "header(exchange, message, " + quoteCode(key) + ")";
+        }
+
+        // exchange property
+        remainder = ifStartsWithReturnRemainder("exchangeProperty", function);
+        if (remainder != null) {
+            String key = createKey(remainder);
+            if (OgnlHelper.isValidOgnlExpression(key) || isDynamicKey(key)) {
+                return null;
+            }
+            return "exchange.getProperty(" + quoteCode(key) + ")";
+        }
+
+        // the other functions are not supported, so the expression is evaluated dynamically
+        return null;
+    }
+
+    private String createCodeDirectly(String function) {
+        if (ObjectHelper.isEqualToAny(function, "body", "in.body")) {
+            return "body";
+        } else if (ObjectHelper.equal(function, "id")) {
+            return "message.getMessageId()";
+        } else if (ObjectHelper.equal(function, "exchangeId")) {
+            return "exchange.getExchangeId()";
+        } else if (ObjectHelper.equal(function, "exchange")) {
+            return "exchange";
+        } else if (ObjectHelper.equal(function, "camelId")) {
+            return "context.getName()";
+        } else if (ObjectHelper.equal(function, "threadName")) {
+            return "Thread.currentThread().getName()";
+        } else if (ObjectHelper.equal(function, "null")) {
+            return "null";
+        }
+        return null;
+    }
+
+    private String createOgnlCode(String code, String ognl) {
+        // only plain property chains such as .customer.id or ?.customer.id can be compiled
+        Matcher matcher = OGNL_PROPERTY.matcher(ognl);
+        int index = 0;
+        boolean first = true;
+        while (matcher.find() && matcher.start() == index) {
+            boolean nullSafe = first || matcher.group(1) != null;
+            code = "invoke(exchange, " + code + ", " + quoteCode(matcher.group(2)) + ", " + nullSafe + ")";
+            index = matcher.end();
+            first = false;
+        }
+        return !first && index == ognl.length() ? code : null;
+    }
+
+    private static String createKey(String remainder) {
+        // remove leading character (dot, colon or ?)
+        if (remainder.startsWith(".") || remainder.startsWith(":") || remainder.startsWith("?")) {
+            remainder = remainder.substring(1);
+        }
+        // remove starting and ending brackets
+        if (remainder.startsWith("[") && remainder.endsWith("]")) {
+            remainder = remainder.substring(1, remainder.length() - 1);
+        }
+        // remove quotes from key
+        return StringHelper.removeLeadingAndEndingQuotes(remainder);
+    }
+
+    private static boolean isDynamicKey(String key) {
+        return key.contains("${") || key.contains("$simple{");
+    }
+
+    private static String createTypeCode(CamelContext camelContext, String type) {
+        Class<?> clazz = camelContext.getClassResolver().resolveClass(type.trim());
+        if (clazz == null || !Modifier.isPublic(clazz.getModifiers()) || clazz.getCanonicalName() == null) {
+            return null;
+        }
+        return clazz.getCanonicalName() + ".class";
+    }
+
     private Expression createSimpleExpression(CamelContext camelContext, String function, boolean strict) {
         // return the function directly if we can create function without analyzing the prefix
         Expression answer = createSimpleExpressionDirectly(camelContext, function);
@@ -63,6 +63,18 @@ public class SimpleFunctionStart extends BaseSimpleNode implements BlockStart {
         }
     }
 
+    @Override
+    public String createCode(CamelContext camelContext, String expression) {
+        // nested functions are evaluated dynamically, so only simple literal functions can be compiled
+        if (block.getChildren().size() == 1 && block.getChildren().get(0) instanceof LiteralNode) {
+            SimpleFunctionExpression function = new SimpleFunctionExpression(this.getToken(), cacheExpression);
+            LiteralNode literal = (LiteralNode) block.getChildren().get(0);
+            function.addText(literal.getText());
+            return function.createCode(camelContext, expression);
+        }
+        return null;
+    }
+
     private Expression doCreateLiteralExpression(CamelContext camelContext, String expression) {
         SimpleFunctionExpression function = new SimpleFunctionExpression(this.getToken(), cacheExpression);
         LiteralNode literal = (LiteralNode) block.getChildren().get(0);
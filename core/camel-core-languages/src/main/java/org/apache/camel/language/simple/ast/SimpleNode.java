@@ -43,4 +43,19 @@ public interface SimpleNode {
      */
     Expression createExpression(CamelContext camelContext, String expression) throws SimpleParserException;
 
+    /**
+     * Creates the Java source code to evaluate this model, which is used when the simple language is compiled.
+     * <p/>
+     * The code is a Java expression which can use the <tt>context</tt>, <tt>exchange</tt>, <tt>message</tt> and
+     * <tt>body</tt> variables, and the static methods from
+     * {@link org.apache.camel.language.simple.CompiledSimpleHelper}.
+     *
+     * @param  camelContext the camel context
+     * @param  expression   the input string
+     * @return              the code, or <tt>null</tt> if this model cannot be compiled, and must be interpreted
+     */
+    default String createCode(CamelContext camelContext, String expression) {
+        return null;
+    }
+
 }
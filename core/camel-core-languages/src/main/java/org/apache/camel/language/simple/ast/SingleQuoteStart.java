@@ -46,12 +46,21 @@ public class SingleQuoteStart extends BaseSimpleNode implements BlockStart {
             answer = block.createExpression(camelContext, expression);
         }
         if (answer == null) {
-            // there quoted literal is empty
+            // the quoted literal is empty
             answer = ExpressionBuilder.constantExpression("");
         }
         return answer;
     }
 
+    @Override
+    public String createCode(CamelContext camelContext, String expression) {
+        if (block.getChildren().isEmpty()) {
+            // the quoted literal is empty
+            return "\"\"";
+        }
+        return block.createCode(camelContext, expression);
+    }
+
     @Override
     public boolean acceptAndAddNode(SimpleNode node) {
         block.addChild(node);
@@ -81,6 +81,9 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
     @Metadata(javaType = "java.lang.Boolean")
     private String optimisticLocking;
     @XmlAttribute
+    @Metadata(javaType = "java.lang.Integer")
+    private String lockStripes;
+    @XmlAttribute
     private String executorServiceRef;
     @XmlAttribute
     private String timeoutCheckerExecutorServiceRef;
@@ -106,6 +109,9 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
     @Metadata(defaultValue = "1s", javaType = "java.time.Duration")
     private String completionTimeoutCheckerInterval = "1s";
     @XmlAttribute
+    @Metadata(javaType = "java.lang.Integer")
+    private String completionTimeoutWheelSize;
+    @XmlAttribute
     @Metadata(javaType = "java.lang.Boolean")
     private String completionFromBatchConsumer;
     @XmlAttribute
@@ -349,6 +355,14 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
         this.completionTimeoutCheckerInterval = completionTimeoutCheckerInterval;
     }
 
+    public String getCompletionTimeoutWheelSize() {
+        return completionTimeoutWheelSize;
+    }
+
+    public void setCompletionTimeoutWheelSize(String completionTimeoutWheelSize) {
+        this.completionTimeoutWheelSize = completionTimeoutWheelSize;
+    }
+
     public ExpressionSubElementDefinition getCompletionPredicate() {
         return completionPredicate;
     }
@@ -428,6 +442,14 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
         this.optimisticLocking = optimisticLocking;
     }
 
+    public String getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(String lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public String getParallelProcessing() {
         return parallelProcessing;
     }
@@ -784,6 +806,21 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
         return this;
     }
 
+    /**
+     * If set to a positive number then a hashed timing wheel with this number of buckets is used to keep track of
+     * completion timeouts, instead of scanning all correlation groups every time the timeout checker runs. The
+     * completionTimeoutCheckerInterval is used as the duration of each bucket.
+     * <p/>
+     * This is recommended when there are a very large number of correlation groups in progress.
+     *
+     * @param  completionTimeoutWheelSize the number of buckets in the wheel, is rounded up to a power of two
+     * @return                            the builder
+     */
+    public AggregateDefinition completionTimeoutWheelSize(int completionTimeoutWheelSize) {
+        setCompletionTimeoutWheelSize(Integer.toString(completionTimeoutWheelSize));
+        return this;
+    }
+
     /**
      * Sets the AggregationStrategy to use with a fluent builder.
      */
@@ -1002,6 +1039,16 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
         return this;
     }
 
+    /**
+     * Number of locks to stripe the correlation keys over, which allows exchanges with different correlation keys to
+     * be aggregated in parallel, instead of using a single lock shared by all correlation keys. The value is rounded
+     * up to a power of two. This option cannot be used together with optimisticLocking or completionFromBatchConsumer.
+     */
+    public AggregateDefinition lockStripes(int lockStripes) {
+        setLockStripes(Integer.toString(lockStripes));
+        return this;
+    }
+
     /**
      * Allows to configure retry settings when using optimistic locking.
      */
@@ -79,6 +79,12 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
     @XmlAttribute
     @Metadata(javaType = "java.lang.Boolean")
     private String stopOnAggregateException;
+    @XmlAttribute
+    @Metadata(javaType = "java.lang.Integer")
+    private String maxInflight;
+    @XmlAttribute
+    @Metadata(javaType = "java.time.Duration")
+    private String maxInflightTimeout;
 
     public SplitDefinition() {
     }
@@ -363,6 +369,66 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         return this;
     }
 
+    /**
+     * Sets the maximum number of splitted messages which can be processed concurrently when using parallel processing.
+     * The splitter will not split the next message until one of the messages in flight has been processed and
+     * aggregated. This allows to split big messages in streaming mode with a bounded memory usage, as the splitter does
+     * not split the messages faster than they can be processed.
+     * <p/>
+     * By default there is no limit.
+     *
+     * @return the builder
+     */
+    public SplitDefinition maxInflight(int maxInflight) {
+        return maxInflight(Integer.toString(maxInflight));
+    }
+
+    /**
+     * Sets the maximum number of splitted messages which can be processed concurrently when using parallel processing.
+     * The splitter will not split the next message until one of the messages in flight has been processed and
+     * aggregated. This allows to split big messages in streaming mode with a bounded memory usage, as the splitter does
+     * not split the messages faster than they can be processed.
+     * <p/>
+     * By default there is no limit.
+     *
+     * @return the builder
+     */
+    public SplitDefinition maxInflight(String maxInflight) {
+        setMaxInflight(maxInflight);
+        return this;
+    }
+
+    /**
+     * Sets the maximum time in millis to wait for one of the splitted messages in flight to complete, when the
+     * <tt>maxInflight</tt> limit is reached. If none of the messages in flight completes within the given time, then the
+     * Splitter fails with an {@link org.apache.camel.ExchangeTimedOutException}, instead of waiting forever for a
+     * message which may be stuck.
+     * <p/>
+     * By default the Splitter waits forever.
+     *
+     * @param  maxInflightTimeout timeout in millis
+     * @return                    the builder
+     */
+    public SplitDefinition maxInflightTimeout(long maxInflightTimeout) {
+        return maxInflightTimeout(Long.toString(maxInflightTimeout));
+    }
+
+    /**
+     * Sets the maximum time in millis to wait for one of the splitted messages in flight to complete, when the
+     * <tt>maxInflight</tt> limit is reached. If none of the messages in flight completes within the given time, then the
+     * Splitter fails with an {@link org.apache.camel.ExchangeTimedOutException}, instead of waiting forever for a
+     * message which may be stuck.
+     * <p/>
+     * By default the Splitter waits forever.
+     *
+     * @param  maxInflightTimeout timeout in millis
+     * @return                    the builder
+     */
+    public SplitDefinition maxInflightTimeout(String maxInflightTimeout) {
+        setMaxInflightTimeout(maxInflightTimeout);
+        return this;
+    }
+
     /**
      * Will now stop further processing if an exception or failure occurred during processing of an
      * {@link org.apache.camel.Exchange} and the caused exception will be thrown.
@@ -590,6 +656,22 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         return stopOnException;
     }
 
+    public String getMaxInflight() {
+        return maxInflight;
+    }
+
+    public void setMaxInflight(String maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
+    public String getMaxInflightTimeout() {
+        return maxInflightTimeout;
+    }
+
+    public void setMaxInflightTimeout(String maxInflightTimeout) {
+        this.maxInflightTimeout = maxInflightTimeout;
+    }
+
     public void setStopOnException(String stopOnException) {
         this.stopOnException = stopOnException;
     }
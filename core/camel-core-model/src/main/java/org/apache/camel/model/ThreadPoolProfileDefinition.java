@@ -58,6 +58,9 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
     @XmlAttribute
     @Metadata(javaType = "org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy")
     private String rejectedPolicy;
+    @XmlAttribute
+    @Metadata(javaType = "java.lang.Boolean")
+    private String virtualThreads;
 
     public ThreadPoolProfileDefinition() {
     }
@@ -136,6 +139,15 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
         return this;
     }
 
+    public ThreadPoolProfileDefinition virtualThreads(boolean virtualThreads) {
+        return virtualThreads(Boolean.toString(virtualThreads));
+    }
+
+    public ThreadPoolProfileDefinition virtualThreads(String virtualThreads) {
+        setVirtualThreads(virtualThreads);
+        return this;
+    }
+
     public String getDefaultProfile() {
         return defaultProfile;
     }
@@ -228,4 +240,16 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
         this.rejectedPolicy = rejectedPolicy;
     }
 
+    public String getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Whether to use virtual threads (requires Java 21 or newer). If virtual threads are not supported by the JVM, then
+     * platform threads are used.
+     */
+    public void setVirtualThreads(String virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
 }
@@ -42,6 +42,7 @@ import org.apache.camel.CamelContextAware;
 import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangeTimedOutException;
 import org.apache.camel.ExtendedCamelContext;
 import org.apache.camel.ExtendedExchange;
 import org.apache.camel.Navigate;
@@ -167,8 +168,12 @@ public class MulticastProcessor extends AsyncProcessorSupport
     private ExecutorService aggregateExecutorService;
     private boolean shutdownAggregateExecutorService;
     private final long timeout;
+    private int maxInflight;
+    private long maxInflightTimeout;
     private final ConcurrentMap<ErrorHandlerKey, Processor> errorHandlers = new ConcurrentHashMap<>();
     private final boolean shareUnitOfWork;
+    // use a lock instead of synchronized to not pin virtual threads while aggregating
+    private final Lock aggregateLock = new ReentrantLock();
 
     public MulticastProcessor(CamelContext camelContext, Route route, Collection<Processor> processors) {
         this(camelContext, route, processors, null);
@@ -320,6 +325,7 @@ public class MulticastProcessor extends AsyncProcessorSupport
         final AtomicInteger nbAggregated = new AtomicInteger();
         final AtomicBoolean allSent = new AtomicBoolean();
         final AtomicBoolean done = new AtomicBoolean();
+        final AtomicBoolean suspended = new AtomicBoolean();
 
         MulticastTask(Exchange original, Iterable<ProcessorExchangePair> pairs, AsyncCallback callback) {
             this.original = original;
@@ -370,7 +376,7 @@ public class MulticastProcessor extends AsyncProcessorSupport
                 // Schedule the processing of the next pair
                 if (hasNext) {
                     if (isParallelProcessing()) {
-                        schedule(this);
+                        scheduleNext();
                     }
                 } else {
                     allSent.set(true);
@@ -421,6 +427,58 @@ public class MulticastProcessor extends AsyncProcessorSupport
             }
         }
 
+        /**
+         * Schedules the processing of the next pair in parallel processing mode. If there are already
+         * {@link MulticastProcessor#getMaxInflight()} exchanges in flight, then the task is suspended until one of them
+         * has been aggregated, so the pairs are not created faster than they can be processed.
+         */
+        protected void scheduleNext() {
+            if (!isInflightFull()) {
+                schedule(this);
+            } else {
+                suspended.set(true);
+                // an exchange may have been aggregated in the meantime, so check again to not suspend forever
+                if (!isInflightFull()) {
+                    resume();
+                } else if (maxInflightTimeout > 0) {
+                    final int aggregated = nbAggregated.get();
+                    schedule(aggregateExecutorService, () -> inflightTimeout(aggregated), maxInflightTimeout,
+                            TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+
+        /**
+         * Fails the task if it is still suspended, and none of the exchanges in flight has been aggregated since it was
+         * suspended, so a stuck exchange does not hold the task forever.
+         */
+        protected void inflightTimeout(int aggregated) {
+            Lock lock = this.lock;
+            // if the lock is taken then an exchange is being aggregated, which resumes the task
+            if (lock.tryLock()) {
+                try {
+                    if (!done.get() && suspended.get() && nbAggregated.get() == aggregated) {
+                        original.setException(new ExchangeTimedOutException(
+                                original, maxInflightTimeout,
+                                "none of the " + maxInflight + " exchanges in flight has completed"));
+                        doDone(null, false);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        protected void resume() {
+            if (suspended.compareAndSet(true, false)) {
+                schedule(this);
+            }
+        }
+
+        private boolean isInflightFull() {
+            return maxInflight > 0 && nbExchangeSent.get() - nbAggregated.get() >= maxInflight;
+        }
+
         protected void aggregate() {
             Lock lock = this.lock;
             if (lock.tryLock()) {
@@ -430,6 +488,8 @@ public class MulticastProcessor extends AsyncProcessorSupport
                         doAggregate(result, exchange, original);
                         if (nbAggregated.incrementAndGet() >= nbExchangeSent.get() && allSent.get()) {
                             doDone(result.get(), true);
+                        } else if (suspended.get()) {
+                            resume();
                         }
                     }
                 } catch (Throwable e) {
@@ -621,9 +681,14 @@ public class MulticastProcessor extends AsyncProcessorSupport
      * @param exchange      the exchange to be added to the result
      * @param inputExchange the input exchange that was sent as input to this EIP
      */
-    private synchronized void doAggregateSync(
+    private void doAggregateSync(
             AggregationStrategy strategy, AtomicReference<Exchange> result, Exchange exchange, Exchange inputExchange) {
-        doAggregateInternal(strategy, result, exchange, inputExchange);
+        aggregateLock.lock();
+        try {
+            doAggregateInternal(strategy, result, exchange, inputExchange);
+        } finally {
+            aggregateLock.unlock();
+        }
     }
 
     /**
@@ -844,7 +909,7 @@ public class MulticastProcessor extends AsyncProcessorSupport
         if (isParallelProcessing() && executorService == null) {
             throw new IllegalArgumentException("ParallelProcessing is enabled but ExecutorService has not been set");
         }
-        if (timeout > 0 && aggregateExecutorService == null) {
+        if ((timeout > 0 || maxInflight > 0 && maxInflightTimeout > 0) && aggregateExecutorService == null) {
             // use unbounded thread pool so we ensure the aggregate on-the-fly task always will have assigned a thread
             // and run the tasks when the task is submitted. If not then the aggregate task may not be able to run
             // and signal completion during processing, which would lead to what would appear as a dead-lock or a slow processing
@@ -994,6 +1059,32 @@ public class MulticastProcessor extends AsyncProcessorSupport
         return aggregationStrategy;
     }
 
+    public int getMaxInflight() {
+        return maxInflight;
+    }
+
+    /**
+     * Sets the maximum number of exchanges which can be in flight at the same time when using parallel processing. The
+     * next exchanges are not created until an exchange has been aggregated, which keeps the memory usage bounded when
+     * splitting big messages in streaming mode. Use zero or a negative value for no limit.
+     */
+    public void setMaxInflight(int maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
+    public long getMaxInflightTimeout() {
+        return maxInflightTimeout;
+    }
+
+    /**
+     * Sets the maximum time in millis to wait for one of the {@link #getMaxInflight()} exchanges in flight to be
+     * aggregated, before the next exchange can be created. If the time is exceeded then the multicast fails with an
+     * {@link ExchangeTimedOutException}. Use zero or a negative value to wait forever.
+     */
+    public void setMaxInflightTimeout(long maxInflightTimeout) {
+        this.maxInflightTimeout = maxInflightTimeout;
+    }
+
     public boolean isParallelProcessing() {
         return parallelProcessing;
     }
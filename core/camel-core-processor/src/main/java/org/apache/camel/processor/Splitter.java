@@ -313,7 +313,7 @@ public class Splitter extends MulticastProcessor implements AsyncProcessor, Trac
         Exchange answer = ExchangeHelper.createCopy(exchange, preserveExchangeId);
         if (exchange.getContext().isMessageHistory()) {
             // we do not want to copy the message history for splitted sub-messages
-            answer.getProperties().remove(Exchange.MESSAGE_HISTORY);
+            answer.removeProperty(Exchange.MESSAGE_HISTORY);
         }
         return answer;
     }
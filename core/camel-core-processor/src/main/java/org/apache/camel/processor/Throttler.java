@@ -25,6 +25,8 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelContext;
@@ -265,6 +267,8 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         private final String key;
         private final DelayQueue<ThrottlePermit> delayQueue = new DelayQueue<>();
         private final AtomicReference<ScheduledFuture<?>> cleanFuture = new AtomicReference<>();
+        // use a lock instead of synchronized as we may block while holding the lock (to not pin virtual threads)
+        private final Lock lock = new ReentrantLock();
         private volatile int throttleRate;
 
         ThrottlingState(String key) {
@@ -315,7 +319,16 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         /**
          * Evaluates the maxRequestsPerPeriodExpression and adjusts the throttle rate up or down.
          */
-        public synchronized void calculateAndSetMaxRequestsPerPeriod(final Exchange exchange) throws Exception {
+        public void calculateAndSetMaxRequestsPerPeriod(final Exchange exchange) throws Exception {
+            lock.lock();
+            try {
+                doCalculateAndSetMaxRequestsPerPeriod(exchange);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void doCalculateAndSetMaxRequestsPerPeriod(final Exchange exchange) throws Exception {
             Integer newThrottle = maxRequestsPerPeriodExpression.evaluate(exchange, Integer.class);
 
             if (newThrottle != null && newThrottle < 0) {
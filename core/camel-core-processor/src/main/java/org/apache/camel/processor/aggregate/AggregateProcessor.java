@@ -65,6 +65,7 @@ import org.apache.camel.spi.Synchronization;
 import org.apache.camel.support.AsyncProcessorSupport;
 import org.apache.camel.support.DefaultTimeoutMap;
 import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.HashedWheelTimeoutMap;
 import org.apache.camel.support.LRUCacheFactory;
 import org.apache.camel.support.LoggingExceptionHandler;
 import org.apache.camel.support.NoLock;
@@ -102,6 +103,10 @@ public class AggregateProcessor extends AsyncProcessorSupport
     private static final Logger LOG = LoggerFactory.getLogger(AggregateProcessor.class);
 
     private volatile Lock lock;
+    // striped locks used instead of the shared lock when lockStripes is in use
+    private volatile Lock[] stripes;
+    // correlation keys that requested completion of all groups while holding a striped lock
+    private final Set<String> pendingForceCompletionOfAllGroups = ConcurrentHashMap.newKeySet();
     private final AtomicBoolean aggregateRepositoryWarned = new AtomicBoolean();
     private final CamelContext camelContext;
     private final ReactiveExecutor reactiveExecutor;
@@ -229,6 +234,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
     private Integer closeCorrelationKeyOnCompletion;
     private boolean parallelProcessing;
     private boolean optimisticLocking;
+    private int lockStripes;
 
     // different ways to have completion triggered
     private boolean eagerCheckCompletion;
@@ -246,6 +252,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
     private boolean forceCompletionOnStop;
     private boolean completeAllOnStop;
     private long completionTimeoutCheckerInterval = 1000;
+    private int completionTimeoutWheelSize;
 
     private ProducerTemplate deadLetterProducerTemplate;
 
@@ -401,13 +408,14 @@ public class AggregateProcessor extends AsyncProcessorSupport
         removeFlagCompleteAllGroupsInclusive(copy);
 
         List<Exchange> aggregated = null;
-        lock.lock();
+        Lock keyLock = getLock(key);
+        keyLock.lock();
         try {
             aggregated = doAggregation(key, copy);
         } catch (CamelExchangeException e) {
             exchange.setException(e);
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
 
         // we are completed so do that work outside the lock
@@ -416,6 +424,11 @@ public class AggregateProcessor extends AsyncProcessorSupport
             aggregated.forEach(agg -> onSubmitCompletion(key, agg));
         }
 
+        // when using striped locks then completion of all groups cannot happen while holding the lock of this key
+        if (!pendingForceCompletionOfAllGroups.isEmpty() && pendingForceCompletionOfAllGroups.remove(key)) {
+            doForceCompletionOfAllGroups(key);
+        }
+
         // check for the special header to force completion of all groups (inclusive of the message)
         if (isCompleteAllGroupsInclusive(exchange)) {
             removeFlagCompleteAllGroupsInclusive(exchange);
@@ -462,7 +475,8 @@ public class AggregateProcessor extends AsyncProcessorSupport
     /**
      * Aggregates the exchange with the given correlation key
      * <p/>
-     * This method <b>must</b> be run synchronized as we cannot aggregate the same correlation key in parallel.
+     * This method <b>must</b> be run synchronized (holding the lock of the correlation key) as we cannot aggregate the
+     * same correlation key in parallel.
      * <p/>
      * The returned {@link Exchange} should be send downstream using the
      * {@link #onSubmitCompletion(String, org.apache.camel.Exchange)} method which sends out the aggregated and
@@ -570,10 +584,10 @@ public class AggregateProcessor extends AsyncProcessorSupport
         // check for the special exchange property to force completion of all groups
         if (isCompleteAllGroups(answer)) {
             removeFlagCompleteAllGroups(answer);
-            forceCompletionOfAllGroups();
+            onForceCompletionOfAllGroups(key);
         } else if (isCompletionOnNewCorrelationGroup() && originalExchange == null) {
             // its a new group so force complete of all existing groups
-            forceCompletionOfAllGroups();
+            onForceCompletionOfAllGroups(key);
         }
 
         // special for some repository implementations
@@ -664,6 +678,36 @@ public class AggregateProcessor extends AsyncProcessorSupport
         aggregationStrategy.onOptimisticLockFailure(oldExchange, newExchange);
     }
 
+    /**
+     * Forces completion of all groups, while aggregating the given correlation key.
+     * <p/>
+     * When using striped locks the completion is deferred until the lock of the current correlation key has been
+     * released, as we must not acquire the locks of other correlation keys while holding one ourselves. The group of
+     * the current correlation key is then left as-is.
+     */
+    private void onForceCompletionOfAllGroups(String key) {
+        if (stripes != null) {
+            pendingForceCompletionOfAllGroups.add(key);
+        } else {
+            forceCompletionOfAllGroups();
+        }
+    }
+
+    /**
+     * Gets the lock to use for aggregating the given correlation key, which is either the shared lock or one of the
+     * striped locks.
+     */
+    private Lock getLock(String key) {
+        Lock[] locks = stripes;
+        if (locks == null) {
+            return lock;
+        }
+        // spread the higher bits of the hash code as only the lower bits are used to select the lock
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return locks[hash & (locks.length - 1)];
+    }
+
     /**
      * Tests whether the given exchanges is pre-complete or not
      *
@@ -1061,6 +1105,19 @@ public class AggregateProcessor extends AsyncProcessorSupport
         this.completionTimeoutCheckerInterval = completionTimeoutCheckerInterval;
     }
 
+    public int getCompletionTimeoutWheelSize() {
+        return completionTimeoutWheelSize;
+    }
+
+    /**
+     * If set to a positive number then a hashed timing wheel with this number of buckets is used to keep track of
+     * completion timeouts, instead of scanning all correlation groups on every completion timeout check. The
+     * completionTimeoutCheckerInterval is used as the duration of each bucket.
+     */
+    public void setCompletionTimeoutWheelSize(int completionTimeoutWheelSize) {
+        this.completionTimeoutWheelSize = completionTimeoutWheelSize;
+    }
+
     public ExceptionHandler getExceptionHandler() {
         return exceptionHandler;
     }
@@ -1085,6 +1142,19 @@ public class AggregateProcessor extends AsyncProcessorSupport
         this.optimisticLocking = optimisticLocking;
     }
 
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    /**
+     * Number of locks to stripe the correlation keys over, which allows exchanges with different correlation keys to
+     * be aggregated in parallel. The value is rounded up to a power of two. By default (0) a single shared lock is
+     * used for all correlation keys.
+     */
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public AggregationRepository getAggregationRepository() {
         return aggregationRepository;
     }
@@ -1229,59 +1299,96 @@ public class AggregateProcessor extends AsyncProcessorSupport
 
         private AggregationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
             // do NOT use locking on the timeout map as this aggregator has its own shared lock we will use instead
-            super(executor, requestMapPollTimeMillis, optimisticLocking);
-            addListener(this::onEviction);
+            // (unless using striped locks, as then the timeout map is accessed concurrently)
+            super(executor, requestMapPollTimeMillis, optimisticLocking || lockStripes > 0);
+            addListener(AggregateProcessor.this::onTimeoutMapEvent);
         }
 
         @Override
         protected void purge() {
-            // wait for lock to be created
-            if (lock != null) {
-                // must acquire the shared aggregation lock to be able to purge
-                lock.lock();
-                try {
-                    super.purge();
-                } finally {
-                    lock.unlock();
-                }
-            }
+            purgeTimeoutMap(super::purge);
         }
+    }
 
-        private void onEviction(Listener.Type type, String key, String exchangeId) {
-            if (type != Listener.Type.Evict) {
-                return;
+    /**
+     * Background task that looks for aggregated exchanges which is triggered by completion timeouts, using a hashed
+     * timing wheel.
+     */
+    private final class AggregationWheelTimeoutMap extends HashedWheelTimeoutMap<String, String> {
+
+        private AggregationWheelTimeoutMap(ScheduledExecutorService executor, long tickDurationMillis, int wheelSize) {
+            super(executor, tickDurationMillis, wheelSize);
+            addListener(AggregateProcessor.this::onTimeoutMapEvent);
+        }
+
+        @Override
+        protected void purge() {
+            purgeTimeoutMap(super::purge);
+        }
+    }
+
+    private void purgeTimeoutMap(Runnable purge) {
+        // wait for lock to be created
+        if (lock != null) {
+            // must acquire the shared aggregation lock to be able to purge
+            lock.lock();
+            try {
+                purge.run();
+            } finally {
+                lock.unlock();
             }
-            log.debug("Completion timeout triggered for correlation key: {}", key);
+        }
+    }
 
-            boolean inProgress = inProgressCompleteExchanges.contains(exchangeId);
-            if (inProgress) {
-                log.trace("Aggregated exchange with id: {} is already in progress.", exchangeId);
-                return;
+    private void onTimeoutMapEvent(TimeoutMap.Listener.Type type, String key, String exchangeId) {
+        if (type != TimeoutMap.Listener.Type.Evict) {
+            return;
+        }
+        if (stripes != null) {
+            // must acquire the lock of the correlation key to be able to complete it
+            Lock keyLock = getLock(key);
+            keyLock.lock();
+            try {
+                onTimeoutEviction(key, exchangeId);
+            } finally {
+                keyLock.unlock();
             }
+        } else {
+            onTimeoutEviction(key, exchangeId);
+        }
+    }
 
-            // get the aggregated exchange
-            boolean evictionStolen = false;
-            Exchange answer = aggregationRepository.get(camelContext, key);
-            if (answer == null) {
-                evictionStolen = true;
-            } else {
-                // indicate it was completed by timeout
-                answer.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_TIMEOUT);
-                try {
-                    answer = onCompletion(key, answer, answer, true, false);
-                    if (answer != null) {
-                        onSubmitCompletion(key, answer);
-                    }
-                } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
-                    evictionStolen = true;
+    private void onTimeoutEviction(String key, String exchangeId) {
+        LOG.debug("Completion timeout triggered for correlation key: {}", key);
+
+        boolean inProgress = inProgressCompleteExchanges.contains(exchangeId);
+        if (inProgress) {
+            LOG.trace("Aggregated exchange with id: {} is already in progress.", exchangeId);
+            return;
+        }
+
+        // get the aggregated exchange
+        boolean evictionStolen = false;
+        Exchange answer = aggregationRepository.get(camelContext, key);
+        if (answer == null) {
+            evictionStolen = true;
+        } else {
+            // indicate it was completed by timeout
+            answer.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_TIMEOUT);
+            try {
+                answer = onCompletion(key, answer, answer, true, false);
+                if (answer != null) {
+                    onSubmitCompletion(key, answer);
                 }
+            } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                evictionStolen = true;
             }
+        }
 
-            if (optimisticLocking && evictionStolen) {
-                log.debug("Another Camel instance has already successfully correlated or processed this timeout eviction "
-                          + "for exchange with id: {} and correlation id: {}",
-                        exchangeId, key);
-            }
+        if (optimisticLocking && evictionStolen) {
+            LOG.debug("Another Camel instance has already successfully correlated or processed this timeout eviction "
+                      + "for exchange with id: {} and correlation id: {}",
+                    exchangeId, key);
         }
     }
 
@@ -1310,21 +1417,28 @@ public class AggregateProcessor extends AsyncProcessorSupport
                 try {
                     for (String key : keys) {
                         boolean stolenInterval = false;
-                        Exchange exchange = aggregationRepository.get(camelContext, key);
-                        if (exchange == null) {
-                            stolenInterval = true;
-                        } else {
-                            LOG.trace("Completion interval triggered for correlation key: {}", key);
-                            // indicate it was completed by interval
-                            exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
-                            try {
-                                Exchange answer = onCompletion(key, exchange, exchange, false, false);
-                                if (answer != null) {
-                                    onSubmitCompletion(key, answer);
-                                }
-                            } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                        // must acquire the lock of the correlation key in case striped locks are in use
+                        Lock keyLock = getLock(key);
+                        keyLock.lock();
+                        try {
+                            Exchange exchange = aggregationRepository.get(camelContext, key);
+                            if (exchange == null) {
                                 stolenInterval = true;
+                            } else {
+                                LOG.trace("Completion interval triggered for correlation key: {}", key);
+                                // indicate it was completed by interval
+                                exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
+                                try {
+                                    Exchange answer = onCompletion(key, exchange, exchange, false, false);
+                                    if (answer != null) {
+                                        onSubmitCompletion(key, answer);
+                                    }
+                                } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                                    stolenInterval = true;
+                                }
                             }
+                        } finally {
+                            keyLock.unlock();
                         }
                         if (optimisticLocking && stolenInterval) {
                             LOG.debug(
@@ -1373,6 +1487,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
                     return;
                 }
                 lock.lock();
+                Lock keyLock = null;
                 try {
                     // consider in progress if it was in progress before we did the scan, or currently after we did the scan
                     // its safer to consider it in progress than risk duplicates due both in progress + recovered
@@ -1383,10 +1498,21 @@ public class AggregateProcessor extends AsyncProcessorSupport
                     } else {
                         LOG.debug("Loading aggregated exchange with id: {} to be recovered.", exchangeId);
                         Exchange exchange = recoverable.recover(camelContext, exchangeId);
+                        // get the correlation key
+                        String key = exchange != null
+                                ? exchange.getProperty(Exchange.AGGREGATED_CORRELATION_KEY, String.class) : null;
+                        if (stripes != null && key != null) {
+                            // must acquire the lock of the correlation key when using striped locks, and then check
+                            // again as the exchange may have been completed meanwhile
+                            keyLock = getLock(key);
+                            keyLock.lock();
+                            if (inProgressCompleteExchanges.contains(exchangeId)) {
+                                LOG.trace("Aggregated exchange with id: {} is already in progress.", exchangeId);
+                                exchange = null;
+                            }
+                        }
                         if (exchange != null) {
-                            // get the correlation key
-                            String key = exchange.getProperty(Exchange.AGGREGATED_CORRELATION_KEY, String.class);
-                            // and mark it as redelivered
+                            // mark it as redelivered
                             exchange.getIn().setHeader(Exchange.REDELIVERED, Boolean.TRUE);
 
                             // get the current redelivery data
@@ -1446,6 +1572,9 @@ public class AggregateProcessor extends AsyncProcessorSupport
                         }
                     }
                 } finally {
+                    if (keyLock != null) {
+                        keyLock.unlock();
+                    }
                     lock.unlock();
                 }
             }
@@ -1493,6 +1622,16 @@ public class AggregateProcessor extends AsyncProcessorSupport
             LOG.info("Defaulting to MemoryAggregationRepository");
         }
 
+        if (lockStripes > 0) {
+            if (optimisticLocking) {
+                throw new IllegalArgumentException("Only one of optimisticLocking or lockStripes can be used, not both.");
+            }
+            if (isCompletionFromBatchConsumer()) {
+                throw new IllegalArgumentException(
+                        "Only one of completionFromBatchConsumer or lockStripes can be used, not both.");
+            }
+        }
+
         if (optimisticLocking) {
             if (!(aggregationRepository instanceof OptimisticLockingAggregationRepository)) {
                 throw new IllegalArgumentException(
@@ -1565,7 +1704,16 @@ public class AggregateProcessor extends AsyncProcessorSupport
                 shutdownTimeoutCheckerExecutorService = true;
             }
             // check for timed out aggregated messages once every second
-            timeoutMap = new AggregationTimeoutMap(getTimeoutCheckerExecutorService(), getCompletionTimeoutCheckerInterval());
+            if (getCompletionTimeoutWheelSize() > 0) {
+                LOG.info("Using hashed timing wheel with {} buckets to track completion timeouts.",
+                        getCompletionTimeoutWheelSize());
+                timeoutMap = new AggregationWheelTimeoutMap(
+                        getTimeoutCheckerExecutorService(), getCompletionTimeoutCheckerInterval(),
+                        getCompletionTimeoutWheelSize());
+            } else {
+                timeoutMap = new AggregationTimeoutMap(
+                        getTimeoutCheckerExecutorService(), getCompletionTimeoutCheckerInterval());
+            }
             // fill in existing timeout values from the aggregation repository, for example if a restart occurred, then we
             // need to re-establish the timeout map so timeout can trigger
             restoreTimeoutMapFromAggregationRepository();
@@ -1578,13 +1726,28 @@ public class AggregateProcessor extends AsyncProcessorSupport
         aggregateController.onStart(this);
 
         if (optimisticLocking) {
+            stripes = null;
             lock = NoLock.INSTANCE;
             if (getOptimisticLockingExecutorService() == null) {
                 setOptimisticLockingExecutorService(camelContext.getExecutorServiceManager()
                         .newSingleThreadScheduledExecutor(this, AGGREGATE_OPTIMISTIC_LOCKING_EXECUTOR));
                 shutdownOptimisticLockingExecutorService = true;
             }
+        } else if (lockStripes > 0) {
+            LOG.info("Using {} striped locks to aggregate correlation keys in parallel", lockStripes);
+            int size = 1;
+            while (size < lockStripes) {
+                size <<= 1;
+            }
+            Lock[] locks = new Lock[size];
+            for (int i = 0; i < size; i++) {
+                locks[i] = new ReentrantLock();
+            }
+            stripes = locks;
+            // the shared lock is not in use as each correlation key is guarded by its striped lock
+            lock = NoLock.INSTANCE;
         } else {
+            stripes = null;
             lock = new ReentrantLock();
         }
     }
@@ -1617,6 +1780,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
             closedCorrelationKeys.clear();
         }
         batchConsumerCorrelationKeys.clear();
+        pendingForceCompletionOfAllGroups.clear();
         redeliveryState.clear();
     }
 
@@ -1696,7 +1860,8 @@ public class AggregateProcessor extends AsyncProcessorSupport
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        Lock keyLock = getLock(key);
+        keyLock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1710,7 +1875,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
                 }
             }
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
         LOG.trace("Completed force completion of group {}", key);
 
@@ -1721,6 +1886,10 @@ public class AggregateProcessor extends AsyncProcessorSupport
     }
 
     public int forceCompletionOfAllGroups() {
+        return doForceCompletionOfAllGroups(null);
+    }
+
+    private int doForceCompletionOfAllGroups(String excludeKey) {
 
         // only run if CamelContext has been fully started or is stopping
         boolean allow = camelContext.getStatus().isStarted() || camelContext.getStatus().isStopping();
@@ -1742,15 +1911,25 @@ public class AggregateProcessor extends AsyncProcessorSupport
             total = keys.size();
             try {
                 for (String key : keys) {
-                    Exchange exchange = aggregationRepository.get(camelContext, key);
-                    if (exchange != null) {
-                        LOG.trace("Force completion triggered for correlation key: {}", key);
-                        // indicate it was completed by a force completion request
-                        exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
-                        Exchange answer = onCompletion(key, exchange, exchange, false, false);
-                        if (answer != null) {
-                            onSubmitCompletion(key, answer);
+                    if (key.equals(excludeKey)) {
+                        continue;
+                    }
+                    // must acquire the lock of the correlation key in case striped locks are in use
+                    Lock keyLock = getLock(key);
+                    keyLock.lock();
+                    try {
+                        Exchange exchange = aggregationRepository.get(camelContext, key);
+                        if (exchange != null) {
+                            LOG.trace("Force completion triggered for correlation key: {}", key);
+                            // indicate it was completed by a force completion request
+                            exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
+                            Exchange answer = onCompletion(key, exchange, exchange, false, false);
+                            if (answer != null) {
+                                onSubmitCompletion(key, answer);
+                            }
                         }
+                    } finally {
+                        keyLock.unlock();
                     }
                 }
             } finally {
@@ -1769,7 +1948,8 @@ public class AggregateProcessor extends AsyncProcessorSupport
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        Lock keyLock = getLock(key);
+        keyLock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1779,7 +1959,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
                 onCompletion(key, exchange, exchange, false, true);
             }
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
         LOG.trace("Completed force discarded of group {}", key);
 
@@ -1811,11 +1991,18 @@ public class AggregateProcessor extends AsyncProcessorSupport
             total = keys.size();
             try {
                 for (String key : keys) {
-                    Exchange exchange = aggregationRepository.get(camelContext, key);
-                    if (exchange != null) {
-                        LOG.trace("Force discarded triggered for correlation key: {}", key);
-                        // force discarding by setting aggregate failed as true
-                        onCompletion(key, exchange, exchange, false, true);
+                    // must acquire the lock of the correlation key in case striped locks are in use
+                    Lock keyLock = getLock(key);
+                    keyLock.lock();
+                    try {
+                        Exchange exchange = aggregationRepository.get(camelContext, key);
+                        if (exchange != null) {
+                            LOG.trace("Force discarded triggered for correlation key: {}", key);
+                            // force discarding by setting aggregate failed as true
+                            onCompletion(key, exchange, exchange, false, true);
+                        }
+                    } finally {
+                        keyLock.unlock();
                     }
                 }
             } finally {
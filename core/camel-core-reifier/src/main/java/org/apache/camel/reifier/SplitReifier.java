@@ -72,6 +72,9 @@ public class SplitReifier extends ExpressionReifier<SplitDefinition> {
                     threadPool, shutdownThreadPool, isStreaming, isStopOnException, timeout, definition.getOnPrepare(),
                     isShareUnitOfWork, isParallelAggregate, isStopOnAggregateException);
         }
+        answer.setMaxInflight(parseInt(definition.getMaxInflight(), 0));
+        answer.setMaxInflightTimeout(
+                definition.getMaxInflightTimeout() != null ? parseDuration(definition.getMaxInflightTimeout()) : 0);
 
         return answer;
     }
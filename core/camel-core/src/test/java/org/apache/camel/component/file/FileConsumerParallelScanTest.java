@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FileConsumerParallelScanTest extends ContextTestSupport {
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        deleteDirectory("target/data/parallelscan");
+        super.setUp();
+    }
+
+    @Test
+    public void testParallelScan() throws Exception {
+        template.sendBodyAndHeader("file:target/data/parallelscan", "a", Exchange.FILE_NAME, "a.txt");
+        template.sendBodyAndHeader("file:target/data/parallelscan/bar", "b", Exchange.FILE_NAME, "b.txt");
+        template.sendBodyAndHeader("file:target/data/parallelscan/bar/baz", "c", Exchange.FILE_NAME, "c.txt");
+        template.sendBodyAndHeader("file:target/data/parallelscan/foo", "d", Exchange.FILE_NAME, "d.txt");
+        template.sendBodyAndHeader("file:target/data/parallelscan/foo", "e", Exchange.FILE_NAME, "e.txt");
+        template.sendBodyAndHeader("file:target/data/parallelscan/.camel", "f", Exchange.FILE_NAME, "f.txt");
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        // same order as when scanning the directories one by one
+        mock.expectedBodiesReceived("a", "b", "c", "d", "e");
+
+        context.getRouteController().startAllRoutes();
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file:target/data/parallelscan?initialDelay=0&delay=10&recursive=true&noop=true&preSort=true"
+                     + "&parallelScan=true")
+                        .noAutoStartup().convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+}
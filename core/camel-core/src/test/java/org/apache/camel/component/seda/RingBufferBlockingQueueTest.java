@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RingBufferBlockingQueueTest {
+
+    @Test
+    public void testCapacity() {
+        assertEquals(2, new RingBufferBlockingQueue<String>(1).getCapacity());
+        assertEquals(8, new RingBufferBlockingQueue<String>(8).getCapacity());
+        assertEquals(1024, new RingBufferBlockingQueue<String>(1000).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferBlockingQueue<String>(0));
+    }
+
+    @Test
+    public void testOfferPoll() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(4);
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+
+        assertTrue(queue.offer("A"));
+        assertTrue(queue.offer("B"));
+        assertTrue(queue.offer("C"));
+        assertTrue(queue.offer("D"));
+        assertFalse(queue.offer("E"));
+        assertFalse(queue.offer("E", 10, TimeUnit.MILLISECONDS));
+        assertEquals(4, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+        assertEquals("[A, B, C, D]", new ArrayList<>(queue).toString());
+
+        assertEquals("A", queue.peek());
+        assertEquals("A", queue.poll());
+        assertEquals("B", queue.take());
+        assertTrue(queue.offer("E"));
+        assertEquals("C", queue.poll(10, TimeUnit.MILLISECONDS));
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, queue.drainTo(drained, 2));
+        assertEquals("[D, E]", drained.toString());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testRemove() {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(4);
+        queue.add("A");
+        queue.add("B");
+        queue.add("C");
+        assertTrue(queue.remove("B"));
+        assertFalse(queue.remove("B"));
+        assertFalse(queue.remove("D"));
+        assertEquals("[A, C]", new ArrayList<>(queue).toString());
+
+        // the removed element is skipped by the consumers
+        assertEquals("A", queue.poll());
+        assertEquals("C", queue.peek());
+        assertEquals("C", queue.poll());
+        assertTrue(queue.isEmpty());
+
+        assertTrue(queue.add("D"));
+        assertTrue(queue.remove("D"));
+        assertNull(queue.peek());
+        assertTrue(queue.isEmpty());
+        queue.add("E");
+        queue.clear();
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentProducersAndConsumers() throws Exception {
+        // busy spinning requires a CPU core per thread, so its not tested here
+        doTestConcurrentProducersAndConsumers(IdleStrategy.Yield);
+        doTestConcurrentProducersAndConsumers(IdleStrategy.Park);
+        doTestConcurrentProducersAndConsumers(IdleStrategy.Backoff);
+    }
+
+    private void doTestConcurrentProducersAndConsumers(IdleStrategy idleStrategy) throws Exception {
+        final int producers = 4;
+        final int consumers = 4;
+        final int messages = 10000;
+        final RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(16, idleStrategy);
+        final Set<Integer> received = ConcurrentHashMap.newKeySet();
+        final CountDownLatch latch = new CountDownLatch(producers * messages);
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+        try {
+            for (int i = 0; i < consumers; i++) {
+                executor.submit(() -> {
+                    try {
+                        while (!Thread.currentThread().isInterrupted()) {
+                            Integer value = queue.poll(100, TimeUnit.MILLISECONDS);
+                            if (value != null) {
+                                received.add(value);
+                                latch.countDown();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        // stopped
+                    }
+                });
+            }
+            for (int i = 0; i < producers; i++) {
+                final int offset = i * messages;
+                executor.submit(() -> {
+                    for (int j = 0; j < messages; j++) {
+                        queue.put(offset + j);
+                    }
+                    return null;
+                });
+            }
+
+            assertTrue(latch.await(20, TimeUnit.SECONDS), "Should receive all messages using " + idleStrategy);
+            assertEquals(producers * messages, received.size());
+            assertTrue(queue.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SedaMaxMessagesPerPollTest extends ContextTestSupport {
+
+    private final CountDownLatch processing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    public void testMaxMessagesPerPoll() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("A", "B", "C", "D", "E", "F", "G");
+        mock.message(0).exchangeProperty(Exchange.BATCH_INDEX).isEqualTo(0);
+        mock.message(0).exchangeProperty(Exchange.BATCH_SIZE).isEqualTo(5);
+        mock.message(0).exchangeProperty(Exchange.BATCH_COMPLETE).isEqualTo(false);
+        mock.message(4).exchangeProperty(Exchange.BATCH_INDEX).isEqualTo(4);
+        mock.message(4).exchangeProperty(Exchange.BATCH_COMPLETE).isEqualTo(true);
+        mock.message(5).exchangeProperty(Exchange.BATCH_INDEX).isEqualTo(0);
+        mock.message(5).exchangeProperty(Exchange.BATCH_SIZE).isEqualTo(2);
+        mock.message(6).exchangeProperty(Exchange.BATCH_COMPLETE).isEqualTo(true);
+
+        for (String body : new String[] { "A", "B", "C", "D", "E", "F", "G" }) {
+            template.sendBody("seda:foo", body);
+        }
+
+        // start the consumer when all the messages are on the queue
+        context.getRouteController().startRoute("myRoute");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testMaxMessagesPerPollUnlimited() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:unlimited");
+        mock.expectedBodiesReceived("A", "B", "C");
+        mock.allMessages().exchangeProperty(Exchange.BATCH_SIZE).isEqualTo(3);
+        mock.message(2).exchangeProperty(Exchange.BATCH_COMPLETE).isEqualTo(true);
+
+        template.sendBody("seda:bar", "A");
+        template.sendBody("seda:bar", "B");
+        template.sendBody("seda:bar", "C");
+
+        context.getRouteController().startRoute("unlimitedRoute");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testDefaultNoBatch() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:single");
+        mock.expectedBodiesReceived("A", "B");
+        mock.allMessages().exchangeProperty(Exchange.BATCH_SIZE).isNull();
+
+        template.sendBody("seda:single", "A");
+        template.sendBody("seda:single", "B");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testDrainedExchangesArePending() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:pending");
+        mock.expectedBodiesReceived("A", "B", "C");
+
+        template.sendBody("seda:pending", "A");
+        template.sendBody("seda:pending", "B");
+        template.sendBody("seda:pending", "C");
+        context.getRouteController().startRoute("pendingRoute");
+
+        // the first exchange is processing and the others have been drained from the queue
+        assertTrue(processing.await(5, TimeUnit.SECONDS));
+        SedaConsumer consumer = (SedaConsumer) context.getRoute("pendingRoute").getConsumer();
+        assertEquals(0, consumer.getEndpoint().getQueue().size());
+        assertEquals(2, consumer.getPendingExchangesSize());
+
+        release.countDown();
+        assertMockEndpointsSatisfied();
+        assertEquals(0, consumer.getPendingExchangesSize());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:foo?maxMessagesPerPoll=5").routeId("myRoute").noAutoStartup()
+                        .to("mock:result");
+
+                from("seda:bar?maxMessagesPerPoll=0").routeId("unlimitedRoute").noAutoStartup()
+                        .to("mock:unlimited");
+
+                from("seda:single")
+                        .to("mock:single");
+
+                from("seda:pending?maxMessagesPerPoll=10").routeId("pendingRoute").noAutoStartup()
+                        .process(exchange -> {
+                            processing.countDown();
+                            release.await(5, TimeUnit.SECONDS);
+                        })
+                        .to("mock:pending");
+            }
+        };
+    }
+}
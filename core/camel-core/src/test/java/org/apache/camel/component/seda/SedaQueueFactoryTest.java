@@ -32,11 +32,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
  */
 public class SedaQueueFactoryTest extends ContextTestSupport {
     private final ArrayBlockingQueueFactory<Exchange> arrayQueueFactory = new ArrayBlockingQueueFactory<>();
+    private final RingBufferBlockingQueueFactory<Exchange> ringBufferQueueFactory = new RingBufferBlockingQueueFactory<>();
 
     @Override
     protected CamelContext createCamelContext() throws Exception {
         CamelContext context = super.createCamelContext();
         context.getRegistry().bind("arrayQueueFactory", arrayQueueFactory);
+        context.getRegistry().bind("ringBufferQueueFactory", ringBufferQueueFactory);
         return context;
     }
 
@@ -60,6 +62,19 @@ public class SedaQueueFactoryTest extends ContextTestSupport {
         assertEquals(100, blockingQueue.remainingCapacity(), "remainingCapacity - custom");
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testRingBufferBlockingQueueFactory() throws Exception {
+        SedaEndpoint endpoint
+                = resolveMandatoryEndpoint("seda:ringBufferQueue?queueFactory=#ringBufferQueueFactory&size=100",
+                        SedaEndpoint.class);
+
+        BlockingQueue<Exchange> queue = endpoint.getQueue();
+        RingBufferBlockingQueue<Exchange> blockingQueue = assertIsInstanceOf(RingBufferBlockingQueue.class, queue);
+        assertEquals(128, blockingQueue.remainingCapacity(), "remainingCapacity - rounded up to power of two");
+        assertEquals(IdleStrategy.Backoff, blockingQueue.getIdleStrategy());
+    }
+
     @Test
     public void testDefaultBlockingQueueFactory() throws Exception {
         SedaEndpoint endpoint = resolveMandatoryEndpoint("seda:linkedQueue", SedaEndpoint.class);
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExtendedExchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.engine.DefaultUnitOfWork;
+import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.util.IOHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachedOutputStreamOffHeapTest extends ContextTestSupport {
+    private static final String TEST_STRING = "This is a test string which is larger than the buffer size";
+
+    private Exchange exchange;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setOffHeap(true);
+        context.getStreamCachingStrategy().setBufferSize(16);
+        context.getStreamCachingStrategy().setSpoolDirectory("target/cachedir");
+        context.getStreamCachingStrategy().setSpoolThreshold(128);
+        return context;
+    }
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        deleteDirectory("target/cachedir");
+        createDirectory("target/cachedir");
+
+        exchange = new DefaultExchange(context);
+        UnitOfWork uow = new DefaultUnitOfWork(exchange);
+        exchange.adapt(ExtendedExchange.class).setUnitOfWork(uow);
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testCacheStreamOffHeap() throws Exception {
+        context.start();
+        DirectByteBufferPool pool = context.getExtension(DirectByteBufferPool.class);
+        assertNotNull(pool, "Should have a buffer pool");
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue(cache instanceof ByteBufferInputStreamCache, "Should get the ByteBufferInputStreamCache");
+        assertTrue(cache.inMemory());
+        assertEquals(TEST_STRING.length(), cache.length());
+        assertEquals(TEST_STRING, context.getTypeConverter().convertTo(String.class, cache));
+
+        // can be read again after reset
+        cache.reset();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        cache.writeTo(bos);
+        assertEquals(TEST_STRING, bos.toString("UTF-8"));
+
+        // the buffers can be read without copying
+        ByteBuffer[] buffers = ((ByteBufferInputStreamCache) cache).getByteBuffers();
+        assertEquals(4, buffers.length);
+        assertTrue(buffers[0].isDirect());
+        assertTrue(buffers[0].isReadOnly());
+
+        exchange.getUnitOfWork().done(exchange);
+
+        // the buffers are returned to the pool
+        assertEquals(4, pool.getPooledBuffers());
+        assertThrows(IOException.class, () -> ((InputStream) cache).read());
+        IOHelper.close(cos);
+    }
+
+    @Test
+    public void testCacheStreamOffHeapCopy() throws Exception {
+        context.start();
+        DirectByteBufferPool pool = context.getExtension(DirectByteBufferPool.class);
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+        StreamCache cache = cos.newStreamCache();
+
+        Exchange other = new DefaultExchange(context);
+        other.adapt(ExtendedExchange.class).setUnitOfWork(new DefaultUnitOfWork(other));
+        StreamCache copy = cache.copy(other);
+
+        exchange.getUnitOfWork().done(exchange);
+        // still in use by the other exchange
+        assertEquals(0, pool.getPooledBuffers());
+        assertEquals(TEST_STRING, context.getTypeConverter().convertTo(String.class, copy));
+
+        other.getUnitOfWork().done(other);
+        assertEquals(4, pool.getPooledBuffers());
+        IOHelper.close(cos);
+    }
+
+    @Test
+    public void testCacheStreamOffHeapRetain() throws Exception {
+        context.start();
+        DirectByteBufferPool pool = context.getExtension(DirectByteBufferPool.class);
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+        ByteBufferInputStreamCache cache = (ByteBufferInputStreamCache) cos.newStreamCache();
+
+        // retain the buffers such as when they are written asynchronously after the exchange is done
+        cache.retain();
+        ByteBuffer[] buffers = cache.getByteBuffers();
+        exchange.getUnitOfWork().done(exchange);
+
+        // the buffers are not returned to the pool while retained, so they cannot be reused by another exchange
+        assertEquals(0, pool.getPooledBuffers());
+        StringBuilder sb = new StringBuilder();
+        for (ByteBuffer buffer : buffers) {
+            sb.append(StandardCharsets.UTF_8.decode(buffer));
+        }
+        assertEquals(TEST_STRING, sb.toString());
+
+        cache.releaseRetained();
+        assertEquals(4, pool.getPooledBuffers());
+
+        // cannot be retained after the buffers are released
+        assertThrows(IOException.class, cache::retain);
+        IOHelper.close(cos);
+    }
+
+    @Test
+    public void testCacheStreamOffHeapSpoolToFile() throws Exception {
+        context.start();
+        DirectByteBufferPool pool = context.getExtension(DirectByteBufferPool.class);
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            sb.append(TEST_STRING);
+            cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+        }
+
+        File file = new File("target/cachedir");
+        assertEquals(1, file.list().length, "we should have a temp file");
+        // the buffers are released when spooling to disk
+        assertTrue(pool.getPooledBuffers() > 0);
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue(cache instanceof FileInputStreamCache, "Should get the FileInputStreamCache");
+        assertEquals(sb.toString(), context.getTypeConverter().convertTo(String.class, cache));
+        ((InputStream) cache).close();
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, file.list().length, "we should not have a temp file");
+        IOHelper.close(cos);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.builder.AggregationStrategies;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.engine.CompactHeadersMapFactory;
+import org.junit.jupiter.api.Test;
+
+public class CompactHeadersMapFactoryRouteTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.adapt(ExtendedCamelContext.class).setHeadersMapFactory(new CompactHeadersMapFactory());
+        return context;
+    }
+
+    @Test
+    public void testCompactHeaders() throws Exception {
+        getMockEndpoint("mock:a").expectedHeaderReceived("foo", "changed");
+        getMockEndpoint("mock:a").expectedHeaderReceived("Bar", "yes");
+        getMockEndpoint("mock:b").expectedHeaderReceived("FOO", 123);
+        getMockEndpoint("mock:b").expectedHeaderReceived("bar", "yes");
+        getMockEndpoint("mock:b").expectedHeaderReceived("baz", "b");
+        getMockEndpoint("mock:result").expectedHeaderReceived("foo", 123);
+        getMockEndpoint("mock:result").expectedHeaderReceived("Bar", "yes");
+        getMockEndpoint("mock:result").message(0).header("baz").isNull();
+
+        template.sendBodyAndHeader("direct:start", "Hello World", "foo", 123);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                        .setHeader("Bar", constant("yes"))
+                        // the copies share the headers until changed
+                        .multicast(AggregationStrategies.useOriginal()).to("direct:a", "direct:b").end()
+                        .to("mock:result");
+
+                from("direct:a").setHeader("FOO", constant("changed")).to("mock:a");
+                from("direct:b").setHeader("baz", constant("b")).to("mock:b");
+            }
+        };
+    }
+
+}
@@ -18,6 +18,7 @@ package org.apache.camel.impl;
 
 import java.io.IOException;
 import java.net.ConnectException;
+import java.util.Map;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
@@ -250,6 +251,138 @@ public class DefaultExchangeTest extends ExchangeTestSupport {
         assertEquals(sourceIn.getClass(), destIn.getClass(), "Dest message should be of the same type as source message");
     }
 
+    @Test
+    public void testCopyProperties() {
+        exchange.setProperty("foo", 123);
+        exchange.setProperty("bar", "cheese");
+
+        Exchange copy = exchange.copy();
+        assertTrue(copy.hasProperties());
+        assertEquals(123, copy.getProperty("foo"));
+        assertEquals("cheese", copy.getProperty("bar"));
+
+        // changing the copy should not affect the source
+        copy.setProperty("foo", 456);
+        copy.setProperty("baz", "beer");
+        assertEquals("cheese", copy.removeProperty("bar"));
+        assertNull(copy.getProperty("bar"));
+        assertNull(copy.removeProperty("bar"));
+        assertEquals(123, exchange.getProperty("foo"));
+        assertEquals("cheese", exchange.getProperty("bar"));
+        assertNull(exchange.getProperty("baz"));
+
+        // changing the source should not affect the copy
+        exchange.setProperty("foo", 789);
+        exchange.removeProperty("bar");
+        exchange.setProperty("bar", "wine");
+        assertEquals(456, copy.getProperty("foo"));
+        assertNull(copy.getProperty("bar"));
+
+        // the exchange has the foobar property from the test setup
+        assertEquals(3, copy.getProperties().size());
+        assertEquals(456, copy.getProperties().get("foo"));
+        assertEquals("beer", copy.getProperties().get("baz"));
+        assertFalse(copy.getProperties().containsKey("bar"));
+        assertEquals(3, exchange.getProperties().size());
+    }
+
+    @Test
+    public void testCopyPropertiesAllRemoved() {
+        exchange.removeProperty("foobar");
+        exchange.setProperty("foo", 123);
+
+        Exchange copy = exchange.copy();
+        copy.removeProperty("foo");
+        assertFalse(copy.hasProperties());
+        assertTrue(copy.getProperties().isEmpty());
+        assertTrue(exchange.hasProperties());
+
+        // copy of copy
+        Exchange copy2 = exchange.copy();
+        copy2.setProperty("bar", "cheese");
+        Exchange copy3 = copy2.copy();
+        copy2.setProperty("foo", 456);
+        assertEquals(123, copy3.getProperty("foo"));
+        assertEquals("cheese", copy3.getProperty("bar"));
+        assertEquals(456, copy2.getProperty("foo"));
+        assertEquals(123, exchange.getProperty("foo"));
+    }
+
+    @Test
+    public void testCopyPropertiesSeveralTimes() {
+        exchange.setProperty("foo", 123);
+
+        Exchange copy1 = exchange.copy();
+        Exchange copy2 = exchange.copy();
+        Exchange copy3 = exchange.copy();
+
+        // change one of the copies and the source
+        copy2.setProperty("foo", 456);
+        copy2.setProperty("bar", "cheese");
+        exchange.setProperty("foo", 789);
+        exchange.removeProperty("foobar");
+
+        for (Exchange copy : new Exchange[] { copy1, copy3 }) {
+            assertEquals(123, copy.getProperty("foo"));
+            assertNull(copy.getProperty("bar"));
+            assertNotNull(copy.getProperty("foobar"));
+            assertEquals(2, copy.getProperties().size());
+        }
+        assertEquals(456, copy2.getProperty("foo"));
+        assertEquals("cheese", copy2.getProperty("bar"));
+        assertEquals(789, exchange.getProperty("foo"));
+        assertNull(exchange.getProperty("foobar"));
+    }
+
+    @Test
+    public void testCopyPropertiesNotRebuildingSource() {
+        exchange.setProperty("foo", 123);
+        Map<String, Object> properties = exchange.getProperties();
+
+        // the source keeps its properties map no matter how many copies share its properties
+        Exchange[] copies = new Exchange[5];
+        for (int i = 0; i < copies.length; i++) {
+            copies[i] = exchange.copy();
+            assertSame(properties, exchange.getProperties());
+        }
+        Exchange copy = exchange.copy();
+        exchange.setProperty("foo", 456);
+        exchange.setProperty("bar", "cheese");
+        assertSame(properties, exchange.getProperties());
+
+        for (Exchange c : copies) {
+            assertEquals(123, c.getProperty("foo"));
+            assertNull(c.getProperty("bar"));
+        }
+        assertEquals(123, copy.getProperty("foo"));
+        assertNull(copy.getProperty("bar"));
+        assertEquals(456, properties.get("foo"));
+    }
+
+    @Test
+    public void testCopyPropertiesChangedUsingGetProperties() {
+        exchange.setProperty("foo", 123);
+        Map<String, Object> properties = exchange.getProperties();
+
+        Exchange copy1 = exchange.copy();
+        Exchange copy2 = exchange.copy();
+
+        // changing the map returned before the copy must not affect the copies
+        properties.put("foo", 456);
+        assertEquals(456, exchange.getProperty("foo"));
+        assertEquals(123, copy1.getProperty("foo"));
+        assertEquals(123, copy2.getProperty("foo"));
+
+        // changing the map returned after the copy must not affect the source or the other copies
+        copy1.getProperties().put("foo", 789);
+        exchange.copy().getProperties().put("bar", "cheese");
+        assertEquals(789, copy1.getProperty("foo"));
+        assertEquals(123, copy2.getProperty("foo"));
+        assertEquals(456, exchange.getProperty("foo"));
+        assertNull(exchange.getProperty("bar"));
+        assertNull(copy2.getProperty("bar"));
+    }
+
     public static class MyMessage extends DefaultMessage {
         public MyMessage(CamelContext camelContext) {
             super(camelContext);
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.support.TypeConverterSupport;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TypeConverterRegistryMissCacheTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    public void testMissIsNotScannedAgain() {
+        DefaultCamelContext context = new DefaultCamelContext();
+        context.getTypeConverterRegistry().addFallbackTypeConverter(new CountingFallbackTypeConverter(), false);
+        TypeConverter tc = context.getTypeConverter();
+
+        assertNull(tc.convertTo(MyOrder.class, new StringBuilder("123")));
+        int scanned = calls.get();
+
+        // the types are known to not be convertible so the fallback converters are not called again
+        for (int i = 0; i < 10; i++) {
+            assertNull(tc.convertTo(MyOrder.class, new StringBuilder("123")));
+        }
+        assertEquals(scanned, calls.get());
+    }
+
+    @Test
+    public void testMissThenAddFallbackTypeConverter() {
+        DefaultCamelContext context = new DefaultCamelContext();
+        TypeConverter tc = context.getTypeConverter();
+
+        assertNull(tc.convertTo(MyOrder.class, new StringBuilder("123")));
+
+        // the new fallback converter must be used even though the types were known to not be convertible
+        context.getTypeConverterRegistry().addFallbackTypeConverter(new MyOrderFallbackTypeConverter(), true);
+
+        MyOrder order = tc.convertTo(MyOrder.class, new StringBuilder("123"));
+        assertNotNull(order);
+        assertEquals(123, order.getId());
+
+        order = tc.convertTo(MyOrder.class, new StringBuilder("456"));
+        assertNotNull(order);
+        assertEquals(456, order.getId());
+    }
+
+    @Test
+    public void testMissThenAddTypeConverter() {
+        DefaultCamelContext context = new DefaultCamelContext();
+        TypeConverter tc = context.getTypeConverter();
+
+        assertNull(tc.convertTo(MyOrder.class, new StringBuilder("123")));
+
+        // the new converter from a super type must be used even though the types were known to not be convertible
+        context.getTypeConverterRegistry().addTypeConverter(MyOrder.class, CharSequence.class,
+                new MyOrderFallbackTypeConverter());
+
+        MyOrder order = tc.convertTo(MyOrder.class, new StringBuilder("123"));
+        assertNotNull(order);
+        assertEquals(123, order.getId());
+    }
+
+    @Test
+    public void testAddTypeConverterKeepsOtherMisses() {
+        DefaultCamelContext context = new DefaultCamelContext();
+        context.getTypeConverterRegistry().addFallbackTypeConverter(new CountingFallbackTypeConverter(), false);
+        TypeConverter tc = context.getTypeConverter();
+
+        assertNull(tc.convertTo(MyOrder.class, new StringBuilder("123")));
+        int scanned = calls.get();
+
+        // a converter for other types must not discard the misses already known
+        context.getTypeConverterRegistry().addTypeConverter(MyOrder.class, Integer.class,
+                new MyOrderFallbackTypeConverter());
+        assertNull(tc.convertTo(MyOrder.class, new StringBuilder("123")));
+        assertEquals(scanned, calls.get());
+    }
+
+    private static class MyOrder {
+        private final int id;
+
+        MyOrder(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+
+    private class CountingFallbackTypeConverter extends TypeConverterSupport {
+
+        @Override
+        public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+            calls.incrementAndGet();
+            return null;
+        }
+    }
+
+    private static class MyOrderFallbackTypeConverter extends TypeConverterSupport {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+            if (type == MyOrder.class && value instanceof CharSequence) {
+                return (T) new MyOrder(Integer.parseInt(value.toString()));
+            }
+            return null;
+        }
+    }
+
+}
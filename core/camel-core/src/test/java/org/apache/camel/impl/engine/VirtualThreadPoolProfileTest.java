@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.builder.ThreadPoolProfileBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.util.concurrent.VirtualThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VirtualThreadPoolProfileTest extends ContextTestSupport {
+
+    @Test
+    public void testVirtualThreadPool() throws Exception {
+        ExecutorService executor = context.getExecutorServiceManager().newThreadPool(this, "Cool", "virtualProfile");
+        try {
+            // should be a thread pool so it can be managed
+            ThreadPoolExecutor tp = assertIsInstanceOf(ThreadPoolExecutor.class, executor);
+            assertEquals(50, tp.getMaximumPoolSize());
+
+            Future<Thread> future = executor.submit(Thread::currentThread);
+            Thread thread = future.get();
+            assertTrue(thread.getName().endsWith("Cool"), "Should use thread name pattern: " + thread.getName());
+            assertEquals(VirtualThreadFactory.isSupported(), isVirtual(thread));
+        } finally {
+            context.getExecutorServiceManager().shutdownNow(executor);
+        }
+    }
+
+    @Test
+    public void testVirtualThreadsRoute() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("Bye A", "Bye B", "Bye C");
+        mock.expectedHeaderReceived("virtual", VirtualThreadFactory.isSupported());
+
+        template.sendBody("direct:start", "A");
+        template.sendBody("direct:start", "B");
+        template.sendBody("direct:start", "C");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    private static boolean isVirtual(Thread thread) throws Exception {
+        if (!VirtualThreadFactory.isSupported()) {
+            return false;
+        }
+        return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                ThreadPoolProfile profile = new ThreadPoolProfileBuilder("virtualProfile")
+                        .poolSize(1).maxPoolSize(50).maxQueueSize(100).virtualThreads(true).build();
+                context.getExecutorServiceManager().registerThreadPoolProfile(profile);
+
+                from("direct:start")
+                        .threads().executorServiceRef("virtualProfile")
+                        .process(e -> e.getMessage().setHeader("virtual", isVirtual(Thread.currentThread())))
+                        .transform(body().prepend("Bye "))
+                        .to("mock:result");
+            }
+        };
+    }
+}
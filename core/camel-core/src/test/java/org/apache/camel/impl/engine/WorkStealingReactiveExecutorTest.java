@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WorkStealingReactiveExecutorTest extends ContextTestSupport {
+
+    private final WorkStealingReactiveExecutor executor = new WorkStealingReactiveExecutor();
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.adapt(ExtendedCamelContext.class).setReactiveExecutor(executor);
+        return context;
+    }
+
+    @Test
+    public void testPipeline() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World", "Bye World");
+
+        template.sendBody("direct:start", "Hello World");
+        template.sendBody("direct:start", "Bye World");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(0, executor.getPendingTasks());
+    }
+
+    @Test
+    public void testMulticastParallel() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:parallel");
+        mock.expectedMessageCount(100 * 3);
+
+        for (int i = 0; i < 100; i++) {
+            template.sendBody("direct:parallel", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testIdleThreadStealsPendingTasks() throws Exception {
+        WorkStealingReactiveExecutor executor = new WorkStealingReactiveExecutor();
+        assertSame(Thread.currentThread(), runPendingTask(executor, false));
+        assertEquals(1, executor.getStolenTasks());
+    }
+
+    @Test
+    public void testWaitingThreadTasksAreNotStolen() throws Exception {
+        WorkStealingReactiveExecutor executor = new WorkStealingReactiveExecutor();
+        Thread thread = runPendingTask(executor, true);
+        assertTrue(thread.getName().startsWith("busy"));
+        assertEquals(0, executor.getStolenTasks());
+    }
+
+    @Test
+    public void testWorkStealingDisabled() throws Exception {
+        WorkStealingReactiveExecutor executor = new WorkStealingReactiveExecutor();
+        executor.setWorkStealing(false);
+        Thread thread = runPendingTask(executor, false);
+        assertTrue(thread.getName().startsWith("busy"));
+        assertEquals(0, executor.getStolenTasks());
+    }
+
+    /**
+     * Puts a task aside on a busy thread and then schedules a task on the current thread, which is idle once its task
+     * has been run.
+     *
+     * @return the thread which has run the task put aside
+     */
+    private Thread runPendingTask(WorkStealingReactiveExecutor executor, boolean await) throws Exception {
+        AtomicReference<Thread> ranBy = new AtomicReference<>();
+        CountDownLatch aside = new CountDownLatch(1);
+        CountDownLatch ran = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Runnable block = () -> {
+            aside.countDown();
+            try {
+                // wait until the task has been stolen or the current thread is done
+                ran.await(1, TimeUnit.SECONDS);
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Thread busy = new Thread(() -> executor.scheduleMain(() -> {
+            executor.schedule(() -> {
+                ranBy.set(Thread.currentThread());
+                ran.countDown();
+            });
+            if (await) {
+                // the pending task is put aside and the blocking task is run while waiting
+                executor.scheduleMain(block);
+                executor.executeFromQueue();
+            } else {
+                // the pending task is put aside while the thread is busy
+                executor.scheduleMain(() -> {
+                });
+                block.run();
+            }
+        }), "busy");
+        busy.start();
+
+        assertTrue(aside.await(5, TimeUnit.SECONDS));
+        executor.schedule(() -> {
+        });
+        release.countDown();
+        busy.join(5000);
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertEquals(0, executor.getPendingTasks());
+        return ranBy.get();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").to("log:foo").to("log:bar").to("mock:result");
+
+                from("direct:parallel").multicast().parallelProcessing()
+                        .to("direct:a", "direct:b", "direct:c");
+
+                from("direct:a").to("log:a").to("mock:parallel");
+                from("direct:b").to("log:b").to("mock:parallel");
+                from("direct:c").to("log:c").to("mock:parallel");
+            }
+        };
+    }
+}
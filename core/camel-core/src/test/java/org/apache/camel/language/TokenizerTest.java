@@ -463,4 +463,27 @@ public class TokenizerTest extends ExchangeTestSupport {
         assertEquals("<person id=\"4\" xmlns=\"http:acme.com/persons\">Hadrian</person>", names.get(3));
     }
 
+    @Test
+    public void testTokenizeXMLPairLargerThanBuffer() throws Exception {
+        Expression exp = TokenizeLanguage.tokenizeXML("<person>", "<persons>");
+        exp.init(context);
+
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            name.append("James");
+        }
+        StringBuilder body = new StringBuilder("<persons xmlns=\"http:acme.com/persons\">");
+        for (int i = 0; i < 10; i++) {
+            body.append("<person id=\"").append(i).append("\">").append(name).append("</person>\n");
+        }
+        body.append("</persons>");
+        exchange.getIn().setBody(body.toString());
+
+        List<?> names = exp.evaluate(exchange, List.class);
+        assertEquals(10, names.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("<person id=\"" + i + "\" xmlns=\"http:acme.com/persons\">" + name + "</person>", names.get(i));
+        }
+    }
+
 }
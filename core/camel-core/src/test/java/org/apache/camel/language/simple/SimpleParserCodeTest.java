@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.ExchangeTestSupport;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class SimpleParserCodeTest extends ExchangeTestSupport {
+
+    private String expressionCode(String expression) {
+        return new SimpleExpressionParser(context, expression, true, null).parseCode();
+    }
+
+    private String predicateCode(String predicate) {
+        return new SimplePredicateParser(context, predicate, true, null).parseCode();
+    }
+
+    @Test
+    public void testExpressionCode() throws Exception {
+        assertEquals("\"\"", expressionCode(""));
+        assertEquals("\"Hello\"", expressionCode("Hello"));
+        assertEquals("body", expressionCode("${body}"));
+        assertEquals("concat(exchange, \"Hello \", body)", expressionCode("Hello ${body}"));
+        assertEquals("header(exchange, message, \"foo\")", expressionCode("${header.foo}"));
+        assertEquals("header(exchange, message, \"foo\")", expressionCode("${in.headers[foo]}"));
+        assertEquals("exchange.getProperty(\"bar\")", expressionCode("${exchangeProperty.bar}"));
+        assertEquals("message.getBody(java.lang.String.class)", expressionCode("${bodyAs(String)}"));
+        assertEquals("header(exchange, message, \"foo\", java.lang.Integer.class)",
+                expressionCode("${headerAs(foo, Integer)}"));
+        assertEquals("concat(exchange, exchange.getExchangeId(), \"-\", message.getMessageId())",
+                expressionCode("${exchangeId}-${id}"));
+    }
+
+    @Test
+    public void testExpressionCodeOgnl() throws Exception {
+        assertEquals("invoke(exchange, invoke(exchange, body, \"customer\", true), \"id\", false)",
+                expressionCode("${body.customer.id}"));
+        assertEquals("invoke(exchange, invoke(exchange, body, \"customer\", true), \"id\", true)",
+                expressionCode("${body?.customer?.id}"));
+        // methods with parameters, indexes and ognl headers are not compiled
+        assertNull(expressionCode("${body.substring(1)}"));
+        assertNull(expressionCode("${body[0]}"));
+        assertNull(expressionCode("${header.foo.length()}"));
+    }
+
+    @Test
+    public void testExpressionCodeQuoted() throws Exception {
+        assertEquals("\"Say \\\"Hi\\\"\\t\"", expressionCode("Say \"Hi\"\t"));
+    }
+
+    @Test
+    public void testExpressionCodeNotSupported() throws Exception {
+        assertNull(expressionCode("${date:now}"));
+        assertNull(expressionCode("Hello ${header.${body}}"));
+        assertNull(expressionCode("${random(10)}"));
+    }
+
+    @Test
+    public void testPredicateCode() throws Exception {
+        assertEquals("Boolean.FALSE", predicateCode(""));
+        assertEquals("predicate(Boolean.TRUE)", predicateCode("true"));
+        assertEquals("predicate(isGreaterThan(exchange, header(exchange, message, \"foo\"), Integer.valueOf(10)))",
+                predicateCode("${header.foo} > 10"));
+        assertEquals("predicate(isNotEqualTo(exchange, body, null))", predicateCode("${body} != null"));
+        assertEquals("predicate(!containsIgnoreCase(exchange, body, \"Camel\"))", predicateCode("${body} !~~ 'Camel'"));
+        assertEquals("predicate((predicate(isEqualTo(exchange, header(exchange, message, \"foo\"), \"abc\"))"
+                     + " || predicate(startsWith(exchange, body, \"x\"))))",
+                predicateCode("${header.foo} == 'abc' || ${body} startsWith 'x'"));
+    }
+
+    @Test
+    public void testPredicateCodeNotSupported() throws Exception {
+        assertNull(predicateCode("${header.foo} regex '\\d+'"));
+        assertNull(predicateCode("${header.foo} in 'a,b'"));
+        assertNull(predicateCode("${body} is 'java.lang.String'"));
+        assertNull(predicateCode("${header.foo}++ > 10"));
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangeTimedOutException;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SplitterParallelStreamingMaxInflightTest extends ContextTestSupport {
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger aggregated = new AtomicInteger();
+    private final AtomicInteger maxInflight = new AtomicInteger();
+    private final Map<String, AtomicInteger> inflightPerSplit = new ConcurrentHashMap<>();
+    private final AtomicInteger maxInflightPerSplit = new AtomicInteger();
+    private final CountDownLatch stuck = new CountDownLatch(1);
+
+    @Test
+    public void testMaxInflight() throws Exception {
+        getMockEndpoint("mock:split").expectedMessageCount(100);
+        getMockEndpoint("mock:result").expectedBodiesReceived(100);
+
+        template.sendBody("direct:start", new CountingIterator(100));
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(100, created.get());
+        assertEquals(100, aggregated.get());
+        assertTrue(maxInflight.get() <= 5, "Should not have more than 5 inflight, was: " + maxInflight.get());
+    }
+
+    @Test
+    public void testMaxInflightOneWithConcurrentProducers() throws Exception {
+        getMockEndpoint("mock:one").expectedMessageCount(5 * 20);
+
+        ExecutorService producers = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<Object>> replies = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                List<Integer> body = new ArrayList<>();
+                for (int j = 0; j < 20; j++) {
+                    body.add(j);
+                }
+                replies.add(producers.submit(() -> template.requestBody("direct:one", body)));
+            }
+            for (Future<Object> reply : replies) {
+                assertEquals(20, reply.get(20, TimeUnit.SECONDS));
+            }
+        } finally {
+            producers.shutdownNow();
+        }
+
+        assertMockEndpointsSatisfied();
+        // each split must only have one message in flight, regardless of the other concurrent splits
+        assertEquals(5, inflightPerSplit.size());
+        assertEquals(1, maxInflightPerSplit.get());
+    }
+
+    @Test
+    public void testMaxInflightTimeout() throws Exception {
+        try {
+            Exchange out = template.request("direct:stuck", e -> e.getIn().setBody(new CountingIterator(3)));
+
+            assertTrue(out.getException() instanceof ExchangeTimedOutException,
+                    "Should time out waiting for the stuck message, was: " + out.getException());
+        } finally {
+            stuck.countDown();
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                        .split(body(), new CountingAggregationStrategy()).streaming().parallelProcessing().maxInflight(5)
+                            .delay(5)
+                            .to("mock:split")
+                        .end()
+                        .to("mock:result");
+
+                from("direct:one")
+                        .split(body(), new SummingAggregationStrategy()).streaming().parallelProcessing().maxInflight(1)
+                            .process(exchange -> {
+                                String id = exchange.getProperty(Exchange.CORRELATION_ID, String.class);
+                                AtomicInteger inflight = inflightPerSplit.computeIfAbsent(id, k -> new AtomicInteger());
+                                maxInflightPerSplit.accumulateAndGet(inflight.incrementAndGet(), Math::max);
+                                Thread.sleep(2);
+                                inflight.decrementAndGet();
+                            })
+                            .to("mock:one")
+                        .end();
+
+                from("direct:stuck")
+                        .split(body()).streaming().parallelProcessing().maxInflight(1).maxInflightTimeout(200)
+                            .process(exchange -> stuck.await(10, TimeUnit.SECONDS))
+                        .end();
+            }
+        };
+    }
+
+    private class CountingIterator implements Iterator<Integer> {
+
+        private final int size;
+
+        CountingIterator(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return created.get() < size;
+        }
+
+        @Override
+        public Integer next() {
+            int number = created.incrementAndGet();
+            maxInflight.accumulateAndGet(number - aggregated.get(), Math::max);
+            return number;
+        }
+    }
+
+    private static class SummingAggregationStrategy implements AggregationStrategy {
+
+        @Override
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            int count = oldExchange != null ? oldExchange.getIn().getBody(Integer.class) : 0;
+            newExchange.getIn().setBody(count + 1);
+            return newExchange;
+        }
+    }
+
+    private class CountingAggregationStrategy implements AggregationStrategy {
+
+        @Override
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            newExchange.getIn().setBody(aggregated.incrementAndGet());
+            return newExchange;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.BodyInAggregatingStrategy;
+import org.apache.camel.processor.aggregate.MemoryAggregationRepository;
+import org.apache.camel.spi.RecoverableAggregationRepository;
+import org.apache.camel.support.ExchangeHelper;
+import org.junit.jupiter.api.Test;
+
+public class AggregateLockStripesTest extends ContextTestSupport {
+
+    private final int size = 200;
+
+    @Test
+    public void testAggregateLockStripes() throws Exception {
+        ExecutorService service = Executors.newFixedThreadPool(20);
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final int id = i % 5;
+            final int count = i;
+            tasks.add(new Callable<Object>() {
+                public Object call() throws Exception {
+                    template.sendBodyAndHeader("direct:start", "" + count, "id", id);
+                    return null;
+                }
+            });
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(5);
+
+        // submit all tasks
+        service.invokeAll(tasks);
+
+        assertMockEndpointsSatisfied();
+        service.shutdownNow();
+    }
+
+    @Test
+    public void testAggregateLockStripesTimeout() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:timeout");
+        mock.expectedBodiesReceivedInAnyOrder("A+B", "C");
+
+        template.sendBodyAndHeader("direct:timeout", "A", "id", 1);
+        template.sendBodyAndHeader("direct:timeout", "B", "id", 1);
+        template.sendBodyAndHeader("direct:timeout", "C", "id", 2);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testAggregateLockStripesRecovery() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:recovered");
+        mock.expectedBodiesReceived("A+B");
+        mock.message(0).header(Exchange.REDELIVERED).isEqualTo(true);
+
+        template.sendBodyAndHeader("direct:recover", "A", "id", 1);
+        template.sendBodyAndHeader("direct:recover", "B", "id", 1);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").aggregate(header("id"), new BodyInAggregatingStrategy()).lockStripes(4)
+                        .completionSize(40)
+                        .to("mock:result");
+
+                from("direct:timeout").aggregate(header("id"), new BodyInAggregatingStrategy()).lockStripes(4)
+                        .completionTimeout(100).completionTimeoutCheckerInterval(10)
+                        .to("mock:timeout");
+
+                from("direct:recover").aggregate(header("id"), new BodyInAggregatingStrategy()).lockStripes(4)
+                        .aggregationRepository(new MyRecoverableRepository()).completionSize(2)
+                        .process(exchange -> {
+                            if (!exchange.getIn().getHeader(Exchange.REDELIVERED, false, Boolean.class)) {
+                                throw new IllegalArgumentException("Forced failure so the exchange is recovered");
+                            }
+                        })
+                        .to("mock:recovered");
+            }
+        };
+    }
+
+    /**
+     * Keeps the completed exchanges in memory until they are confirmed, so the failed exchanges are recovered.
+     */
+    private static final class MyRecoverableRepository extends MemoryAggregationRepository
+            implements RecoverableAggregationRepository {
+
+        private final Map<String, Exchange> completed = new ConcurrentHashMap<>();
+
+        @Override
+        public void remove(CamelContext camelContext, String key, Exchange exchange) {
+            super.remove(camelContext, key, exchange);
+            completed.put(exchange.getExchangeId(), ExchangeHelper.createCopy(exchange, true));
+        }
+
+        @Override
+        public void confirm(CamelContext camelContext, String exchangeId) {
+            completed.remove(exchangeId);
+        }
+
+        @Override
+        public Set<String> scan(CamelContext camelContext) {
+            return new HashSet<>(completed.keySet());
+        }
+
+        @Override
+        public Exchange recover(CamelContext camelContext, String exchangeId) {
+            Exchange exchange = completed.get(exchangeId);
+            return exchange != null ? ExchangeHelper.createCopy(exchange, true) : null;
+        }
+
+        @Override
+        public void setRecoveryInterval(long interval, TimeUnit timeUnit) {
+        }
+
+        @Override
+        public void setRecoveryInterval(long interval) {
+        }
+
+        @Override
+        public long getRecoveryIntervalInMillis() {
+            return 100;
+        }
+
+        @Override
+        public void setUseRecovery(boolean useRecovery) {
+        }
+
+        @Override
+        public boolean isUseRecovery() {
+            return true;
+        }
+
+        @Override
+        public void setDeadLetterUri(String deadLetterUri) {
+        }
+
+        @Override
+        public String getDeadLetterUri() {
+            return null;
+        }
+
+        @Override
+        public void setMaximumRedeliveries(int maximumRedeliveries) {
+        }
+
+        @Override
+        public int getMaximumRedeliveries() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.TimeoutMap;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HashedWheelTimeoutMapTest {
+
+    private ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+
+    @Test
+    public void testHashedWheelTimeoutMap() throws Exception {
+        HashedWheelTimeoutMap<?, ?> map = new HashedWheelTimeoutMap<>(executor, 100, 100);
+        map.start();
+        assertTrue(map.currentTime() > 0);
+        // rounded up to a power of two
+        assertEquals(128, map.getWheelSize());
+        assertEquals(100, map.getTickDuration());
+
+        assertEquals(0, map.size());
+
+        map.stop();
+    }
+
+    @Test
+    public void testHashedWheelTimeoutMapPurge() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 20);
+        map.start();
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(0, map.size()));
+
+        map.stop();
+    }
+
+    @Test
+    public void testHashedWheelTimeoutMapForcePurge() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 10);
+        // map.start(); // Do not start background purge
+
+        map.put("A", 123, 10);
+        assertEquals(1, map.size());
+
+        Thread.sleep(50);
+
+        // will purge and remove old entries
+        map.purge();
+        Thread.sleep(50);
+        map.purge();
+
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testHashedWheelTimeoutMapGetRemove() throws Exception {
+        final List<String> evicted = new ArrayList<>();
+
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 10);
+        map.addListener((type, key, value) -> {
+            if (type == TimeoutMap.Listener.Type.Evict) {
+                evicted.add(key);
+            }
+        });
+        map.start();
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+
+        assertEquals(123, (int) map.get("A"));
+
+        Object old = map.remove("A");
+        assertEquals(123, old);
+        assertEquals(null, (Object) map.get("A"));
+        assertEquals(0, map.size());
+
+        // removed entries should not be evicted
+        Thread.sleep(150);
+        assertTrue(evicted.isEmpty());
+
+        map.stop();
+    }
+
+    @Test
+    public void testHashedWheelTimeoutMapReplace() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 10);
+        map.start();
+
+        map.put("A", 1, 50);
+        assertEquals(1, (int) map.put("A", 2, 5000));
+        assertEquals(2, (int) map.putIfAbsent("A", 3, 50));
+
+        // the replaced entry should not evict the new entry
+        Thread.sleep(200);
+        assertEquals(1, map.size());
+        assertEquals(2, (int) map.get("A"));
+
+        map.stop();
+    }
+
+    @Test
+    public void testExpiredInCorrectOrder() throws Exception {
+        final List<String> keys = new ArrayList<>();
+        final List<Integer> values = new ArrayList<>();
+
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 100);
+        map.addListener((type, key, value) -> {
+            if (type == TimeoutMap.Listener.Type.Evict) {
+                keys.add(key);
+                values.add(value);
+            }
+        });
+        map.start();
+        assertEquals(0, map.size());
+
+        map.put("A", 1, 50);
+        map.put("B", 2, 30);
+        map.put("C", 3, 40);
+        map.put("D", 4, 20);
+        map.put("E", 5, 40);
+        // is not expired
+        map.put("F", 6, 2000);
+
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(1, map.size()));
+
+        assertEquals("D", keys.get(0));
+        assertEquals(4, values.get(0).intValue());
+        assertEquals("B", keys.get(1));
+        assertEquals(2, values.get(1).intValue());
+        assertEquals("C", keys.get(2));
+        assertEquals(3, values.get(2).intValue());
+        assertEquals("E", keys.get(3));
+        assertEquals(5, values.get(3).intValue());
+        assertEquals("A", keys.get(4));
+        assertEquals(1, values.get(4).intValue());
+
+        map.stop();
+    }
+
+    @Test
+    public void testHashedWheelTimeoutMapStopStart() throws Exception {
+        HashedWheelTimeoutMap<String, Integer> map = new HashedWheelTimeoutMap<>(executor, 100);
+        map.start();
+        map.put("A", 1, 500);
+
+        assertEquals(1, map.size());
+        map.stop();
+
+        assertEquals(0, map.size());
+        map.put("A", 1, 50);
+
+        // should not timeout as the scheduler doesn't run
+        Thread.sleep(250);
+        assertEquals(1, map.size());
+
+        // start
+        map.start();
+
+        // start and wait for scheduler to purge
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(0, map.size()));
+
+        map.stop();
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BloomFilterIdempotentRepositoryTest {
+
+    private MemoryIdempotentRepository backing;
+    private BloomFilterIdempotentRepository repo;
+
+    @BeforeEach
+    public void setup() {
+        backing = new MemoryIdempotentRepository();
+        backing.add("A");
+        backing.add("B");
+
+        repo = new BloomFilterIdempotentRepository(backing);
+        repo.setWarmUpKeys(Arrays.asList("A", "B"));
+        repo.setExpectedInsertions(100);
+        repo.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        repo.stop();
+    }
+
+    @Test
+    public void testWarmUp() throws Exception {
+        assertTrue(repo.contains("A"));
+        assertTrue(repo.contains("B"));
+        assertFalse(repo.add("A"));
+        assertEquals(2, repo.getFilterSize());
+    }
+
+    @Test
+    public void testNewKeysNotLookedUp() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            String key = "key" + i;
+            assertFalse(repo.contains(key));
+            assertTrue(repo.add(key));
+            assertTrue(repo.contains(key));
+            assertTrue(backing.contains(key));
+        }
+
+        // the filter grows when it is full, but most new keys must not be looked up in the backing repository
+        assertTrue(repo.getFilterStages() > 1);
+        assertTrue(repo.getFalsePositiveRate() < 0.05, "False positive rate: " + repo.getFalsePositiveRate());
+        assertEquals(1002, repo.getFilterSize());
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        assertTrue(repo.remove("A"));
+
+        // the key is still in the filter so the backing repository is asked
+        assertFalse(repo.contains("A"));
+        assertEquals(1, repo.getFalsePositives());
+        assertTrue(repo.add("A"));
+        assertEquals(1, repo.getFalsePositives());
+    }
+
+    @Test
+    public void testStatisticsCountedOncePerMessage() throws Exception {
+        // the idempotent consumer in non-eager mode looks up the key and then adds it
+        for (int i = 0; i < 10; i++) {
+            String key = "key" + i;
+            assertFalse(repo.contains(key));
+            assertTrue(repo.add(key));
+        }
+        // a duplicate is only looked up
+        assertTrue(repo.contains("A"));
+
+        assertEquals(10, repo.getFilterMisses());
+        assertEquals(1, repo.getFilterHits());
+        assertEquals(0, repo.getFalsePositives());
+    }
+
+    @Test
+    public void testKeyInFilterBeforeAdded() throws Exception {
+        AtomicReference<BloomFilterIdempotentRepository> filtered = new AtomicReference<>();
+        AtomicBoolean visible = new AtomicBoolean();
+        filtered.set(new BloomFilterIdempotentRepository(new MemoryIdempotentRepository() {
+            @Override
+            public boolean add(String key) {
+                boolean answer = super.add(key);
+                // a concurrent lookup must find the key once it is in the backing repository
+                visible.set(filtered.get().contains(key));
+                return answer;
+            }
+        }));
+        filtered.get().start();
+        try {
+            assertTrue(filtered.get().add("C"));
+            assertTrue(visible.get());
+        } finally {
+            filtered.get().stop();
+        }
+    }
+}
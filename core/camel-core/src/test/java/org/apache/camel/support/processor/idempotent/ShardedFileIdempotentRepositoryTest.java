@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.apache.camel.TestSupport.createDirectory;
+import static org.apache.camel.TestSupport.deleteDirectory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ShardedFileIdempotentRepositoryTest {
+
+    private final File fileStore = new File("target/data/shardedstore/data.dat");
+
+    @BeforeEach
+    public void setup() {
+        // ensure empty folder
+        deleteDirectory("target/data/shardedstore");
+        createDirectory("target/data/shardedstore");
+    }
+
+    @Test
+    public void testReloadStore() throws Exception {
+        ShardedFileIdempotentRepository repo = new ShardedFileIdempotentRepository(fileStore, 1000);
+        repo.start();
+        repo.add("A");
+        repo.add("B");
+        repo.add("C");
+        repo.remove("B");
+        repo.stop();
+
+        List<String> records = Files.readAllLines(fileStore.toPath());
+        assertEquals(4, records.size());
+        assertEquals("-B", records.get(3));
+
+        repo = new ShardedFileIdempotentRepository(fileStore, 1000);
+        repo.start();
+        assertTrue(repo.contains("A"));
+        assertFalse(repo.contains("B"));
+        assertTrue(repo.contains("C"));
+        repo.stop();
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        ShardedFileIdempotentRepository repo = new ShardedFileIdempotentRepository(fileStore, 10);
+        repo.setConcurrencyLevel(1);
+        repo.setCompactionThreshold(20);
+        repo.start();
+
+        // the log is compacted on the calling thread as there is no CamelContext
+        for (int i = 0; i < 25; i++) {
+            repo.add("key" + i);
+        }
+
+        assertEquals(15, repo.getRecords());
+        assertEquals(15, Files.readAllLines(fileStore.toPath()).size());
+
+        repo.compact();
+        List<String> records = Files.readAllLines(fileStore.toPath());
+        assertEquals(10, records.size());
+        assertEquals("+key15", records.get(0));
+        assertEquals("+key24", records.get(9));
+        repo.stop();
+
+        repo = new ShardedFileIdempotentRepository(fileStore, 10);
+        repo.start();
+        assertFalse(repo.contains("key14"));
+        assertTrue(repo.contains("key15"));
+        assertTrue(repo.contains("key24"));
+        repo.stop();
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        ShardedFileIdempotentRepository repo = new ShardedFileIdempotentRepository(fileStore, 1000);
+        repo.start();
+        repo.add("A");
+        repo.add("B");
+
+        repo.clear();
+
+        assertFalse(repo.contains("A"));
+        assertEquals(0, Files.readAllLines(fileStore.toPath()).size());
+        repo.stop();
+    }
+
+    @Test
+    public void testConcurrentChanges() throws Exception {
+        ExecutorService compaction = Executors.newSingleThreadExecutor();
+        ExecutorService service = Executors.newFixedThreadPool(8);
+        ShardedFileIdempotentRepository repo = new ShardedFileIdempotentRepository(fileStore, 10000);
+        repo.setCompactionThreshold(500);
+        repo.setCompactionExecutorService(compaction);
+        repo.start();
+        Set<String> expected = new HashSet<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                final Random random = new Random(i);
+                futures.add(service.submit(() -> {
+                    for (int j = 0; j < 5000; j++) {
+                        String key = "key" + random.nextInt(200);
+                        if (random.nextBoolean()) {
+                            repo.add(key);
+                        } else {
+                            repo.remove(key);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(20, TimeUnit.SECONDS);
+            }
+            compaction.shutdown();
+            assertTrue(compaction.awaitTermination(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 200; i++) {
+                if (repo.contains("key" + i)) {
+                    expected.add("key" + i);
+                }
+            }
+        } finally {
+            service.shutdownNow();
+            compaction.shutdownNow();
+            repo.stop();
+        }
+
+        // the changes of each key are in the log in the same order as in the cache
+        ShardedFileIdempotentRepository reloaded = new ShardedFileIdempotentRepository(fileStore, 10000);
+        reloaded.start();
+        for (int i = 0; i < 200; i++) {
+            assertEquals(expected.contains("key" + i), reloaded.contains("key" + i));
+        }
+        reloaded.stop();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ShardedMemoryIdempotentRepositoryTest {
+
+    @Test
+    public void testAddContainsRemove() throws Exception {
+        ShardedMemoryIdempotentRepository repo = new ShardedMemoryIdempotentRepository(100);
+
+        assertTrue(repo.add("A"));
+        assertFalse(repo.add("A"));
+        assertTrue(repo.contains("A"));
+        assertFalse(repo.contains("B"));
+
+        assertTrue(repo.remove("A"));
+        assertFalse(repo.remove("A"));
+        assertFalse(repo.contains("A"));
+        assertTrue(repo.add("A"));
+
+        repo.clear();
+        assertEquals(0, repo.getSize());
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        ShardedMemoryIdempotentRepository repo = new ShardedMemoryIdempotentRepository(100);
+        repo.setConcurrencyLevel(1);
+        assertEquals(1, repo.getShards());
+
+        for (int i = 0; i < 150; i++) {
+            assertTrue(repo.add("key" + i));
+        }
+
+        assertEquals(100, repo.getSize());
+        assertFalse(repo.contains("key0"));
+        assertFalse(repo.contains("key49"));
+        assertTrue(repo.contains("key50"));
+        assertTrue(repo.contains("key149"));
+    }
+
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        ShardedMemoryIdempotentRepository repo = new ShardedMemoryIdempotentRepository(100000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                int added = 0;
+                for (int j = 0; j < 10000; j++) {
+                    if (repo.add("key" + j)) {
+                        added++;
+                    }
+                }
+                return added;
+            }));
+        }
+
+        // each key must only be added once by one of the threads
+        int total = 0;
+        for (Future<Integer> future : futures) {
+            total += future.get();
+        }
+        executor.shutdownNow();
+
+        assertEquals(10000, total);
+        assertEquals(10000, repo.getSize());
+    }
+}
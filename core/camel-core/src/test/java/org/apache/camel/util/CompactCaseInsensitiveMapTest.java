@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactCaseInsensitiveMapTest {
+
+    @Test
+    public void testLookupCaseAgnostic() {
+        Map<String, Object> map = new CompactCaseInsensitiveMap();
+        assertNull(map.get("foo"));
+
+        map.put("foo", "cheese");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("cheese", map.get("Foo"));
+        assertEquals("cheese", map.get("FOO"));
+        assertTrue(map.containsKey("fOO"));
+        assertNull(map.get("bar"));
+        assertNull(map.get(null));
+    }
+
+    @Test
+    public void testPreserveOriginalKeyCase() {
+        Map<String, Object> map = new CompactCaseInsensitiveMap();
+        map.put("Content-Type", "text/plain");
+        assertEquals("text/plain", map.put("content-type", "text/xml"));
+
+        assertEquals(1, map.size());
+        assertEquals("text/xml", map.get("CONTENT-TYPE"));
+        assertEquals("Content-Type", map.keySet().iterator().next());
+    }
+
+    @Test
+    public void testNonAsciiKeys() {
+        Map<String, Object> map = new CompactCaseInsensitiveMap();
+        map.put("Æbler", 1);
+
+        assertEquals(1, map.get("æbler"));
+        assertEquals(1, map.get("ÆBLER"));
+    }
+
+    @Test
+    public void testInsertionOrderAndGrow() {
+        Map<String, Object> map = new CompactCaseInsensitiveMap();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            map.put("key" + i, i);
+            expected.add("key" + i);
+        }
+        assertEquals(50, map.size());
+        assertEquals(expected, new ArrayList<>(map.keySet()));
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, map.get("KEY" + i));
+        }
+
+        assertEquals(10, map.remove("Key10"));
+        expected.remove("key10");
+        assertEquals(49, map.size());
+        assertEquals(expected, new ArrayList<>(map.keySet()));
+        assertNull(map.remove("key10"));
+    }
+
+    @Test
+    public void testIteratorRemoveAndSetValue() {
+        Map<String, Object> map = new CompactCaseInsensitiveMap();
+        map.put("foo", "cheese");
+        map.put("bar", "beer");
+        map.put("baz", "wine");
+
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            if (entry.getKey().equals("bar")) {
+                it.remove();
+            } else {
+                entry.setValue(entry.getValue() + "!");
+            }
+        }
+
+        assertEquals(2, map.size());
+        assertEquals("cheese!", map.get("FOO"));
+        assertEquals("wine!", map.get("BAZ"));
+        assertFalse(map.containsKey("bar"));
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        CompactCaseInsensitiveMap map = new CompactCaseInsensitiveMap();
+        map.put("foo", "cheese");
+        map.put("bar", "beer");
+
+        Map<String, Object> copy = new CompactCaseInsensitiveMap(map);
+        assertEquals(map, copy);
+
+        copy.put("foo", "changed");
+        copy.put("baz", "wine");
+        assertEquals("cheese", map.get("foo"));
+        assertFalse(map.containsKey("baz"));
+        assertEquals(2, map.size());
+
+        map.remove("bar");
+        assertEquals("beer", copy.get("bar"));
+        assertEquals(3, copy.size());
+
+        Map<String, Object> copy2 = new CompactCaseInsensitiveMap();
+        copy2.putAll(copy);
+        copy.clear();
+        assertTrue(copy.isEmpty());
+        assertEquals(Arrays.asList("foo", "bar", "baz"), new ArrayList<>(copy2.keySet()));
+        assertEquals("changed", copy2.get("FOO"));
+
+        copy2.entrySet().iterator().next().setValue("again");
+        assertEquals("again", copy2.get("foo"));
+        assertTrue(copy.isEmpty());
+    }
+
+    @Test
+    public void testEqualsOtherMap() {
+        Map<String, Object> map = new CompactCaseInsensitiveMap();
+        map.put("foo", "cheese");
+        map.put("bar", 123);
+
+        Map<String, Object> other = new CaseInsensitiveMap();
+        other.put("bar", 123);
+        other.put("foo", "cheese");
+
+        assertEquals(other, map);
+        assertEquals(map, other);
+        assertEquals(other.hashCode(), map.hashCode());
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        CompactCaseInsensitiveMap map = new CompactCaseInsensitiveMap();
+        map.put("foo", "cheese");
+        map.put("Bar", 123);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(bos);
+        oos.writeObject(map);
+        oos.close();
+
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> copy = (Map<String, Object>) ois.readObject();
+        ois.close();
+
+        assertEquals(map, copy);
+        assertEquals(123, copy.get("bar"));
+    }
+
+}
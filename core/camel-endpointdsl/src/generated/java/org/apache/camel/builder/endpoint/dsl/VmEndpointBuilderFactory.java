@@ -235,6 +235,46 @@ public interface VmEndpointBuilderFactory {
             doSetProperty("limitConcurrentConsumers", limitConcurrentConsumers);
             return this;
         }
+        /**
+         * The maximum number of messages the consumer takes from the queue at
+         * each poll. The consumer waits for the first message, and then drains
+         * the other messages which are available on the queue at once, which
+         * reduces the contention on the queue. The messages are processed one
+         * by one as a batch, with the batch properties (CamelBatchIndex,
+         * CamelBatchSize and CamelBatchComplete) set on the exchanges. Use 0
+         * or a negative number to take all the messages available on the
+         * queue. Is default 1 which takes one message at a time.
+         * 
+         * The option is a: <code>int</code> type.
+         * 
+         * Default: 1
+         * Group: consumer (advanced)
+         */
+        default AdvancedVmEndpointConsumerBuilder maxMessagesPerPoll(
+                int maxMessagesPerPoll) {
+            doSetProperty("maxMessagesPerPoll", maxMessagesPerPoll);
+            return this;
+        }
+        /**
+         * The maximum number of messages the consumer takes from the queue at
+         * each poll. The consumer waits for the first message, and then drains
+         * the other messages which are available on the queue at once, which
+         * reduces the contention on the queue. The messages are processed one
+         * by one as a batch, with the batch properties (CamelBatchIndex,
+         * CamelBatchSize and CamelBatchComplete) set on the exchanges. Use 0
+         * or a negative number to take all the messages available on the
+         * queue. Is default 1 which takes one message at a time.
+         * 
+         * The option will be converted to a <code>int</code> type.
+         * 
+         * Default: 1
+         * Group: consumer (advanced)
+         */
+        default AdvancedVmEndpointConsumerBuilder maxMessagesPerPoll(
+                String maxMessagesPerPoll) {
+            doSetProperty("maxMessagesPerPoll", maxMessagesPerPoll);
+            return this;
+        }
         /**
          * Specifies whether multiple consumers are allowed. If enabled, you can
          * use SEDA for Publish-Subscribe messaging. That is, you can send a
@@ -151,6 +151,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "StreamCachingBufferSize": target.setStreamCachingBufferSize(property(camelContext, int.class, value)); return true;
         case "streamcachingenabled":
         case "StreamCachingEnabled": target.setStreamCachingEnabled(property(camelContext, boolean.class, value)); return true;
+        case "streamcachingoffheap":
+        case "StreamCachingOffHeap": target.setStreamCachingOffHeap(property(camelContext, boolean.class, value)); return true;
         case "streamcachingremovespooldirectorywhenstopping":
         case "StreamCachingRemoveSpoolDirectoryWhenStopping": target.setStreamCachingRemoveSpoolDirectoryWhenStopping(property(camelContext, boolean.class, value)); return true;
         case "streamcachingspoolcipher":
@@ -320,6 +322,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "StreamCachingBufferSize": return int.class;
         case "streamcachingenabled":
         case "StreamCachingEnabled": return boolean.class;
+        case "streamcachingoffheap":
+        case "StreamCachingOffHeap": return boolean.class;
         case "streamcachingremovespooldirectorywhenstopping":
         case "StreamCachingRemoveSpoolDirectoryWhenStopping": return boolean.class;
         case "streamcachingspoolcipher":
@@ -490,6 +494,8 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "StreamCachingBufferSize": return target.getStreamCachingBufferSize();
         case "streamcachingenabled":
         case "StreamCachingEnabled": return target.isStreamCachingEnabled();
+        case "streamcachingoffheap":
+        case "StreamCachingOffHeap": return target.isStreamCachingOffHeap();
         case "streamcachingremovespooldirectorywhenstopping":
         case "StreamCachingRemoveSpoolDirectoryWhenStopping": return target.isStreamCachingRemoveSpoolDirectoryWhenStopping();
         case "streamcachingspoolcipher":
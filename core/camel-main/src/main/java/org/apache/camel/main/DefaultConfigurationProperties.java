@@ -51,6 +51,7 @@ public abstract class DefaultConfigurationProperties<T> {
     private String streamCachingSpoolUsedHeapMemoryLimit;
     private boolean streamCachingAnySpoolRules;
     private int streamCachingBufferSize;
+    private boolean streamCachingOffHeap;
     private boolean streamCachingRemoveSpoolDirectoryWhenStopping = true;
     private boolean streamCachingStatisticsEnabled;
     private boolean backlogTracing;
@@ -406,6 +407,21 @@ public abstract class DefaultConfigurationProperties<T> {
         this.streamCachingBufferSize = streamCachingBufferSize;
     }
 
+    public boolean isStreamCachingOffHeap() {
+        return streamCachingOffHeap;
+    }
+
+    /**
+     * Sets whether in-memory stream caches should keep their data off the heap in pooled direct byte buffers instead of
+     * byte arrays. Stream caches spooled to disk are then read using memory-mapped files (when no spool cipher is in
+     * use).
+     *
+     * This reduces the pressure on the garbage collector when caching large payloads. The default value is false.
+     */
+    public void setStreamCachingOffHeap(boolean streamCachingOffHeap) {
+        this.streamCachingOffHeap = streamCachingOffHeap;
+    }
+
     public boolean isStreamCachingRemoveSpoolDirectoryWhenStopping() {
         return streamCachingRemoveSpoolDirectoryWhenStopping;
     }
@@ -1343,6 +1359,18 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * Sets whether in-memory stream caches should keep their data off the heap in pooled direct byte buffers instead of
+     * byte arrays. Stream caches spooled to disk are then read using memory-mapped files (when no spool cipher is in
+     * use).
+     *
+     * This reduces the pressure on the garbage collector when caching large payloads. The default value is false.
+     */
+    public T withStreamCachingOffHeap(boolean streamCachingOffHeap) {
+        this.streamCachingOffHeap = streamCachingOffHeap;
+        return (T) this;
+    }
+
     /**
      * Whether to remove stream caching temporary directory when stopping. This option is default true.
      */
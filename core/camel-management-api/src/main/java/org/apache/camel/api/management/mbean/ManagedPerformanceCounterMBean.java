@@ -53,6 +53,15 @@ public interface ManagedPerformanceCounterMBean extends ManagedCounterMBean {
     @ManagedAttribute(description = "Total Processing Time [milliseconds]")
     long getTotalProcessingTime() throws Exception;
 
+    @ManagedAttribute(description = "50th Percentile Processing Time [milliseconds] (requires extended statistics level)")
+    long getP50ProcessingTime() throws Exception;
+
+    @ManagedAttribute(description = "99th Percentile Processing Time [milliseconds] (requires extended statistics level)")
+    long getP99ProcessingTime() throws Exception;
+
+    @ManagedAttribute(description = "99.9th Percentile Processing Time [milliseconds] (requires extended statistics level)")
+    long getP999ProcessingTime() throws Exception;
+
     @ManagedAttribute(description = "Last Processing Time [milliseconds]")
     long getLastProcessingTime() throws Exception;
 
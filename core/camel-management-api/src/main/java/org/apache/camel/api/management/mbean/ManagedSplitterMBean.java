@@ -26,4 +26,10 @@ public interface ManagedSplitterMBean extends ManagedMulticastMBean {
     @ManagedAttribute(description = "Expression of how to split the message body, such as as-is, using a tokenizer, or using an xpath.")
     String getExpression();
 
+    @ManagedAttribute(description = "The maximum number of splitted messages which can be processed concurrently when using parallel processing")
+    Integer getMaxInflight();
+
+    @ManagedAttribute(description = "The maximum time in millis to wait for one of the splitted messages in flight to complete")
+    Long getMaxInflightTimeout();
+
 }
@@ -153,6 +153,11 @@ public class ManagedAggregateProcessor extends ManagedProcessor implements Manag
         return processor.isOptimisticLocking();
     }
 
+    @Override
+    public int getLockStripes() {
+        return processor.getLockStripes();
+    }
+
     @Override
     public boolean isEagerCheckCompletion() {
         return processor.isEagerCheckCompletion();
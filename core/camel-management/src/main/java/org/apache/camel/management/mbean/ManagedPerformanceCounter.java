@@ -43,7 +43,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
     private Statistic totalProcessingTime;
     private Statistic lastProcessingTime;
     private Statistic deltaProcessingTime;
-    private Statistic meanProcessingTime;
+    private StatisticHistogram processingTimeHistogram;
     private Statistic firstExchangeCompletedTimestamp;
     private String firstExchangeCompletedExchangeId;
     private Statistic firstExchangeFailureTimestamp;
@@ -70,7 +70,11 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
         this.totalProcessingTime = new StatisticCounter();
         this.lastProcessingTime = new StatisticValue();
         this.deltaProcessingTime = new StatisticDelta();
-        this.meanProcessingTime = new StatisticValue();
+        if (strategy != null && strategy.getManagementAgent() != null
+                && strategy.getManagementAgent().getStatisticsLevel().isExtended()) {
+            // the percentiles are only recorded with extended statistics as the histogram uses more memory
+            this.processingTimeHistogram = new StatisticHistogram();
+        }
 
         this.firstExchangeCompletedTimestamp = new StatisticValue();
         this.firstExchangeFailureTimestamp = new StatisticValue();
@@ -92,7 +96,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
         totalProcessingTime.reset();
         lastProcessingTime.reset();
         deltaProcessingTime.reset();
-        meanProcessingTime.reset();
+        if (processingTimeHistogram != null) {
+            processingTimeHistogram.reset();
+        }
         firstExchangeCompletedTimestamp.reset();
         firstExchangeCompletedExchangeId = null;
         firstExchangeFailureTimestamp.reset();
@@ -140,7 +146,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
 
     @Override
     public long getMeanProcessingTime() throws Exception {
-        return meanProcessingTime.getValue();
+        // calculated when read instead of for every exchange
+        long completed = exchangesCompleted.getValue();
+        return completed > 0 ? totalProcessingTime.getValue() / completed : 0;
     }
 
     @Override
@@ -153,6 +161,21 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
         return totalProcessingTime.getValue();
     }
 
+    @Override
+    public long getP50ProcessingTime() throws Exception {
+        return processingTimeHistogram != null ? processingTimeHistogram.getPercentile(50) : 0;
+    }
+
+    @Override
+    public long getP99ProcessingTime() throws Exception {
+        return processingTimeHistogram != null ? processingTimeHistogram.getPercentile(99) : 0;
+    }
+
+    @Override
+    public long getP999ProcessingTime() throws Exception {
+        return processingTimeHistogram != null ? processingTimeHistogram.getPercentile(99.9) : 0;
+    }
+
     @Override
     public long getLastProcessingTime() throws Exception {
         return lastProcessingTime.getValue();
@@ -240,6 +263,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
         totalProcessingTime.updateValue(time);
         lastProcessingTime.updateValue(time);
         deltaProcessingTime.updateValue(time);
+        if (processingTimeHistogram != null) {
+            processingTimeHistogram.updateValue(time);
+        }
 
         long now = System.currentTimeMillis();
         if (!firstExchangeCompletedTimestamp.isUpdated()) {
@@ -251,14 +277,6 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
             firstExchangeCompletedExchangeId = exchange.getExchangeId();
         }
         lastExchangeCompletedExchangeId = exchange.getExchangeId();
-
-        // update mean
-        long mean = 0;
-        long completed = exchangesCompleted.getValue();
-        if (completed > 0) {
-            mean = totalProcessingTime.getValue() / completed;
-        }
-        meanProcessingTime.updateValue(mean);
     }
 
     @Override
@@ -288,9 +306,12 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
 
     @Override
     public String dumpStatsAsXml(boolean fullStats) {
+        long completed = exchangesCompleted.getValue();
+        long mean = completed > 0 ? totalProcessingTime.getValue() / completed : 0;
+
         StringBuilder sb = new StringBuilder();
         sb.append("<stats ");
-        sb.append(String.format("exchangesCompleted=\"%s\"", exchangesCompleted.getValue()));
+        sb.append(String.format("exchangesCompleted=\"%s\"", completed));
         sb.append(String.format(" exchangesFailed=\"%s\"", exchangesFailed.getValue()));
         sb.append(String.format(" failuresHandled=\"%s\"", failuresHandled.getValue()));
         sb.append(String.format(" redeliveries=\"%s\"", redeliveries.getValue()));
@@ -300,7 +321,12 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
         sb.append(String.format(" totalProcessingTime=\"%s\"", totalProcessingTime.getValue()));
         sb.append(String.format(" lastProcessingTime=\"%s\"", lastProcessingTime.getValue()));
         sb.append(String.format(" deltaProcessingTime=\"%s\"", deltaProcessingTime.getValue()));
-        sb.append(String.format(" meanProcessingTime=\"%s\"", meanProcessingTime.getValue()));
+        sb.append(String.format(" meanProcessingTime=\"%s\"", mean));
+        if (processingTimeHistogram != null) {
+            sb.append(String.format(" p50ProcessingTime=\"%s\"", processingTimeHistogram.getPercentile(50)));
+            sb.append(String.format(" p99ProcessingTime=\"%s\"", processingTimeHistogram.getPercentile(99)));
+            sb.append(String.format(" p999ProcessingTime=\"%s\"", processingTimeHistogram.getPercentile(99.9)));
+        }
 
         if (fullStats) {
             sb.append(String.format(" startTimestamp=\"%s\"", dateAsString(startTimestamp.getTime())));
@@ -45,4 +45,14 @@ public class ManagedSplitter extends ManagedMulticast implements ManagedSplitter
     public String getExpression() {
         return getDefinition().getExpression().getExpression();
     }
+
+    @Override
+    public Integer getMaxInflight() {
+        return processor.getMaxInflight();
+    }
+
+    @Override
+    public Long getMaxInflightTimeout() {
+        return processor.getMaxInflightTimeout();
+    }
 }
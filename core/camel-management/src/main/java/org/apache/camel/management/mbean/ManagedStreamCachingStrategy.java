@@ -123,6 +123,11 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getBufferSize();
     }
 
+    @Override
+    public boolean isOffHeap() {
+        return streamCachingStrategy.isOffHeap();
+    }
+
     @Override
     public void setRemoveSpoolDirectoryWhenStopping(boolean remove) {
         streamCachingStrategy.setRemoveSpoolDirectoryWhenStopping(remove);
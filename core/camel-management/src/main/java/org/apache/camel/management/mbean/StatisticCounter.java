@@ -16,30 +16,41 @@
  */
 package org.apache.camel.management.mbean;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 public class StatisticCounter extends Statistic {
 
-    private final AtomicLong value = new AtomicLong();
+    // striped so concurrent updates from many threads do not contend on the same value
+    private final LongAdder value = new LongAdder();
 
     @Override
     public void updateValue(long newValue) {
-        value.getAndAdd(newValue);
+        value.add(newValue);
+    }
+
+    @Override
+    public void increment() {
+        value.increment();
+    }
+
+    @Override
+    public void decrement() {
+        value.decrement();
     }
 
     @Override
     public long getValue() {
-        return value.get();
+        return value.sum();
     }
 
     @Override
     public String toString() {
-        return "" + value.get();
+        return "" + value.sum();
     }
 
     @Override
     public void reset() {
-        value.set(0);
+        value.reset();
     }
 
     @Override
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A statistic which records the distribution of the updated values, so percentiles can be calculated.
+ * <p/>
+ * The values are counted in buckets without any locking, where the values up to 15 have their own bucket, and the
+ * larger values are counted in 8 buckets per power of two, so the calculated percentiles are at most 12.5% higher
+ * than the actual values. The buckets are striped per thread to reduce the contention when updated from many threads.
+ * Negative values are counted as 0, and values of 2^41 or larger are counted in the last bucket.
+ */
+public class StatisticHistogram extends Statistic {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 40;
+    static final int BUCKETS = SUB_BUCKETS + (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    private static final int STRIPES = stripes();
+
+    // the stripes are laid out after each other so the threads update different cache lines
+    private final AtomicLongArray counts = new AtomicLongArray(STRIPES * BUCKETS);
+
+    @Override
+    public void updateValue(long newValue) {
+        int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        counts.incrementAndGet(stripe * BUCKETS + bucketIndex(newValue));
+    }
+
+    /**
+     * The number of recorded values
+     */
+    @Override
+    public long getValue() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Calculates the given percentile of the recorded values.
+     *
+     * @param  percentile the percentile such as 50, 99 or 99.9
+     * @return            the highest value of the bucket containing the percentile, or 0 if no values have been
+     *                    recorded
+     */
+    public long getPercentile(double percentile) {
+        long[] buckets = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long count = counts.get(i);
+            buckets[i % BUCKETS] += count;
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return highestValue(i);
+            }
+        }
+        return highestValue(BUCKETS - 1);
+    }
+
+    @Override
+    public boolean isUpdated() {
+        return getValue() > 0;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "" + getValue();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return value < 0 ? 0 : (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude > MAX_MAGNITUDE) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (magnitude - SUB_BUCKET_BITS) * SUB_BUCKETS + sub;
+    }
+
+    static long highestValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int magnitude = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (magnitude - SUB_BUCKET_BITS);
+        return (1L << magnitude) + (sub + 1) * width - 1;
+    }
+
+    private static int stripes() {
+        // a power of two (at most 4) so the stripe can be selected with a mask
+        int processors = Runtime.getRuntime().availableProcessors();
+        return processors >= 4 ? 4 : processors >= 2 ? 2 : 1;
+    }
+
+}
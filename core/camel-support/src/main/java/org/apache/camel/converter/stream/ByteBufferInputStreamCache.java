@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+
+/**
+ * A {@link StreamCache} for caching using off-heap direct {@link ByteBuffer}s.
+ * <p/>
+ * The buffers are shared with the {@link CachedByteBufferOutputStream} which created this cache, and are released back
+ * to the pool when all the exchanges using the cache are done. Components can use {@link #getByteBuffers()} to read
+ * the data without copying it to the heap.
+ */
+public final class ByteBufferInputStreamCache extends InputStream implements StreamCache {
+
+    private final CachedByteBufferOutputStream cache;
+    private final FileInputStreamCache.TempFileManager tempFileManager;
+    private final ByteBuffer[] buffers;
+    private final long length;
+    private int index;
+    private long position;
+
+    ByteBufferInputStreamCache(CachedByteBufferOutputStream cache, FileInputStreamCache.TempFileManager tempFileManager) {
+        this.cache = cache;
+        this.tempFileManager = tempFileManager;
+        this.buffers = cache.getByteBuffers();
+        this.length = cache.size();
+    }
+
+    @Override
+    public int read() throws IOException {
+        cache.checkReleased();
+        while (index < buffers.length) {
+            ByteBuffer buffer = buffers[index];
+            if (buffer.hasRemaining()) {
+                position++;
+                return buffer.get() & 0xff;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        cache.checkReleased();
+        if (len == 0) {
+            return 0;
+        }
+        int total = 0;
+        while (len > 0 && index < buffers.length) {
+            ByteBuffer buffer = buffers[index];
+            int n = Math.min(len, buffer.remaining());
+            if (n == 0) {
+                index++;
+                continue;
+            }
+            buffer.get(b, off, n);
+            off += n;
+            len -= n;
+            total += n;
+        }
+        position += total;
+        return total > 0 ? total : -1;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        cache.checkReleased();
+        long skipped = 0;
+        while (skipped < n && index < buffers.length) {
+            ByteBuffer buffer = buffers[index];
+            int step = (int) Math.min(n - skipped, buffer.remaining());
+            if (step == 0) {
+                index++;
+                continue;
+            }
+            buffer.position(buffer.position() + step);
+            skipped += step;
+        }
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, length - position);
+    }
+
+    @Override
+    public synchronized void reset() {
+        for (ByteBuffer buffer : buffers) {
+            buffer.rewind();
+        }
+        index = 0;
+        position = 0;
+    }
+
+    @Override
+    public void writeTo(OutputStream os) throws IOException {
+        cache.checkReleased();
+        CachedByteBufferOutputStream.writeTo(getByteBuffers(), os);
+    }
+
+    @Override
+    public StreamCache copy(Exchange exchange) throws IOException {
+        cache.checkReleased();
+        tempFileManager.addExchange(exchange);
+        return new ByteBufferInputStreamCache(cache, tempFileManager);
+    }
+
+    @Override
+    public boolean inMemory() {
+        return true;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Gets read-only views of the buffers with the remaining data of this stream, which can be used to read the data
+     * without copying it. The position of this stream is not changed.
+     * <p/>
+     * The views must not be used after the exchange using this cache is done, as the buffers are then released back to
+     * the pool, unless the buffers are retained with {@link #retain()} while the views are in use.
+     */
+    public ByteBuffer[] getByteBuffers() {
+        ByteBuffer[] answer = new ByteBuffer[buffers.length - index];
+        for (int i = 0; i < answer.length; i++) {
+            answer[i] = buffers[index + i].slice();
+        }
+        return answer;
+    }
+
+    /**
+     * Retains the buffers of this cache, so they are not released back to the pool when the exchanges using the cache
+     * are done, until {@link #releaseRetained()} is called. This must be used when the views of the buffers are read
+     * after the exchange may be done, such as when writing the buffers asynchronously.
+     *
+     * @throws IOException is thrown if the buffers has already been released
+     */
+    public void retain() throws IOException {
+        if (!cache.retain()) {
+            throw new IOException("The off-heap stream cache has been released");
+        }
+    }
+
+    /**
+     * Releases the buffers retained with {@link #retain()}
+     */
+    public void releaseRetained() {
+        cache.releaseRetained();
+    }
+
+    @Override
+    public String toString() {
+        return "ByteBufferInputStreamCache[length: " + length + "]";
+    }
+}
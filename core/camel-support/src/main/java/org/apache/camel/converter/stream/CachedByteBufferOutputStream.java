@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An {@link OutputStream} which stores the data off the heap in a list of direct {@link ByteBuffer}s, that is capable
+ * of returning a {@link ByteBufferInputStreamCache} view of the buffers.
+ * <p/>
+ * The buffers are acquired from a {@link DirectByteBufferPool} (if any), and must be released back to the pool with
+ * {@link #release()} when the data is no longer in use. Anyone reading the buffers after the exchange is done, such as
+ * a channel writing them asynchronously, must {@link #retain()} the buffers first, so they are not released back to the
+ * pool (and reused) until {@link #releaseRetained()} is called.
+ */
+public final class CachedByteBufferOutputStream extends OutputStream {
+
+    private final DirectByteBufferPool pool;
+    private final int bufferSize;
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+    private ByteBuffer current;
+    private long size;
+    private volatile boolean released;
+    // number of retains which keep the buffers from being released back to the pool
+    private int retained;
+
+    /**
+     * Creates the stream using buffers from the given pool
+     */
+    public CachedByteBufferOutputStream(DirectByteBufferPool pool) {
+        this.pool = pool;
+        this.bufferSize = pool.getBufferSize();
+    }
+
+    /**
+     * Creates the stream using unpooled direct buffers of the given size
+     */
+    public CachedByteBufferOutputStream(int bufferSize) {
+        this.pool = null;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureCapacity();
+        current.put((byte) b);
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            ensureCapacity();
+            int n = Math.min(len, current.remaining());
+            current.put(b, off, n);
+            off += n;
+            len -= n;
+            size += n;
+        }
+    }
+
+    /**
+     * Number of bytes written to this stream
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Whether the buffers has been released
+     */
+    public boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Gets read-only views of the buffers with the data written so far. The views share the data with this stream, so
+     * they must not be used after the buffers has been released.
+     */
+    public ByteBuffer[] getByteBuffers() {
+        ByteBuffer[] answer = new ByteBuffer[buffers.size()];
+        for (int i = 0; i < answer.length; i++) {
+            ByteBuffer view = buffers.get(i).duplicate();
+            view.flip();
+            answer[i] = view.asReadOnlyBuffer();
+        }
+        return answer;
+    }
+
+    /**
+     * Writes the data written so far to the given stream.
+     */
+    public void writeTo(OutputStream os) throws IOException {
+        checkReleased();
+        writeTo(getByteBuffers(), os);
+    }
+
+    /**
+     * Creates a new {@link ByteBufferInputStreamCache} view of the buffers
+     */
+    ByteBufferInputStreamCache newInputStreamCache(FileInputStreamCache.TempFileManager tempFileManager) throws IOException {
+        checkReleased();
+        return new ByteBufferInputStreamCache(this, tempFileManager);
+    }
+
+    /**
+     * Releases the buffers back to the pool. Any stream cache using the buffers can no longer be read. If the buffers
+     * are retained, then they are released back to the pool when the last retain is released.
+     */
+    public synchronized void release() {
+        if (!released) {
+            released = true;
+            if (retained == 0) {
+                releaseBuffers();
+            }
+        }
+    }
+
+    /**
+     * Retains the buffers, so they are not released back to the pool until {@link #releaseRetained()} is called, even
+     * if {@link #release()} is called in the meantime.
+     *
+     * @return <tt>true</tt> if retained, or <tt>false</tt> if the buffers has already been released
+     */
+    public synchronized boolean retain() {
+        if (released) {
+            return false;
+        }
+        retained++;
+        return true;
+    }
+
+    /**
+     * Releases a retain acquired with {@link #retain()}
+     */
+    public synchronized void releaseRetained() {
+        if (retained > 0) {
+            retained--;
+            if (retained == 0 && released) {
+                releaseBuffers();
+            }
+        }
+    }
+
+    private void releaseBuffers() {
+        if (pool != null) {
+            for (ByteBuffer buffer : buffers) {
+                pool.release(buffer);
+            }
+        }
+        buffers.clear();
+        current = null;
+    }
+
+    @Override
+    public String toString() {
+        return "CachedByteBufferOutputStream[size: " + size + ", buffers: " + buffers.size() + "]";
+    }
+
+    void checkReleased() throws IOException {
+        if (released) {
+            throw new IOException("The off-heap stream cache has been released");
+        }
+    }
+
+    private void ensureCapacity() throws IOException {
+        if (current == null || !current.hasRemaining()) {
+            checkReleased();
+            current = pool != null ? pool.acquire() : ByteBuffer.allocateDirect(bufferSize);
+            buffers.add(current);
+        }
+    }
+
+    static void writeTo(ByteBuffer[] buffers, OutputStream os) throws IOException {
+        // a plain file output stream is written to using its file channel without copying the data to the heap
+        WritableByteChannel channel = Channels.newChannel(os);
+        for (ByteBuffer buffer : buffers) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
@@ -16,7 +16,6 @@
  */
 package org.apache.camel.converter.stream;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -36,6 +35,10 @@ import org.apache.camel.spi.StreamCachingStrategy;
  * You can get a cached input stream of this stream. The temp file which is created with this output stream will be
  * deleted when you close this output stream or the cached fileInputStream(s) is/are closed after all the exchanges
  * using the temp file are completed.
+ * <p/>
+ * When the {@link StreamCachingStrategy#isOffHeap()} mode is enabled, then the in-memory content is stored in pooled
+ * direct buffers (see {@link DirectByteBufferPool}) instead of a byte array, which are released when the exchanges
+ * using the stream cache are completed.
  */
 public class CachedOutputStream extends OutputStream {
 
@@ -55,7 +58,15 @@ public class CachedOutputStream extends OutputStream {
         tempFileManager = new TempFileManager(closedOnCompletion);
         tempFileManager.addExchange(exchange);
         this.strategy = exchange.getContext().getStreamCachingStrategy();
-        currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
+        if (strategy.isOffHeap()) {
+            DirectByteBufferPool pool = exchange.getContext().getExtension(DirectByteBufferPool.class);
+            CachedByteBufferOutputStream bout = pool != null
+                    ? new CachedByteBufferOutputStream(pool) : new CachedByteBufferOutputStream(strategy.getBufferSize());
+            tempFileManager.setByteBuffers(bout);
+            currentStream = bout;
+        } else {
+            currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
+        }
     }
 
     @Override
@@ -69,6 +80,7 @@ public class CachedOutputStream extends OutputStream {
         // need to clean up the temp file this time
         if (!closedOnCompletion) {
             tempFileManager.closeFileInputStreams();
+            tempFileManager.releaseByteBuffers();
             tempFileManager.cleanUpTempFile();
         }
     }
@@ -95,7 +107,7 @@ public class CachedOutputStream extends OutputStream {
     @Override
     public void write(byte[] b, int off, int len) throws IOException {
         this.totalLength += len;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
+        if (inMemory && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
         }
         currentStream.write(b, off, len);
@@ -104,7 +116,7 @@ public class CachedOutputStream extends OutputStream {
     @Override
     public void write(byte[] b) throws IOException {
         this.totalLength += b.length;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
+        if (inMemory && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
         }
         currentStream.write(b);
@@ -113,7 +125,7 @@ public class CachedOutputStream extends OutputStream {
     @Override
     public void write(int b) throws IOException {
         this.totalLength++;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
+        if (inMemory && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
         }
         currentStream.write(b);
@@ -137,10 +149,12 @@ public class CachedOutputStream extends OutputStream {
         if (inMemory) {
             if (currentStream instanceof CachedByteArrayOutputStream) {
                 return ((CachedByteArrayOutputStream) currentStream).newInputStreamCache();
+            } else if (currentStream instanceof CachedByteBufferOutputStream) {
+                return ((CachedByteBufferOutputStream) currentStream).newInputStreamCache(tempFileManager);
             } else {
                 throw new IllegalStateException(
-                        "CurrentStream should be an instance of CachedByteArrayOutputStream but is: "
-                                                + currentStream.getClass().getName());
+                        "CurrentStream should be an instance of CachedByteArrayOutputStream or CachedByteBufferOutputStream"
+                                                + " but is: " + currentStream.getClass().getName());
             }
         } else {
             return tempFileManager.newStreamCache();
@@ -149,11 +163,17 @@ public class CachedOutputStream extends OutputStream {
 
     private void pageToFileStream() throws IOException {
         flush();
-        ByteArrayOutputStream bout = (ByteArrayOutputStream) currentStream;
+        OutputStream bout = currentStream;
         try {
             // creates an tmp file and a file output stream
             currentStream = tempFileManager.createOutputStream(strategy);
-            bout.writeTo(currentStream);
+            if (bout instanceof CachedByteBufferOutputStream) {
+                ((CachedByteBufferOutputStream) bout).writeTo(currentStream);
+                // the off-heap buffers are no longer needed
+                tempFileManager.releaseByteBuffers();
+            } else {
+                ((CachedByteArrayOutputStream) bout).writeTo(currentStream);
+            }
         } finally {
             // ensure flag is flipped to file based
             inMemory = false;
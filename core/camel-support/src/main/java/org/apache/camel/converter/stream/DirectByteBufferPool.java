@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded pool of direct {@link ByteBuffer}s of a fixed size which is used by the off-heap stream caches.
+ * <p/>
+ * Allocating direct buffers is expensive, so released buffers are kept for reuse up to the given maximum number of
+ * buffers. Buffers released above this limit are left to the garbage collector.
+ *
+ * @see org.apache.camel.spi.StreamCachingStrategy#setOffHeap(boolean)
+ */
+public final class DirectByteBufferPool {
+
+    /**
+     * The default maximum number of bytes which are kept in the pool
+     */
+    public static final long DEFAULT_MAX_POOLED_BYTES = 32 * 1024 * 1024;
+
+    private final int bufferSize;
+    private final int maxPooledBuffers;
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledBuffers = new AtomicInteger();
+    private final LongAdder allocatedBuffers = new LongAdder();
+
+    public DirectByteBufferPool(int bufferSize) {
+        this(bufferSize, (int) Math.max(1, DEFAULT_MAX_POOLED_BYTES / bufferSize));
+    }
+
+    public DirectByteBufferPool(int bufferSize, int maxPooledBuffers) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("BufferSize must be a positive number, was: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        this.maxPooledBuffers = maxPooledBuffers;
+    }
+
+    /**
+     * Acquires a cleared direct buffer from the pool, or allocates a new buffer if the pool is empty.
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer answer = buffers.poll();
+        if (answer != null) {
+            pooledBuffers.decrementAndGet();
+            answer.clear();
+        } else {
+            allocatedBuffers.increment();
+            answer = ByteBuffer.allocateDirect(bufferSize);
+        }
+        return answer;
+    }
+
+    /**
+     * Releases the buffer back to the pool. The buffer must no longer be used by the caller.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || buffer.isReadOnly() || buffer.capacity() != bufferSize) {
+            return;
+        }
+        if (pooledBuffers.incrementAndGet() <= maxPooledBuffers) {
+            buffers.offer(buffer);
+        } else {
+            // the pool is full so let the buffer be garbage collected
+            pooledBuffers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Removes all the buffers from the pool.
+     */
+    public void clear() {
+        while (buffers.poll() != null) {
+            pooledBuffers.decrementAndGet();
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getMaxPooledBuffers() {
+        return maxPooledBuffers;
+    }
+
+    /**
+     * Number of buffers currently in the pool
+     */
+    public int getPooledBuffers() {
+        return pooledBuffers.get();
+    }
+
+    /**
+     * Total number of direct buffers which has been allocated by the pool
+     */
+    public long getAllocatedBuffers() {
+        return allocatedBuffers.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "DirectByteBufferPool[bufferSize=" + bufferSize + ", pooled=" + pooledBuffers.get() + "/" + maxPooledBuffers
+               + ", allocated=" + allocatedBuffers.sum() + "]";
+    }
+}
@@ -23,6 +23,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.security.GeneralSecurityException;
@@ -134,6 +136,12 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
     }
 
     private InputStream createInputStream(File file) throws IOException {
+        if (ciphers == null && tempFileManager.isMapped() && length > 0 && length <= Integer.MAX_VALUE) {
+            // read the file using a memory-mapped buffer which avoids copying the data to the heap via read calls
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                return new MappedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, length));
+            }
+        }
         InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath(), StandardOpenOption.READ));
         if (ciphers != null) {
             in = new CipherInputStream(in, ciphers.getDecryptor()) {
@@ -150,6 +158,47 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         return in;
     }
 
+    /**
+     * An {@link InputStream} which reads from a memory-mapped file.
+     */
+    private static final class MappedInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        MappedInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int step = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + step);
+            return step;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
     /**
      * Manages the temporary file for the file input stream caches.
      * 
@@ -169,6 +218,9 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         private File tempFile;
         private OutputStream outputStream; // file output stream
         private CipherPair ciphers;
+        private boolean mapped;
+        // the off-heap buffers of the in-memory stream cache (if any), which are released when all exchanges are done
+        private CachedByteBufferOutputStream byteBuffers;
 
         // there can be several input streams, for example in the multi-cast, or wiretap parallel processing
         private List<FileInputStreamCache> fileInputStreamCaches;
@@ -207,6 +259,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
                             // only one exchange (one thread) left, therefore we must not synchronize the following lines of code
                             try {
                                 closeFileInputStreams();
+                                releaseByteBuffers();
                                 if (outputStream != null) {
                                     outputStream.close();
                                 }
@@ -264,6 +317,8 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
                 throw new IOException(error);
             }
             tempFile = FileUtil.createTempFile("cos", ".tmp", strategy.getSpoolDirectory());
+            // memory-mapped files cannot be deleted on windows until the mapped buffer is garbage collected
+            mapped = strategy.isOffHeap() && !FileUtil.isWindows();
 
             LOG.trace("Creating temporary stream cache file: {}", tempFile);
             OutputStream out = new BufferedOutputStream(
@@ -308,6 +363,17 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             }
         }
 
+        void setByteBuffers(CachedByteBufferOutputStream byteBuffers) {
+            this.byteBuffers = byteBuffers;
+        }
+
+        void releaseByteBuffers() {
+            if (byteBuffers != null) {
+                byteBuffers.release();
+                byteBuffers = null;
+            }
+        }
+
         void cleanUpTempFile() {
             // cleanup temporary file
             try {
@@ -328,6 +394,10 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             return ciphers;
         }
 
+        boolean isMapped() {
+            return mapped;
+        }
+
     }
 
 }
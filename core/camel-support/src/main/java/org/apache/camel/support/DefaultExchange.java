@@ -41,13 +41,31 @@ import org.apache.camel.util.ObjectHelper;
 
 /**
  * The default and only implementation of {@link Exchange}.
+ * <p/>
+ * The properties of a copy of an exchange (see {@link #copy()}) are copy-on-write, where the copy shares a snapshot of
+ * the properties of the source exchange, and only keeps track of the properties that are changed on the copy. All the
+ * copies taken from the source exchange share the same snapshot until the properties of the source exchange are
+ * changed. The snapshot is the properties map of the source exchange itself, unless the map has been returned by
+ * {@link #getProperties()}, as the caller may change the map at any time. In that case the snapshot is a copy of the map
+ * which is taken at the first copy after {@link #getProperties()} was called, so changes made directly to a map
+ * returned by {@link #getProperties()} are only seen by copies taken after {@link #getProperties()} is called again.
  */
 public final class DefaultExchange implements ExtendedExchange {
 
+    // marker for a property which is removed from the shared properties
+    private static final Object REMOVED = new Object();
+
     private final CamelContext context;
     private final long created;
     // optimize to create properties always and with a reasonable small size
-    private final Map<String, Object> properties = new ConcurrentHashMap<>(8);
+    private volatile Map<String, Object> properties = new ConcurrentHashMap<>(8);
+    // the snapshot of the properties which is shared with copies of this exchange (the properties must be copied
+    // before being changed when the snapshot is the properties map itself)
+    private volatile Map<String, Object> propertiesSnapshot;
+    // the properties of the exchange this exchange was copied from (which are shared until getProperties is called)
+    private volatile Map<String, Object> sharedProperties;
+    // whether the properties map has been returned by getProperties, and may be changed by the caller at any time
+    private volatile boolean propertiesExposed;
     private Message in;
     private Message out;
     private Exception exception;
@@ -124,17 +142,9 @@ public final class DefaultExchange implements ExtendedExchange {
     public Exchange copy() {
         DefaultExchange exchange = new DefaultExchange(this);
 
-        exchange.setIn(getIn().copy());
-        exchange.getIn().setBody(getIn().getBody());
-        if (getIn().hasHeaders()) {
-            exchange.getIn().setHeaders(safeCopyHeaders(getIn().getHeaders()));
-        }
+        exchange.setIn(copyMessage(getIn()));
         if (hasOut()) {
-            exchange.setOut(getOut().copy());
-            exchange.getOut().setBody(getOut().getBody());
-            if (getOut().hasHeaders()) {
-                exchange.getOut().setHeaders(safeCopyHeaders(getOut().getHeaders()));
-            }
+            exchange.setOut(copyMessage(getOut()));
         }
 
         exchange.setException(exception);
@@ -147,12 +157,22 @@ public final class DefaultExchange implements ExtendedExchange {
 
         // copy properties after body as body may trigger lazy init
         if (hasProperties()) {
-            safeCopyProperties(getProperties(), exchange.getProperties());
+            shareProperties(exchange);
         }
 
         return exchange;
     }
 
+    private Message copyMessage(Message message) {
+        Message answer = message.copy();
+        answer.setBody(message.getBody());
+        // the message copy should have copied the headers, but guard against messages sharing the same headers
+        if (message.hasHeaders() && answer.getHeaders() == message.getHeaders()) {
+            answer.setHeaders(safeCopyHeaders(message.getHeaders()));
+        }
+        return answer;
+    }
+
     private Map<String, Object> safeCopyHeaders(Map<String, Object> headers) {
         if (headers == null) {
             return null;
@@ -170,18 +190,74 @@ public final class DefaultExchange implements ExtendedExchange {
     }
 
     @SuppressWarnings("unchecked")
-    private void safeCopyProperties(Map<String, Object> source, Map<String, Object> target) {
-        target.putAll(source);
+    private void shareProperties(DefaultExchange target) {
+        if (sharedProperties != null) {
+            mergeSharedProperties();
+        }
+        Map<String, Object> snapshot = propertiesSnapshot;
+        if (snapshot == null) {
+            snapshot = takePropertiesSnapshot();
+        }
+        target.sharedProperties = snapshot;
         if (getContext().isMessageHistory()) {
             // safe copy message history using a defensive copy
-            List<MessageHistory> history = (List<MessageHistory>) target.remove(Exchange.MESSAGE_HISTORY);
+            List<MessageHistory> history = (List<MessageHistory>) snapshot.get(Exchange.MESSAGE_HISTORY);
             if (history != null) {
                 // use thread-safe list as message history may be accessed concurrently
-                target.put(Exchange.MESSAGE_HISTORY, new CopyOnWriteArrayList<>(history));
+                target.properties.put(Exchange.MESSAGE_HISTORY, new CopyOnWriteArrayList<>(history));
             }
         }
     }
 
+    private synchronized Map<String, Object> takePropertiesSnapshot() {
+        if (propertiesSnapshot == null) {
+            // the map may be changed by the caller of getProperties, so it cannot be shared
+            propertiesSnapshot = propertiesExposed ? new ConcurrentHashMap<>(properties) : properties;
+        }
+        return propertiesSnapshot;
+    }
+
+    /**
+     * The properties of this exchange which can be changed, and which are no longer the snapshot shared with copies
+     */
+    private Map<String, Object> ownProperties() {
+        if (propertiesSnapshot != null) {
+            unshareProperties();
+        }
+        return properties;
+    }
+
+    private synchronized void unshareProperties() {
+        Map<String, Object> snapshot = propertiesSnapshot;
+        if (snapshot != null) {
+            if (snapshot == properties) {
+                properties = new ConcurrentHashMap<>(properties);
+                propertiesExposed = false;
+            }
+            propertiesSnapshot = null;
+        }
+    }
+
+    /**
+     * Merges the shared properties with the changed properties, so this exchange has all its properties in its own map
+     */
+    private synchronized void mergeSharedProperties() {
+        Map<String, Object> shared = sharedProperties;
+        if (shared != null) {
+            Map<String, Object> answer = new ConcurrentHashMap<>(shared);
+            for (Map.Entry<String, Object> entry : properties.entrySet()) {
+                if (entry.getValue() == REMOVED) {
+                    answer.remove(entry.getKey());
+                } else {
+                    answer.put(entry.getKey(), entry.getValue());
+                }
+            }
+            properties = answer;
+            sharedProperties = null;
+            propertiesExposed = false;
+        }
+    }
+
     @Override
     public CamelContext getContext() {
         return context;
@@ -189,7 +265,12 @@ public final class DefaultExchange implements ExtendedExchange {
 
     @Override
     public Object getProperty(String name) {
-        return properties.get(name);
+        Map<String, Object> shared = sharedProperties;
+        Object answer = properties.get(name);
+        if (answer == null && shared != null) {
+            answer = shared.get(name);
+        }
+        return answer != REMOVED ? answer : null;
     }
 
     @Override
@@ -247,27 +328,40 @@ public final class DefaultExchange implements ExtendedExchange {
     public void setProperty(String name, Object value) {
         if (value != null) {
             // avoid the NullPointException
-            properties.put(name, value);
+            ownProperties().put(name, value);
         } else {
             // if the value is null, we just remove the key from the map
             if (name != null) {
-                properties.remove(name);
+                removeProperty(name);
             }
         }
     }
 
     @Override
     public void setProperties(Map<String, Object> properties) {
-        this.properties.clear();
-        this.properties.putAll(properties);
+        Map<String, Object> own = ownProperties();
+        if (own != properties) {
+            this.sharedProperties = null;
+            own.clear();
+            own.putAll(properties);
+        }
     }
 
     @Override
     public Object removeProperty(String name) {
+        Map<String, Object> shared = sharedProperties;
+        if (shared != null && shared.containsKey(name)) {
+            // mark the shared property as removed
+            Object answer = ownProperties().put(name, REMOVED);
+            if (answer == null) {
+                answer = shared.get(name);
+            }
+            return answer != REMOVED ? answer : null;
+        }
         if (!hasProperties()) {
             return null;
         }
-        return properties.remove(name);
+        return ownProperties().remove(name);
     }
 
     @Override
@@ -281,6 +375,8 @@ public final class DefaultExchange implements ExtendedExchange {
             return false;
         }
 
+        Map<String, Object> properties = allProperties();
+
         // store keys to be removed as we cannot loop and remove at the same time in implementations such as HashMap
         Set<String> toBeRemoved = new HashSet<>();
         boolean matches = false;
@@ -308,12 +404,40 @@ public final class DefaultExchange implements ExtendedExchange {
 
     @Override
     public Map<String, Object> getProperties() {
-        return properties;
+        Map<String, Object> answer = allProperties();
+        // the map can be changed by the caller, so it must not be shared with copies of this exchange
+        propertiesExposed = true;
+        return answer;
+    }
+
+    /**
+     * All the properties of this exchange in its own map which can be changed
+     */
+    private Map<String, Object> allProperties() {
+        if (sharedProperties != null) {
+            mergeSharedProperties();
+        }
+        return ownProperties();
     }
 
     @Override
     public boolean hasProperties() {
-        return !properties.isEmpty();
+        Map<String, Object> shared = sharedProperties;
+        if (shared == null) {
+            return !properties.isEmpty();
+        }
+        // there are properties if any of the changed or shared properties are not removed
+        for (Object value : properties.values()) {
+            if (value != REMOVED) {
+                return true;
+            }
+        }
+        for (String key : shared.keySet()) {
+            if (properties.get(key) != REMOVED) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -34,16 +34,26 @@ import org.apache.camel.StaticService;
 import org.apache.camel.spi.ThreadPoolFactory;
 import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
 import org.apache.camel.util.concurrent.RejectableScheduledThreadPoolExecutor;
 import org.apache.camel.util.concurrent.RejectableThreadPoolExecutor;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
+import org.apache.camel.util.concurrent.VirtualThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Factory for thread pools that uses the JDK {@link Executors} for creating the thread pools.
+ * <p/>
+ * Thread pools from a {@link ThreadPoolProfile} with virtual threads enabled, are using virtual threads when running on
+ * Java 21 or newer.
  */
 public class DefaultThreadPoolFactory extends ServiceSupport implements CamelContextAware, ThreadPoolFactory, StaticService {
 
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultThreadPoolFactory.class);
+
     private CamelContext camelContext;
+    private volatile boolean virtualThreadsWarned;
 
     @Override
     public CamelContext getCamelContext() {
@@ -64,6 +74,20 @@ public class DefaultThreadPoolFactory extends ServiceSupport implements CamelCon
     public ExecutorService newThreadPool(ThreadPoolProfile profile, ThreadFactory factory) {
         // allow core thread timeout is default true if not configured
         boolean allow = profile.getAllowCoreThreadTimeOut() != null ? profile.getAllowCoreThreadTimeOut() : true;
+
+        ThreadFactory virtualFactory = createVirtualThreadFactory(profile, factory);
+        if (virtualFactory != null) {
+            // virtual threads are cheap, so start new threads up to the max pool size before tasks are queued
+            return newThreadPool(profile.getMaxPoolSize(),
+                    profile.getMaxPoolSize(),
+                    profile.getKeepAliveTime(),
+                    profile.getTimeUnit(),
+                    profile.getMaxQueueSize(),
+                    allow,
+                    profile.getRejectedExecutionHandler(),
+                    virtualFactory);
+        }
+
         return newThreadPool(profile.getPoolSize(),
                 profile.getMaxPoolSize(),
                 profile.getKeepAliveTime(),
@@ -124,6 +148,11 @@ public class DefaultThreadPoolFactory extends ServiceSupport implements CamelCon
             rejectedExecutionHandler = new ThreadPoolExecutor.CallerRunsPolicy();
         }
 
+        ThreadFactory virtualFactory = createVirtualThreadFactory(profile, threadFactory);
+        if (virtualFactory != null) {
+            threadFactory = virtualFactory;
+        }
+
         ScheduledThreadPoolExecutor answer
                 = new RejectableScheduledThreadPoolExecutor(profile.getPoolSize(), threadFactory, rejectedExecutionHandler);
         answer.setRemoveOnCancelPolicy(true);
@@ -138,4 +167,34 @@ public class DefaultThreadPoolFactory extends ServiceSupport implements CamelCon
         }
     }
 
+    /**
+     * Creates the thread factory for virtual threads, if the profile is using virtual threads.
+     *
+     * @param  profile       the thread pool profile
+     * @param  threadFactory the thread factory for platform threads
+     * @return               the thread factory for virtual threads, or <tt>null</tt> to use platform threads
+     */
+    protected ThreadFactory createVirtualThreadFactory(ThreadPoolProfile profile, ThreadFactory threadFactory) {
+        if (profile.getVirtualThreads() == null || !profile.getVirtualThreads()) {
+            return null;
+        }
+        if (!VirtualThreadFactory.isSupported()) {
+            if (!virtualThreadsWarned) {
+                virtualThreadsWarned = true;
+                LOG.warn("Virtual threads are not supported by this JVM (requires Java 21 or newer)."
+                         + " Using platform threads for thread pool profile: {}",
+                        profile.getId());
+            }
+            return null;
+        }
+        if (threadFactory instanceof CamelThreadFactory) {
+            CamelThreadFactory ctf = (CamelThreadFactory) threadFactory;
+            return new VirtualThreadFactory(ctf.getPattern(), ctf.getName());
+        }
+        // a custom thread factory is in use, so keep using that
+        LOG.debug("Using custom thread factory: {} instead of virtual threads for thread pool profile: {}",
+                threadFactory, profile.getId());
+        return null;
+    }
+
 }
@@ -44,6 +44,8 @@ public final class GroupTokenIterator implements Iterator<Object>, Closeable {
     private final Exchange exchange;
     private final Iterator<?> it;
     private final String token;
+    private final byte[] tokenBytes;
+    private final String charsetName;
     private final int group;
     private final boolean skipFirst;
     private final AtomicBoolean hasSkipFirst;
@@ -65,6 +67,8 @@ public final class GroupTokenIterator implements Iterator<Object>, Closeable {
         this.camelContext = exchange.getContext();
         this.it = it;
         this.token = token;
+        this.tokenBytes = token != null ? token.getBytes() : null;
+        this.charsetName = ExchangeHelper.getCharsetName(exchange);
         this.group = group;
         if (group <= 0) {
             throw new IllegalArgumentException("Group must be a positive number, was: " + group);
@@ -133,9 +137,12 @@ public final class GroupTokenIterator implements Iterator<Object>, Closeable {
 
             // include token in between
             if (data != null && count > 0 && token != null) {
-                bos.write(token.getBytes());
+                bos.write(tokenBytes);
             }
-            if (data instanceof InputStream) {
+            if (data instanceof String) {
+                // avoid converting to an input stream for the most common case
+                bos.write(((String) data).getBytes(charsetName));
+            } else if (data instanceof InputStream) {
                 InputStream is = (InputStream) data;
                 IOHelper.copy(is, bos);
             } else if (data instanceof byte[]) {
@@ -151,7 +158,7 @@ public final class GroupTokenIterator implements Iterator<Object>, Closeable {
         }
 
         // prepare and return answer as String using exchange's charset
-        String answer = bos.toString(ExchangeHelper.getCharsetName(exchange));
+        String answer = bos.toString(charsetName);
         bos.reset();
         return answer;
     }
@@ -0,0 +1,396 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.TimeoutMap;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.camel.TimeoutMap.Listener.Type.Evict;
+import static org.apache.camel.TimeoutMap.Listener.Type.Put;
+import static org.apache.camel.TimeoutMap.Listener.Type.Remove;
+
+/**
+ * A {@link TimeoutMap} which uses a hashed timing wheel to keep track of the entries that timeout.
+ * <p/>
+ * Unlike {@link DefaultTimeoutMap} which scans all the entries in the map to find the expired entries, this
+ * implementation only visits the entries which are scheduled to expire in the elapsed ticks. Adding, removing and
+ * expiring an entry is therefore O(1) regardless how many entries are in the map, which makes this implementation
+ * suitable for maps with a large number of entries.
+ * <p/>
+ * The wheel is a circular array of buckets, where each bucket represents a tick of the given tick duration. Adding and
+ * removing entries is thread safe and lock free, as the changes are queued and applied to the wheel by the background
+ * task only. The timeouts have the precision of the tick duration, which is also how often the background task runs.
+ * <p/>
+ * You must provide a {@link java.util.concurrent.ScheduledExecutorService} in the constructor which is used to schedule
+ * the background task. You must also invoke {@link #start()} to startup the timeout map, before its ready to be used.
+ * And you must invoke {@link #stop()} to stop the map when no longer in use.
+ */
+public class HashedWheelTimeoutMap<K, V> extends ServiceSupport implements TimeoutMap<K, V> {
+
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    protected final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final ConcurrentMap<K, WheelEntry<K, V>> map = new ConcurrentHashMap<>();
+    // entries added or removed which has not yet been applied to the wheel
+    private final Queue<WheelEntry<K, V>> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelEntry<K, V>> cancelled = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService executor;
+    private volatile ScheduledFuture<?> future;
+    private final long tickDuration;
+    private final Bucket<K, V>[] wheel;
+    private final int mask;
+    // the next tick to process (only accessed by the purge task)
+    private long currentTick = -1;
+
+    private final List<Listener<K, V>> listeners = new ArrayList<>(2);
+
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor) {
+        this(executor, 1000);
+    }
+
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor, long tickDurationMillis) {
+        this(executor, tickDurationMillis, DEFAULT_WHEEL_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    public HashedWheelTimeoutMap(ScheduledExecutorService executor, long tickDurationMillis, int wheelSize) {
+        ObjectHelper.notNull(executor, "ScheduledExecutorService");
+        if (tickDurationMillis <= 0) {
+            throw new IllegalArgumentException("TickDuration must be a positive number, was: " + tickDurationMillis);
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("WheelSize must be a positive number, was: " + wheelSize);
+        }
+        this.executor = executor;
+        this.tickDuration = tickDurationMillis;
+        // round up to a power of two so we can use a mask to find the bucket
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            this.wheel[i] = new Bucket<>();
+        }
+        this.mask = size - 1;
+    }
+
+    @Override
+    public V get(K key) {
+        WheelEntry<K, V> entry = map.get(key);
+        if (entry == null) {
+            return null;
+        }
+        // the entry is moved to its new bucket when its current bucket is processed
+        entry.deadline = currentTime() + entry.timeout;
+        return entry.value;
+    }
+
+    @Override
+    public V put(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<>(key, value, timeoutMillis, currentTime() + timeoutMillis);
+        WheelEntry<K, V> result = map.put(key, entry);
+        try {
+            if (result != null) {
+                cancel(result);
+            }
+            pending.add(entry);
+            return unwrap(result);
+        } finally {
+            emitEvent(Put, key, value);
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value, long timeoutMillis) {
+        WheelEntry<K, V> entry = new WheelEntry<>(key, value, timeoutMillis, currentTime() + timeoutMillis);
+        WheelEntry<K, V> result = map.putIfAbsent(key, entry);
+        if (result == null) {
+            pending.add(entry);
+            emitEvent(Put, key, value); // conditional on map being changed
+        }
+        return unwrap(result);
+    }
+
+    @Override
+    public V remove(K key) {
+        WheelEntry<K, V> entry = map.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        cancel(entry);
+        emitEvent(Remove, key, entry.value);
+        return entry.value;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * The timer task which purges old requests and schedules another poll
+     */
+    private void purgeTask() {
+        // only purge if allowed
+        if (!isRunAllowed()) {
+            log.trace("Purge task not allowed to run");
+            return;
+        }
+
+        log.trace("Running purge task to see if any entries have been timed out");
+        try {
+            purge();
+        } catch (Throwable t) {
+            // must catch and log exception otherwise the executor will now schedule next purgeTask
+            log.warn("Exception occurred during purge task. This exception will be ignored.", t);
+        }
+    }
+
+    /**
+     * Applies the pending changes to the wheel and evicts the entries from the ticks that has elapsed since last purge.
+     * <p/>
+     * This method must not be invoked concurrently.
+     */
+    protected void purge() {
+        long now = currentTime();
+        long nowTick = now / tickDuration;
+        if (currentTick < 0) {
+            currentTick = nowTick;
+        }
+
+        applyCancelled();
+        applyPending();
+
+        List<WheelEntry<K, V>> expired = new ArrayList<>();
+        // if we have not been running for a full round, then each bucket only needs to be processed once
+        long last = Math.min(nowTick, currentTick + wheel.length - 1);
+        for (long tick = currentTick; tick <= last; tick++) {
+            processBucket(wheel[(int) (tick & mask)], now, nowTick, expired);
+        }
+        currentTick = nowTick + 1;
+
+        if (!expired.isEmpty()) {
+            // sort according to the expired time so we got the first expired first
+            expired.sort((a, b) -> Long.compare(a.deadline, b.deadline));
+            for (WheelEntry<K, V> entry : expired) {
+                log.debug("Evicting inactive entry ID: {}", entry);
+                emitEvent(Evict, entry.key, entry.value);
+            }
+        }
+    }
+
+    private void processBucket(Bucket<K, V> bucket, long now, long nowTick, List<WheelEntry<K, V>> expired) {
+        WheelEntry<K, V> entry = bucket.head;
+        while (entry != null) {
+            WheelEntry<K, V> next = entry.next;
+            if (entry.cancelled) {
+                bucket.remove(entry);
+            } else if (entry.deadline <= now) {
+                bucket.remove(entry);
+                // the entry may have been replaced or removed concurrently
+                if (map.remove(entry.key, entry)) {
+                    expired.add(entry);
+                }
+            } else if (entry.tick <= nowTick) {
+                // the deadline has been extended (or is later in the current tick), so move the entry
+                bucket.remove(entry);
+                place(entry, nowTick + 1);
+            }
+            // otherwise the entry is due in a later round of the wheel
+            entry = next;
+        }
+    }
+
+    private void applyCancelled() {
+        WheelEntry<K, V> entry;
+        while ((entry = cancelled.poll()) != null) {
+            if (entry.bucket != null) {
+                entry.bucket.remove(entry);
+            }
+        }
+    }
+
+    private void applyPending() {
+        WheelEntry<K, V> entry;
+        while ((entry = pending.poll()) != null) {
+            if (!entry.cancelled) {
+                place(entry, currentTick);
+            }
+        }
+    }
+
+    private void place(WheelEntry<K, V> entry, long minTick) {
+        long tick = Math.max(entry.deadline / tickDuration, minTick);
+        entry.tick = tick;
+        wheel[(int) (tick & mask)].add(entry);
+    }
+
+    private void cancel(WheelEntry<K, V> entry) {
+        entry.cancelled = true;
+        cancelled.add(entry);
+    }
+
+    // Properties
+    // -------------------------------------------------------------------------
+
+    public long getTickDuration() {
+        return tickDuration;
+    }
+
+    public int getWheelSize() {
+        return wheel.length;
+    }
+
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    // Implementation methods
+    // -------------------------------------------------------------------------
+
+    private static <K, V> V unwrap(WheelEntry<K, V> entry) {
+        return entry == null ? null : entry.value;
+    }
+
+    @Override
+    public void addListener(Listener<K, V> listener) {
+        this.listeners.add(listener);
+    }
+
+    private void emitEvent(Listener.Type type, K key, V value) {
+        for (Listener<K, V> listener : listeners) {
+            try {
+                listener.timeoutMapEvent(type, key, value);
+            } catch (Throwable t) {
+                // Ignore
+            }
+        }
+    }
+
+    protected long currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("The ScheduledExecutorService is shutdown");
+        }
+        future = executor.scheduleAtFixedRate(this::purgeTask, 0, tickDuration, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        // clear map if we stop
+        map.clear();
+        pending.clear();
+        cancelled.clear();
+        for (Bucket<K, V> bucket : wheel) {
+            bucket.clear();
+        }
+        currentTick = -1;
+    }
+
+    /**
+     * An entry in the wheel, which is linked in the bucket of the tick it is scheduled to expire.
+     */
+    private static final class WheelEntry<K, V> {
+        private final K key;
+        private final V value;
+        private final long timeout;
+        private volatile long deadline;
+        private volatile boolean cancelled;
+        // only accessed by the purge task
+        private long tick;
+        private Bucket<K, V> bucket;
+        private WheelEntry<K, V> prev;
+        private WheelEntry<K, V> next;
+
+        private WheelEntry(K key, V value, long timeout, long deadline) {
+            this.key = key;
+            this.value = value;
+            this.timeout = timeout;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public String toString() {
+            return key + " (times out after " + timeout + " millis)";
+        }
+    }
+
+    /**
+     * A doubly linked list of entries, which is only accessed by the purge task.
+     */
+    private static final class Bucket<K, V> {
+        private WheelEntry<K, V> head;
+        private WheelEntry<K, V> tail;
+
+        private void add(WheelEntry<K, V> entry) {
+            entry.bucket = this;
+            entry.prev = tail;
+            entry.next = null;
+            if (tail == null) {
+                head = entry;
+            } else {
+                tail.next = entry;
+            }
+            tail = entry;
+        }
+
+        private void remove(WheelEntry<K, V> entry) {
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            } else {
+                tail = entry.prev;
+            }
+            entry.bucket = null;
+            entry.prev = null;
+            entry.next = null;
+        }
+
+        private void clear() {
+            head = null;
+            tail = null;
+        }
+    }
+
+}
@@ -19,19 +19,21 @@ package org.apache.camel.support.builder;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.text.MessageFormat;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
-import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.InvalidPayloadException;
+import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.ExpressionAdapter;
 import org.apache.camel.support.LanguageSupport;
@@ -53,10 +55,6 @@ import org.apache.camel.util.StringHelper;
  */
 public class TokenXMLExpressionIterator extends ExpressionAdapter {
     private static final Pattern NAMESPACE_PATTERN = Pattern.compile("xmlns(:\\w+|)\\s*=\\s*('[^']+'|\"[^\"]+\")");
-    private static final String SCAN_TOKEN_NS_PREFIX_REGEX = "([^:<>]{1,15}?:|)";
-    private static final String SCAN_BLOCK_TOKEN_REGEX_TEMPLATE
-            = "<{0}(\\s+[^>]*)?/>|<{0}(\\s+[^>]*)?>(?:(?!(</{0}\\s*>)).)*</{0}\\s*>";
-    private static final String SCAN_PARENT_TOKEN_REGEX_TEMPLATE = "<{0}(\\s+[^>]*\\s*)?>";
     private static final String OPTION_WRAP_TOKEN = "<*>";
     private static final String NAMESPACE_SEPERATOR = " ";
 
@@ -152,75 +150,79 @@ public class TokenXMLExpressionIterator extends ExpressionAdapter {
     }
 
     /**
-     * Iterator to walk the input stream
+     * Iterator to walk the input stream.
+     * <p/>
+     * The tokens are found by scanning the characters for the start and end tags, instead of matching regular
+     * expressions against the stream. Only the characters of the token being scanned are kept in the buffer.
      */
     static class XMLTokenIterator implements Iterator<Object>, Closeable {
+        private static final int BUFFER_SIZE = 8192;
+        private static final int MAX_PREFIX_LENGTH = 15;
+
         final String tagToken;
         final InputStream in;
         final String charset;
-        Scanner scanner;
         Object image;
 
-        private final Pattern tagTokenPattern;
-        private final String inheritNamespaceToken;
+        private final String tagName;
+        private final String inheritName;
         private final boolean wrapToken;
-        private Pattern inheritNamespaceTokenPattern;
+        private Reader reader;
+        private char[] buffer = new char[BUFFER_SIZE];
+        private int pos;
+        private int limit;
+        // the position from where the characters must be kept in the buffer, or -1 to keep from the current position
+        private int mark = -1;
+        private boolean eof;
         private String[] rootTokenNamespaces;
         private String wrapHead;
         private String wrapTail;
 
         XMLTokenIterator(String tagToken, String inheritNamespaceToken, InputStream in, String charset) {
             this.tagToken = tagToken;
+            this.in = in;
             this.charset = charset;
 
-            // remove any beginning < and ending > as we need to support ns prefixes and attributes, so we use a reg exp patterns
-            this.tagTokenPattern = Pattern.compile(MessageFormat.format(SCAN_BLOCK_TOKEN_REGEX_TEMPLATE,
-                    SCAN_TOKEN_NS_PREFIX_REGEX + tagToken.substring(1, tagToken.length() - 1)),
-                    Pattern.MULTILINE | Pattern.DOTALL);
-
-            this.inheritNamespaceToken = inheritNamespaceToken;
-            if (inheritNamespaceToken != null && OPTION_WRAP_TOKEN.equals(inheritNamespaceToken)) {
-                this.wrapToken = true;
-                this.in = new RecordableInputStream(in, charset);
+            // remove the beginning < and ending > as we need to support ns prefixes and attributes
+            this.tagName = tagToken.substring(1, tagToken.length() - 1);
+            this.wrapToken = OPTION_WRAP_TOKEN.equals(inheritNamespaceToken);
+            if (inheritNamespaceToken != null && !wrapToken) {
+                this.inheritName = inheritNamespaceToken.substring(1, inheritNamespaceToken.length() - 1);
             } else {
-                this.wrapToken = false;
-                this.in = in;
-                if (inheritNamespaceToken != null) {
-                    // the inherit namespace token may itself have a namespace prefix
-                    // the namespaces on the parent tag can be in multi line, so we need to instruct the dot to support multilines
-                    this.inheritNamespaceTokenPattern = Pattern.compile(MessageFormat.format(SCAN_PARENT_TOKEN_REGEX_TEMPLATE,
-                            SCAN_TOKEN_NS_PREFIX_REGEX + inheritNamespaceToken.substring(1,
-                                    inheritNamespaceToken.length() - 1)),
-                            Pattern.MULTILINE | Pattern.DOTALL);
-                }
+                this.inheritName = null;
             }
         }
 
         void init() {
-            // use a scanner with the default delimiter
-            this.scanner = new Scanner(in, charset);
-            this.image = scanner.hasNext() ? (String) next(true) : null;
+            this.reader = charset != null ? new InputStreamReader(in, Charset.forName(charset)) : new InputStreamReader(in);
+            this.image = next(true);
         }
 
-        String getNext(boolean first) {
+        String getNext(boolean first) throws IOException {
             // initialize inherited namespaces on first
-            if (first && inheritNamespaceToken != null && !wrapToken) {
-                rootTokenNamespaces
-                        = getNamespacesFromNamespaceTokenSplitter(scanner.findWithinHorizon(inheritNamespaceTokenPattern, 0));
+            if (first && inheritName != null) {
+                rootTokenNamespaces = getNamespacesFromNamespaceTokenSplitter(nextParentTag());
             }
 
-            String next = scanner.findWithinHorizon(tagTokenPattern, 0);
-            if (next == null) {
+            if (first && wrapToken) {
+                // keep the text before the first token, as it is used to wrap the tokens
+                mark = pos;
+            }
+            int len = findElement();
+            if (len < 0) {
+                mark = -1;
                 return null;
             }
             if (first && wrapToken) {
-                MatchResult mres = scanner.match();
-                wrapHead = ((RecordableInputStream) in).getText(mres.start());
+                wrapHead = new String(buffer, mark, pos - mark);
                 wrapTail = buildXMLTail(wrapHead);
             }
+            mark = -1;
+            String next = new String(buffer, pos, len);
+            pos += len;
 
             // build answer accordingly to whether namespaces should be inherited or not
-            if (inheritNamespaceToken != null && rootTokenNamespaces != null) {
+            if (inheritName != null && rootTokenNamespaces != null) {
                 String head = StringHelper.before(next, ">");
                 boolean empty = false;
                 if (head.endsWith("/")) {
@@ -243,6 +245,220 @@ public class TokenXMLExpressionIterator extends ExpressionAdapter {
             return next;
         }
 
+        /**
+         * Finds the first start tag of the parent, or returns <tt>null</tt> and stays at the beginning of the stream if
+         * there is no such tag.
+         */
+        private String nextParentTag() throws IOException {
+            mark = pos;
+            while (skipToTag()) {
+                int end = matchStartTag(inheritName, prefixedNameStart(1), true);
+                if (end < 0) {
+                    end = matchStartTag(inheritName, 1, true);
+                }
+                if (end > 0) {
+                    mark = -1;
+                    String answer = new String(buffer, pos, end + 1);
+                    pos += end + 1;
+                    return answer;
+                }
+                pos++;
+            }
+            pos = mark;
+            mark = -1;
+            return null;
+        }
+
+        /**
+         * Moves to the next element with the tag name, and returns its length, or -1 if there are no more elements.
+         */
+        private int findElement() throws IOException {
+            while (skipToTag()) {
+                int len = matchElement(prefixedNameStart(1));
+                if (len < 0) {
+                    len = matchElement(1);
+                }
+                if (len > 0) {
+                    return len;
+                }
+                pos++;
+            }
+            return -1;
+        }
+
+        /**
+         * Matches the element at the current position which has the tag name at the given offset, and returns its
+         * length, or -1 if there is no match. The element ends with the first end tag with the same name.
+         */
+        private int matchElement(int nameStart) throws IOException {
+            int end = matchStartTag(tagName, nameStart, false);
+            if (end < 0) {
+                return -1;
+            }
+            if (peek(end - 1) == '/') {
+                // self-closing tag
+                return end + 1;
+            }
+            int from = end + 1;
+            int next;
+            while ((next = indexOf('<', from)) > 0) {
+                if (peek(next + 1) == '/') {
+                    int len = matchEndTag(next, prefixedNameStart(next + 2));
+                    if (len < 0) {
+                        len = matchEndTag(next, next + 2);
+                    }
+                    if (len > 0) {
+                        return len;
+                    }
+                }
+                from = next + 1;
+            }
+            return -1;
+        }
+
+        /**
+         * Matches the start tag with the name at the given offset, and returns the offset of its ending <tt>&gt;</tt>,
+         * or -1 if there is no match.
+         */
+        private int matchStartTag(String name, int nameStart, boolean parent) throws IOException {
+            if (nameStart < 0 || !matches(name, nameStart)) {
+                return -1;
+            }
+            int i = nameStart + name.length();
+            int c = peek(i);
+            if (c == '>') {
+                return i;
+            } else if (c == '/') {
+                return !parent && peek(i + 1) == '>' ? i + 1 : -1;
+            } else if (isWhitespace(c)) {
+                // the attributes runs until the first >
+                return indexOf('>', i + 1);
+            }
+            return -1;
+        }
+
+        /**
+         * Matches the end tag which starts at the given offset and has the tag name at the given offset, and returns
+         * the length from the current position to the end of the end tag, or -1 if there is no match.
+         */
+        private int matchEndTag(int start, int nameStart) throws IOException {
+            if (nameStart < 0 || !matches(tagName, nameStart)) {
+                return -1;
+            }
+            int i = nameStart + tagName.length();
+            int c = peek(i);
+            while (isWhitespace(c)) {
+                c = peek(++i);
+            }
+            return c == '>' ? i + 1 : -1;
+        }
+
+        /**
+         * Returns the offset of the name after a namespace prefix starting at the given offset, or -1 if there is no
+         * namespace prefix.
+         */
+        private int prefixedNameStart(int start) throws IOException {
+            for (int i = start; i <= start + MAX_PREFIX_LENGTH; i++) {
+                int c = peek(i);
+                if (c == ':') {
+                    return i > start ? i + 1 : -1;
+                } else if (c == '<' || c == '>' || c == -1) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        private boolean matches(String name, int offset) throws IOException {
+            for (int i = 0; i < name.length(); i++) {
+                if (peek(offset + i) != name.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isWhitespace(int c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == 0x0B;
+        }
+
+        /**
+         * Moves to the next <tt>&lt;</tt>, and discards the characters before it.
+         */
+        private boolean skipToTag() throws IOException {
+            for (;;) {
+                for (; pos < limit; pos++) {
+                    if (buffer[pos] == '<') {
+                        return true;
+                    }
+                }
+                if (!fill()) {
+                    return false;
+                }
+            }
+        }
+
+        /**
+         * Returns the offset of the character from the current position, or -1 if the end of the stream is reached.
+         */
+        private int indexOf(char ch, int from) throws IOException {
+            int i = pos + from;
+            for (;;) {
+                for (; i < limit; i++) {
+                    if (buffer[i] == ch) {
+                        return i - pos;
+                    }
+                }
+                int offset = i - pos;
+                if (!fill()) {
+                    return -1;
+                }
+                i = pos + offset;
+            }
+        }
+
+        /**
+         * Returns the character at the offset from the current position, or -1 if the end of the stream is reached.
+         */
+        private int peek(int offset) throws IOException {
+            while (pos + offset >= limit) {
+                if (!fill()) {
+                    return -1;
+                }
+            }
+            return buffer[pos + offset];
+        }
+
+        /**
+         * Reads more characters into the buffer, which discards the characters before the current position (or mark),
+         * and grows the buffer when it is full with characters that must be kept.
+         */
+        private boolean fill() throws IOException {
+            if (eof) {
+                return false;
+            }
+            if (limit == buffer.length) {
+                int keep = mark >= 0 ? mark : pos;
+                if (keep > 0) {
+                    System.arraycopy(buffer, keep, buffer, 0, limit - keep);
+                    limit -= keep;
+                    pos -= keep;
+                    if (mark >= 0) {
+                        mark -= keep;
+                    }
+                } else {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+            int n = reader.read(buffer, limit, buffer.length - limit);
+            if (n < 0) {
+                eof = true;
+                return false;
+            }
+            limit += n;
+            return true;
+        }
+
         private String getMissingInherritNamespaces(final String text) {
             final StringBuilder sb = new StringBuilder();
             if (text != null) {
@@ -277,7 +493,7 @@ public class TokenXMLExpressionIterator extends ExpressionAdapter {
         }
 
         private String getNamespacesFromNamespaceToken(String text) {
-            if (text == null) {
+            if (text == null || !text.contains("xmlns")) {
                 return null;
             }
 
@@ -330,10 +546,10 @@ public class TokenXMLExpressionIterator extends ExpressionAdapter {
         Object next(boolean first) {
             Object answer = image;
             // calculate next
-            if (scanner.hasNext()) {
+            try {
                 image = getNext(first);
-            } else {
-                image = null;
+            } catch (IOException e) {
+                throw RuntimeCamelException.wrapRuntimeCamelException(e);
             }
 
             if (answer == null) {
@@ -350,7 +566,11 @@ public class TokenXMLExpressionIterator extends ExpressionAdapter {
 
         @Override
         public void close() throws IOException {
-            scanner.close();
+            if (reader != null) {
+                reader.close();
+            } else {
+                in.close();
+            }
         }
 
     }
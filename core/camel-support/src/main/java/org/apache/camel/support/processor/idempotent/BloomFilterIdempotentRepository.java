@@ -0,0 +1,439 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Exchange;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link org.apache.camel.spi.IdempotentRepository} which keeps a scalable Bloom filter of the keys in memory in
+ * front of another (usually remote) repository.
+ * <p/>
+ * When the filter tells that a key has definitely not been added, then {@link #contains(String)} returns
+ * <tt>false</tt> without asking the backing repository, which saves a round trip for every new key when using the
+ * idempotent consumer in non-eager mode. {@link #add(String)} must still write the key to the backing repository, and
+ * {@link #remove(String)} leaves the key in the filter (as keys cannot be removed from a Bloom filter), which only means
+ * the backing repository is asked again for that key.
+ * <p/>
+ * The filter must know every key in the backing repository, so use {@link #setWarmUpKeys(Iterable)} to load the
+ * existing keys when the repository is started, unless the backing repository is empty at startup. The backing
+ * repository must not be shared with other consumers which add keys without using this repository.
+ * <p/>
+ * The filter starts with room for {@link #setExpectedInsertions(long)} keys and adds a larger filter with a smaller
+ * false positive probability each time it is full, so the overall false positive probability stays below
+ * {@link #setFalsePositiveProbability(double)}.
+ * <p/>
+ * The statistics count the lookups done with {@link #contains(String)}, so each message is counted once by the
+ * idempotent consumer in non-eager mode. In eager mode only {@link #add(String)} is called, which must ask the backing
+ * repository anyway, so there are no lookups to count.
+ */
+@ManagedResource(description = "Bloom filter idempotent repository")
+public class BloomFilterIdempotentRepository extends ServiceSupport implements IdempotentRepository, CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BloomFilterIdempotentRepository.class);
+
+    private final LongAdder filterMisses = new LongAdder();
+    private final LongAdder filterHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    private CamelContext camelContext;
+    private IdempotentRepository repository;
+    private Iterable<String> warmUpKeys;
+    private long expectedInsertions = 100000;
+    private double falsePositiveProbability = 0.01;
+    private volatile ScalableBloomFilter filter;
+
+    public BloomFilterIdempotentRepository() {
+    }
+
+    public BloomFilterIdempotentRepository(IdempotentRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Creates a new Bloom filter repository in front of the given repository.
+     *
+     * @param repository the backing repository
+     */
+    public static IdempotentRepository bloomFilterIdempotentRepository(IdempotentRepository repository) {
+        return new BloomFilterIdempotentRepository(repository);
+    }
+
+    /**
+     * Creates a new Bloom filter repository in front of the given repository.
+     *
+     * @param repository the backing repository
+     * @param warmUpKeys the keys which are already in the backing repository
+     */
+    public static IdempotentRepository bloomFilterIdempotentRepository(
+            IdempotentRepository repository, Iterable<String> warmUpKeys) {
+        BloomFilterIdempotentRepository answer = new BloomFilterIdempotentRepository(repository);
+        answer.setWarmUpKeys(warmUpKeys);
+        return answer;
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        return add(null, key);
+    }
+
+    @Override
+    public boolean add(Exchange exchange, String key) {
+        // the statistics are not updated here, as the key has usually just been looked up with contains
+        // for the same message, and must not be counted twice
+        boolean mightContain = filter.mightContain(key);
+        if (!mightContain) {
+            // put the key before it is added to the repository, so a concurrent contains never misses an added key
+            // (if the key is not added then the filter has only a false positive)
+            filter.put(key);
+        }
+        boolean answer = exchange != null ? repository.add(exchange, key) : repository.add(key);
+        if (answer && mightContain) {
+            // a false positive, the key must still be counted so the filter grows when it is full
+            filter.put(key);
+        }
+        return answer;
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        return contains(null, key);
+    }
+
+    @Override
+    public boolean contains(Exchange exchange, String key) {
+        if (!filter.mightContain(key)) {
+            filterMisses.increment();
+            return false;
+        }
+        filterHits.increment();
+        boolean answer = exchange != null ? repository.contains(exchange, key) : repository.contains(key);
+        if (!answer) {
+            falsePositives.increment();
+        }
+        return answer;
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        return repository.remove(key);
+    }
+
+    @Override
+    public boolean remove(Exchange exchange, String key) {
+        return repository.remove(exchange, key);
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        return repository.confirm(key);
+    }
+
+    @Override
+    public boolean confirm(Exchange exchange, String key) {
+        return repository.confirm(exchange, key);
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store")
+    public void clear() {
+        repository.clear();
+        filter = new ScalableBloomFilter(expectedInsertions, falsePositiveProbability);
+    }
+
+    public IdempotentRepository getRepository() {
+        return repository;
+    }
+
+    /**
+     * Sets the backing repository
+     */
+    public void setRepository(IdempotentRepository repository) {
+        this.repository = repository;
+    }
+
+    public Iterable<String> getWarmUpKeys() {
+        return warmUpKeys;
+    }
+
+    /**
+     * Sets the keys which are already in the backing repository, which are loaded into the filter when the repository is
+     * started. The keys are iterated at startup, so the iterable can load the keys lazily.
+     */
+    public void setWarmUpKeys(Iterable<String> warmUpKeys) {
+        this.warmUpKeys = warmUpKeys;
+    }
+
+    @ManagedAttribute(description = "The number of keys the first filter has room for")
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    /**
+     * Sets the number of keys the first filter has room for. When it is full then a filter with twice the room is
+     * added, and so on.
+     * <p/>
+     * The default is 100000.
+     */
+    public void setExpectedInsertions(long expectedInsertions) {
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    @ManagedAttribute(description = "The maximum false positive probability of the filter")
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    /**
+     * Sets the maximum false positive probability of the filter, which is the probability that the backing repository
+     * is asked for a key which has not been added.
+     * <p/>
+     * The default is 0.01.
+     */
+    public void setFalsePositiveProbability(double falsePositiveProbability) {
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @ManagedAttribute(description = "Number of lookups answered by the filter without asking the backing repository")
+    public long getFilterMisses() {
+        return filterMisses.sum();
+    }
+
+    @ManagedAttribute(description = "Number of lookups where the filter might contain the key")
+    public long getFilterHits() {
+        return filterHits.sum();
+    }
+
+    @ManagedAttribute(description = "Number of lookups where the filter might contain the key, but the key was new")
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+
+    @ManagedAttribute(description = "The measured false positive rate of the filter")
+    public double getFalsePositiveRate() {
+        long fp = falsePositives.sum();
+        long negatives = fp + filterMisses.sum();
+        return negatives > 0 ? (double) fp / negatives : 0d;
+    }
+
+    @ManagedAttribute(description = "Number of keys added to the filter")
+    public long getFilterSize() {
+        return filter != null ? filter.size() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of filters, a new filter is added each time the filter is full")
+    public int getFilterStages() {
+        return filter != null ? filter.stages() : 0;
+    }
+
+    @ManagedOperation(description = "Reset the statistics")
+    public void resetStatistics() {
+        filterMisses.reset();
+        filterHits.reset();
+        falsePositives.reset();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(repository, "repository", this);
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("ExpectedInsertions must be a positive number, was: " + expectedInsertions);
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException(
+                    "FalsePositiveProbability must be between 0 and 1, was: " + falsePositiveProbability);
+        }
+
+        CamelContextAware.trySetCamelContext(repository, camelContext);
+        ServiceHelper.startService(repository);
+
+        ScalableBloomFilter answer = new ScalableBloomFilter(expectedInsertions, falsePositiveProbability);
+        if (warmUpKeys != null) {
+            long count = 0;
+            for (String key : warmUpKeys) {
+                answer.put(key);
+                count++;
+            }
+            LOG.debug("Loaded {} keys into the Bloom filter", count);
+        }
+        filter = answer;
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(repository);
+    }
+
+    /**
+     * A Bloom filter which adds a new filter with twice the room, and half the false positive probability, each time
+     * the current filter is full. This keeps the overall false positive probability below the given probability, as
+     * the sum of the probabilities of the filters is at most twice the probability of the first filter.
+     */
+    private static final class ScalableBloomFilter {
+
+        private volatile BloomFilter[] filters;
+
+        ScalableBloomFilter(long expectedInsertions, double falsePositiveProbability) {
+            this.filters = new BloomFilter[] { new BloomFilter(expectedInsertions, falsePositiveProbability / 2) };
+        }
+
+        boolean mightContain(String key) {
+            long hash = hash(key);
+            for (BloomFilter filter : filters) {
+                if (filter.mightContain(hash)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void put(String key) {
+            BloomFilter[] array = filters;
+            BloomFilter last = array[array.length - 1];
+            if (last.isFull()) {
+                last = grow(array);
+            }
+            last.put(hash(key));
+        }
+
+        long size() {
+            long answer = 0;
+            for (BloomFilter filter : filters) {
+                answer += filter.count.get();
+            }
+            return answer;
+        }
+
+        int stages() {
+            return filters.length;
+        }
+
+        private synchronized BloomFilter grow(BloomFilter[] expected) {
+            BloomFilter[] array = filters;
+            if (array == expected) {
+                BloomFilter last = array[array.length - 1];
+                array = new BloomFilter[expected.length + 1];
+                System.arraycopy(expected, 0, array, 0, expected.length);
+                array[expected.length] = new BloomFilter(last.capacity * 2, last.probability / 2);
+                filters = array;
+            }
+            return array[array.length - 1];
+        }
+
+        private static long hash(String key) {
+            // 64 bit FNV-1a followed by the murmur3 finalizer to spread the bits
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+
+    /**
+     * A fixed size Bloom filter using double hashing, where the bits can be set and read concurrently.
+     */
+    private static final class BloomFilter {
+
+        private final long capacity;
+        private final double probability;
+        private final AtomicLongArray bits;
+        private final long bitSize;
+        private final int hashFunctions;
+        private final AtomicLong count = new AtomicLong();
+
+        BloomFilter(long capacity, double probability) {
+            this.capacity = capacity;
+            this.probability = probability;
+            long size = (long) Math.ceil(-capacity * Math.log(probability) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) Math.min((size + 63) / 64, Integer.MAX_VALUE - 8));
+            this.bitSize = bits.length() * 64L;
+            this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / capacity * Math.log(2)));
+        }
+
+        boolean isFull() {
+            return count.get() >= capacity;
+        }
+
+        boolean mightContain(long hash) {
+            int hash1 = (int) hash;
+            int hash2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashFunctions; i++) {
+                long bit = index(hash1, hash2, i);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void put(long hash) {
+            int hash1 = (int) hash;
+            int hash2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashFunctions; i++) {
+                long bit = index(hash1, hash2, i);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long value;
+                while (((value = bits.get(index)) & mask) == 0) {
+                    if (bits.compareAndSet(index, value, value | mask)) {
+                        break;
+                    }
+                }
+            }
+            count.incrementAndGet();
+        }
+
+        private long index(int hash1, int hash2, int i) {
+            long combined = hash1 + (long) i * hash2;
+            return (combined & Long.MAX_VALUE) % bitSize;
+        }
+    }
+}
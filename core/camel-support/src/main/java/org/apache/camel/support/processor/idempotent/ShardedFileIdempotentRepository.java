@@ -0,0 +1,490 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A file based implementation of {@link org.apache.camel.spi.IdempotentRepository} which keeps the keys in a
+ * {@link ShardedMemoryIdempotentRepository}, and records the changes in an append-only log file.
+ * <p/>
+ * Unlike {@link FileIdempotentRepository} the file is never scanned or rewritten while adding or removing keys. Each
+ * change is appended to the log as a line with a <tt>+</tt> (added) or <tt>-</tt> (removed) prefix, and when the log
+ * has grown by {@link #setCompactionThreshold(long)} records (or has doubled in size), it is compacted in the
+ * background by writing the keys currently in the cache to a new log file. The log is replayed into the cache when
+ * the repository is started.
+ * <p/>
+ * A change is appended to the log while holding the lock of the shard of the key, so the records of a key are in the
+ * same order as the changes in the cache. The records are written with a single write each to the log which is opened
+ * in append mode, so the keys of different shards are added and removed concurrently. Only compacting and clearing the
+ * log block the changes.
+ * <p/>
+ * The repository remembers at most {@link #setCacheSize(int) cache size} keys, the oldest keys are dropped first. The
+ * log file format is not compatible with the file format of {@link FileIdempotentRepository}.
+ */
+@ManagedResource(description = "Sharded file based idempotent repository")
+public class ShardedFileIdempotentRepository extends ShardedMemoryIdempotentRepository implements CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShardedFileIdempotentRepository.class);
+
+    // the changes hold the read lock, and swapping the log (compacting, clearing, starting and stopping) the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final AtomicLong records = new AtomicLong();
+
+    private CamelContext camelContext;
+    private File fileStore;
+    private long compactionThreshold = 10000;
+    private ExecutorService compactionExecutorService;
+    private boolean shutdownCompactionExecutorService;
+    private volatile FileChannel channel;
+    private volatile long compactedRecords;
+    private long generation;
+    private boolean loading;
+    // the records appended while a compaction is in progress
+    private volatile Queue<String> pending;
+
+    public ShardedFileIdempotentRepository() {
+    }
+
+    public ShardedFileIdempotentRepository(File fileStore, int cacheSize) {
+        super(cacheSize);
+        this.fileStore = fileStore;
+    }
+
+    /**
+     * Creates a new sharded file based repository with a default of 1000 entries in the cache.
+     *
+     * @param fileStore the file store
+     */
+    public static IdempotentRepository shardedFileIdempotentRepository(File fileStore) {
+        return shardedFileIdempotentRepository(fileStore, 1000);
+    }
+
+    /**
+     * Creates a new sharded file based repository.
+     *
+     * @param fileStore the file store
+     * @param cacheSize the cache size
+     */
+    public static IdempotentRepository shardedFileIdempotentRepository(File fileStore, int cacheSize) {
+        return new ShardedFileIdempotentRepository(fileStore, cacheSize);
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        boolean answer;
+        Lock changing = lock.readLock();
+        changing.lock();
+        try {
+            // the record is appended by onAdded while holding the lock of the shard
+            answer = super.add(key);
+        } finally {
+            changing.unlock();
+        }
+        if (answer) {
+            compactIfNeeded();
+        }
+        return answer;
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        boolean answer;
+        Lock changing = lock.readLock();
+        changing.lock();
+        try {
+            // the record is appended by onRemoved while holding the lock of the shard
+            answer = super.remove(key);
+        } finally {
+            changing.unlock();
+        }
+        compactIfNeeded();
+        return answer;
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store (danger this removes all entries)")
+    public void clear() {
+        Lock swapping = lock.writeLock();
+        swapping.lock();
+        try {
+            super.clear();
+            // any compaction in progress is now outdated
+            generation++;
+            if (channel != null) {
+                try {
+                    channel.truncate(0);
+                } catch (IOException e) {
+                    throw RuntimeCamelException.wrapRuntimeCamelException(e);
+                }
+            }
+            records.set(0);
+            compactedRecords = 0;
+        } finally {
+            swapping.unlock();
+        }
+    }
+
+    public File getFileStore() {
+        return fileStore;
+    }
+
+    public void setFileStore(File fileStore) {
+        this.fileStore = fileStore;
+    }
+
+    @ManagedAttribute(description = "The file path for the store")
+    public String getFilePath() {
+        return fileStore.getPath();
+    }
+
+    @ManagedAttribute(description = "The number of records the log can grow by before it is compacted")
+    public long getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * Sets the number of records the log can grow by before it is compacted. The log is also not compacted before it
+     * has doubled in size since the last compaction.
+     * <p/>
+     * The default is 10000.
+     */
+    public void setCompactionThreshold(long compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    public ExecutorService getCompactionExecutorService() {
+        return compactionExecutorService;
+    }
+
+    /**
+     * Sets the thread pool to use for compacting the log. If none is set then a single thread pool is created from the
+     * {@link CamelContext}, and if there is no {@link CamelContext} then the log is compacted by the thread which
+     * appended the record that hit the threshold.
+     */
+    public void setCompactionExecutorService(ExecutorService compactionExecutorService) {
+        this.compactionExecutorService = compactionExecutorService;
+    }
+
+    @ManagedAttribute(description = "The current number of records in the log")
+    public long getRecords() {
+        return records.get();
+    }
+
+    /**
+     * Compacts the log now, unless a compaction is already in progress.
+     */
+    @ManagedOperation(description = "Compacts the log file")
+    public void compact() {
+        if (compacting.compareAndSet(false, true)) {
+            try {
+                compactStore();
+            } catch (IOException e) {
+                throw RuntimeCamelException.wrapRuntimeCamelException(e);
+            } finally {
+                compacting.set(false);
+            }
+        }
+    }
+
+    @Override
+    protected void onAdded(String key) {
+        appendToStore('+', key);
+    }
+
+    @Override
+    protected void onRemoved(String key) {
+        // always record the removal as the key may still be in the log after it has been dropped from the cache
+        appendToStore('-', key);
+    }
+
+    /**
+     * Appends the given record to the log. This is called while holding the lock of the shard of the key, and the read
+     * lock of the log.
+     */
+    protected void appendToStore(char operation, String key) {
+        if (loading) {
+            // the log is being replayed into the cache
+            return;
+        }
+        FileChannel out = channel;
+        if (out == null) {
+            throw new IllegalStateException("ShardedFileIdempotentRepository is not started");
+        }
+        String record = operation + key;
+        try {
+            // a single write in append mode so the records of concurrent changes are not interleaved
+            ByteBuffer buffer = ByteBuffer.wrap((record + '\n').getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+        records.incrementAndGet();
+        Queue<String> compactionPending = pending;
+        if (compactionPending != null) {
+            compactionPending.add(record);
+        }
+    }
+
+    /**
+     * Triggers a compaction of the log if it has grown too much.
+     */
+    protected void compactIfNeeded() {
+        long compacted = compactedRecords;
+        if (records.get() - compacted >= Math.max(compactionThreshold, compacted)
+                && compacting.compareAndSet(false, true)) {
+            if (compactionExecutorService != null) {
+                compactionExecutorService.submit(this::compactInBackground);
+            } else {
+                compactInBackground();
+            }
+        }
+    }
+
+    /**
+     * Compacts the log by writing the keys currently in the cache to a new log, which then replaces the current log.
+     * The records appended meanwhile are added to the new log before it replaces the current log.
+     */
+    protected void compactStore() throws IOException {
+        List<String> keys = new ArrayList<>();
+        Queue<String> compactionPending = new ConcurrentLinkedQueue<>();
+        long expected;
+        Lock swapping = lock.writeLock();
+        swapping.lock();
+        try {
+            if (channel == null) {
+                return;
+            }
+            collectKeys(keys);
+            pending = compactionPending;
+            expected = generation;
+        } finally {
+            swapping.unlock();
+        }
+
+        File compacted = new File(fileStore.getPath() + ".compact");
+        try {
+            LOG.debug("Compacting idempotent filestore: {} with {} entries", fileStore, keys.size());
+            try (Writer out = openWriter(compacted, false)) {
+                for (String key : keys) {
+                    writeRecord(out, '+', key);
+                }
+            }
+
+            swapping.lock();
+            try {
+                if (expected != generation || channel == null) {
+                    // the store was cleared or stopped meanwhile
+                    FileUtil.deleteFile(compacted);
+                    return;
+                }
+                try (Writer out = openWriter(compacted, true)) {
+                    for (String record : compactionPending) {
+                        writeRecord(out, record.charAt(0), record.substring(1));
+                    }
+                }
+                IOHelper.close(channel, "Compacting sharded file idempotent repository", LOG);
+                try {
+                    Files.move(compacted.toPath(), fileStore.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    records.set(keys.size() + compactionPending.size());
+                    compactedRecords = records.get();
+                } finally {
+                    channel = openChannel(fileStore);
+                }
+            } finally {
+                swapping.unlock();
+            }
+        } finally {
+            pending = null;
+        }
+    }
+
+    /**
+     * Loads the log into the cache
+     */
+    protected void loadStore() throws IOException {
+        if (!fileStore.exists()) {
+            LOG.debug("Creating filestore: {}", fileStore);
+            File parent = fileStore.getParentFile();
+            if (parent != null) {
+                parent.mkdirs();
+            }
+            boolean created = FileUtil.createNewFile(fileStore);
+            if (!created) {
+                throw new IOException("Cannot create filestore: " + fileStore);
+            }
+        }
+
+        LOG.trace("Loading to cache from idempotent filestore: {}", fileStore);
+
+        long count = 0;
+        try (BufferedReader reader
+                = new BufferedReader(new InputStreamReader(new FileInputStream(fileStore), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String key = line.substring(1);
+                if (line.charAt(0) == '-') {
+                    super.remove(key);
+                } else {
+                    super.add(key);
+                }
+                count++;
+            }
+        }
+        records.set(count);
+        compactedRecords = getSize();
+
+        LOG.debug("Loaded {} records with {} entries to the cache from idempotent filestore: {}", count,
+                compactedRecords, fileStore);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(fileStore, "fileStore", this);
+
+        if (compactionExecutorService == null && camelContext != null) {
+            shutdownCompactionExecutorService = true;
+            compactionExecutorService = camelContext.getExecutorServiceManager()
+                    .newSingleThreadExecutor(this, "ShardedFileIdempotentRepositoryCompaction");
+        }
+
+        Lock swapping = lock.writeLock();
+        swapping.lock();
+        try {
+            super.clear();
+            loading = true;
+            try {
+                loadStore();
+            } finally {
+                loading = false;
+            }
+            channel = openChannel(fileStore);
+        } finally {
+            swapping.unlock();
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (shutdownCompactionExecutorService && compactionExecutorService != null) {
+            // let any compaction in progress complete
+            camelContext.getExecutorServiceManager().shutdownGraceful(compactionExecutorService);
+            compactionExecutorService = null;
+            shutdownCompactionExecutorService = false;
+        }
+
+        Lock swapping = lock.writeLock();
+        swapping.lock();
+        try {
+            IOHelper.close(channel, "Stopping sharded file idempotent repository", LOG);
+            channel = null;
+        } finally {
+            swapping.unlock();
+        }
+
+        super.doStop();
+    }
+
+    private void compactInBackground() {
+        try {
+            compactStore();
+        } catch (Exception e) {
+            LOG.warn("Error compacting idempotent filestore: {} due to {}. This exception is ignored.", fileStore,
+                    e.getMessage(), e);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private static FileChannel openChannel(File file) {
+        try {
+            return FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    private static Writer openWriter(File file, boolean append) {
+        try {
+            return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, append), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    private static void writeRecord(Writer out, char operation, String key) throws IOException {
+        out.write(operation);
+        out.write(key);
+        out.write('\n');
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * A memory based implementation of {@link org.apache.camel.spi.IdempotentRepository} which splits the keys into a
+ * number of shards, each with its own lock, so concurrent consumers rarely contend for the same lock.
+ * <p/>
+ * Each shard is an open addressing hash table which keeps the hash codes in a primitive array, and holds at most its
+ * share of the {@link #setCacheSize(int) cache size} keys. When a shard is full then its oldest key is dropped to make
+ * room for the new key.
+ */
+@ManagedResource(description = "Sharded memory based idempotent repository")
+public class ShardedMemoryIdempotentRepository extends ServiceSupport implements IdempotentRepository {
+
+    private static final int MAX_SHARDS = 256;
+
+    private int cacheSize = 1000;
+    private int concurrencyLevel = Runtime.getRuntime().availableProcessors() * 4;
+    private volatile Shard[] shards;
+
+    public ShardedMemoryIdempotentRepository() {
+        this.shards = createShards();
+    }
+
+    public ShardedMemoryIdempotentRepository(int cacheSize) {
+        this.cacheSize = cacheSize;
+        this.shards = createShards();
+    }
+
+    /**
+     * Creates a new sharded memory based repository with a default of 1000 entries in the cache.
+     */
+    public static IdempotentRepository shardedMemoryIdempotentRepository() {
+        return new ShardedMemoryIdempotentRepository();
+    }
+
+    /**
+     * Creates a new sharded memory based repository.
+     *
+     * @param cacheSize the cache size
+     */
+    public static IdempotentRepository shardedMemoryIdempotentRepository(int cacheSize) {
+        return new ShardedMemoryIdempotentRepository(cacheSize);
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        int hash = hash(key);
+        return shardFor(hash).add(key, hash);
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        int hash = hash(key);
+        return shardFor(hash).contains(key, hash);
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        int hash = hash(key);
+        return shardFor(hash).remove(key, hash);
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store")
+    public void clear() {
+        for (Shard shard : shards) {
+            shard.clear();
+        }
+    }
+
+    @ManagedAttribute(description = "The maximum number of keys in the cache")
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Sets the maximum number of keys to keep in the cache.
+     * <p/>
+     * The default is 1000.
+     */
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+        this.shards = createShards();
+    }
+
+    @ManagedAttribute(description = "The number of concurrent threads the cache is optimized for")
+    public int getConcurrencyLevel() {
+        return concurrencyLevel;
+    }
+
+    /**
+     * Sets the number of threads which are expected to use the repository concurrently. The keys are split into this
+     * number of shards (rounded up to a power of two, and at most 256), each with its own lock.
+     * <p/>
+     * The default is four times the number of processors.
+     */
+    public void setConcurrencyLevel(int concurrencyLevel) {
+        this.concurrencyLevel = concurrencyLevel;
+        this.shards = createShards();
+    }
+
+    @ManagedAttribute(description = "The current number of keys in the cache")
+    public int getSize() {
+        int answer = 0;
+        for (Shard shard : shards) {
+            answer += shard.size();
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "The number of shards")
+    public int getShards() {
+        return shards.length;
+    }
+
+    /**
+     * Callback when a key has been added, which is called while holding the lock of the shard of the key. This allows
+     * to record the changes of a key in the same order as they happen in the cache.
+     */
+    protected void onAdded(String key) {
+        // noop
+    }
+
+    /**
+     * Callback when a key is removed (even if it was not in the cache), which is called while holding the lock of the
+     * shard of the key. This allows to record the changes of a key in the same order as they happen in the cache.
+     */
+    protected void onRemoved(String key) {
+        // noop
+    }
+
+    /**
+     * Adds the keys currently in the cache to the given collection, oldest first within each shard.
+     */
+    protected void collectKeys(Collection<String> answer) {
+        for (Shard shard : shards) {
+            shard.collect(answer);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        clear();
+    }
+
+    private Shard[] createShards() {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("CacheSize must be a positive number, was: " + cacheSize);
+        }
+        int count = Math.min(Math.min(Math.max(concurrencyLevel, 1), MAX_SHARDS), cacheSize);
+        // round up to power of two so the shard can be selected by masking the hash
+        count = Integer.highestOneBit(count * 2 - 1);
+        int capacity = (cacheSize + count - 1) / count;
+        Shard[] answer = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            answer[i] = new Shard(this, capacity);
+        }
+        return answer;
+    }
+
+    private Shard shardFor(int hash) {
+        Shard[] array = shards;
+        // use the high bits for the shard as the low bits are used for the slot in the shard
+        return array[(hash >>> 24) & (array.length - 1)];
+    }
+
+    static int hash(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * A bounded set of keys using open addressing with linear probing. The keys are also kept in a ring in insertion
+     * order, so the oldest key can be dropped when the shard is full. Keys which have been removed are left in the ring,
+     * and are recognized by their insertion stamp no longer matching the stamp in the table.
+     */
+    private static final class Shard {
+
+        private final ShardedMemoryIdempotentRepository owner;
+        private final int capacity;
+        private final int mask;
+        private final int[] hashes;
+        private final String[] keys;
+        private final long[] stamps;
+        private final String[] order;
+        private long head;
+        private long tail;
+        private int size;
+
+        Shard(ShardedMemoryIdempotentRepository owner, int capacity) {
+            this.owner = owner;
+            this.capacity = capacity;
+            // keep the load factor at most 0.5 so the probe sequences stay short
+            int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+            this.mask = tableSize - 1;
+            this.hashes = new int[tableSize];
+            this.keys = new String[tableSize];
+            this.stamps = new long[tableSize];
+            this.order = new String[capacity];
+        }
+
+        synchronized boolean add(String key, int hash) {
+            if (indexOf(key, hash) >= 0) {
+                return false;
+            }
+            if (tail - head == capacity) {
+                evictOldest();
+            }
+            int slot = hash & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            hashes[slot] = hash;
+            stamps[slot] = tail;
+            order[(int) (tail % capacity)] = key;
+            tail++;
+            size++;
+            owner.onAdded(key);
+            return true;
+        }
+
+        synchronized boolean contains(String key, int hash) {
+            return indexOf(key, hash) >= 0;
+        }
+
+        synchronized boolean remove(String key, int hash) {
+            int slot = indexOf(key, hash);
+            if (slot >= 0) {
+                delete(slot);
+            }
+            owner.onRemoved(key);
+            return slot >= 0;
+        }
+
+        synchronized void clear() {
+            Arrays.fill(keys, null);
+            Arrays.fill(order, null);
+            head = 0;
+            tail = 0;
+            size = 0;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized void collect(Collection<String> answer) {
+            for (long stamp = head; stamp < tail; stamp++) {
+                String key = order[(int) (stamp % capacity)];
+                int slot = key != null ? indexOf(key, hash(key)) : -1;
+                if (slot >= 0 && stamps[slot] == stamp) {
+                    answer.add(key);
+                }
+            }
+        }
+
+        private int indexOf(String key, int hash) {
+            int slot = hash & mask;
+            String existing;
+            while ((existing = keys[slot]) != null) {
+                if (hashes[slot] == hash && existing.equals(key)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void evictOldest() {
+            int index = (int) (head % capacity);
+            String oldest = order[index];
+            order[index] = null;
+            if (oldest != null) {
+                int slot = indexOf(oldest, hash(oldest));
+                // the key may have been removed (and added again) since it was inserted at this stamp
+                if (slot >= 0 && stamps[slot] == head) {
+                    delete(slot);
+                }
+            }
+            head++;
+        }
+
+        private void delete(int slot) {
+            size--;
+            // shift back the following entries of the probe sequence so there are no holes in it
+            int hole = slot;
+            int next = (slot + 1) & mask;
+            while (keys[next] != null) {
+                int home = hashes[next] & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    hashes[hole] = hashes[next];
+                    stamps[hole] = stamps[next];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[hole] = null;
+        }
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A compact map that uses case insensitive keys, but preserves the original key cases.
+ * <p/>
+ * The keys and values are stored in flat arrays in insertion order, together with a case insensitive hash of each key
+ * which is used to quickly skip non matching keys. This map is designed for a small number of entries (such as
+ * message headers) where a linear scan is faster and uses less memory than the entry nodes of a tree or hash map.
+ * Lookups are O(n) and therefore this map should not be used for a large number of entries.
+ * <p/>
+ * Copying a map into an empty {@link CompactCaseInsensitiveMap} (using the constructor or {@link #putAll(Map)}) is
+ * O(1) as the arrays are shared between the maps, and only copied on the first change of either of the maps
+ * (copy-on-write).
+ * <p/>
+ * This map is <b>not</b> designed to be thread safe as concurrent access to it is not supposed to be performed by the
+ * Camel routing engine.
+ */
+public class CompactCaseInsensitiveMap extends AbstractMap<String, Object> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int DEFAULT_CAPACITY = 8;
+    private static final String[] EMPTY_KEYS = new String[0];
+    private static final Object[] EMPTY_VALUES = new Object[0];
+    private static final int[] EMPTY_HASHES = new int[0];
+
+    private String[] keys = EMPTY_KEYS;
+    private Object[] values = EMPTY_VALUES;
+    private int[] hashes = EMPTY_HASHES;
+    private int size;
+    // whether the arrays are shared with other maps, and must be copied before changed
+    private transient boolean shared;
+    private transient int modCount;
+    private transient Set<Entry<String, Object>> entrySet;
+
+    public CompactCaseInsensitiveMap() {
+    }
+
+    public CompactCaseInsensitiveMap(Map<? extends String, ?> map) {
+        putAll(map);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int hash = hash(key);
+        int index = indexOf(key, hash);
+        if (index >= 0) {
+            // existing key so keep the original key case
+            unshare();
+            Object answer = values[index];
+            values[index] = value;
+            return answer;
+        }
+        ensureCapacity(size + 1);
+        keys[size] = key;
+        values[size] = value;
+        hashes[size] = hash;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> map) {
+        if (size == 0 && map instanceof CompactCaseInsensitiveMap) {
+            CompactCaseInsensitiveMap other = (CompactCaseInsensitiveMap) map;
+            if (other.size > 0) {
+                // share the arrays until either map is changed
+                keys = other.keys;
+                values = other.values;
+                hashes = other.hashes;
+                size = other.size;
+                shared = true;
+                other.shared = true;
+                modCount++;
+            }
+            return;
+        }
+        for (Entry<? extends String, ?> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        return removeAt(index);
+    }
+
+    @Override
+    public void clear() {
+        if (shared) {
+            keys = EMPTY_KEYS;
+            values = EMPTY_VALUES;
+            hashes = EMPTY_HASHES;
+            shared = false;
+        } else {
+            Arrays.fill(keys, 0, size, null);
+            Arrays.fill(values, 0, size, null);
+        }
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        return indexOf((String) key, hash((String) key));
+    }
+
+    private int indexOf(String key, int hash) {
+        final String[] keys = this.keys;
+        final int[] hashes = this.hashes;
+        for (int i = 0; i < size; i++) {
+            if (hashes[i] == hash) {
+                String k = keys[i];
+                if (k == key || k.equalsIgnoreCase(key)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private Object removeAt(int index) {
+        unshare();
+        Object answer = values[index];
+        int moved = size - index - 1;
+        if (moved > 0) {
+            // keep the insertion order
+            System.arraycopy(keys, index + 1, keys, index, moved);
+            System.arraycopy(values, index + 1, values, index, moved);
+            System.arraycopy(hashes, index + 1, hashes, index, moved);
+        }
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        modCount++;
+        return answer;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (keys.length < capacity) {
+            int newCapacity = Math.max(DEFAULT_CAPACITY, keys.length * 2);
+            keys = Arrays.copyOf(keys, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+            hashes = Arrays.copyOf(hashes, newCapacity);
+            shared = false;
+        } else {
+            unshare();
+        }
+    }
+
+    private void unshare() {
+        if (shared) {
+            keys = keys.clone();
+            values = values.clone();
+            hashes = hashes.clone();
+            shared = false;
+        }
+    }
+
+    /**
+     * Computes a case insensitive hash of the key, which is consistent with {@link String#equalsIgnoreCase(String)}.
+     */
+    private static int hash(String key) {
+        int hash = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char ch = key.charAt(i);
+            if (ch < 128) {
+                // fast path for ASCII characters
+                if (ch >= 'A' && ch <= 'Z') {
+                    ch += 32;
+                }
+            } else {
+                ch = Character.toLowerCase(Character.toUpperCase(ch));
+            }
+            hash = 31 * hash + ch;
+        }
+        return hash;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            CompactCaseInsensitiveMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new ArrayEntry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class ArrayEntry implements Entry<String, Object> {
+
+        private final int index;
+
+        private ArrayEntry(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return keys[index];
+        }
+
+        @Override
+        public Object getValue() {
+            return values[index];
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            unshare();
+            Object answer = values[index];
+            values[index] = value;
+            return answer;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            return Objects.equals(getKey(), e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return getKey().hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+
+}
@@ -47,6 +47,10 @@ public final class CamelThreadFactory implements ThreadFactory {
         return answer;
     }
 
+    public String getPattern() {
+        return pattern;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Thread factory which creates virtual threads supporting a naming pattern.
+ * <p/>
+ * Virtual threads requires Java 21 or newer, use {@link #isSupported()} to check whether they are supported by the
+ * current JVM. Virtual threads are always daemon threads.
+ */
+public final class VirtualThreadFactory implements ThreadFactory {
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadFactory.class);
+
+    // the JDK factory from Thread.ofVirtual().factory() is looked up once, and is null if not supported
+    private static final ThreadFactory FACTORY = createFactory();
+
+    private final String pattern;
+    private final String name;
+
+    public VirtualThreadFactory(String pattern, String name) {
+        if (FACTORY == null) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JVM");
+        }
+        this.pattern = pattern;
+        this.name = name;
+    }
+
+    /**
+     * Whether virtual threads are supported by the current JVM.
+     */
+    public static boolean isSupported() {
+        return FACTORY != null;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        String threadName = ThreadHelper.resolveThreadName(pattern, name);
+        Thread answer = FACTORY.newThread(runnable);
+        answer.setName(threadName);
+
+        LOG.trace("Created virtual thread[{}] -> {}", threadName, answer);
+        return answer;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "VirtualThreadFactory[" + name + "]";
+    }
+
+    private static ThreadFactory createFactory() {
+        try {
+            // use reflection as we compile against older Java versions
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(ofVirtual.invoke(null));
+        } catch (Exception e) {
+            LOG.trace("Virtual threads are not supported due to: {}", e.getMessage());
+            return null;
+        }
+    }
+}
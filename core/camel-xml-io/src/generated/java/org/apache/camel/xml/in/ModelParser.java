@@ -73,12 +73,14 @@ public class ModelParser extends BaseParser {
                 case "completionSize": def.setCompletionSize(val); break;
                 case "completionTimeout": def.setCompletionTimeout(val); break;
                 case "completionTimeoutCheckerInterval": def.setCompletionTimeoutCheckerInterval(val); break;
+                case "completionTimeoutWheelSize": def.setCompletionTimeoutWheelSize(val); break;
                 case "discardOnAggregationFailure": def.setDiscardOnAggregationFailure(val); break;
                 case "discardOnCompletionTimeout": def.setDiscardOnCompletionTimeout(val); break;
                 case "eagerCheckCompletion": def.setEagerCheckCompletion(val); break;
                 case "executorServiceRef": def.setExecutorServiceRef(val); break;
                 case "forceCompletionOnStop": def.setForceCompletionOnStop(val); break;
                 case "ignoreInvalidCorrelationKeys": def.setIgnoreInvalidCorrelationKeys(val); break;
+                case "lockStripes": def.setLockStripes(val); break;
                 case "optimisticLocking": def.setOptimisticLocking(val); break;
                 case "parallelProcessing": def.setParallelProcessing(val); break;
                 case "strategyMethodAllowNull": def.setStrategyMethodAllowNull(val); break;
@@ -1193,6 +1195,8 @@ public class ModelParser extends BaseParser {
             switch (key) {
                 case "delimiter": def.setDelimiter(val); break;
                 case "executorServiceRef": def.setExecutorServiceRef(val); break;
+                case "maxInflight": def.setMaxInflight(val); break;
+                case "maxInflightTimeout": def.setMaxInflightTimeout(val); break;
                 case "onPrepareRef": def.setOnPrepareRef(val); break;
                 case "parallelAggregate": def.setParallelAggregate(val); break;
                 case "parallelProcessing": def.setParallelProcessing(val); break;
@@ -1228,6 +1232,7 @@ public class ModelParser extends BaseParser {
                 case "poolSize": def.setPoolSize(val); break;
                 case "rejectedPolicy": def.setRejectedPolicy(val); break;
                 case "timeUnit": def.setTimeUnit(val); break;
+                case "virtualThreads": def.setVirtualThreads(val); break;
                 default: return optionalIdentifiedDefinitionAttributeHandler().accept(def, key, val);
             }
             return true;
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Tests the aggregator with concurrent producers using different correlation keys, comparing the shared lock against
+ * striped locks with an increasing number of threads.
+ */
+public class AggregateConcurrentTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        for (int threads : new int[] { 1, 2, 4, 8 }) {
+            Options opt = new OptionsBuilder()
+                    // Specify which benchmarks to run.
+                    // You can be more specific if you'd like to run only one benchmark per test.
+                    .include(this.getClass().getName() + ".*")
+                    // Set the following options as needed
+                    .mode(Mode.Throughput)
+                    .timeUnit(TimeUnit.MILLISECONDS)
+                    .warmupIterations(1)
+                    .measurementIterations(5)
+                    .threads(threads)
+                    .forks(1)
+                    .shouldFailOnError(true)
+                    .shouldDoGC(true)
+                    .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+        // 0 = use the shared lock
+        @Param({ "0", "64" })
+        int lockStripes;
+
+        CamelContext camel;
+        ProducerTemplate producer;
+        final AtomicInteger threadCounter = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void initialize() {
+            camel = new DefaultCamelContext();
+            try {
+                camel.addRoutes(new RouteBuilder() {
+                    @Override
+                    public void configure() throws Exception {
+                        from("direct:start")
+                                .aggregate(header("id"), new WorkAggregationStrategy())
+                                .lockStripes(lockStripes)
+                                .completionSize(100)
+                                .to("log:result?level=OFF");
+                    }
+                });
+                camel.start();
+                producer = camel.createProducerTemplate();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            try {
+                producer.stop();
+                camel.stop();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        String key;
+        int counter;
+
+        @Setup(Level.Trial)
+        public void initialize(BenchmarkState state) {
+            // each thread aggregates its own correlation keys
+            key = "thread-" + state.threadCounter.incrementAndGet();
+        }
+    }
+
+    @Benchmark
+    public void aggregateConcurrentTest(BenchmarkState state, ThreadState thread, Blackhole bh) {
+        thread.counter++;
+        state.producer.sendBodyAndHeader("direct:start", thread.counter, "id", thread.key + "-" + (thread.counter & 7));
+    }
+
+    private static class WorkAggregationStrategy implements AggregationStrategy {
+
+        @Override
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            // simulate some work being done while aggregating
+            Blackhole.consumeCPU(200);
+            return oldExchange != null ? oldExchange : newExchange;
+        }
+    }
+
+}
@@ -23,6 +23,7 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.apache.camel.util.CaseInsensitiveMap;
+import org.apache.camel.util.CompactCaseInsensitiveMap;
 import org.junit.jupiter.api.Test;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Level;
@@ -39,7 +40,7 @@ import org.openjdk.jmh.runner.options.TimeValue;
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
 
 /**
- * Tests {@link CaseInsensitiveMap}
+ * Tests {@link CaseInsensitiveMap} and {@link CompactCaseInsensitiveMap}
  */
 public class CaseInsensitiveMapTest {
 
@@ -71,12 +72,14 @@ public class CaseInsensitiveMapTest {
     @State(Scope.Thread)
     public static class MapsBenchmarkState {
         CaseInsensitiveMap camelMap;
+        CompactCaseInsensitiveMap compactMap;
         com.cedarsoftware.util.CaseInsensitiveMap cedarsoftMap;
         HashMap hashMap;
 
         @Setup(Level.Trial)
         public void initialize() {
             camelMap = new CaseInsensitiveMap();
+            compactMap = new CompactCaseInsensitiveMap();
             cedarsoftMap = new com.cedarsoftware.util.CaseInsensitiveMap();
             hashMap = new HashMap();
         }
@@ -112,6 +115,23 @@ public class CaseInsensitiveMapTest {
         bh.consume(o4);
     }
 
+    @Benchmark
+    public void compactMapSimpleCase(MapsBenchmarkState state, Blackhole bh) {
+        Map map = state.compactMap;
+
+        map.put("foo", "Hello World");
+        Object o1 = map.get("foo");
+        bh.consume(o1);
+        Object o2 = map.get("FOO");
+        bh.consume(o2);
+
+        map.put("BAR", "Bye World");
+        Object o3 = map.get("bar");
+        bh.consume(o3);
+        Object o4 = map.get("BAR");
+        bh.consume(o4);
+    }
+
     @Benchmark
     public void cedarsoftMapSimpleCase(MapsBenchmarkState state, Blackhole bh) {
         Map map = state.cedarsoftMap;
@@ -167,6 +187,27 @@ public class CaseInsensitiveMapTest {
         blackhole.consume(map);
     }
 
+    @Benchmark
+    public void compactMapComplexCase(
+            MapsBenchmarkState mapsBenchmarkState, MapsSourceDataBenchmarkState sourceDataState, Blackhole blackhole) {
+        // step 1 - initialize map with existing elements
+        Map map = mapsBenchmarkState.compactMap;
+
+        // step 2 - add elements one by one
+        sourceDataState.map2.entrySet().forEach(entry -> blackhole.consume(map.put(entry.getKey(), entry.getValue())));
+
+        // step 3 - remove elements one by one
+        sourceDataState.map1.keySet().forEach(key -> blackhole.consume(map.get(key)));
+
+        // step 4 - remove elements one by one
+        sourceDataState.map1.keySet().forEach(key -> blackhole.consume(map.remove(key)));
+
+        // step 5 - add couple of element at once
+        map.putAll(sourceDataState.map1);
+
+        blackhole.consume(map);
+    }
+
     @Benchmark
     public void cedarsoftMapComplexCase(
             MapsBenchmarkState mapsBenchmarkState, MapsSourceDataBenchmarkState sourceDataState, Blackhole blackhole) {
@@ -209,4 +250,51 @@ public class CaseInsensitiveMapTest {
         blackhole.consume(map);
     }
 
+    @Benchmark
+    public void camelMapCopyCase(CopySourceDataBenchmarkState state, Blackhole blackhole) {
+        // copy the headers (such as multicast does) and change one header
+        Map map = new CaseInsensitiveMap(state.camelMap);
+        map.put("foo", "changed");
+        blackhole.consume(map.get("FOO"));
+        blackhole.consume(map);
+    }
+
+    @Benchmark
+    public void compactMapCopyCase(CopySourceDataBenchmarkState state, Blackhole blackhole) {
+        // copy the headers (such as multicast does) and change one header
+        Map map = new CompactCaseInsensitiveMap(state.compactMap);
+        map.put("foo", "changed");
+        blackhole.consume(map.get("FOO"));
+        blackhole.consume(map);
+    }
+
+    @Benchmark
+    public void cedarsoftMapCopyCase(CopySourceDataBenchmarkState state, Blackhole blackhole) {
+        // copy the headers (such as multicast does) and change one header
+        Map map = new com.cedarsoftware.util.CaseInsensitiveMap(state.cedarsoftMap);
+        map.put("foo", "changed");
+        blackhole.consume(map.get("FOO"));
+        blackhole.consume(map);
+    }
+
+    @State(Scope.Thread)
+    public static class CopySourceDataBenchmarkState {
+        CaseInsensitiveMap camelMap;
+        CompactCaseInsensitiveMap compactMap;
+        com.cedarsoftware.util.CaseInsensitiveMap cedarsoftMap;
+
+        @Setup(Level.Trial)
+        public void initialize() {
+            // a typical message with a few headers
+            Map<String, Object> headers = IntStream.range(0, 8)
+                    .boxed()
+                    .collect(Collectors.toMap(i -> randomAlphabetic(10), i -> randomAlphabetic(10)));
+            headers.put("Foo", "Hello World");
+
+            camelMap = new CaseInsensitiveMap(headers);
+            compactMap = new CompactCaseInsensitiveMap(headers);
+            cedarsoftMap = new com.cedarsoftware.util.CaseInsensitiveMap(headers);
+        }
+    }
+
 }
@@ -21,6 +21,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.language.simple.SimpleLanguage;
 import org.apache.camel.spi.Language;
 import org.apache.camel.support.DefaultExchange;
 import org.junit.jupiter.api.Test;
@@ -28,6 +29,7 @@ import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -69,18 +71,27 @@ public class SimpleExpressionTest {
     // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
     @State(Scope.Thread)
     public static class BenchmarkState {
+        @Param({ "false", "true" })
+        boolean compiled;
         CamelContext camel;
         String expression = "Hello ${body}";
+        String ognlExpression = "${body.customer.id}";
         Exchange exchange;
+        Exchange ognlExchange;
         Language simple;
 
         @Setup(Level.Trial)
         public void initialize() {
             camel = new DefaultCamelContext();
+            SimpleLanguage language = new SimpleLanguage();
+            language.setCompiled(compiled);
+            camel.getRegistry().bind("simple", language);
             try {
                 camel.start();
                 exchange = new DefaultExchange(camel);
                 exchange.getIn().setBody("World");
+                ognlExchange = new DefaultExchange(camel);
+                ognlExchange.getIn().setBody(new Order(new Customer("123")));
                 simple = camel.resolveLanguage("simple");
 
             } catch (Exception e) {
@@ -109,4 +120,38 @@ public class SimpleExpressionTest {
         bh.consume(out);
     }
 
+    @Benchmark
+    @Measurement(batchSize = 1000)
+    public void simpleOgnlExpression(BenchmarkState state, Blackhole bh) {
+        Object out = state.simple.createExpression(state.ognlExpression).evaluate(state.ognlExchange, Object.class);
+        if (!"123".equals(out)) {
+            throw new IllegalArgumentException("Evaluation failed");
+        }
+        bh.consume(out);
+    }
+
+    public static class Order {
+        private final Customer customer;
+
+        public Order(Customer customer) {
+            this.customer = customer;
+        }
+
+        public Customer getCustomer() {
+            return customer;
+        }
+    }
+
+    public static class Customer {
+        private final String id;
+
+        public Customer(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
 }
@@ -21,6 +21,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.language.simple.SimpleLanguage;
 import org.apache.camel.spi.Language;
 import org.apache.camel.support.DefaultExchange;
 import org.junit.jupiter.api.Test;
@@ -28,6 +29,7 @@ import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -73,6 +75,8 @@ public class SimpleOperatorTest {
     // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
     @State(Scope.Thread)
     public static class BenchmarkState {
+        @Param({ "false", "true" })
+        boolean compiled;
         CamelContext camel;
         String expression = "${header.gold} == 123";
         String expression2 = "${header.gold} > 123";
@@ -83,6 +87,9 @@ public class SimpleOperatorTest {
         @Setup(Level.Trial)
         public void initialize() {
             camel = new DefaultCamelContext();
+            SimpleLanguage language = new SimpleLanguage();
+            language.setCompiled(compiled);
+            camel.getRegistry().bind("simple", language);
             try {
                 camel.getTypeConverterRegistry().getStatistics().setStatisticsEnabled(true);
                 camel.start();
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.language.tokenizer.TokenizeLanguage;
+import org.apache.camel.language.xtokenizer.XMLTokenizeLanguage;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.util.IOHelper;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests splitting XML with the tokenize XML iterator (tokenizeXML) and the StAX based iterator (xtokenize)
+ */
+public class TokenizeXmlTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                // Specify which benchmarks to run.
+                // You can be more specific if you'd like to run only one benchmark per test.
+                .include(this.getClass().getName() + ".*")
+                // Set the following options as needed
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(10))
+                .measurementIterations(2)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        @Param({ "1000", "100000" })
+        int orders;
+        CamelContext camel;
+        byte[] data;
+        Exchange exchange;
+        Expression tokenizeXml;
+        Expression tokenizeXmlInheritNamespace;
+        Expression xtokenize;
+
+        @Setup(Level.Trial)
+        public void initialize() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("<?xml version=\"1.0\"?>\n<orders xmlns:acme=\"http://acme.com/orders\">\n");
+            for (int i = 0; i < orders; i++) {
+                sb.append("  <order id=\"").append(i).append("\">\n");
+                sb.append("    <customer>Customer ").append(i).append("</customer>\n");
+                sb.append("    <amount>").append(i % 100).append("</amount>\n");
+                sb.append("  </order>\n");
+            }
+            sb.append("</orders>\n");
+            data = sb.toString().getBytes();
+
+            camel = new DefaultCamelContext();
+            try {
+                camel.start();
+                exchange = new DefaultExchange(camel);
+                tokenizeXml = TokenizeLanguage.tokenizeXML("order", null);
+                tokenizeXml.init(camel);
+                tokenizeXmlInheritNamespace = TokenizeLanguage.tokenizeXML("order", "orders");
+                tokenizeXmlInheritNamespace.init(camel);
+                xtokenize = XMLTokenizeLanguage.tokenize("//order");
+                xtokenize.init(camel);
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            try {
+                camel.stop();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+
+        int split(Expression expression, Blackhole bh) {
+            exchange.getIn().setBody(data);
+            Iterator<?> it = expression.evaluate(exchange, Iterator.class);
+            int count = 0;
+            while (it.hasNext()) {
+                bh.consume(it.next());
+                count++;
+            }
+            if (it instanceof Closeable) {
+                IOHelper.close((Closeable) it);
+            }
+            if (count != orders) {
+                throw new IllegalArgumentException("Expected " + orders + " orders but was " + count);
+            }
+            return count;
+        }
+    }
+
+    @Benchmark
+    public void tokenizeXml(BenchmarkState state, Blackhole bh) {
+        state.split(state.tokenizeXml, bh);
+    }
+
+    @Benchmark
+    public void tokenizeXmlInheritNamespace(BenchmarkState state, Blackhole bh) {
+        state.split(state.tokenizeXmlInheritNamespace, bh);
+    }
+
+    @Benchmark
+    public void xtokenize(BenchmarkState state, Blackhole bh) {
+        state.split(state.xtokenize, bh);
+    }
+
+}